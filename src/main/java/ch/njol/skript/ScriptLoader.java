@@ -6,6 +6,8 @@ import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.config.SimpleNode;
 import ch.njol.skript.events.bukkit.PreScriptLoadEvent;
 import ch.njol.skript.lang.*;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.optimization.TriggerOptimizer;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.log.LogEntry;
@@ -25,6 +27,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
 import org.skriptlang.skript.lang.script.ScriptWarning;
 import org.skriptlang.skript.lang.structure.Structure;
 import org.skriptlang.skript.util.event.EventRegistry;
@@ -33,12 +36,17 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,11 +63,17 @@ public class ScriptLoader {
 	 * <ul>
 	 *     <li>The amount of files</li>
 	 *     <li>The amount of structures</li>
+	 *     <li>The amount of structures kept loaded while reloading</li>
 	 * </ul>
 	 */
 	public static class ScriptInfo {
 		public int files, structures;
 
+		/**
+		 * The amount of structures that stayed loaded during an {@link ScriptLoader#reloadScriptIncrementally(Script, OpenCloseable) incremental reload}.
+		 */
+		public int reused;
+
 		public ScriptInfo() {
 
 		}
@@ -76,21 +90,24 @@ public class ScriptLoader {
 		public ScriptInfo(ScriptInfo other) {
 			files = other.files;
 			structures = other.structures;
+			reused = other.reused;
 		}
 
 		public void add(ScriptInfo other) {
 			files += other.files;
 			structures += other.structures;
+			reused += other.reused;
 		}
 
 		public void subtract(ScriptInfo other) {
 			files -= other.files;
 			structures -= other.structures;
+			reused -= other.reused;
 		}
 
 		@Override
 		public String toString() {
-			return "ScriptInfo{files=" + files + ",structures=" + structures + "}";
+			return "ScriptInfo{files=" + files + ",structures=" + structures + ",reused=" + reused + "}";
 		}
 	}
 
@@ -521,93 +538,13 @@ public class ScriptLoader {
 				try {
 					openCloseable.open();
 
-					// build sorted list
-					// this nest of pairs is terrible, but we need to keep the reference to the modifiable structures list
-					record LoadingStructure (LoadingScriptInfo loadingScriptInfo, Structure structure) {}
-					List<LoadingStructure> loadingStructures = scripts.stream()
-							.flatMap(info -> { // Flatten each entry down to a stream of Script-Structure pairs
-								return info.structures.stream()
-										.map(structure -> new LoadingStructure(info, structure));
-							})
-							.sorted(Comparator.comparing(pair -> pair.structure().getPriority()))
-							.collect(Collectors.toCollection(ArrayList::new));
-
-					// pre-loading
-					loadingStructures.removeIf(loadingStructure -> {
-						LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
-						Structure structure = loadingStructure.structure();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
-						try {
-							if (!structure.preLoad()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to preLoad a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
-
-					// TODO in the future, Structure#load/Structure#postLoad should be split across multiple threads if parallel loading is enabled.
-					// However, this is not possible right now as reworks in multiple areas will be needed.
-					// For example, the "Commands" class still uses a static list for currentArguments that is cleared between loads.
-					// Until these reworks happen, limiting main loading to asynchronous (not parallel) is the only choice we have.
-
-					// loading
-					loadingStructures.removeIf(loadingStructure -> {
-						LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
-						Structure structure = loadingStructure.structure();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
-						try {
-							if (!structure.load()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to load a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					runLoadingStages(scripts, parser);
 
-					// post-loading
-					loadingStructures.removeIf(loadingStructure -> {
-						LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
-						Structure structure = loadingStructure.structure();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
-						try {
-							if (!structure.postLoad()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to postLoad a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					// remember the sources of the loaded structures for incremental reloading
+					for (LoadingScriptInfo loadingInfo : scripts) {
+						if (!loadingInfo.sources.isEmpty())
+							loadingInfo.script.addData(new StructureSources(loadingInfo.structures, loadingInfo.sources));
+					}
 
 					// trigger events
 					scripts.forEach(loadingInfo -> {
@@ -637,6 +574,101 @@ public class ScriptLoader {
 			});
 	}
 
+	/**
+	 * Runs the {@link Structure#preLoad()}, {@link Structure#load()} and {@link Structure#postLoad()} stages
+	 *  for the Structures of the given scripts, in the order of their priorities.
+	 * Structures failing any stage are removed from {@link LoadingScriptInfo#structures}.
+	 */
+	private static void runLoadingStages(List<LoadingScriptInfo> scripts, ParserInstance parser) {
+		// build sorted list
+		// this nest of pairs is terrible, but we need to keep the reference to the modifiable structures list
+		record LoadingStructure (LoadingScriptInfo loadingScriptInfo, Structure structure) {}
+		List<LoadingStructure> loadingStructures = scripts.stream()
+				.flatMap(info -> { // Flatten each entry down to a stream of Script-Structure pairs
+					return info.structures.stream()
+							.map(structure -> new LoadingStructure(info, structure));
+				})
+				.sorted(Comparator.comparing(pair -> pair.structure().getPriority()))
+				.collect(Collectors.toCollection(ArrayList::new));
+
+		// pre-loading
+		loadingStructures.removeIf(loadingStructure -> {
+			LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
+			Structure structure = loadingStructure.structure();
+
+			parser.setActive(loadingInfo.script);
+			parser.setCurrentStructure(structure);
+			parser.setNode(loadingInfo.nodeMap.get(structure));
+
+			try {
+				if (!structure.preLoad()) {
+					loadingInfo.structures.remove(structure);
+					return true;
+				}
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred while trying to preLoad a Structure.");
+				loadingInfo.structures.remove(structure);
+				return true;
+			}
+			return false;
+		});
+		parser.setInactive();
+
+		// TODO in the future, Structure#load/Structure#postLoad should be split across multiple threads if parallel loading is enabled.
+		// However, this is not possible right now as reworks in multiple areas will be needed.
+		// For example, the "Commands" class still uses a static list for currentArguments that is cleared between loads.
+		// Until these reworks happen, limiting main loading to asynchronous (not parallel) is the only choice we have.
+
+		// loading
+		loadingStructures.removeIf(loadingStructure -> {
+			LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
+			Structure structure = loadingStructure.structure();
+
+			parser.setActive(loadingInfo.script);
+			parser.setCurrentStructure(structure);
+			parser.setNode(loadingInfo.nodeMap.get(structure));
+
+			try {
+				if (!structure.load()) {
+					loadingInfo.structures.remove(structure);
+					return true;
+				}
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred while trying to load a Structure.");
+				loadingInfo.structures.remove(structure);
+				return true;
+			}
+			return false;
+		});
+		parser.setInactive();
+
+		// post-loading
+		loadingStructures.removeIf(loadingStructure -> {
+			LoadingScriptInfo loadingInfo = loadingStructure.loadingScriptInfo();
+			Structure structure = loadingStructure.structure();
+
+			parser.setActive(loadingInfo.script);
+			parser.setCurrentStructure(structure);
+			parser.setNode(loadingInfo.nodeMap.get(structure));
+
+			try {
+				if (!structure.postLoad()) {
+					loadingInfo.structures.remove(structure);
+					return true;
+				}
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred while trying to postLoad a Structure.");
+				loadingInfo.structures.remove(structure);
+				return true;
+			}
+			return false;
+		});
+		parser.setInactive();
+	}
+
 	private static class LoadingScriptInfo {
 
 		public final Script script;
@@ -645,10 +677,17 @@ public class ScriptLoader {
 
 		public final Map<Structure, Node> nodeMap;
 
-		public LoadingScriptInfo(Script script, List<Structure> structures, Map<Structure, Node> nodeMap) {
+		/**
+		 * The sources of the structures, if they are recorded for incremental reloading.
+		 */
+		public final Map<Structure, StructureSource> sources;
+
+		public LoadingScriptInfo(Script script, List<Structure> structures, Map<Structure, Node> nodeMap,
+								 Map<Structure, StructureSource> sources) {
 			this.script = script;
 			this.structures = structures;
 			this.nodeMap = nodeMap;
+			this.sources = sources;
 		}
 
 	}
@@ -665,6 +704,8 @@ public class ScriptLoader {
 
 		ParserInstance parser = getParser();
 		Map<Structure, Node> nodeMap = new HashMap<>();
+		Map<Structure, StructureSource> sources = new HashMap<>();
+		boolean recordSources = SkriptConfig.incrementalReloading.value();
 		List<Structure> structures = new ArrayList<>();
 		Script script = new Script(config, structures);
 		parser.setActive(script);
@@ -675,30 +716,17 @@ public class ScriptLoader {
 
 			try (CountingLogHandler ignored = new CountingLogHandler(SkriptLogger.SEVERE).start()) {
 				for (Node node : config.getMainNode()) {
-					if (!(node instanceof SimpleNode) && !(node instanceof SectionNode)) {
-						// unlikely to occur, but just in case
-						Skript.error("could not interpret line as a structure");
-						continue;
-					}
-
-					String line = node.getKey();
-					if (line == null)
-						continue;
-					line = replaceOptions(line); // replace options here before validation
-
-					if (!SkriptParser.validateLine(line))
-						continue;
-
-					if (Skript.logVeryHigh() && !Skript.debug())
-						Skript.info("loading trigger '" + line + "'");
-
-					Structure structure = Structure.parse(line, node, "Can't understand this structure: " + line);
+					// the source must be recorded before parsing, as structures may modify their nodes
+					StructureSource source = recordSources ? StructureSource.of(node) : null;
 
+					Structure structure = parseStructure(node);
 					if (structure == null)
 						continue;
 
 					structures.add(structure);
 					nodeMap.put(structure, node);
+					if (source != null)
+						sources.put(structure, source);
 				}
 
 				if (Skript.logHigh()) {
@@ -739,7 +767,33 @@ public class ScriptLoader {
 			}
 		}
 
-		return new LoadingScriptInfo(script, structures, nodeMap);
+		return new LoadingScriptInfo(script, structures, nodeMap, sources);
+	}
+
+	/**
+	 * Parses a top-level node of a script into a structure. The parser must be active.
+	 * @param node The node to parse.
+	 * @return The parsed structure, or null if the node is not a valid structure. An error will have been printed if needed.
+	 */
+	private static @Nullable Structure parseStructure(Node node) {
+		if (!(node instanceof SimpleNode) && !(node instanceof SectionNode)) {
+			// unlikely to occur, but just in case
+			Skript.error("could not interpret line as a structure");
+			return null;
+		}
+
+		String line = node.getKey();
+		if (line == null)
+			return null;
+		line = replaceOptions(line); // replace options here before validation
+
+		if (!SkriptParser.validateLine(line))
+			return null;
+
+		if (Skript.logVeryHigh() && !Skript.debug())
+			Skript.info("loading trigger '" + line + "'");
+
+		return Structure.parse(line, node, "Can't understand this structure: " + line);
 	}
 
 	/*
@@ -969,6 +1023,296 @@ public class ScriptLoader {
 		return loadScripts(configs, openCloseable);
 	}
 
+	/**
+	 * Reloads a single Script, but only the Structures of it that were changed since it was last loaded.
+	 * <p>
+	 * The top-level nodes of the script file are matched to the loaded Structures by their content.
+	 * Loaded Structures without a matching node are unloaded, nodes without a matching Structure are loaded,
+	 *  and all other Structures stay loaded as they are, unless they call a function that was changed, added or removed.
+	 * Unchanged Structures keep the line numbers of the previous version of the script in errors.
+	 * <p>
+	 * Like with {@link #reloadScripts(Set, OpenCloseable)}, the changed Structures are unloaded on the calling thread.
+	 * Only parsing the new Structures may happen on a loader thread. {@link ScriptUnloadEvent}s are called for the script
+	 *  before the changed Structures are unloaded, and {@link ScriptLoadEvent}s once the new ones have been loaded.
+	 * <p>
+	 * The whole script is reloaded using {@link #reloadScript(Script, OpenCloseable)} instead
+	 *  if a Structure that {@link Structure#affectsWholeScript() affects the whole script} was changed,
+	 *  or if the script was not loaded with {@link SkriptConfig#incrementalReloading} enabled.
+	 * @param script The Script to reload.
+	 * @param openCloseable An {@link OpenCloseable} that will be called before and after
+	 *                         loading the Script (see {@link #makeFuture(Supplier, OpenCloseable)}).
+	 * @return Info on the loaded Structures. {@link ScriptInfo#reused} contains the amount of Structures that stayed loaded.
+	 */
+	public static CompletableFuture<ScriptInfo> reloadScriptIncrementally(Script script, OpenCloseable openCloseable) {
+		StructureSources sources = script.getData(StructureSources.class);
+		File file = script.getConfig().getFile();
+		if (sources == null || file == null)
+			return reloadScript(script, openCloseable);
+
+		Config config = loadStructure(file);
+		if (config == null) // the script has been unloaded if its file was deleted
+			return CompletableFuture.completedFuture(new ScriptInfo());
+
+		IncrementalReload reload = planIncrementalReload(script, sources, config);
+		if (reload == null)
+			return reloadScript(script, openCloseable);
+
+		// like with a full reload, structures are unloaded on this thread before parsing is handed off
+		unloadChangedStructures(script, reload);
+
+		return makeFuture(() -> parseNewStructures(script, reload), openCloseable)
+			.thenCompose(loadingInfo -> {
+				// the structures are loaded on the main thread, which is also where a full reload has to be started
+				CompletableFuture<ScriptInfo> future = Task.callSync(() -> loadingInfo != null
+					? CompletableFuture.completedFuture(loadNewStructures(script, reload, loadingInfo, openCloseable))
+					: reloadScript(script, openCloseable));
+				return future != null ? future : CompletableFuture.completedFuture(new ScriptInfo());
+			});
+	}
+
+	/**
+	 * The changes of an {@link #reloadScriptIncrementally(Script, OpenCloseable) incremental reload}.
+	 * @param config The new config of the script.
+	 * @param nodeSources The sources of the top-level nodes of the new config.
+	 * @param kept The loaded Structures that stay loaded, by the node of the new config they belong to.
+	 * @param unloading The loaded Structures that are replaced.
+	 */
+	private record IncrementalReload(Config config, Map<Node, StructureSource> nodeSources,
+									 Map<Node, Structure> kept, List<Structure> unloading) { }
+
+	/**
+	 * Matches the top-level nodes of the given config to the loaded Structures of a script.
+	 * @return The changes to make, or null if the whole script has to be reloaded.
+	 */
+	private static @Nullable IncrementalReload planIncrementalReload(Script script, StructureSources sources, Config config) {
+		// match the nodes to the loaded structures with the same content
+		Map<String, Deque<Structure>> loaded = new HashMap<>();
+		for (Structure structure : script.getStructures()) {
+			StructureSource source = sources.get(structure);
+			if (source != null)
+				loaded.computeIfAbsent(source.hash(), hash -> new ArrayDeque<>()).add(structure);
+		}
+		Map<Node, StructureSource> nodeSources = new IdentityHashMap<>();
+		Map<Node, Structure> kept = new IdentityHashMap<>();
+		for (Node node : config.getMainNode()) {
+			StructureSource source = StructureSource.of(node);
+			nodeSources.put(node, source);
+			Deque<Structure> candidates = loaded.get(source.hash());
+			Structure structure = candidates != null ? candidates.poll() : null;
+			if (structure != null)
+				kept.put(node, structure);
+		}
+		Set<Structure> unloading = Collections.newSetFromMap(new IdentityHashMap<>());
+		unloading.addAll(script.getStructures());
+		unloading.removeAll(kept.values());
+
+		for (Structure structure : unloading) {
+			if (structure.affectsWholeScript())
+				return null;
+		}
+
+		// structures calling a changed function have been parsed against its previous signature
+		Set<String> functions = new HashSet<>();
+		for (Structure structure : unloading) {
+			StructureSource source = sources.get(structure);
+			if (source != null && source.function() != null)
+				functions.add(source.function());
+		}
+		for (Node node : config.getMainNode()) {
+			if (!kept.containsKey(node) && nodeSources.get(node).function() != null)
+				functions.add(nodeSources.get(node).function());
+		}
+		if (!functions.isEmpty()) {
+			kept.entrySet().removeIf(entry -> {
+				if (!callsAnyFunction(entry.getKey(), functions))
+					return false;
+				unloading.add(entry.getValue());
+				return true;
+			});
+		}
+
+		List<Structure> unloadingStructures = new ArrayList<>(unloading);
+		unloadingStructures.sort(Comparator.comparing(Structure::getPriority).reversed());
+		return new IncrementalReload(config, nodeSources, kept, unloadingStructures);
+	}
+
+	/**
+	 * Unloads the Structures of a script that are replaced by an incremental reload.
+	 */
+	private static void unloadChangedStructures(Script script, IncrementalReload reload) {
+		ParserInstance parser = getParser();
+		eventRegistry().events(ScriptUnloadEvent.class)
+			.forEach(event -> event.onUnload(parser, script));
+		script.eventRegistry().events(ScriptUnloadEvent.class)
+			.forEach(event -> event.onUnload(parser, script));
+
+		parser.setActive(script);
+		for (Structure structure : reload.unloading())
+			structure.unload();
+		for (Structure structure : reload.unloading())
+			structure.postUnload();
+		parser.setInactive();
+		script.update(script.getConfig(), new ArrayList<>(reload.kept().values()));
+	}
+
+	/**
+	 * Parses the nodes of an incremental reload that don't belong to a Structure that stays loaded.
+	 * @return The parsed Structures, or null if one of them {@link Structure#affectsWholeScript() affects the whole script}.
+	 */
+	private static @Nullable LoadingScriptInfo parseNewStructures(Script script, IncrementalReload reload) {
+		List<Structure> structures = new ArrayList<>();
+		Map<Structure, Node> nodeMap = new HashMap<>();
+		ParserInstance parser = getParser();
+		parser.setActive(script);
+		try {
+			for (Node node : reload.config().getMainNode()) {
+				if (reload.kept().containsKey(node))
+					continue;
+				Structure structure = parseStructure(node);
+				if (structure == null)
+					continue;
+				if (structure.affectsWholeScript())
+					return null; // the remaining structures are unloaded by the full reload
+				structures.add(structure);
+				nodeMap.put(structure, node);
+			}
+		} finally {
+			parser.setInactive();
+		}
+		return new LoadingScriptInfo(script, structures, nodeMap, Collections.emptyMap());
+	}
+
+	/**
+	 * Loads the new Structures of an incremental reload and updates the script. Must be called on the main thread.
+	 * @return Info on the loaded Structures.
+	 */
+	private static ScriptInfo loadNewStructures(Script script, IncrementalReload reload, LoadingScriptInfo loadingInfo,
+												OpenCloseable openCloseable) {
+		ParserInstance parser = getParser();
+		Config config = reload.config();
+		try {
+			openCloseable.open();
+
+			runLoadingStages(Collections.singletonList(loadingInfo), parser);
+			// references from other scripts to removed functions
+			Functions.validateFunctions();
+
+			// keep the structures in the order of the file
+			Map<Node, Structure> loadedStructures = new IdentityHashMap<>(reload.kept());
+			for (Structure structure : loadingInfo.structures)
+				loadedStructures.put(loadingInfo.nodeMap.get(structure), structure);
+			List<Structure> allStructures = new ArrayList<>();
+			Map<Structure, StructureSource> allSources = new HashMap<>();
+			for (Node node : config.getMainNode()) {
+				Structure structure = loadedStructures.get(node);
+				if (structure != null) {
+					allStructures.add(structure);
+					allSources.put(structure, reload.nodeSources().get(node));
+				}
+			}
+
+			if (SkriptConfig.keepConfigsLoaded.value()) {
+				SkriptConfig.configs.remove(script.getConfig());
+				SkriptConfig.configs.add(config);
+			}
+			script.update(config, allStructures);
+			script.addData(new StructureSources(allStructures, allSources));
+
+			parser.setActive(script);
+			parser.setNode(config.getMainNode());
+			ScriptLoader.eventRegistry().events(ScriptLoadEvent.class)
+				.forEach(event -> event.onLoad(parser, script));
+			script.eventRegistry().events(ScriptLoadEvent.class)
+				.forEach(event -> event.onLoad(parser, script));
+
+			ScriptInfo info = new ScriptInfo(1, loadingInfo.structures.size());
+			info.reused = reload.kept().size();
+			return info;
+		} finally {
+			parser.setInactive();
+			openCloseable.close();
+		}
+	}
+
+	private static boolean callsAnyFunction(Node node, Set<String> functions) {
+		String key = node.getKey();
+		if (key != null) {
+			for (String function : functions) {
+				if (key.contains(function + "("))
+					return true;
+			}
+		}
+		if (node instanceof SectionNode section) {
+			for (Node child : section) {
+				if (callsAnyFunction(child, functions))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The content of the node a structure was loaded from.
+	 * @param hash A hash of the node and all its children, excluding comments and line numbers.
+	 * @param function The name of the function the node defines, if any.
+	 */
+	private record StructureSource(String hash, @Nullable String function) {
+
+		private static final Pattern FUNCTION_PATTERN =
+			Pattern.compile("^(?:async )?(?:local )?function (" + Functions.functionNamePattern + ")\\(");
+
+		static StructureSource of(Node node) {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+			update(digest, node, 0);
+
+			String function = null;
+			String key = node.getKey();
+			if (key != null) {
+				Matcher matcher = FUNCTION_PATTERN.matcher(key);
+				if (matcher.find())
+					function = matcher.group(1);
+			}
+			return new StructureSource(HexFormat.of().formatHex(digest.digest()), function);
+		}
+
+		private static void update(MessageDigest digest, Node node, int depth) {
+			String key = node.getKey();
+			digest.update((depth + "\t" + node.getClass().getSimpleName() + "\t" + (key == null ? "" : key) + "\n")
+				.getBytes(StandardCharsets.UTF_8));
+			if (node instanceof SectionNode section) {
+				for (Node child : section)
+					update(digest, child, depth + 1);
+			}
+		}
+
+	}
+
+	/**
+	 * The sources of the structures of a script, used to find the changed structures when it is reloaded incrementally.
+	 */
+	private static final class StructureSources implements ScriptData {
+
+		private final Map<Structure, StructureSource> sources = new IdentityHashMap<>();
+
+		StructureSources(List<Structure> structures, Map<Structure, StructureSource> sources) {
+			for (Structure structure : structures) {
+				StructureSource source = sources.get(structure);
+				if (source != null)
+					this.sources.put(structure, source);
+			}
+		}
+
+		@Nullable StructureSource get(Structure structure) {
+			return sources.get(structure);
+		}
+
+	}
+
 	/*
 	 * Code Loading Methods
 	 */
@@ -999,6 +1343,8 @@ public class ScriptLoader {
 			parser.setIndentation(parser.getIndentation() + "    ");
 
 		ArrayList<TriggerItem> items = new ArrayList<>();
+		TriggerOptimizer optimizer = TriggerOptimizer.get(parser);
+		optimizer.enterItems();
 
 		// Begin local variable type hints
 		parser.getHintManager().enterScope(true);
@@ -1131,6 +1477,7 @@ public class ScriptLoader {
 
 		for (int i = 0; i < items.size() - 1; i++)
 			items.get(i).setNext(items.get(i + 1));
+		optimizer.exitItems();
 
 		parser.setNode(node);
 
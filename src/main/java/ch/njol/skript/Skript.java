@@ -13,6 +13,7 @@ import ch.njol.skript.classes.data.JavaClasses;
 import ch.njol.skript.classes.data.SkriptClasses;
 import ch.njol.skript.command.Commands;
 import ch.njol.skript.doc.Documentation;
+import ch.njol.skript.entity.EntityQueryCache;
 import ch.njol.skript.events.EvtSkript;
 import ch.njol.skript.expressions.arithmetic.ExprArithmetic;
 import ch.njol.skript.hooks.Hook;
@@ -38,6 +39,7 @@ import ch.njol.skript.test.runner.EffObjectives;
 import ch.njol.skript.test.runner.SkriptAsyncJUnitTest;
 import ch.njol.skript.test.runner.SkriptJUnitTest;
 import ch.njol.skript.test.runner.SkriptTestEvent;
+import ch.njol.skript.test.runner.StructBenchmark;
 import ch.njol.skript.test.runner.TestMode;
 import ch.njol.skript.test.runner.TestTracker;
 import ch.njol.skript.timings.SkriptTimings;
@@ -49,6 +51,7 @@ import ch.njol.skript.util.EmptyStacktraceException;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Task;
+import ch.njol.skript.util.TickCounter;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
 import ch.njol.skript.util.chat.BungeeConverter;
@@ -799,6 +802,10 @@ public final class Skript extends JavaPlugin implements Listener {
 		// Send a warning to console when the plugin is reloaded
 		Bukkit.getPluginManager().registerEvents(new ServerReloadListener(), this);
 
+		TickCounter.start();
+		if (EntityQueryCache.isSupported())
+			Bukkit.getPluginManager().registerEvents(new EntityQueryCache.InvalidationListener(), this);
+
 		// Tell Timings that we are here!
 		SkriptTimings.setSkript(this);
 	}
@@ -886,6 +893,18 @@ public final class Skript extends JavaPlugin implements Listener {
 			}
 
 			Bukkit.getPluginManager().callEvent(new SkriptTestEvent());
+			if (StructBenchmark.hasBenchmarks()) {
+				info("Running benchmarks, results will be written to " + TestMode.BENCHMARK_RESULTS_FILE);
+				String results = new GsonBuilder()
+					.setPrettyPrinting()
+					.disableHtmlEscaping()
+					.create().toJson(StructBenchmark.runBenchmarks());
+				try {
+					Files.write(TestMode.BENCHMARK_RESULTS_FILE, results.getBytes(StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					Skript.exception(e, "Failed to write benchmark results.");
+				}
+			}
 			if (errorCounter.getCount() > 0) {
 				TestTracker.testStarted("parse scripts");
 				TestTracker.testFailed(errorCounter.getCount() + " error(s) found");
@@ -1837,13 +1856,16 @@ public final class Skript extends JavaPlugin implements Listener {
 
 	/**
 	 * Sends an error message with formatted objects.
+	 * The message is only formatted once it is actually printed,
+	 * which makes this preferable to formatting the message beforehand during parsing.
 	 *
 	 * @param message The message to send
 	 * @param objects The objects to format the message with
 	 * @see String#formatted(Object...)
+	 * @see SkriptLogger#log(Level, ErrorQuality, String, Object...)
 	 */
 	public static void error(String message, Object... objects) {
-		error(message.formatted(objects));
+		SkriptLogger.log(Level.SEVERE, ErrorQuality.SEMANTIC_ERROR, message, objects);
 	}
 
 	/**
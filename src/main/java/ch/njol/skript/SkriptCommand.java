@@ -3,6 +3,7 @@ package ch.njol.skript;
 import ch.njol.skript.aliases.Aliases;
 import ch.njol.skript.command.CommandHelp;
 import ch.njol.skript.doc.Documentation;
+import ch.njol.skript.entity.EntityQueryCache;
 import ch.njol.skript.doc.HTMLGenerator;
 import ch.njol.skript.doc.JSONGenerator;
 import ch.njol.skript.localization.ArgsMessage;
@@ -16,9 +17,12 @@ import ch.njol.skript.test.runner.SkriptTestEvent;
 import ch.njol.skript.test.runner.TestMode;
 import ch.njol.skript.test.runner.TestTracker;
 import ch.njol.skript.test.utils.TestResults;
+import ch.njol.skript.util.BlockBatch;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
+import ch.njol.skript.util.PeriodicScheduler;
 import ch.njol.skript.util.SkriptColor;
+import ch.njol.skript.util.Timespan;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
@@ -182,6 +186,15 @@ public class SkriptCommand implements CommandExecutor {
 						reloading(sender, "script", logHandler, scriptFile.getName());
 
 						Script script = ScriptLoader.getScript(scriptFile);
+						if (script != null && SkriptConfig.incrementalReloading.value()) {
+							ScriptLoader.reloadScriptIncrementally(script, OpenCloseable.combine(logHandler, timingLogHandler))
+								.thenAccept(scriptInfo -> {
+									if (scriptInfo.reused > 0)
+										info(sender, "reload.incremental", scriptInfo.structures, scriptInfo.reused);
+									reloaded(sender, logHandler, timingLogHandler, "script", scriptFile.getName());
+								});
+							return true;
+						}
 						if (script != null)
 							ScriptLoader.unloadScript(script);
 						ScriptLoader.loadScripts(scriptFile, OpenCloseable.combine(logHandler, timingLogHandler))
@@ -380,6 +393,21 @@ public class SkriptCommand implements CommandExecutor {
 				if (!dependenciesFound)
 					info(sender, "info.dependencies", "None");
 
+				info(sender, "info.periodical events", PeriodicScheduler.getTaskCount(),
+					String.format(Locale.ENGLISH, "%.2f", PeriodicScheduler.getAverageTickNanos() / 1_000_000),
+					SkriptConfig.periodicalTickBudget.value().getAs(Timespan.TimePeriod.MILLISECOND),
+					PeriodicScheduler.getDeferredRuns());
+
+				if (SkriptConfig.cacheEntityQueries.value() && EntityQueryCache.isSupported()) {
+					info(sender, "info.entity query cache", EntityQueryCache.getHits(), EntityQueryCache.getMisses(),
+						String.format(Locale.ENGLISH, "%.1f%%", EntityQueryCache.getHitRate() * 100));
+				}
+
+				if (BlockBatch.getAppliedBlocks() > 0 || BlockBatch.getPendingBlocks() > 0) {
+					info(sender, "info.block batches", BlockBatch.getAppliedBlocks(), BlockBatch.getAppliedBatches(),
+						BlockBatch.getPendingBlocks(), String.format(Locale.ENGLISH, "%.1f", BlockBatch.getBlocksPerMillisecond()));
+				}
+
 			} else if (args[0].equalsIgnoreCase("gen-docs")) {
 				File templateDir = Documentation.getDocsTemplateDirectory();
 				File outputDir = Documentation.getDocsOutputDirectory();
@@ -10,6 +10,7 @@ import ch.njol.skript.hooks.regions.GriefPreventionHook;
 import ch.njol.skript.hooks.regions.PreciousStonesHook;
 import ch.njol.skript.hooks.regions.ResidenceHook;
 import ch.njol.skript.hooks.regions.WorldGuardHook;
+import ch.njol.skript.lang.VariableString;
 import ch.njol.skript.lang.function.Function;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.log.SkriptLogger;
@@ -294,6 +295,12 @@ public class SkriptConfig {
 			})
 			.optional(true);
 
+	public static final Option<Boolean> incrementalReloading = new Option<>("incremental script reloading", false)
+			.optional(true);
+
+	public static final Option<Boolean> pollAutoReloadedScripts = new Option<>("poll auto reloaded scripts", false)
+			.optional(true);
+
 	public static final Option<Boolean> useTypeProperties = new Option<>("use type properties", false)
 			.optional(true);
 
@@ -306,6 +313,9 @@ public class SkriptConfig {
 	public static final Option<Boolean> loadDefaultAliases = new Option<>("load default aliases", true)
 			.optional(true);
 
+	public static final Option<Boolean> cacheAliases = new Option<>("cache aliases", true)
+			.optional(true);
+
 	public static final Option<Boolean> executeFunctionsWithMissingParams = new Option<>("execute functions with missing parameters", true)
 			.optional(true)
 			.setter(t -> Function.executeWithNulls = t);
@@ -375,6 +385,50 @@ public class SkriptConfig {
 	public static final Option<Integer> runtimeErrorTimeoutDuration = new Option<>("runtime errors.error timeout length", 10);
 	public static final Option<Integer> runtimeWarningTimeoutDuration = new Option<>("runtime errors.warning timeout length", 10);
 
+	public static final Option<Timespan> periodicalTickBudget = new Option<>("periodical events.tick budget", new Timespan(Timespan.TimePeriod.MILLISECOND, 5))
+		.optional(true);
+	public static final Option<Boolean> deferPeriodicalEvents = new Option<>("periodical events.defer when over budget", false)
+		.optional(true);
+
+	public static final Option<Boolean> cacheEntityQueries = new Option<>("cache entity queries", false)
+		.optional(true);
+
+	public static final Option<Integer> regionTrackingCellSize = new Option<>("region tracking cell size", 1)
+		.optional(true);
+
+	public static final Option<Integer> textRenderCacheSize = new Option<>("text render cache size", 0)
+		.setter(VariableString::setRenderCacheSize)
+		.optional(true);
+
+	public static final Option<Boolean> indexListVariableValues = new Option<>("index list variable values", false)
+		.optional(true);
+
+	public static final Option<String> sortedListVariables = new Option<>("sorted list variables", "")
+		.setter(Variables::setSortedListVariables)
+		.optional(true);
+
+	public static final Option<Integer> parallelFilterThreshold = new Option<>("parallel filter threshold", 0)
+		.optional(true);
+
+	public static final Option<Boolean> optimizeTriggers = new Option<>("optimize triggers", false)
+		.optional(true);
+
+	public static final Option<Integer> triggerCompilationThreshold = new Option<>("trigger compilation threshold", 0)
+		.optional(true);
+
+	public static final Option<Timespan> loopBudget = new Option<>("loop budget", new Timespan(0))
+		.optional(true);
+
+	public static final Option<Integer> blockBatchBlocksPerTick = new Option<>("block batches.blocks per tick", 10000)
+		.optional(true);
+	public static final Option<Boolean> blockBatchPhysics = new Option<>("block batches.apply physics", false)
+		.optional(true);
+	public static final Option<Integer> blockBatchThreshold = new Option<>("block batches.automatic threshold", 0)
+		.optional(true);
+
+	public static final Option<Boolean> asyncVariableSnapshots = new Option<>("async variable snapshots", false)
+		.optional(true);
+
 	public static final Option<Integer> variableChangesUntilSave = new Option<>("variable changes until save", 1000)
 		.setter(FlatFileStorage::setRequiredChangesForResave);
 
@@ -10,6 +10,7 @@ import ch.njol.skript.entity.EntityData;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.localization.*;
 import ch.njol.skript.log.BlockingLogHandler;
+import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.util.EnchantmentType;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
@@ -27,10 +28,12 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.*;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
+import java.util.logging.Level;
 import java.util.regex.Pattern;
 
 public abstract class Aliases {
@@ -466,6 +469,85 @@ public abstract class Aliases {
 	private static void loadInternal() throws IOException {
 		Path dataFolder = Skript.getInstance().getDataFolder().toPath();
 
+		if (SkriptConfig.cacheAliases.value()) {
+			loadSourcesCached(dataFolder);
+		} else {
+			forEachSourceDirectory(dataFolder, Aliases::loadDirectory);
+		}
+
+		// generate aliases from item names for any missing items
+		loadMissingAliases();
+
+		// Update tracked item types
+		for (Map.Entry<String, ItemType> entry : trackedTypes.entrySet()) {
+			@SuppressWarnings("null") // No null keys in this map
+			ItemType type = parseItemType(entry.getKey());
+			if (type == null)
+				Skript.warning("Alias '" + entry.getKey() + "' is required by Skript, but does not exist anymore. "
+								   + "Make sure to fix this before restarting the server.");
+			else
+				entry.getValue().setTo(type);
+		}
+	}
+
+	/**
+	 * Loads the aliases from Skript's standard locations using the {@link AliasesCache aliases cache}.
+	 * If the cache is missing or outdated, the aliases are parsed normally and the cache is recreated,
+	 * unless any warnings or errors occurred while parsing them.
+	 */
+	private static void loadSourcesCached(Path dataFolder) throws IOException {
+		Path cacheFile = dataFolder.resolve(AliasesCache.FILE_NAME);
+		AliasesCache.KeyBuilder keyBuilder = new AliasesCache.KeyBuilder();
+		forEachSourceDirectory(dataFolder, keyBuilder::addDirectory);
+		byte[] key = keyBuilder.build();
+
+		AliasesCache.Snapshot snapshot = AliasesCache.read(cacheFile, key);
+		if (snapshot != null) {
+			long start = System.currentTimeMillis();
+			try {
+				for (AliasesCache.Entry entry : snapshot.entries())
+					entry.addTo(provider);
+				long millis = System.currentTimeMillis() - start;
+				Skript.info("Loaded aliases from cache in " + millis + "ms, saving about " + Math.max(0, snapshot.loadMillis() - millis) + "ms");
+				return;
+			} catch (RuntimeException e) {
+				Skript.debug("The aliases cache could not be used, parsing aliases instead: " + e);
+				provider.clearAliases();
+			}
+		}
+
+		long start = System.currentTimeMillis();
+		List<AliasesCache.Entry> entries;
+		int problems;
+		provider.startRecording();
+		try (CountingLogHandler counter = new CountingLogHandler(Level.WARNING).start()) {
+			forEachSourceDirectory(dataFolder, Aliases::loadDirectory);
+			problems = counter.getCount();
+		} finally {
+			entries = provider.stopRecording();
+		}
+		if (problems > 0)
+			return;
+		try {
+			AliasesCache.write(cacheFile, key, new AliasesCache.Snapshot(System.currentTimeMillis() - start, entries));
+		} catch (IOException e) {
+			Skript.debug("Could not write the aliases cache: " + e);
+		}
+	}
+
+	/**
+	 * Something that loads or inspects a directory of alias files.
+	 */
+	@FunctionalInterface
+	private interface SourceVisitor {
+		void visit(Path directory) throws IOException;
+	}
+
+	/**
+	 * Passes the directories of all alias files that should be loaded to the given visitor:
+	 * either aliases-english.zip or the aliases from the jar (never both), and then the aliases folder.
+	 */
+	private static void forEachSourceDirectory(Path dataFolder, SourceVisitor visitor) throws IOException {
 		// Load aliases.zip OR aliases from jar (never both)
 		Path zipPath = dataFolder.resolve("aliases-english.zip");
 		if (!SkriptConfig.loadDefaultAliases.value()) {
@@ -475,7 +557,7 @@ public abstract class Aliases {
 				assert zipFs != null; // It better not be...
 				Path aliasesPath = zipFs.getPath("/");
 				assert aliasesPath != null;
-				loadDirectory(aliasesPath);
+				visitor.visit(aliasesPath);
 			}
 		} else { // Fall back to jar loading
 			try {
@@ -484,7 +566,7 @@ public abstract class Aliases {
 					assert zipFs != null;
 					Path aliasesPath = zipFs.getPath("/", "aliases-english");
 					assert aliasesPath != null;
-					loadDirectory(aliasesPath);
+					visitor.visit(aliasesPath);
 				}
 			} catch (URISyntaxException e) {
 				assert false;
@@ -496,21 +578,7 @@ public abstract class Aliases {
 		Path aliasesFolder = dataFolder.resolve("aliases");
 		if (Files.exists(aliasesFolder)) {
 			assert aliasesFolder != null;
-			loadDirectory(aliasesFolder);
-		}
-
-		// generate aliases from item names for any missing items
-		loadMissingAliases();
-
-		// Update tracked item types
-		for (Map.Entry<String, ItemType> entry : trackedTypes.entrySet()) {
-			@SuppressWarnings("null") // No null keys in this map
-			ItemType type = parseItemType(entry.getKey());
-			if (type == null)
-				Skript.warning("Alias '" + entry.getKey() + "' is required by Skript, but does not exist anymore. "
-								   + "Make sure to fix this before restarting the server.");
-			else
-				entry.getValue().setTo(type);
+			visitor.visit(aliasesFolder);
 		}
 	}
 
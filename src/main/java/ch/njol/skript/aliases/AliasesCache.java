@@ -0,0 +1,222 @@
+package ch.njol.skript.aliases;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.AliasesProvider.AliasName;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A compiled form of the aliases loaded from alias files, which allows skipping parsing them on the next start.
+ * <p>
+ * The cache stores every alias that was {@link AliasesProvider#addAlias(AliasName, String, Map, Map) added}
+ * while loading the alias files, after all variations have been expanded.
+ * It is keyed by a hash of the alias files and the server and Skript versions,
+ * and is only used if that key matches exactly.
+ * Aliases added by addons through their own {@link Aliases#getAddonProvider(ch.njol.skript.SkriptAddon) providers}
+ * are not part of the cache, as addons are only enabled after the aliases are loaded.
+ */
+final class AliasesCache {
+
+	/**
+	 * The name of the cache file in Skript's data folder.
+	 */
+	static final String FILE_NAME = ".aliases-cache";
+
+	private static final int MAGIC_NUMBER = 0x534B4143; // "SKAC"
+
+	/**
+	 * Must be incremented whenever the format of the cache or the way aliases are added changes.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * An alias as it was passed to the aliases provider.
+	 *
+	 * @param tags The tags of the alias in JSON format, or null if it has none.
+	 */
+	record Entry(String singular, String plural, int gender, String id, @Nullable String tags, Map<String, String> blockStates) {
+
+		void addTo(AliasesProvider provider) {
+			Map<String, Object> tags = this.tags == null ? null : provider.parseMojangson(this.tags);
+			provider.addAlias(new AliasName(singular, plural, gender), id, tags, new LinkedHashMap<>(blockStates));
+		}
+
+	}
+
+	/**
+	 * The contents of a valid cache file.
+	 *
+	 * @param loadMillis How long it took to load the aliases from the alias files when the cache was created.
+	 */
+	record Snapshot(long loadMillis, List<Entry> entries) {}
+
+	/**
+	 * Computes the key of the cache.
+	 */
+	static final class KeyBuilder {
+
+		private final MessageDigest digest;
+
+		KeyBuilder() {
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+			update("format " + FORMAT_VERSION);
+			update("skript " + Skript.getVersion());
+			update("server " + Bukkit.getVersion() + " " + Bukkit.getBukkitVersion());
+			update("components " + Aliases.USING_ITEM_COMPONENTS);
+		}
+
+		private void update(String string) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+			digest.update(bytes);
+		}
+
+		/**
+		 * Adds all alias files in the given directory to the key,
+		 * in the same order as {@link Aliases#loadDirectory(Path)} loads them.
+		 */
+		void addDirectory(Path directory) throws IOException {
+			update("directory");
+			addDirectory(directory, directory);
+		}
+
+		private void addDirectory(Path root, Path directory) throws IOException {
+			List<Path> files;
+			try (Stream<Path> stream = Files.list(directory)) {
+				files = stream.sorted().toList();
+			}
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				if (Files.isDirectory(file) && !name.startsWith(".")) {
+					addDirectory(root, file);
+				} else if (name.endsWith(".sk")) {
+					update(root.relativize(file).toString());
+					byte[] content = Files.readAllBytes(file);
+					update("" + content.length);
+					digest.update(content);
+				}
+			}
+		}
+
+		byte[] build() {
+			return digest.digest();
+		}
+
+	}
+
+	private AliasesCache() {}
+
+	/**
+	 * Reads the cache file.
+	 *
+	 * @param file The cache file.
+	 * @param key The expected key of the cache.
+	 * @return The cached aliases, or null if the file doesn't exist, is invalid or has a different key.
+	 */
+	static @Nullable Snapshot read(Path file, byte[] key) {
+		if (!Files.isRegularFile(file))
+			return null;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION)
+				return null;
+			byte[] storedKey = new byte[buffer.getInt()];
+			buffer.get(storedKey);
+			if (!Arrays.equals(key, storedKey))
+				return null;
+			long loadMillis = buffer.getLong();
+			int count = buffer.getInt();
+			List<Entry> entries = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String singular = readString(buffer);
+				String plural = readString(buffer);
+				int gender = buffer.getInt();
+				String id = readString(buffer);
+				String tags = buffer.get() == 0 ? null : readString(buffer);
+				int stateCount = buffer.getInt();
+				Map<String, String> blockStates = new LinkedHashMap<>(stateCount * 2);
+				for (int j = 0; j < stateCount; j++)
+					blockStates.put(readString(buffer), readString(buffer));
+				entries.add(new Entry(singular, plural, gender, id, tags, blockStates));
+			}
+			return new Snapshot(loadMillis, entries);
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			Skript.debug("Could not read the aliases cache: " + e);
+			return null;
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the cache file. The file is replaced atomically, so that a partially written cache is never read.
+	 *
+	 * @param file The cache file.
+	 * @param key The key of the cache.
+	 * @param snapshot The aliases to cache.
+	 */
+	static void write(Path file, byte[] key, Snapshot snapshot) throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			out.writeInt(MAGIC_NUMBER);
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(key.length);
+			out.write(key);
+			out.writeLong(snapshot.loadMillis());
+			out.writeInt(snapshot.entries().size());
+			for (Entry entry : snapshot.entries()) {
+				writeString(out, entry.singular());
+				writeString(out, entry.plural());
+				out.writeInt(entry.gender());
+				writeString(out, entry.id());
+				if (entry.tags() == null) {
+					out.writeByte(0);
+				} else {
+					out.writeByte(1);
+					writeString(out, entry.tags());
+				}
+				out.writeInt(entry.blockStates().size());
+				for (Map.Entry<String, String> state : entry.blockStates().entrySet()) {
+					writeString(out, state.getKey());
+					writeString(out, state.getValue());
+				}
+			}
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+}
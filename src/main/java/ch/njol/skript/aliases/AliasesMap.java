@@ -1,7 +1,10 @@
 package ch.njol.skript.aliases;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.bukkit.Material;
 import org.jetbrains.annotations.Nullable;
@@ -106,12 +109,54 @@ public class AliasesMap {
 		 */
 		public final List<AliasData> items;
 		
+		/**
+		 * The {@link #items} grouped by their {@link ItemData#aliasSignature() signature}, in the same order.
+		 * Created once needed, and kept up to date when items are added afterwards.
+		 */
+		@Nullable
+		private volatile Map<Integer, List<AliasData>> bySignature;
+		
 		public MaterialEntry() {
 			this.items = new ArrayList<>();
 		}
 		
+		public void add(AliasData data) {
+			items.add(data);
+			Map<Integer, List<AliasData>> bySignature = this.bySignature;
+			if (bySignature != null)
+				index(bySignature, data);
+		}
+		
+		private static void index(Map<Integer, List<AliasData>> bySignature, AliasData data) {
+			bySignature.computeIfAbsent(data.getItem().aliasSignature(), signature -> new ArrayList<>(1)).add(data);
+		}
+		
+		/**
+		 * Gets the only items that may match the given item exactly.
+		 * @param item The item to match.
+		 * @return A subset of {@link #items}, in the same order.
+		 */
+		public List<AliasData> exactCandidates(ItemData item) {
+			if (items.size() < INDEX_THRESHOLD || item.isAnything)
+				return items;
+			Map<Integer, List<AliasData>> bySignature = this.bySignature;
+			if (bySignature == null) {
+				bySignature = new HashMap<>();
+				for (AliasData data : items)
+					index(bySignature, data);
+				this.bySignature = bySignature;
+			}
+			return bySignature.getOrDefault(item.aliasSignature(), Collections.emptyList());
+		}
+		
 	}
 	
+	/**
+	 * The amount of aliases a material must have before they are {@link MaterialEntry#bySignature indexed},
+	 * below which comparing the items directly is cheaper than computing signatures.
+	 */
+	private static final int INDEX_THRESHOLD = 4;
+	
 	/**
 	 * One material entry per material. Ordinal of material is index of entry.
 	 */
@@ -133,7 +178,7 @@ public class AliasesMap {
 		if (data.getItem().isDefault()) {
 			entry.defaultItem = data;
 		} else {
-			entry.items.add(data);
+			entry.add(data);
 		}
 	}
 	
@@ -151,6 +196,15 @@ public class AliasesMap {
 		}
 		
 		// Try to find the best match
+		// An exact match is always the best one, and the first one is preferred, just like below
+		List<AliasData> candidates = entry.exactCandidates(item);
+		if (candidates != entry.items) { // otherwise, the loop below checks the same items anyway
+			for (AliasData data : candidates) {
+				if (item.matchAlias(data.getItem()) == MatchQuality.EXACT)
+					return new Match(MatchQuality.EXACT, data);
+			}
+		}
+		
 		MatchQuality maxQuality = MatchQuality.DIFFERENT;
 		AliasData bestMatch = null;
 		for (AliasData data : entry.items) {
@@ -193,7 +247,7 @@ public class AliasesMap {
 			return new Match(MatchQuality.DIFFERENT, null);
 		}
 		
-		for (AliasData data : entry.items) {
+		for (AliasData data : entry.exactCandidates(item)) {
 			if (item.matchAlias(data.getItem()) == MatchQuality.EXACT) {
 				return new Match(MatchQuality.EXACT, data);
 			}
@@ -10,6 +10,7 @@ import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,13 @@ public class AliasesProvider {
 	 */
 	private final AliasesMap aliasesMap;
 
+	/**
+	 * If not null, all aliases added to this provider are also recorded here,
+	 * so that they can be {@link AliasesCache cached}.
+	 */
+	@Nullable
+	private List<AliasesCache.Entry> recorded;
+
 	/**
 	 * Constructs a new aliases provider with no data.
 	 */
@@ -120,6 +128,11 @@ public class AliasesProvider {
 	 * @param blockStates Block states.
 	 */
 	public void addAlias(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		List<AliasesCache.Entry> recorded = this.recorded;
+		if (recorded != null) // record before the block states are modified
+			recorded.add(new AliasesCache.Entry(name.singular, name.plural, name.gender, id,
+				tags == null ? null : gson.toJson(tags), new LinkedHashMap<>(blockStates)));
+
 		// First, try to find if aliases already has a type with this id
 		// (so that aliases can refer to each other)
 		ItemType typeOfId = getAlias(id);
@@ -262,6 +275,23 @@ public class AliasesProvider {
 		return null;
 	}
 
+	/**
+	 * Starts recording all aliases added to this provider.
+	 */
+	void startRecording() {
+		recorded = new ArrayList<>();
+	}
+
+	/**
+	 * Stops recording aliases.
+	 * @return The aliases added since {@link #startRecording()} was called.
+	 */
+	List<AliasesCache.Entry> stopRecording() {
+		List<AliasesCache.Entry> recorded = this.recorded;
+		this.recorded = null;
+		return recorded == null ? Collections.emptyList() : recorded;
+	}
+
 	public void clearAliases() {
 		aliases.clear();
 		materials.clear();
@@ -0,0 +1,303 @@
+package ch.njol.skript.aliases;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A snapshot of the contents of an inventory for checking, counting and removing many item types at once.
+ * <p>
+ * The snapshot indexes the slots of the inventory by their material, so that every query only looks at the slots
+ * that may hold the queried item types instead of the whole inventory. The item types of the slots, which are used for
+ * matching, are created lazily and shared between queries, and stacks are only copied once they are modified.
+ * <p>
+ * Queries behave exactly like the respective methods of {@link ItemType}, e.g. {@link #contains(ItemType)}
+ * like {@link ItemType#isContainedIn(Iterable)} and {@link #remove(ItemType)} like {@link ItemType#removeFrom(Inventory)}.
+ * Removals only change the snapshot until they are {@link #apply() applied} to the inventory.
+ * A snapshot should only be used for a short time, e.g. during the evaluation of a single condition or effect,
+ * as it does not notice any changes made to the inventory by other means.
+ */
+public final class InventorySnapshot {
+
+	private final Inventory inventory;
+
+	/**
+	 * The contents of the inventory when this snapshot was taken or last {@link #apply() applied}.
+	 * These stacks are never modified.
+	 */
+	private final @Nullable ItemStack[] original;
+
+	/**
+	 * The current contents of this snapshot. Stacks are copied from {@link #original} before they are modified.
+	 */
+	private final @Nullable ItemStack[] contents;
+
+	/**
+	 * The slots whose stacks in {@link #contents} have been changed. Their stacks are copies owned by this snapshot.
+	 */
+	private final BitSet modified = new BitSet();
+
+	/**
+	 * The item types of the stacks in {@link #contents}, created once needed.
+	 */
+	private final @Nullable ItemType[] slotTypes;
+
+	/**
+	 * The slots holding each material, in ascending order. Created once needed.
+	 */
+	private @Nullable Map<Material, IntArrayList> slotsByMaterial;
+
+	private InventorySnapshot(Inventory inventory) {
+		this.inventory = inventory;
+		this.original = inventory.getContents();
+		this.contents = original.clone();
+		this.slotTypes = new ItemType[contents.length];
+	}
+
+	/**
+	 * Takes a snapshot of the given inventory.
+	 * @param inventory The inventory.
+	 * @return A new snapshot of the inventory.
+	 */
+	public static InventorySnapshot of(Inventory inventory) {
+		return new InventorySnapshot(inventory);
+	}
+
+	/**
+	 * @return The inventory this is a snapshot of.
+	 */
+	public Inventory getInventory() {
+		return inventory;
+	}
+
+	/**
+	 * Checks whether this snapshot contains the given item type, like {@link ItemType#isContainedIn(Iterable)}.
+	 * @param type The item type.
+	 * @return Whether the item type is contained in this snapshot.
+	 */
+	public boolean contains(ItemType type) {
+		int needed = type.getAmount();
+		int found = 0;
+		BitSet slots = candidateSlots(type);
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			ItemStack stack = contents[slot];
+			if (stack != null && slotType(slot).isSimilar(type)) {
+				found += stack.getAmount();
+				if (found >= needed) {
+					if (!type.isAll())
+						return true;
+					break;
+				}
+			}
+		}
+		if (type.isAll() && found < type.getInternalAmount())
+			return false;
+		return type.isAll();
+	}
+
+	/**
+	 * Checks whether this snapshot contains all the given item types.
+	 * Note that every item type is checked on its own, i.e. a stack may count towards multiple item types.
+	 * @param types The item types.
+	 * @return Whether every item type is {@link #contains(ItemType) contained} in this snapshot.
+	 */
+	public boolean containsAll(ItemType... types) {
+		for (ItemType type : types) {
+			if (!contains(type))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the items in this snapshot that are similar to any of the given item types.
+	 * Every stack is only counted once, even if it is similar to multiple item types.
+	 * @param types The item types.
+	 * @return The total amount of matching items.
+	 */
+	public long count(ItemType... types) {
+		BitSet slots = new BitSet(contents.length);
+		for (ItemType type : types)
+			slots.or(candidateSlots(type));
+		long amount = 0;
+		slotLoop:
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			ItemStack stack = contents[slot];
+			if (stack == null)
+				continue;
+			ItemType slotType = slotType(slot);
+			for (ItemType type : types) {
+				if (slotType.isSimilar(type)) {
+					amount += stack.getAmount();
+					continue slotLoop;
+				}
+			}
+		}
+		return amount;
+	}
+
+	/**
+	 * Removes the given item type from this snapshot, like {@link ItemType#removeFrom(Inventory)}.
+	 * @param type The item type.
+	 * @return Whether everything could be removed.
+	 */
+	public boolean remove(ItemType type) {
+		return type.removeFrom(true, new SlotList(candidateSlots(type)));
+	}
+
+	/**
+	 * Removes all items of the given item type from this snapshot, like {@link ItemType#removeAll(Inventory)}.
+	 * @param type The item type.
+	 * @return Whether everything could be removed.
+	 */
+	public boolean removeAll(ItemType type) {
+		return type.removeAll(true, new SlotList(candidateSlots(type)));
+	}
+
+	/**
+	 * Removes all the given item types from this snapshot, but only if all of them can be removed completely.
+	 * Otherwise, this snapshot is left unchanged.
+	 * @param types The item types.
+	 * @return Whether the item types were removed.
+	 */
+	public boolean removeAllOrNothing(ItemType... types) {
+		BitSet modifiedBefore = (BitSet) modified.clone();
+		@Nullable ItemStack[] backup = contents.clone();
+		// stacks copied before this call would be modified in place
+		for (int slot = modifiedBefore.nextSetBit(0); slot >= 0; slot = modifiedBefore.nextSetBit(slot + 1)) {
+			ItemStack stack = backup[slot];
+			if (stack != null)
+				backup[slot] = stack.clone();
+		}
+		for (ItemType type : types) {
+			if (!remove(type)) {
+				for (int slot = modified.nextSetBit(0); slot >= 0; slot = modified.nextSetBit(slot + 1)) {
+					contents[slot] = backup[slot];
+					slotTypes[slot] = null;
+				}
+				modified.clear();
+				modified.or(modifiedBefore);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes all changes made to this snapshot to the inventory. Does not call updateInventory for players.
+	 */
+	public void apply() {
+		for (int slot = modified.nextSetBit(0); slot >= 0; slot = modified.nextSetBit(slot + 1))
+			inventory.setItem(slot, contents[slot]);
+		modified.clear();
+		// the copies may now be referenced by the inventory, so they must be copied again before modifying them
+		System.arraycopy(contents, 0, original, 0, contents.length);
+	}
+
+	/**
+	 * Gets the slots that may hold items matching the given type.
+	 * Items only match if they share a material, unless either of them represents anything.
+	 */
+	private BitSet candidateSlots(ItemType type) {
+		Map<Material, IntArrayList> slotsByMaterial = slotsByMaterial();
+		BitSet slots = new BitSet(contents.length);
+		for (ItemData data : type.getTypes()) {
+			if (data.isAnything) {
+				slots.set(0, contents.length);
+				return slots;
+			}
+			IntArrayList materialSlots = slotsByMaterial.get(data.getType());
+			if (materialSlots != null) {
+				for (int i = 0; i < materialSlots.size(); i++)
+					slots.set(materialSlots.getInt(i));
+			}
+		}
+		return slots;
+	}
+
+	private Map<Material, IntArrayList> slotsByMaterial() {
+		Map<Material, IntArrayList> slotsByMaterial = this.slotsByMaterial;
+		if (slotsByMaterial == null) {
+			slotsByMaterial = new EnumMap<>(Material.class);
+			for (int slot = 0; slot < contents.length; slot++) {
+				ItemStack stack = contents[slot];
+				if (stack != null)
+					slotsByMaterial.computeIfAbsent(stack.getType(), material -> new IntArrayList()).add(slot);
+			}
+			this.slotsByMaterial = slotsByMaterial;
+		}
+		return slotsByMaterial;
+	}
+
+	private ItemType slotType(int slot) {
+		ItemType type = slotTypes[slot];
+		if (type == null) {
+			ItemStack stack = contents[slot];
+			assert stack != null;
+			type = new ItemType(stack);
+			slotTypes[slot] = type;
+		}
+		return type;
+	}
+
+	/**
+	 * The stacks in some slots of this snapshot. The returned stacks must not be modified,
+	 * so {@link ItemType#removeFrom(boolean, java.util.List[])} changes their amounts through {@link #setAmount(int, int)},
+	 * which copies a stack the first time it is modified.
+	 * The materials of the slots never change, so the index of this snapshot stays valid.
+	 */
+	final class SlotList extends AbstractList<ItemStack> implements RandomAccess {
+
+		private final int[] slots;
+
+		SlotList(BitSet slots) {
+			this.slots = slots.stream().toArray();
+		}
+
+		@Override
+		public @Nullable ItemStack get(int index) {
+			return contents[slots[index]];
+		}
+
+		/**
+		 * Changes the amount of the stack at the given index of this list.
+		 */
+		void setAmount(int index, int amount) {
+			int slot = slots[index];
+			ItemStack stack = contents[slot];
+			assert stack != null;
+			if (!modified.get(slot)) {
+				stack = stack.clone();
+				contents[slot] = stack;
+				modified.set(slot);
+			}
+			stack.setAmount(amount);
+			slotTypes[slot] = null;
+		}
+
+		@Override
+		public @Nullable ItemStack set(int index, @Nullable ItemStack stack) {
+			int slot = slots[index];
+			ItemStack previous = contents[slot];
+			contents[slot] = stack;
+			slotTypes[slot] = null;
+			modified.set(slot);
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return slots.length;
+		}
+
+	}
+
+}
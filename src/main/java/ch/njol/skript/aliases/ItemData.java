@@ -415,24 +415,44 @@ public class ItemData implements Cloneable, YggdrasilExtendedSerializable {
 		// clone to avoid affecting user
 		first = first.clone();
 		second = second.clone();
+		stripComparedProperties(first, ourEnchants, ourFlags);
+		stripComparedProperties(second, theirEnchants, theirFlags);
 
-		first.setDisplayName(null);
-		second.setDisplayName(null);
-
-		first.setLore(null);
-		second.setLore(null);
-
-		for (Enchantment ourEnchant : ourEnchants.keySet())
-			first.removeEnchant(ourEnchant);
-		for (Enchantment theirEnchant : theirEnchants.keySet())
-			second.removeEnchant(theirEnchant);
+		return first.equals(second) ? quality : MatchQuality.SAME_MATERIAL;
+	}
 
-		for (ItemFlag ourFlag : ourFlags)
-			first.removeItemFlags(ourFlag);
-		for (ItemFlag theirFlag : theirFlags)
-			second.removeItemFlags(theirFlag);
+	/**
+	 * Removes the properties that {@link #compareItemMetas(ItemMeta, ItemMeta)} compares separately from the given meta.
+	 */
+	private static void stripComparedProperties(ItemMeta meta, Map<Enchantment, Integer> enchants, Set<ItemFlag> flags) {
+		meta.setDisplayName(null);
+		meta.setLore(null);
+		for (Enchantment enchant : enchants.keySet())
+			meta.removeEnchant(enchant);
+		for (ItemFlag flag : flags)
+			meta.removeItemFlags(flag);
+	}
 
-		return first.equals(second) ? quality : MatchQuality.SAME_MATERIAL;
+	/**
+	 * Computes a signature of everything that {@link #matchAlias(ItemData)} requires to be equal for an
+	 * {@link MatchQuality#EXACT exact} match, apart from the material, durability and block values.
+	 * If two items match exactly, they have the same signature; the opposite is not necessarily true.
+	 *
+	 * @return The signature of this item.
+	 */
+	int aliasSignature() {
+		if (!hasItemMeta()) // item metas are only compared if either item has one
+			return 0;
+		ItemMeta meta = getItemMeta(); // a copy
+		Map<Enchantment, Integer> enchants = meta.getEnchants();
+		Set<ItemFlag> flags = meta.getItemFlags();
+		int signature = Objects.hash(
+			meta.hasDisplayName() ? meta.getDisplayName() : null,
+			meta.hasLore() ? meta.getLore() : null,
+			enchants,
+			flags);
+		stripComparedProperties(meta, enchants, flags);
+		return 31 * signature + meta.hashCode();
 	}
 	
 	/**
@@ -948,6 +948,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 							} else {
 								listIterator.remove();
 							}
+						} else if (replaceWithNull && list instanceof InventorySnapshot.SlotList slots) {
+							slots.setAmount(index, is.getAmount() - toRemove); // the snapshot copies the stack before changing it
 						} else {
 							is.setAmount(is.getAmount() - toRemove);
 						}
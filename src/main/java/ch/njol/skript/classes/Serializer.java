@@ -84,12 +84,42 @@ public abstract class Serializer<T> extends YggdrasilSerializer<T> {
 	public abstract void deserialize(T o, Fields f) throws StreamCorruptedException, NotSerializableException;
 	
 	/**
-	 * Not currently used (everything happens on Bukkit's main thread).
+	 * Not currently used (deserialisation happens on Bukkit's main thread).
 	 * 
 	 * @return Whether deserialisation must be done on Bukkit's main thread.
 	 */
 	public abstract boolean mustSyncDeserialization();
 	
+	/**
+	 * Whether values must be serialised on Bukkit's main thread when saving variables.
+	 * <p>
+	 * If this returns false, a {@link #snapshot(Object) snapshot} of a value is taken on the main thread
+	 * when a variable is set, which is then serialised on the thread that saves variables.
+	 * Only return false if serialising a snapshot does not access any state that may change concurrently.
+	 * 
+	 * @return Whether serialisation must be done on Bukkit's main thread.
+	 */
+	public boolean mustSyncSerialization() {
+		return true;
+	}
+	
+	/**
+	 * Creates a copy of the given value that is not affected by any later changes to the value.
+	 * Only used if {@link #mustSyncSerialization()} returns false.
+	 * <p>
+	 * By default, this uses the {@link ClassInfo#cloner(Cloner) cloner} of the class info,
+	 * and returns the value itself if there is none, which is fine for immutable types.
+	 * 
+	 * @param value The value to copy
+	 * @return A copy of the value, or the value itself if it cannot change.
+	 */
+	@SuppressWarnings("unchecked")
+	public T snapshot(final T value) {
+		final ClassInfo<? extends T> info = this.info;
+		assert info != null;
+		return ((ClassInfo<T>) info).clone(value);
+	}
+	
 	@Override
 	public boolean canBeInstantiated(final Class<? extends T> c) {
 		assert info != null && info.getC().isAssignableFrom(c);
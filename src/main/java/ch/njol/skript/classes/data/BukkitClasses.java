@@ -205,13 +205,7 @@ public class BukkitClasses {
 					@Override
 					public Fields serialize(Location location) {
 						Fields fields = new Fields();
-						World world = null;
-						try {
-							world = location.getWorld();
-						} catch (IllegalArgumentException exception) {
-							Skript.warning("A location failed to serialize with its defined world, as the world was unloaded.");
-						}
-						fields.putObject("world", world);
+						fields.putObject("world", world(location));
 						fields.putPrimitive("x", location.getX());
 						fields.putPrimitive("y", location.getY());
 						fields.putPrimitive("z", location.getZ());
@@ -242,6 +236,27 @@ public class BukkitClasses {
 						return true;
 					}
 
+					@Override
+					public boolean mustSyncSerialization() {
+						return false;
+					}
+
+					@Override
+					public Location snapshot(Location location) {
+						// the world is resolved on the main thread, the save thread then only writes its name
+						return new Location(world(location), location.getX(), location.getY(), location.getZ(),
+							location.getYaw(), location.getPitch());
+					}
+
+					private static @Nullable World world(Location location) {
+						try {
+							return location.getWorld();
+						} catch (IllegalArgumentException exception) {
+							Skript.warning("A location failed to serialize with its defined world, as the world was unloaded.");
+							return null;
+						}
+					}
+
 					// return l.getWorld().getName() + ":" + l.getX() + "," + l.getY() + "," + l.getZ() + "|" + l.getYaw() + "/" + l.getPitch();
 					@Override
 					@Nullable
@@ -324,6 +339,11 @@ public class BukkitClasses {
 						return false;
 					}
 
+					@Override
+					public boolean mustSyncSerialization() {
+						return false;
+					}
+
 					@Override
 					protected boolean canBeInstantiated() {
 						return false;
@@ -208,6 +208,11 @@ public class JavaClasses {
 					public boolean mustSyncDeserialization() {
 						return false;
 					}
+
+					@Override
+					public boolean mustSyncSerialization() {
+						return false;
+					}
 				}));
 
 		Classes.registerClass(new ClassInfo<>(Short.class, "short")
@@ -304,6 +309,11 @@ public class JavaClasses {
 					public boolean mustSyncDeserialization() {
 						return false;
 					}
+
+					@Override
+					public boolean mustSyncSerialization() {
+						return false;
+					}
 				})
 				.property(Property.CONTAINS,
 					"Strings can contain other strings.",
@@ -520,6 +530,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class LongParser extends Parser<Long> {
@@ -572,6 +587,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class IntegerParser extends Parser<Integer> {
@@ -624,6 +644,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class DoubleParser extends Parser<Double> {
@@ -678,6 +703,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class FloatParser extends Parser<Float> {
@@ -732,6 +762,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class ShortParser extends Parser<Short> {
@@ -784,6 +819,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class ByteParser extends Parser<Byte> {
@@ -836,6 +876,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 	}
 
 	private static class UUIDParser extends Parser<UUID> {
@@ -888,6 +933,11 @@ public class JavaClasses {
 			return false;
 		}
 
+		@Override
+		public boolean mustSyncSerialization() {
+			return false;
+		}
+
 		@Override
 		protected boolean canBeInstantiated() {
 			return false;
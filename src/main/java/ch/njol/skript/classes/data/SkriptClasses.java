@@ -216,7 +216,12 @@ public class SkriptClasses {
 					public String toVariableNameString(final Timespan o) {
 						return "timespan:" + o.getAs(Timespan.TimePeriod.MILLISECOND);
 					}
-				}).serializer(new YggdrasilSerializer<>()));
+				}).serializer(new YggdrasilSerializer<>() {
+					@Override
+					public boolean mustSyncSerialization() {
+						return false; // timespans are immutable
+					}
+				}));
 
 		// TODO remove
 		Classes.registerClass(new ClassInfo<>(Timeperiod.class, "timeperiod")
@@ -309,6 +314,16 @@ public class SkriptClasses {
 						return false;
 					}
 
+					@Override
+					public boolean mustSyncSerialization() {
+						return false;
+					}
+
+					@Override
+					public Date snapshot(Date date) {
+						return new Date(date.getTime()); // dates can be changed by adding or subtracting timespans
+					}
+
 					@Override
 					protected boolean canBeInstantiated() {
 						return false;
@@ -325,6 +325,15 @@ public class CondCompare extends Condition implements VerboseAssert {
 				second.getAnd() && !second.isSingle())
 			return compareLists(event);
 
+		// comparing two single values doesn't need the nested checks, which would create a checker for every evaluation
+		if (third == null && first.isSingle() && second.isSingle()) {
+			Object o1 = first.getSingle(event);
+			Object o2 = o1 == null ? null : second.getSingle(event);
+			if (o1 == null || o2 == null)
+				return isNegated();
+			return isNegated() ^ relation.isImpliedBy(comparator != null ? comparator.compare(o1, o2) : Comparators.compare(o1, o2));
+		}
+
 		return first.check(event, (Predicate<Object>) o1 ->
 			second.check(event, (Predicate<Object>) o2 -> {
 				if (third == null)
@@ -362,6 +371,11 @@ public class CondCompare extends Condition implements VerboseAssert {
 		), isNegated());
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return isThreadSafe(first) && isThreadSafe(second) && (third == null || isThreadSafe(third));
+	}
+
 	public String getExpectedMessage(Event event) {
 		String message = "a value ";
 		if (third == null)
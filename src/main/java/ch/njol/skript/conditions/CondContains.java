@@ -2,6 +2,7 @@ package ch.njol.skript.conditions;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.aliases.InventorySnapshot;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Examples;
@@ -116,10 +117,12 @@ public class CondContains extends Condition implements VerboseAssert {
 		return switch (checkType) {
 			case INVENTORY -> SimpleExpression.check(containerValues, o -> {
 				Inventory inventory = (Inventory) o;
+				// shared between all checked item types, so that the inventory is only scanned once
+				InventorySnapshot snapshot = InventorySnapshot.of(inventory);
 
 				return items.check(event, o1 -> {
 					if (o1 instanceof ItemType type) {
-						return type.isContainedIn(inventory);
+						return snapshot.contains(type);
 					} else if (o1 instanceof ItemStack stack) {
 						return inventory.containsAtLeast(stack, stack.getAmount());
 					} else if (o1 instanceof Inventory) {
@@ -64,6 +64,11 @@ public class CondIsSet extends Condition implements VerboseAssert {
 		return check(expr, e);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return isThreadSafe(expr);
+	}
+
 	@Override
 	public String getExpectedMessage(Event event) {
 		return isNegated() ? Language.get("none") : "a value";
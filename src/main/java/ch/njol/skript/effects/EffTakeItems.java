@@ -0,0 +1,74 @@
+package ch.njol.skript.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.InventorySnapshot;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Example;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.SyntaxStringBuilder;
+import ch.njol.util.Kleenean;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.Nullable;
+
+@Name("Take Items")
+@Description({
+	"Removes all the given items from inventories, but only from the inventories that contain all of them. " +
+		"Inventories that are missing any of the items are left unchanged, " +
+		"unlike with the remove effect, which removes as many of the items as it can.",
+	"This is meant for shops and similar scripts that must never take only part of a price."
+})
+@Example("""
+	command /buy:
+		trigger:
+			if player's inventory contains 5 diamonds and 3 gold ingots:
+				take 5 diamonds and 3 gold ingots from player's inventory
+				give player an enchanted golden apple
+	""")
+@Since("2.14")
+public class EffTakeItems extends Effect {
+
+	static {
+		Skript.registerEffect(EffTakeItems.class, "take %itemtypes% from %inventories%");
+	}
+
+	private Expression<ItemType> items;
+	private Expression<Inventory> inventories;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		items = (Expression<ItemType>) exprs[0];
+		inventories = (Expression<Inventory>) exprs[1];
+		return true;
+	}
+
+	@Override
+	protected void execute(Event event) {
+		ItemType[] items = this.items.getArray(event);
+		if (items.length == 0)
+			return;
+		for (Inventory inventory : inventories.getArray(event)) {
+			InventorySnapshot snapshot = InventorySnapshot.of(inventory);
+			if (!snapshot.removeAllOrNothing(items))
+				continue;
+			snapshot.apply();
+			if (inventory.getHolder() instanceof Player player)
+				player.updateInventory();
+		}
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return new SyntaxStringBuilder(event, debug)
+			.append("take", items, "from", inventories)
+			.toString();
+	}
+
+}
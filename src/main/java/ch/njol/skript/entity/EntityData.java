@@ -707,7 +707,7 @@ public abstract class EntityData<E extends Entity> implements SyntaxElement, Ygg
 		assert worlds != null && worlds.length > 0 : Arrays.toString(worlds);
 		List<E> list = new ArrayList<>();
 		for (World world : worlds) {
-			for (E entity : world.getEntitiesByClass(getType())) {
+			for (E entity : EntityQueryCache.getEntitiesByClass(world, getType())) {
 				if (match(entity))
 					list.add(entity);
 			}
@@ -738,7 +738,7 @@ public abstract class EntityData<E extends Entity> implements SyntaxElement, Ygg
 		if (worlds == null)
 			worlds = Bukkit.getWorlds().toArray(new World[0]);
 		for (World world : worlds) {
-			for (E entity : world.getEntitiesByClass(type)) {
+			for (E entity : EntityQueryCache.getEntitiesByClass(world, type)) {
 				for (EntityData<?> entityData : types) {
 					if (entityData.isInstance(entity)) {
 						list.add(entity);
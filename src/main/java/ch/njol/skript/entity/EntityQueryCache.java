@@ -0,0 +1,152 @@
+package ch.njol.skript.entity;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.util.TickCounter;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the entities of each class in each world for the rest of the current tick,
+ * so that expressions like {@code all zombies} that are evaluated by many triggers in the same tick
+ * only have to walk the entities of a world once.
+ * <p>
+ * The cache is only used if {@link SkriptConfig#cacheEntityQueries enabled}, only on the main thread,
+ * and only on Paper, which notifies Skript of every entity that is added to or removed from a world.
+ * It is cleared at the start of every {@link TickCounter tick}, and the entries of a world that could contain an entity
+ * are dropped as soon as that entity is added to or removed from the world.
+ * Only the entities of a class are cached: whether they match an {@link EntityData} is still checked
+ * on every evaluation, as that may depend on the state of the entities, which can change at any time.
+ */
+public final class EntityQueryCache {
+
+	private EntityQueryCache() {}
+
+	private static final boolean SUPPORTED = Skript.classExists("com.destroystokyo.paper.event.entity.EntityAddToWorldEvent");
+
+	private static final Map<World, Map<Class<?>, Collection<? extends Entity>>> cache = new HashMap<>();
+
+	static {
+		TickCounter.onTickStart(EntityQueryCache::clear);
+	}
+
+	private static volatile long hits;
+	private static volatile long misses;
+	private static volatile long invalidations;
+
+	/**
+	 * Gets all entities of the given class in the given world, like {@link World#getEntitiesByClass(Class)}.
+	 *
+	 * @param world The world.
+	 * @param type The class of the entities.
+	 * @return The entities, which may be shared with other callers during the current tick and must not be modified.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Entity> Collection<E> getEntitiesByClass(World world, Class<E> type) {
+		if (!SUPPORTED || !SkriptConfig.cacheEntityQueries.value() || !Bukkit.isPrimaryThread())
+			return world.getEntitiesByClass(type);
+
+		Map<Class<?>, Collection<? extends Entity>> worldCache = cache.computeIfAbsent(world, w -> new HashMap<>());
+		Collection<E> entities = (Collection<E>) worldCache.get(type);
+		if (entities != null) {
+			hits++;
+			return entities;
+		}
+		misses++;
+		entities = Collections.unmodifiableCollection(world.getEntitiesByClass(type));
+		worldCache.put(type, entities);
+		return entities;
+	}
+
+	/**
+	 * Drops all cached entities, which happens at the start of every tick.
+	 */
+	static void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Drops the cached entities of all classes of the given entity in its world.
+	 */
+	static void invalidate(Entity entity) {
+		if (cache.isEmpty())
+			return;
+		Map<Class<?>, Collection<? extends Entity>> worldCache = cache.get(entity.getWorld());
+		if (worldCache != null && worldCache.keySet().removeIf(type -> type.isInstance(entity)))
+			invalidations++;
+	}
+
+	/**
+	 * @return Whether the cache can be used on this server, which requires Paper.
+	 */
+	public static boolean isSupported() {
+		return SUPPORTED;
+	}
+
+	/**
+	 * @return The number of queries that were answered from the cache.
+	 */
+	public static long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return The number of queries that had to walk the entities of a world.
+	 */
+	public static long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return The number of times cached entities were dropped before the end of a tick because of an added or removed entity.
+	 */
+	public static long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * @return The fraction of queries that were answered from the cache, or 0 if the cache has not been used yet.
+	 */
+	public static double getHitRate() {
+		long hits = EntityQueryCache.hits;
+		long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Keeps the cache up to date. Registered by Skript when it is enabled, if the cache {@link #isSupported() is supported}.
+	 */
+	@ApiStatus.Internal
+	public static final class InvalidationListener implements Listener {
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onAdd(EntityAddToWorldEvent event) {
+			invalidate(event.getEntity());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onRemove(EntityRemoveFromWorldEvent event) {
+			invalidate(event.getEntity());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onWorldUnload(WorldUnloadEvent event) {
+			cache.remove(event.getWorld());
+		}
+
+	}
+
+}
@@ -7,6 +7,8 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.PeriodicScheduler;
+import ch.njol.skript.util.PeriodicScheduler.ScheduledTask;
 import ch.njol.skript.util.Time;
 import ch.njol.util.Math2;
 import org.bukkit.Bukkit;
@@ -83,9 +85,9 @@ public class EvtAtTime extends SkriptEvent implements Comparable<EvtAtTime> {
 				iterator.remove();
 		}
 
-		if (taskID != -1 && TRIGGERS.isEmpty()) { // Unregister Bukkit listener if possible
-			Bukkit.getScheduler().cancelTask(taskID);
-			taskID = -1;
+		if (task != null && TRIGGERS.isEmpty()) { // Unregister the periodic task if possible
+			task.cancel();
+			task = null;
 		}
 	}
 
@@ -99,14 +101,15 @@ public class EvtAtTime extends SkriptEvent implements Comparable<EvtAtTime> {
 		return false;
 	}
 
-	private static int taskID = -1;
+	private static @Nullable ScheduledTask task;
 	
 	private static void registerListener() {
-		if (taskID != -1)
+		if (task != null)
 			return;
 		// For each world:
 		// check each instance in order until triggerTime > (worldTime + period)
-		taskID = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), () -> {
+		// this is never deferred, as that would make the events run late
+		task = PeriodicScheduler.schedule(() -> {
 			for (Entry<World, EvtAtInfo> entry : TRIGGERS.entrySet()) {
 				EvtAtInfo info = entry.getValue();
 				int worldTime = (int) entry.getKey().getTime();
@@ -144,14 +147,14 @@ public class EvtAtTime extends SkriptEvent implements Comparable<EvtAtTime> {
 					// and therefore should trigger this event.
 					ScheduledEvent scheduledEvent = new ScheduledEvent(entry.getKey());
 					SkriptEventHandler.logEventStart(scheduledEvent);
-					SkriptEventHandler.logTriggerEnd(event.trigger);
+					SkriptEventHandler.logTriggerStart(event.trigger);
 					event.trigger.execute(scheduledEvent);
 					SkriptEventHandler.logTriggerEnd(event.trigger);
 					SkriptEventHandler.logEventEnd();
 				}
 				info.lastCheckedTime = worldTime;
 			}
-		}, 0, CHECK_PERIOD);
+		}, CHECK_PERIOD, 1, false, false);
 	}
 	
 	@Override
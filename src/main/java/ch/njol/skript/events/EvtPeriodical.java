@@ -7,8 +7,9 @@ import ch.njol.skript.events.bukkit.ScheduledNoWorldEvent;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.util.PeriodicScheduler;
+import ch.njol.skript.util.PeriodicScheduler.ScheduledTask;
 import ch.njol.skript.util.Timespan;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
@@ -16,15 +17,18 @@ import org.jetbrains.annotations.Nullable;
 public class EvtPeriodical extends SkriptEvent {
 
 	static {
-		Skript.registerEvent("*Periodical", EvtPeriodical.class, ScheduledNoWorldEvent.class, "every %timespan%")
-				.description("An event that is called periodically.")
+		Skript.registerEvent("*Periodical", EvtPeriodical.class, ScheduledNoWorldEvent.class, "every %timespan% [:exactly]")
+				.description("An event that is called periodically.",
+					"Periodical events with the same period are spread across different ticks to avoid lag spikes. " +
+						"Use 'exactly' if the event must run on the exact tick instead.")
 				.examples(
 					"every 2 seconds:",
+					"every 5 seconds exactly:",
 					"every minecraft hour:",
 					"every tick: # can cause lag depending on the code inside the event",
 					"every minecraft days:"
 				).since("1.0");
-		Skript.registerEvent("*Periodical", EvtPeriodical.class, ScheduledEvent.class, "every %timespan% in [world[s]] %worlds%")
+		Skript.registerEvent("*Periodical", EvtPeriodical.class, ScheduledEvent.class, "every %timespan% [:exactly] in [world[s]] %worlds%")
 				.description("An event that is called periodically.")
 				.examples(
 					"every 2 seconds in \"world\":",
@@ -39,16 +43,19 @@ public class EvtPeriodical extends SkriptEvent {
 	private Timespan period;
 
 	@SuppressWarnings("NotNullFieldNotInitialized")
-	private int[] taskIDs;
+	private ScheduledTask[] tasks;
 
 	private World @Nullable [] worlds;
 
+	private boolean exactly;
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public boolean init(Literal<?>[] args, int matchedPattern, ParseResult parseResult) {
 		period = ((Literal<Timespan>) args[0]).getSingle();
 		if (args.length > 1 && args[1] != null)
 			worlds = ((Literal<World>) args[1]).getArray();
+		exactly = parseResult.hasTag("exactly");
 		return true;
 	}
 
@@ -57,17 +64,15 @@ public class EvtPeriodical extends SkriptEvent {
 		long ticks = period.getAs(Timespan.TimePeriod.TICK);
 
 		if (worlds == null) {
-			taskIDs = new int[]{
-				Bukkit.getScheduler().scheduleSyncRepeatingTask(
-					Skript.getInstance(), () -> execute(null), ticks, ticks
-				)
+			tasks = new ScheduledTask[]{
+				PeriodicScheduler.schedule(() -> execute(null), ticks, ticks, exactly, !exactly)
 			};
 		} else {
-			taskIDs = new int[worlds.length];
+			tasks = new ScheduledTask[worlds.length];
 			for (int i = 0; i < worlds.length; i++) {
 				World world = worlds[i];
-				taskIDs[i] = Bukkit.getScheduler().scheduleSyncRepeatingTask(
-					Skript.getInstance(), () -> execute(world), ticks - (world.getFullTime() % ticks), ticks
+				tasks[i] = PeriodicScheduler.schedule(
+					() -> execute(world), ticks, ticks - (world.getFullTime() % ticks), exactly, !exactly
 				);
 			}
 		}
@@ -77,8 +82,8 @@ public class EvtPeriodical extends SkriptEvent {
 
 	@Override
 	public void unload() {
-		for (int taskID : taskIDs)
-			Bukkit.getScheduler().cancelTask(taskID);
+		for (ScheduledTask task : tasks)
+			task.cancel();
 	}
 
 	@Override
@@ -93,7 +98,7 @@ public class EvtPeriodical extends SkriptEvent {
 	
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
-		return "every " + period;
+		return "every " + period + (exactly ? " exactly" : "");
 	}
 
 	private void execute(@Nullable World world) {
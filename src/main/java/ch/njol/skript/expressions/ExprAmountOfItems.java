@@ -1,6 +1,7 @@
 package ch.njol.skript.expressions;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.InventorySnapshot;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Examples;
@@ -13,7 +14,6 @@ import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
 @Name("Amount of Items")
@@ -43,18 +43,8 @@ public class ExprAmountOfItems extends SimpleExpression<Long> {
 	protected Long[] get(Event e) {
 		ItemType[] itemTypes = items.getArray(e);
 		long amount = 0;
-		for (Inventory inventory : inventories.getArray(e)) {
-			itemsLoop: for (ItemStack itemStack : inventory.getContents()) {
-				if (itemStack != null) {
-					for (ItemType itemType : itemTypes) {
-						if (new ItemType(itemStack).isSimilar(itemType)) {
-							amount += itemStack.getAmount();
-							continue itemsLoop;
-						}
-					}
-				}
-			}
-		}
+		for (Inventory inventory : inventories.getArray(e))
+			amount += InventorySnapshot.of(inventory).count(itemTypes);
 		return new Long[]{amount};
 	}
 	
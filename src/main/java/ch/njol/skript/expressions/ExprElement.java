@@ -110,11 +110,6 @@ public class ExprElement<T> extends SimpleExpression<T> {
 	protected T @Nullable [] get(Event event) {
 		if (queue)
 			return this.getFromQueue(event);
-		Iterator<? extends T> iterator = expr.iterator(event);
-		if (iterator == null || !iterator.hasNext())
-			return null;
-		T element = null;
-		Class<T> returnType = (Class<T>) getReturnType();
 		int startIndex = 0, endIndex = 0;
 		if (this.startIndex != null) {
 			Integer integer = this.startIndex.getSingle(event);
@@ -130,6 +125,16 @@ public class ExprElement<T> extends SimpleExpression<T> {
 				return null;
 			endIndex = integer;
 		}
+		if (type != ElementType.RANDOM && (expr instanceof ExprSortedList || expr instanceof ExprIndices indices && indices.isSorted())) {
+			T[] elements = getSortedElements(event, startIndex, endIndex);
+			if (elements != null)
+				return elements;
+		}
+		Iterator<? extends T> iterator = expr.iterator(event);
+		if (iterator == null || !iterator.hasNext())
+			return null;
+		T element = null;
+		Class<T> returnType = (Class<T>) getReturnType();
 		T[] elementArray;
 		switch (type) {
 			case FIRST_ELEMENT:
@@ -175,6 +180,63 @@ public class ExprElement<T> extends SimpleExpression<T> {
 		return elementArray;
 	}
 
+	/**
+	 * Gets the elements of a sorted list or of sorted indices without sorting the whole list,
+	 * see {@link ExprSortedList#getRange(Event, int, int, boolean)}.
+	 */
+	@SuppressWarnings("unchecked")
+	private T @Nullable [] getSortedElements(Event event, int startIndex, int endIndex) {
+		int from, to;
+		boolean fromEnd = false, reverse = false;
+		switch (type) {
+			case FIRST_ELEMENT -> {
+				from = 0;
+				to = 1;
+			}
+			case LAST_ELEMENT -> {
+				from = 0;
+				to = 1;
+				fromEnd = true;
+			}
+			case FIRST_X_ELEMENTS -> {
+				from = 0;
+				to = startIndex;
+			}
+			case LAST_X_ELEMENTS -> {
+				from = 0;
+				to = startIndex;
+				fromEnd = true;
+			}
+			case ORDINAL -> {
+				from = startIndex - 1;
+				to = startIndex;
+			}
+			case TAIL_END_ORDINAL -> {
+				from = startIndex - 1;
+				to = startIndex;
+				fromEnd = true;
+			}
+			case RANGE -> {
+				reverse = startIndex > endIndex;
+				from = Math.max(Math.min(startIndex, endIndex) - 1, 0);
+				to = Math.max(startIndex, endIndex);
+			}
+			default -> {
+				return null;
+			}
+		}
+		Object[] sorted = expr instanceof ExprSortedList sortedList
+			? sortedList.getRange(event, from, to, fromEnd)
+			: ((ExprIndices) expr).getRange(event, from, to, fromEnd);
+		if (sorted == null)
+			return null;
+		T[] elements = (T[]) Array.newInstance(getReturnType(), sorted.length);
+		System.arraycopy(sorted, 0, elements, 0, sorted.length);
+		if (reverse)
+			ArrayUtils.reverse(elements);
+		return elements;
+	}
+
 	@SuppressWarnings("unchecked")
 	private T @Nullable [] getFromQueue(Event event) {
 		SkriptQueue queue = (SkriptQueue) expr.getSingle(event);
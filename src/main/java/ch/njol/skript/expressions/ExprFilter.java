@@ -10,6 +10,7 @@ import ch.njol.skript.lang.*;
 import ch.njol.skript.lang.KeyedValue.UnzippedKeyValues;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.InputFilter;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.util.LiteralUtils;
 import ch.njol.util.Kleenean;
@@ -21,7 +22,6 @@ import org.jetbrains.annotations.UnknownNullability;
 import org.skriptlang.skript.lang.converter.Converters;
 
 import java.util.*;
-import java.util.stream.StreamSupport;
 
 @Name("Filter")
 @Description({
@@ -53,8 +53,7 @@ public class ExprFilter extends SimpleExpression<Object> implements InputSource,
 	private @UnknownNullability Expression<?> unfilteredObjects;
 	private final Set<ExprInput<?>> dependentInputs = new HashSet<>();
 
-	private @Nullable Object currentValue;
-	private @UnknownNullability String currentIndex;
+	private @UnknownNullability InputFilter filter;
 
 	@Override
 	public boolean init(Expression<?>[] expressions, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
@@ -68,7 +67,10 @@ public class ExprFilter extends SimpleExpression<Object> implements InputSource,
 		inputData.setSource(this);
 		filterCondition = Condition.parse(unparsedCondition, "Can't understand this condition: " + unparsedCondition);
 		inputData.setSource(originalSource);
-		return filterCondition != null;
+		if (filterCondition == null)
+			return false;
+		filter = new InputFilter(List.of(filterCondition), false);
+		return true;
 	}
 
 	@Override
@@ -76,38 +78,47 @@ public class ExprFilter extends SimpleExpression<Object> implements InputSource,
 		if (keyed)
 			return Iterators.transform(keyedIterator(event), KeyedValue::value);
 
-		// clear current index just to be safe
-		currentIndex = null;
-
 		Iterator<?> unfilteredObjectIterator = unfilteredObjects.iterator(event);
 		if (unfilteredObjectIterator == null)
 			return Collections.emptyIterator();
-		return Iterators.filter(unfilteredObjectIterator, candidateObject -> {
-			currentValue = candidateObject;
-			return filterCondition.check(event);
-		});
+		return Iterators.filter(unfilteredObjectIterator, candidateObject -> filter.test(event, candidateObject, null));
 	}
 
 	@Override
 	public Iterator<KeyedValue<Object>> keyedIterator(Event event) {
 		//noinspection unchecked
 		Iterator<KeyedValue<Object>> keyedIterator = ((KeyProviderExpression<Object>) unfilteredObjects).keyedIterator(event);
-		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(keyedIterator, Spliterator.ORDERED), false)
-			.filter(keyedValue -> {
-				currentValue = keyedValue.value();
-				currentIndex = keyedValue.key();
-				return filterCondition.check(event);
-			})
-			.iterator();
+		return Iterators.filter(keyedIterator, keyedValue -> filter.test(event, keyedValue.value(), keyedValue.key()));
 	}
 
 	@Override
 	protected Object @Nullable [] get(Event event) {
-		if (!keyed)
-			return Converters.convertStrictly(Iterators.toArray(iterator(event), Object.class), getReturnType());
-		UnzippedKeyValues<Object> unzipped = KeyedValue.unzip(keyedIterator(event));
-		cache.put(event, unzipped.keys());
-		return Converters.convertStrictly(unzipped.values().toArray(), getReturnType());
+		// unlike the iterators, this checks all values at once, which allows checking large lists in parallel
+		Object[] values;
+		String[] keys = null;
+		if (keyed) {
+			//noinspection unchecked
+			UnzippedKeyValues<Object> unzipped = KeyedValue.unzip(((KeyProviderExpression<Object>) unfilteredObjects).keyedIterator(event));
+			values = unzipped.values().toArray();
+			keys = unzipped.keys().toArray(new String[0]);
+		} else {
+			Iterator<?> unfilteredObjectIterator = unfilteredObjects.iterator(event);
+			values = unfilteredObjectIterator == null ? new Object[0] : Iterators.toArray(unfilteredObjectIterator, Object.class);
+		}
+
+		boolean[] matches = filter.test(event, values, keys);
+		List<Object> filteredValues = new ArrayList<>();
+		List<String> filteredKeys = keyed ? new ArrayList<>() : null;
+		for (int i = 0; i < values.length; i++) {
+			if (!matches[i])
+				continue;
+			filteredValues.add(values[i]);
+			if (filteredKeys != null)
+				filteredKeys.add(keys[i]);
+		}
+		if (filteredKeys != null)
+			cache.put(event, filteredKeys);
+		return Converters.convertStrictly(filteredValues.toArray(), getReturnType());
 	}
 
 	@Override
@@ -173,7 +184,7 @@ public class ExprFilter extends SimpleExpression<Object> implements InputSource,
 	}
 
 	public @Nullable Object getCurrentValue() {
-		return currentValue;
+		return filter.getCurrentValue();
 	}
 
 	@Override
@@ -183,7 +194,7 @@ public class ExprFilter extends SimpleExpression<Object> implements InputSource,
 
 	@Override
 	public @UnknownNullability String getCurrentIndex() {
-		return currentIndex;
+		return filter.getCurrentIndex();
 	}
 
 }
@@ -44,6 +44,7 @@ public class ExprFunction extends SimpleExpression<DynamicFunctionReference> imp
 	private int mode;
 	private boolean local;
 	private Script here;
+	private final DynamicFunctionReference.CallSite callSite = new DynamicFunctionReference.CallSite();
 
 	@Override
 	@SuppressWarnings("null")
@@ -79,12 +80,12 @@ public class ExprFunction extends SimpleExpression<DynamicFunctionReference> imp
 				@Nullable String name = this.name.getSingle(event);
 				if (name == null)
 					yield CollectionUtils.array();
-				@Nullable DynamicFunctionReference reference = DynamicFunctionReference.resolveFunction(name, script);
+				@Nullable DynamicFunctionReference reference = callSite.resolve(name, script);
 				if (reference == null)
 					yield CollectionUtils.array();
 				yield CollectionUtils.array(reference);
 			}
-			case 1 -> this.name.stream(event).map(string -> DynamicFunctionReference.resolveFunction(string, script))
+			case 1 -> this.name.stream(event).map(string -> callSite.resolve(string, script))
 					.filter(Objects::nonNull)
 					.toArray(DynamicFunctionReference[]::new);
 			case 2 -> {
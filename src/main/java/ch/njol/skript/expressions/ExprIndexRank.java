@@ -0,0 +1,119 @@
+package ch.njol.skript.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Example;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.KeyedValue;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.variables.SortedListIndex;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import com.google.common.collect.Iterators;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+@Name("Rank of Index")
+@Description({
+	"The position of an index in the <a href='#ExprIndices'>sorted indices</a> of a list variable, starting at 1, "
+		+ "e.g. the rank of a player on a leaderboard.",
+	"Indices with equal values are ranked in the order of the list, like when sorting the indices.",
+	"All objects in the list must be comparable; if they're not, this expression will return nothing.",
+	"The rank of an index can be found much faster in global lists that are listed in the 'sorted list variables' option of the config."
+})
+@Example("""
+		set {_leader-board::first} to 17
+		set {_leader-board::third} to 30
+		set {_leader-board::second} to 25
+		broadcast "%rank of ""second"" in {_leader-board::*} in descending order%" # result is 2
+		""")
+@Example("send \"You are ranked %rank of player's uuid in {kills::*} in descending order%!\" to player")
+@Since("2.14")
+public class ExprIndexRank extends SimpleExpression<Long> {
+
+	static {
+		Skript.registerExpression(ExprIndexRank.class, Long.class, ExpressionType.COMBINED,
+			"[the] rank of [[the] index] %string% in %~objects% in (ascending|1:descending) order");
+	}
+
+	private Expression<String> index;
+	private Variable<?> list;
+	private boolean descending;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		if (!(exprs[1] instanceof Variable<?> variable) || !variable.isList()) {
+			Skript.error("The rank of an index can only be found in list variables");
+			return false;
+		}
+		index = (Expression<String>) exprs[0];
+		list = variable;
+		descending = parseResult.mark == 1;
+		return true;
+	}
+
+	@Override
+	protected Long @Nullable [] get(Event event) {
+		String index = this.index.getSingle(event);
+		if (index == null)
+			return null;
+		if (list.getReturnType() == Object.class) {
+			SortedListIndex sortedIndex = Variables.getSortedIndex(list.getName().toString(event), event, list.isLocal());
+			if (sortedIndex != null) {
+				int position = sortedIndex.getPosition(Variables.caseInsensitiveVariables ? index.toLowerCase(Locale.ENGLISH) : index, descending);
+				return position == -1 ? null : new Long[] {position + 1L};
+			}
+		}
+
+		KeyedValue<?>[] values = Iterators.toArray(list.keyedIterator(event), KeyedValue.class);
+		int target = -1;
+		for (int i = 0; i < values.length; i++) {
+			String key = values[i].key();
+			if (Variables.caseInsensitiveVariables ? key.equalsIgnoreCase(index) : key.equals(index)) {
+				target = i;
+				break;
+			}
+		}
+		if (target == -1)
+			return null;
+		Object value = values[target].value();
+		int direction = descending ? -1 : 1;
+		long rank = 1;
+		try {
+			for (int i = 0; i < values.length; i++) {
+				int relation = ExprSortedList.compare(values[i].value(), value) * direction;
+				// equal values keep the order of the list
+				if (relation < 0 || relation == 0 && i < target)
+					rank++;
+			}
+		} catch (IllegalArgumentException | ClassCastException e) {
+			return null;
+		}
+		return new Long[] {rank};
+	}
+
+	@Override
+	public boolean isSingle() {
+		return true;
+	}
+
+	@Override
+	public Class<? extends Long> getReturnType() {
+		return Long.class;
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "rank of index " + index.toString(event, debug) + " in " + list.toString(event, debug)
+			+ " in " + (descending ? "descending" : "ascending") + " order";
+	}
+
+}
@@ -7,8 +7,11 @@ import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.KeyProviderExpression;
 import ch.njol.skript.lang.KeyedValue;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.variables.SortedListIndex;
+import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
@@ -83,6 +86,57 @@ public class ExprIndices extends SimpleExpression<String> {
 		return keys;
 	}
 
+	/**
+	 * @return Whether the indices are sorted by their values.
+	 */
+	boolean isSorted() {
+		return sort;
+	}
+
+	/**
+	 * Gets some of the sorted indices, without sorting all of them.
+	 * Global list variables that are {@link ch.njol.skript.SkriptConfig#sortedListVariables kept sorted}
+	 * are read from their sorted index, otherwise only the requested indices are sorted.
+	 *
+	 * @param from The position of the first index, starting at 0.
+	 * @param to The position after the position of the last index.
+	 * @param fromEnd Whether the positions are counted from the end of the sorted indices.
+	 * @return The indices at the given positions, in the order of the sorted indices,
+	 * 			or null if the values can't be sorted.
+	 */
+	String @Nullable [] getRange(Event event, int from, int to, boolean fromEnd) {
+		assert sort;
+		if (keyedExpression instanceof Variable<?> variable && variable.getReturnType() == Object.class) {
+			SortedListIndex index = Variables.getSortedIndex(variable.getName().toString(event), event, variable.isLocal());
+			if (index != null) {
+				if (fromEnd) {
+					int size = index.size();
+					return index.getRange(size - to, size - from, descending).stream()
+						.map(KeyedValue::key)
+						.toArray(String[]::new);
+				}
+				return index.getRange(from, to, descending).stream()
+					.map(KeyedValue::key)
+					.toArray(String[]::new);
+			}
+		}
+		KeyedValue<?>[] values = KeyedValue.zip(keyedExpression.getArray(event), keyedExpression.getArrayKeys(event));
+		if (fromEnd) {
+			int size = values.length;
+			int start = size - to;
+			to = size - from;
+			from = start;
+		}
+		int direction = descending ? -1 : 1;
+		try {
+			return Arrays.stream(ExprSortedList.select(values, from, to, (a, b) -> ExprSortedList.compare(a.value(), b.value()) * direction))
+				.map(KeyedValue::key)
+				.toArray(String[]::new);
+		} catch (IllegalArgumentException | ClassCastException e) {
+			return null;
+		}
+	}
+
 	@Override
 	public boolean isSingle() {
 		return false;
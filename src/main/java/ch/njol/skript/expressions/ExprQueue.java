@@ -14,6 +14,7 @@ import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
 import ch.njol.skript.registrations.experiments.QueueExperimentSyntax;
+import org.skriptlang.skript.lang.util.ConcurrentSkriptQueue;
 import org.skriptlang.skript.lang.util.SkriptQueue;
 
 import java.util.Iterator;
@@ -28,7 +29,10 @@ import java.util.Iterator;
 	Any value can be added to a queue. Adding a non-existent value (e.g. `{variable that isn't set}`) will have no effect.
 	This means that removing an element from the queue will always return a value <i>unless the queue is empty</i>.
 	
-	Requesting an element from a queue (e.g. `the 1st element of {queue}`) also removes it from the queue.""")
+	Requesting an element from a queue (e.g. `the 1st element of {queue}`) also removes it from the queue.
+	
+	A concurrent queue can safely be used by multiple threads at once, e.g. if async triggers add elements that a sync trigger polls.
+	Normal queues are slightly faster, but must not be changed by multiple threads at the same time.""")
 @Examples({
 	"""
 		set {queue} to a new queue
@@ -40,20 +44,25 @@ import java.util.Iterator;
 		set {queue} to a new queue of "hello" and "there"
 		broadcast the last element of {queue} # removes 'there'
 		add "world" to {queue}
-		broadcast the first 2 elements of {queue} # removes 'hello', 'world'"""
+		broadcast the first 2 elements of {queue} # removes 'hello', 'world'""",
+	"""
+		set {jobs} to a new concurrent queue
+		add "job 1" and "job 2" to {jobs}"""
 })
-@Since("2.10 (experimental)")
+@Since("2.10 (experimental), 2.14 (concurrent)")
 public class ExprQueue extends SimpleExpression<SkriptQueue> implements QueueExperimentSyntax {
 
 	static {
 		Skript.registerExpression(ExprQueue.class, SkriptQueue.class, ExpressionType.COMBINED,
-			"[a] [new] queue [(of|with) %-objects%]");
+			"[a] [new] [:concurrent] queue [(of|with) %-objects%]");
 	}
 
 	private @Nullable Expression<?> contents;
+	private boolean concurrent;
 
 	@Override
 	public boolean init(Expression<?>[] expressions, int pattern, Kleenean delayed, ParseResult result) {
+		this.concurrent = result.hasTag("concurrent");
 		if (expressions[0] != null)
 			this.contents = LiteralUtils.defendExpression(expressions[0]);
 		return contents == null || LiteralUtils.canInitSafely(contents);
@@ -61,7 +70,7 @@ public class ExprQueue extends SimpleExpression<SkriptQueue> implements QueueExp
 
 	@Override
 	protected SkriptQueue @Nullable [] get(Event event) {
-		SkriptQueue queue = new SkriptQueue();
+		SkriptQueue queue = concurrent ? new ConcurrentSkriptQueue() : new SkriptQueue();
 		SkriptQueue[] result = new SkriptQueue[]{queue};
 		if (contents == null)
 			return result;
@@ -85,9 +94,10 @@ public class ExprQueue extends SimpleExpression<SkriptQueue> implements QueueExp
 
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
+		String queue = concurrent ? "a concurrent queue" : "a queue";
 		if (contents == null)
-			return "a queue";
-		return "a queue of " + contents.toString(event, debug);
+			return queue;
+		return queue + " of " + contents.toString(event, debug);
 	}
 
 }
@@ -7,10 +7,14 @@ import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.KeyedValue;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.variables.SortedListIndex;
+import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.CollectionUtils;
 import org.bukkit.event.Event;
@@ -21,6 +25,8 @@ import org.skriptlang.skript.lang.comparator.Relation;
 import ch.njol.skript.lang.simplification.SimplifiedLiteral;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.PriorityQueue;
 
 @Name("Sorted List")
 @Description("Sorts given list in natural order. All objects in list must be comparable; if they're not, this expression will return nothing.")
@@ -61,6 +67,89 @@ public class ExprSortedList extends SimpleExpression<Object> {
 		}
 	}
 
+	/**
+	 * Gets some of the values of the sorted list, without sorting the whole list.
+	 * Global list variables that are {@link ch.njol.skript.SkriptConfig#sortedListVariables kept sorted}
+	 * are read from their sorted index, otherwise only the requested values are sorted using {@link #select}.
+	 *
+	 * @param from The position of the first value, starting at 0.
+	 * @param to The position after the position of the last value.
+	 * @param fromEnd Whether the positions are counted from the end of the sorted list, i.e. from its greatest value.
+	 * @return The values at the given positions, in ascending order.
+	 */
+	Object[] getRange(Event event, int from, int to, boolean fromEnd) {
+		if (list instanceof Variable<?> variable && variable.getReturnType() == Object.class) {
+			SortedListIndex index = Variables.getSortedIndex(variable.getName().toString(event), event, variable.isLocal());
+			if (index != null) {
+				if (fromEnd) {
+					int size = index.size();
+					return index.getRange(size - to, size - from, false).stream()
+						.map(KeyedValue::value)
+						.toArray();
+				}
+				return index.getRange(from, to, false).stream()
+					.map(KeyedValue::value)
+					.toArray();
+			}
+		}
+		try {
+			Object[] values = list.stream(event).toArray();
+			if (fromEnd)
+				return select(values, values.length - to, values.length - from, ExprSortedList::compare);
+			return select(values, from, to, ExprSortedList::compare);
+		} catch (IllegalArgumentException | ClassCastException e) {
+			return (Object[]) Array.newInstance(getReturnType(), 0);
+		}
+	}
+
+	/**
+	 * Gets the values that would be at the given positions if the given values were sorted with a stable sort.
+	 * If only a few values are requested, this takes O(n log k) time for k requested values instead of O(n log n),
+	 * which makes e.g. getting the top 10 values of a large list much cheaper.
+	 *
+	 * @param values The values, which are not modified.
+	 * @param from The position of the first value, starting at 0.
+	 * @param to The position after the position of the last value.
+	 * @param order The order to sort the values in.
+	 * @return The values at the given positions, in sorted order.
+	 */
+	static <T> T[] select(T[] values, int from, int to, java.util.Comparator<? super T> order) {
+		int size = values.length;
+		from = Math.max(from, 0);
+		to = Math.min(to, size);
+		if (from >= to)
+			return Arrays.copyOf(values, 0);
+
+		// keep either the smallest 'to' values or the greatest 'size - from' values, whichever are fewer
+		boolean smallest = to <= size - from;
+		int count = smallest ? to : size - from;
+		if (count * 2L > size) {
+			T[] sorted = values.clone();
+			Arrays.sort(sorted, order);
+			return Arrays.copyOfRange(sorted, from, to);
+		}
+
+		// ties are ordered by position, like a stable sort does
+		java.util.Comparator<Integer> positionOrder = (a, b) -> {
+			int relation = order.compare(values[a], values[b]);
+			return relation != 0 ? relation : Integer.compare(a, b);
+		};
+		// the heap's head is the kept value that would be dropped first
+		PriorityQueue<Integer> kept = new PriorityQueue<>(count + 1, smallest ? positionOrder.reversed() : positionOrder);
+		for (int i = 0; i < size; i++) {
+			kept.add(i);
+			if (kept.size() > count)
+				kept.poll();
+		}
+		Integer[] positions = kept.toArray(new Integer[0]);
+		Arrays.sort(positions, positionOrder);
+		int offset = smallest ? from : 0;
+		T[] selected = Arrays.copyOf(values, to - from);
+		for (int i = 0; i < selected.length; i++)
+			selected[i] = values[positions[offset + i]];
+		return selected;
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <A, B> int compare(A a, B b) throws IllegalArgumentException, ClassCastException {
 		if (a instanceof String && b instanceof String)
@@ -58,6 +58,11 @@ public class ExprUUID extends SimplePropertyExpression<Object, UUID> {
 		return null;
 	}
 
+	@Override
+	public boolean isPure() {
+		return getExpr().isPure();
+	}
+
 	@Override
 	public Class<? extends UUID> getReturnType() {
 		return UUID.class;
@@ -323,6 +323,11 @@ public class ExprArithmetic<L, R, T> extends SimpleExpression<T> {
 		return one;
 	}
 
+	@Override
+	public @Nullable T getSingle(Event event) {
+		return arithmeticGettable.get(event);
+	}
+
 	private boolean error(Class<?> firstClass, Class<?> secondClass) {
 		ClassInfo<?> first = Classes.getSuperClassInfo(firstClass), second = Classes.getSuperClassInfo(secondClass);
 		// errors with "object" are not very useful and often misleading
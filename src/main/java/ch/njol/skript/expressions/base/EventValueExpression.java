@@ -22,6 +22,10 @@ import ch.njol.skript.util.Utils;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
 import ch.njol.util.coll.CollectionUtils;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -253,7 +257,7 @@ public class EventValueExpression<T> extends SimpleExpression<T> implements Defa
 			log.printLog();
 			return true;
 		} finally {
-			log.stop();
+			log.close();
 		}
 	}
 
@@ -356,6 +360,15 @@ public class EventValueExpression<T> extends SimpleExpression<T> implements Defa
 		return false;
 	}
 
+	@Override
+	public boolean isPure() {
+		// entities, players and worlds of events can't be replaced while they are handled, unlike e.g. their locations
+		if (!eventConverters.isEmpty())
+			return false;
+		return Entity.class.isAssignableFrom(componentType) || OfflinePlayer.class.isAssignableFrom(componentType)
+			|| World.class.isAssignableFrom(componentType) || CommandSender.class.isAssignableFrom(componentType);
+	}
+
 	/**
 	 * @return true
 	 */
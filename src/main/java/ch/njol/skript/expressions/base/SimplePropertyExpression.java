@@ -8,6 +8,8 @@ import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.converter.Converter;
 
+import java.util.function.Consumer;
+
 /**
  * A base class for property expressions that requires only few overridden methods
  * 
@@ -39,6 +41,44 @@ public abstract class SimplePropertyExpression<F, T> extends PropertyExpression<
 		return super.get(source, this);
 	}
 
+	/**
+	 * Whether a class only {@link #convert(Object) converts} the values of its expression,
+	 * i.e. doesn't override {@link #get(Event, Object[])}, so that its values can be determined without arrays.
+	 */
+	private static final ClassValue<Boolean> CONVERTS_VALUES = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> c = type; c != SimplePropertyExpression.class; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("get", Event.class, Object[].class);
+					return false;
+				} catch (NoSuchMethodException ignored) {}
+			}
+			return true;
+		}
+	};
+
+	@Override
+	public @Nullable T getSingle(Event event) {
+		if (!getExpr().isSingle() || !CONVERTS_VALUES.get(getClass()))
+			return super.getSingle(event);
+		F value = getExpr().getSingle(event);
+		return value == null ? null : convert(value);
+	}
+
+	@Override
+	public void forEachValue(Event event, Consumer<? super T> consumer) {
+		if (!getAnd() || !CONVERTS_VALUES.get(getClass())) {
+			super.forEachValue(event, consumer);
+			return;
+		}
+		getExpr().forEachValue(event, value -> {
+			T converted = convert(value);
+			if (converted != null)
+				consumer.accept(converted);
+		});
+	}
+
 	/**
 	 * Used to collect the property type used in the register method.
 	 * This forms the toString of this SimplePropertyExpression.
@@ -0,0 +1,160 @@
+package ch.njol.skript.hooks.regions;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.hooks.regions.classes.Region;
+import ch.njol.skript.util.TickCounter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps track of the regions every player is in, so that the regions plugins only have to be asked
+ * when a player crosses the border of a block, or of a larger cell if
+ * {@link SkriptConfig#regionTrackingCellSize configured}, instead of on every movement.
+ * <p>
+ * Additionally, the regions at a block are remembered for the rest of the tick they were looked up in,
+ * so that multiple lookups of the regions at the same block in the same tick, e.g. by multiple triggers,
+ * only ask the regions plugins once.
+ * <p>
+ * Changes to the regions themselves are not tracked. If a region is created, removed or resized around a player,
+ * the player's regions are only updated once they move into another cell, which then counts as entering or leaving
+ * that region. Until then, the player is still considered to be in the regions they were in when they entered their cell.
+ * <p>
+ * Like {@link RegionsPlugin#getRegionsAt(Location)}, all of this assumes that regions consist of whole blocks,
+ * which is the case for all supported regions plugins. This class may only be used on the main thread.
+ */
+public final class RegionMembershipTracker {
+
+	private RegionMembershipTracker() {}
+
+	/**
+	 * The regions a player was in when they last entered a cell.
+	 */
+	private record Membership(World world, long cell, Set<? extends Region> regions) {}
+
+	private record BlockKey(World world, int x, int y, int z) {
+
+		BlockKey(Location location) {
+			this(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+		}
+
+	}
+
+	/**
+	 * The regions a player moved out of and into.
+	 */
+	public record Transition(Set<? extends Region> from, Set<? extends Region> to) {}
+
+	private static final Map<UUID, Membership> memberships = new HashMap<>();
+
+	private static final Map<BlockKey, Set<? extends Region>> tickCache = new HashMap<>();
+
+	static {
+		TickCounter.onTickStart(tickCache::clear);
+	}
+
+	/**
+	 * Gets the regions at the given location, like {@link RegionsPlugin#getRegionsAt(Location)},
+	 * but reuses the regions that were looked up at the same block during the current tick.
+	 *
+	 * @param location The location.
+	 * @return The regions at the location, which may be shared with other callers and must not be modified.
+	 */
+	public static Set<? extends Region> getRegionsAt(Location location) {
+		if (!Bukkit.isPrimaryThread() || location.getWorld() == null)
+			return RegionsPlugin.getRegionsAt(location);
+		BlockKey key = new BlockKey(location);
+		Set<? extends Region> regions = tickCache.get(key);
+		if (regions == null) {
+			regions = Collections.unmodifiableSet(RegionsPlugin.getRegionsAt(location));
+			tickCache.put(key, regions);
+		}
+		return regions;
+	}
+
+	/**
+	 * Updates the regions of a player that moved.
+	 *
+	 * @param player The player.
+	 * @param from The location the player moved from.
+	 * @param to The location the player moved to.
+	 * @return The regions the player was in before and is in after the movement,
+	 * 			or null if the player didn't leave their cell, in which case the regions are assumed to be the same.
+	 */
+	public static @Nullable Transition move(Player player, Location from, Location to) {
+		int cellSize = Math.max(1, SkriptConfig.regionTrackingCellSize.value());
+		long fromCell = cell(from, cellSize);
+		long toCell = cell(to, cellSize);
+		Membership membership = memberships.get(player.getUniqueId());
+		// the membership may be outdated, e.g. if another plugin cancelled a movement after it was tracked
+		boolean valid = membership != null && membership.world() == from.getWorld() && membership.cell() == fromCell;
+
+		if (from.getWorld() == to.getWorld() && fromCell == toCell) {
+			if (valid && cellSize == 1)
+				tickCache.putIfAbsent(new BlockKey(to), membership.regions());
+			return null;
+		}
+
+		Set<? extends Region> fromRegions = valid ? membership.regions() : getRegionsAt(from);
+		Set<? extends Region> toRegions = getRegionsAt(to);
+		memberships.put(player.getUniqueId(), new Membership(to.getWorld(), toCell, toRegions));
+		return new Transition(fromRegions, toRegions);
+	}
+
+	/**
+	 * Reverts a movement of a player that has been cancelled.
+	 *
+	 * @param player The player.
+	 * @param from The location the player moved from and stays at.
+	 * @param transition The result of {@link #move(Player, Location, Location)} for the movement.
+	 */
+	public static void cancelled(Player player, Location from, Transition transition) {
+		int cellSize = Math.max(1, SkriptConfig.regionTrackingCellSize.value());
+		memberships.put(player.getUniqueId(), new Membership(from.getWorld(), cell(from, cellSize), transition.from()));
+	}
+
+	/**
+	 * Packs the coordinates of the cell containing the given location into a long, like Minecraft packs block positions.
+	 */
+	private static long cell(Location location, int cellSize) {
+		long x = Math.floorDiv(location.getBlockX(), cellSize);
+		long y = Math.floorDiv(location.getBlockY(), cellSize);
+		long z = Math.floorDiv(location.getBlockZ(), cellSize);
+		return (x & 0x3FFFFFF) << 38 | (z & 0x3FFFFFF) << 12 | y & 0xFFF;
+	}
+
+	/**
+	 * Forgets the regions of players that left and of unloaded worlds. Registered together with the region events.
+	 */
+	@ApiStatus.Internal
+	public static final class CleanupListener implements Listener {
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onQuit(PlayerQuitEvent event) {
+			memberships.remove(event.getPlayer().getUniqueId());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onWorldUnload(WorldUnloadEvent event) {
+			World world = event.getWorld();
+			memberships.values().removeIf(membership -> membership.world() == world);
+			tickCache.keySet().removeIf(key -> key.world() == world);
+		}
+
+	}
+
+}
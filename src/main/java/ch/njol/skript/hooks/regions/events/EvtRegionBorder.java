@@ -2,7 +2,8 @@ package ch.njol.skript.hooks.regions.events;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptConfig;
-import ch.njol.skript.hooks.regions.RegionsPlugin;
+import ch.njol.skript.hooks.regions.RegionMembershipTracker;
+import ch.njol.skript.hooks.regions.RegionMembershipTracker.Transition;
 import ch.njol.skript.hooks.regions.classes.Region;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptEvent;
@@ -35,7 +36,10 @@ public class EvtRegionBorder extends SkriptEvent {
 				"region (:enter[ing]|leav(e|ing)|exit[ing])")
 				.description(
 					"Called when a player enters or leaves a <a href='#region'>region</a>.",
-					"This event requires a supported regions plugin to be installed."
+					"This event requires a supported regions plugin to be installed.",
+					"Regions that are created, removed or resized while a player is inside them are only noticed " +
+						"once the player moves into another block (or cell, see the 'region tracking cell size' option of the config), " +
+						"which then counts as entering or leaving them."
 				).examples(
 					"on region exit:",
 					"\tmessage \"Leaving %region%.\""
@@ -63,8 +67,11 @@ public class EvtRegionBorder extends SkriptEvent {
 			if (to.equals(from))
 				return;
 
-			Set<? extends Region> oldRegions = RegionsPlugin.getRegionsAt(from);
-			Set<? extends Region> newRegions = RegionsPlugin.getRegionsAt(to);
+			Transition transition = RegionMembershipTracker.move(moveEvent.getPlayer(), from, to);
+			if (transition == null)
+				return;
+			Set<? extends Region> oldRegions = transition.from();
+			Set<? extends Region> newRegions = transition.to();
 
 			for (Region oldRegion : oldRegions) {
 				if (!newRegions.contains(oldRegion))
@@ -75,6 +82,9 @@ public class EvtRegionBorder extends SkriptEvent {
 				if (!oldRegions.contains(newRegion))
 					callEvent(newRegion, moveEvent, true);
 			}
+
+			if (moveEvent.isCancelled())
+				RegionMembershipTracker.cancelled(moveEvent.getPlayer(), from, transition);
 		}
 	};
 
@@ -115,6 +125,7 @@ public class EvtRegionBorder extends SkriptEvent {
 			Bukkit.getPluginManager().registerEvent(PlayerMoveEvent.class, new Listener(){}, priority, EXECUTOR, Skript.getInstance(), true);
 			Bukkit.getPluginManager().registerEvent(PlayerTeleportEvent.class, new Listener(){}, priority, EXECUTOR, Skript.getInstance(), true);
 			Bukkit.getPluginManager().registerEvent(PlayerPortalEvent.class, new Listener(){}, priority, EXECUTOR, Skript.getInstance(), true);
+			Bukkit.getPluginManager().registerEvents(new RegionMembershipTracker.CleanupListener(), Skript.getInstance());
 		}
 		return true;
 	}
@@ -6,7 +6,7 @@ import ch.njol.skript.doc.Examples;
 import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.RequiredPlugins;
 import ch.njol.skript.doc.Since;
-import ch.njol.skript.hooks.regions.RegionsPlugin;
+import ch.njol.skript.hooks.regions.RegionMembershipTracker;
 import ch.njol.skript.hooks.regions.classes.Region;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
@@ -66,7 +66,7 @@ public class ExprRegionsAt extends SimpleExpression<Region> {
 			return new Region[0];
 		final ArrayList<Region> r = new ArrayList<>();
 		for (final Location l : ls)
-			r.addAll(RegionsPlugin.getRegionsAt(l));
+			r.addAll(RegionMembershipTracker.getRegionsAt(l));
 		return r.toArray(new Region[r.size()]);
 	}
 	
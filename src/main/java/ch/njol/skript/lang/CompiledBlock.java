@@ -0,0 +1,20 @@
+package ch.njol.skript.lang;
+
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A block of consecutive effects and conditions that were compiled by the {@link TriggerCompiler}.
+ * A block is attached to its first item and walks all of its items at once.
+ */
+abstract class CompiledBlock {
+
+	/**
+	 * Runs the items of this block like {@link TriggerItem#walk(Event)}, but without debugging them.
+	 *
+	 * @param event The event to run the items with.
+	 * @return The next item to run or null to stop execution.
+	 */
+	abstract @Nullable TriggerItem walk(Event event);
+
+}
@@ -0,0 +1,41 @@
+package ch.njol.skript.lang;
+
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The template of the hidden classes that the {@link TriggerCompiler} defines for every {@link CompiledBlock}.
+ * Every hidden class receives the method handle of its block as class data and stores it in a static final field,
+ * which the JIT treats as a constant, so it can inline the items of the block into {@link #walk(Event)}.
+ * <p>
+ * This class is only used for its bytes, and is never loaded itself.
+ */
+final class CompiledBlockTemplate extends CompiledBlock {
+
+	private static final MethodHandle WALK;
+
+	static {
+		try {
+			WALK = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+		} catch (IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@Override
+	@Nullable TriggerItem walk(Event event) {
+		try {
+			return (TriggerItem) WALK.invokeExact(event);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable throwable) {
+			// items can't throw checked exceptions
+			throw new IllegalStateException(throwable);
+		}
+	}
+
+}
@@ -3,7 +3,9 @@ package ch.njol.skript.lang;
 import ch.njol.skript.Skript;
 import ch.njol.skript.conditions.base.PropertyCondition;
 import ch.njol.skript.config.Node;
+import ch.njol.skript.expressions.ExprInput;
 import ch.njol.skript.lang.simplification.Simplifiable;
+import ch.njol.skript.lang.util.InputFilter;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
@@ -84,6 +86,31 @@ public abstract class Condition extends Statement implements Conditional<Event>,
 	 */
 	public abstract boolean check(Event event);
 
+	/**
+	 * Whether this condition may be checked by multiple threads at once. This also requires that checking it has no side effects,
+	 * and that its result only depends on its expressions, like a comparison of the input of a filter with a number.
+	 * Filters check large lists in parallel if all of their conditions are thread-safe
+	 * and all values of the list are {@link InputFilter#isPlainData(Class) plain data}.
+	 *
+	 * @return Whether this condition is thread-safe, false by default.
+	 * @see ch.njol.skript.lang.util.InputFilter
+	 */
+	public boolean isThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * @return Whether the given expression may be evaluated by multiple threads at once,
+	 * and its values may be used by multiple threads, which is only known for literals of plain data and the input of a filter.
+	 * The input may have any type here, as filters only check lists of plain data in parallel.
+	 * @see #isThreadSafe()
+	 */
+	protected static boolean isThreadSafe(Expression<?> expression) {
+		if (expression instanceof ExprInput<?>)
+			return expression.getReturnType() == Object.class || InputFilter.isPlainData(expression.getReturnType());
+		return expression instanceof Literal<?> && InputFilter.isPlainData(expression.getReturnType());
+	}
+
 	@Override
 	public Kleenean evaluate(Event event) {
 		return Kleenean.get(check(event));
@@ -19,6 +19,7 @@ import org.skriptlang.skript.lang.converter.Converter;
 import ch.njol.skript.lang.simplification.Simplifiable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -81,6 +82,22 @@ public interface Expression<T> extends SyntaxElement, Debuggable, Loopable<T>, S
 	 */
 	T[] getAll(Event event);
 
+	/**
+	 * Passes the values of this expression to the given consumer, one after another.
+	 * The consumer receives the same values as {@link #getArray(Event)} would return, in the same order.
+	 * <p>
+	 * Unlike {@link #getArray(Event)}, implementations don't have to copy their values into a new array,
+	 * which makes this the preferred way to look at every value of an expression once.
+	 * The consumer must not change the values of this expression, e.g. by changing a list variable it is called for.
+	 *
+	 * @param event The event
+	 * @param consumer The consumer to pass the values to, which are never null.
+	 */
+	default void forEachValue(Event event, Consumer<? super T> consumer) {
+		for (T value : getArray(event))
+			consumer.accept(value);
+	}
+
 	/**
 	 * Gets a non-null stream of this expression's values.
 	 *
@@ -203,6 +220,21 @@ public interface Expression<T> extends SyntaxElement, Debuggable, Loopable<T>, S
 		return false;
 	}
 
+	/**
+	 * Whether this expression is pure, i.e. its values only depend on the event it is evaluated with,
+	 * evaluating it has no side effects, and nothing can change its values while the event is handled.
+	 * Expressions containing other expressions can only be pure if those are pure as well.
+	 * <p>
+	 * Pure expressions, e.g. the UUID of the event's player, may be evaluated only once per event
+	 * if {@link ch.njol.skript.lang.optimization.TriggerOptimizer triggers are optimized}.
+	 * Expressions depending on the state of the server, like the location of a player or a variable, are not pure.
+	 *
+	 * @return Whether this expression is pure, false by default.
+	 */
+	default boolean isPure() {
+		return false;
+	}
+
 	/**
 	 * Returns true if this expression returns all possible values, false if it only returns some of them.
 	 * <p>
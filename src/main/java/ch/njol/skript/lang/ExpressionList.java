@@ -136,6 +136,15 @@ public class ExpressionList<T> implements Expression<T> {
 		return single;
 	}
 
+	@Override
+	public boolean isPure() {
+		for (Expression<? extends T> expression : expressions) {
+			if (!expression.isPure())
+				return false;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean check(Event event, Predicate<? super T> checker, boolean negated) {
 		return CollectionUtils.check(expressions, expr -> expr.check(event, checker) ^ negated, and);
@@ -19,4 +19,9 @@ public interface Literal<T> extends Expression<T> {
 
 	T[] getAll();
 
+	@Override
+	default boolean isPure() {
+		return true;
+	}
+
 }
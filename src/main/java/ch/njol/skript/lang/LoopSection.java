@@ -1,5 +1,17 @@
 package ch.njol.skript.lang;
 
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.effects.Delay;
+import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.structures.StructLoopBudget.LoopBudgetData;
+import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.util.TickCounter;
+import ch.njol.skript.util.Timespan;
+import ch.njol.skript.util.Timespan.TimePeriod;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 
 import java.util.Map;
@@ -7,14 +19,112 @@ import java.util.WeakHashMap;
 
 /**
  * Represents a loop section.
+ * <p>
+ * Loops check the loop budget of their script or of the config on every iteration.
+ * Once the loops of an event have run for longer than the budget in one tick, the loop is either stopped with an error,
+ * or, if it was marked as yielding, continued on the next tick.
  * 
  * @see ch.njol.skript.sections.SecWhile
  * @see ch.njol.skript.sections.SecLoop
+ * @see ch.njol.skript.structures.StructLoopBudget
  */
 public abstract class LoopSection extends Section implements SyntaxElement, Debuggable, SectionExitHandler {
 
+	/**
+	 * The tick in which the loops of an event last ran and the time at which they started running in that tick.
+	 * Budgets are only checked on the main thread, so this doesn't need to be synchronized.
+	 */
+	private static final Map<Event, long[]> BUDGET_STARTS = new WeakHashMap<>();
+
 	protected final transient Map<Event, Long> currentLoopCounter = new WeakHashMap<>();
 
+	private Timespan budget = new Timespan(0);
+	private long budgetNanos;
+	private boolean yielding;
+
+	/**
+	 * Sets up the loop budget of this loop. This must be called before the code of the loop is loaded,
+	 * as the code of a yielding loop may be continued after a delay.
+	 *
+	 * @param yielding Whether this loop continues on the next tick instead of being stopped once it exceeds its budget.
+	 */
+	protected void initBudget(boolean yielding) {
+		ParserInstance parser = getParser();
+		LoopBudgetData data = parser.isActive() ? parser.getCurrentScript().getData(LoopBudgetData.class) : null;
+		budget = data != null ? data.budget() : SkriptConfig.loopBudget.value();
+		budgetNanos = budget.getAs(TimePeriod.MILLISECOND) * 1_000_000;
+		this.yielding = yielding;
+		if (yielding && !parser.getHasDelayBefore().isTrue())
+			parser.setHasDelayBefore(Kleenean.UNKNOWN);
+	}
+
+	/**
+	 * @return Whether this loop continues on the next tick instead of being stopped once it exceeds its budget.
+	 */
+	public boolean isYielding() {
+		return yielding;
+	}
+
+	/**
+	 * Checks whether the loops of the given event have exceeded the loop budget in the current tick.
+	 * If they have, this loop is either stopped with an error, or, if it is yielding, continued on the next tick.
+	 *
+	 * @param event The event.
+	 * @return Whether the loop may continue now. If not, the loop must return null from {@link #walk(Event)}.
+	 */
+	protected boolean withinBudget(Event event) {
+		if (budgetNanos <= 0 || !Bukkit.isPrimaryThread())
+			return true;
+		long tick = TickCounter.getCurrentTick();
+		long now = System.nanoTime();
+		long[] start = BUDGET_STARTS.get(event);
+		if (start == null || start[0] != tick) {
+			BUDGET_STARTS.put(event, new long[] {tick, now});
+			return true;
+		}
+		if (now - start[1] <= budgetNanos)
+			return true;
+
+		if (yielding) {
+			yieldToNextTick(event);
+		} else {
+			error("This loop was stopped as it ran for longer than its loop budget of " + budget + " in one tick. " +
+				"Mark it as 'yielding' to continue it on the next tick instead.");
+			for (TriggerSection section = this; section != null; section = section.getParent()) {
+				if (section instanceof SectionExitHandler exitHandler)
+					exitHandler.exit(event);
+			}
+		}
+		BUDGET_STARTS.remove(event);
+		return false;
+	}
+
+	/**
+	 * Continues this loop on the next tick, like a {@link Delay} of one tick.
+	 */
+	private void yieldToNextTick(Event event) {
+		// Back up local variables
+		Object localVars = Variables.removeLocals(event);
+
+		Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), () -> {
+			Delay.addDelayedEvent(event);
+			if (localVars != null)
+				Variables.setLocalVariables(event, localVars);
+
+			Object timing = null;
+			if (SkriptTimings.enabled()) {
+				Trigger trigger = getTrigger();
+				if (trigger != null)
+					timing = SkriptTimings.start(trigger.getDebugLabel());
+			}
+
+			TriggerItem.walk(this, event);
+			Variables.removeLocals(event); // Clean up local vars, we may be exiting now
+
+			SkriptTimings.stop(timing);
+		}, 1);
+	}
+
 	/**
 	 * @param event The event where the loop is used to return its loop iterations
 	 * @return The loop iteration number
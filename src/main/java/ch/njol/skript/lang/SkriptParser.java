@@ -20,7 +20,9 @@ import ch.njol.skript.lang.parser.DefaultValueData;
 import ch.njol.skript.lang.parser.ParseStackOverflowException;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.lang.parser.ParsingStack;
+import ch.njol.skript.lang.optimization.TriggerOptimizer;
 import ch.njol.skript.lang.simplification.Simplifiable;
+import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.Message;
@@ -313,7 +315,9 @@ public final class SkriptParser {
 						log.printLog();
 						if (doSimplification && element instanceof Simplifiable<?> simplifiable)
 							//noinspection unchecked
-							return (T) simplifiable.simplify();
+							element = (T) simplifiable.simplify();
+						if (element instanceof SimpleExpression<?> expression)
+							TriggerOptimizer.get(getParser()).register(expression);
 						return element;
 					}
 				}
@@ -552,7 +556,7 @@ public final class SkriptParser {
 						return convertedExpression;
 					}
 					// Print errors, if we couldn't get the correct type
-					log.printError(parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(ErrorQuality.NOT_AN_EXPRESSION, "%s", new TypeMismatch(parsedExpression, types));
 					return null;
 				}
 				log.clear();
@@ -626,9 +630,7 @@ public final class SkriptParser {
 
 						// Plural/singular sanity check
 						if (hasSingular && !parsedVariable.isSingle()) {
-							Skript.error("'" + expr + "' can only be a single "
-								+ Classes.toString(Stream.of(exprInfo.classes).map(classInfo -> classInfo.getName().toString()).toArray(), false)
-								+ ", not more.");
+							singleOnlyError(exprInfo);
 							log.printError();
 							return null;
 						}
@@ -662,9 +664,7 @@ public final class SkriptParser {
 						// improper use in a script would result in an exception
 						if (((exprInfo.classes.length == 1 && !exprInfo.isPlural[0]) || Booleans.contains(exprInfo.isPlural, true))
 								&& !parsedVariable.isSingle()) {
-							Skript.error("'" + expr + "' can only be a single "
-									+ Classes.toString(Stream.of(exprInfo.classes).map(classInfo -> classInfo.getName().toString()).toArray(), false)
-									+ ", not more.");
+							singleOnlyError(exprInfo);
 							log.printError();
 							return null;
 						}
@@ -682,9 +682,7 @@ public final class SkriptParser {
 				if (functionReference != null) {
 
 					if (onlySingular && !functionReference.isSingle()) {
-						Skript.error("'" + expr + "' can only be a single "
-							+ Classes.toString(Stream.of(exprInfo.classes).map(classInfo -> classInfo.getName().toString()).toArray(), false)
-							+ ", not more.");
+						singleOnlyError(exprInfo);
 						log.printError();
 						return null;
 					}
@@ -712,9 +710,7 @@ public final class SkriptParser {
 								if (context == ParseContext.COMMAND) {
 									Skript.error(Commands.m_too_many_arguments.toString(exprInfo.classes[i].getName().getIndefiniteArticle(), exprInfo.classes[i].getName().toString()), ErrorQuality.SEMANTIC_ERROR);
 								} else {
-									Skript.error("'" + expr + "' can only be a single "
-										+ Classes.toString(Stream.of(exprInfo.classes).map(classInfo -> classInfo.getName().toString()).toArray(), false)
-										+ ", not more.");
+									singleOnlyError(exprInfo);
 								}
 								log.printError();
 								return null;
@@ -726,9 +722,7 @@ public final class SkriptParser {
 					}
 
 					if (onlySingular && !parsedExpression.isSingle()) {
-						Skript.error("'" + expr + "' can only be a single "
-							+ Classes.toString(Stream.of(exprInfo.classes).map(classInfo -> classInfo.getName().toString()).toArray(), false)
-							+ ", not more.");
+						singleOnlyError(exprInfo);
 						log.printError();
 						return null;
 					}
@@ -741,7 +735,7 @@ public final class SkriptParser {
 					}
 
 					// Print errors, if we couldn't get the correct type
-					log.printError(parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(ErrorQuality.NOT_AN_EXPRESSION, "%s", new TypeMismatch(parsedExpression, types));
 					return null;
 				}
 				log.clear();
@@ -1005,7 +999,7 @@ public final class SkriptParser {
 		}
 		if (currentPosition != expr.length()) {
 			assert currentPosition == -1 && context != ParseContext.COMMAND && context != ParseContext.PARSE : currentPosition + "; " + expr;
-			log.printError("Invalid brackets/variables/text in '" + expr + "'", ErrorQuality.NOT_AN_EXPRESSION);
+			log.printError(ErrorQuality.NOT_AN_EXPRESSION, "Invalid brackets/variables/text in '%s'", expr);
 			return null;
 		}
 
@@ -1571,6 +1565,39 @@ public final class SkriptParser {
 		}
 	}
 
+	/**
+	 * Logs an error stating that {@link #expr} can only be a single value of the given types.
+	 * The message is only built if the error is actually printed.
+	 */
+	private void singleOnlyError(ExprInfo exprInfo) {
+		SkriptLogger.log(SkriptLogger.SEVERE, ErrorQuality.SEMANTIC_ERROR, "'%s' can only be a single %s, not more.",
+			expr, new TypeNames(exprInfo.classes));
+	}
+
+	/**
+	 * The names of some types, built lazily for error messages.
+	 */
+	private record TypeNames(ClassInfo<?>[] classes) {
+
+		@Override
+		public String toString() {
+			return Classes.toString(Stream.of(classes).map(classInfo -> classInfo.getName().toString()).toArray(), false);
+		}
+
+	}
+
+	/**
+	 * An error message stating that an expression is not of the expected types, built lazily.
+	 */
+	private record TypeMismatch(Expression<?> expression, Class<?>[] types) {
+
+		@Override
+		public String toString() {
+			return expression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types);
+		}
+
+	}
+
 	/**
 	 * Returns the next character in the expression, skipping strings,
 	 * variables and parentheses
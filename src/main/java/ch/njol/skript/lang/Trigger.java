@@ -1,6 +1,8 @@
 package ch.njol.skript.lang;
 
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.variables.Variables;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.script.Script;
@@ -16,6 +18,12 @@ public class Trigger extends TriggerSection {
 	private int line = -1; // -1 is default: it means there is no line number available
 	private String debugLabel;
 
+	/**
+	 * The number of executions after which this trigger is compiled by the {@link TriggerCompiler}, or 0 if it won't be compiled.
+	 * This isn't synchronized, as executing a trigger on multiple threads at once at worst compiles it twice or not at all.
+	 */
+	private int executionsUntilCompilation = SkriptConfig.triggerCompilationThreshold.value();
+
 	public Trigger(@Nullable Script script, String name, SkriptEvent event, List<TriggerItem> items) {
 		super(items);
 		this.script = script;
@@ -30,7 +38,14 @@ public class Trigger extends TriggerSection {
 	 * @return false if an exception occurred.
 	 */
 	public boolean execute(Event event) {
-		boolean success = TriggerItem.walk(this, event);
+		if (executionsUntilCompilation > 0 && --executionsUntilCompilation == 0)
+			TriggerCompiler.compile(this);
+		boolean success;
+		if (SkriptConfig.asyncVariableSnapshots.value() && !Bukkit.isPrimaryThread()) {
+			success = Variables.withSnapshot(() -> TriggerItem.walk(this, event));
+		} else {
+			success = TriggerItem.walk(this, event);
+		}
 
 		// Clear local variables
 		Variables.removeLocals(event);
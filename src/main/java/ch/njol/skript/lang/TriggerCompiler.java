@@ -0,0 +1,155 @@
+package ch.njol.skript.lang;
+
+import ch.njol.skript.Skript;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An experimental execution backend for triggers, used for triggers that were executed as often as set by
+ * the 'trigger compilation threshold' option of the config.
+ * <p>
+ * Consecutive effects and conditions that don't override {@link TriggerItem#walk(Event)} are compiled into
+ * {@link CompiledBlock}s of up to {@value #MAX_BLOCK_SIZE} items. A block calls the {@link TriggerItem#run(Event)} methods
+ * of its items through a tree of method handles, which is stored as a constant in its own hidden class.
+ * This allows the JIT to inline the items, instead of calling them through the megamorphic {@link TriggerItem#walk(Event)}.
+ * <p>
+ * All other items, like sections, delays or items of delayed async functions, are still interpreted,
+ * and {@link TriggerItem#walk(TriggerItem, Event)} only uses blocks while debugging is disabled.
+ * If a block can't be defined, the compiler disables itself and triggers stay interpreted.
+ */
+@ApiStatus.Internal
+public final class TriggerCompiler {
+
+	private static final int MIN_BLOCK_SIZE = 2;
+
+	/**
+	 * Larger blocks would nest the method handles too deeply for the JIT to inline all of them.
+	 */
+	private static final int MAX_BLOCK_SIZE = 8;
+
+	private static final Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodHandle RUN;
+	private static final MethodHandle GET_NEXT;
+	private static final MethodHandle STOP;
+
+	static {
+		try {
+			RUN = LOOKUP.findVirtual(TriggerItem.class, "run", MethodType.methodType(boolean.class, Event.class));
+			GET_NEXT = LOOKUP.findVirtual(TriggerItem.class, "getNext", MethodType.methodType(TriggerItem.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+		STOP = MethodHandles.dropArguments(MethodHandles.constant(TriggerItem.class, null), 0, Event.class);
+	}
+
+	/**
+	 * Whether the items of a class can be compiled, i.e. whether the class uses the default {@link TriggerItem#walk(Event)}.
+	 */
+	private static final ClassValue<Boolean> COMPILABLE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> superType = type; superType != TriggerItem.class; superType = superType.getSuperclass()) {
+				try {
+					superType.getDeclaredMethod("walk", Event.class);
+					return false;
+				} catch (NoSuchMethodException ignored) {}
+			}
+			return true;
+		}
+	};
+
+	private static byte @Nullable [] template;
+	private static volatile boolean disabled;
+
+	private TriggerCompiler() {}
+
+	/**
+	 * Compiles the items of the given section and of all sections inside of it.
+	 * Items that are already compiled are compiled again.
+	 *
+	 * @param section The section, usually a {@link Trigger}.
+	 */
+	public static void compile(TriggerSection section) {
+		if (disabled)
+			return;
+		List<TriggerItem> items = new ArrayList<>();
+		TriggerItem item = section.first;
+		while (item != null) {
+			if (!item.isDelayed() && COMPILABLE.get(item.getClass())) {
+				items.add(item);
+			} else {
+				compileItems(items);
+				items.clear();
+				if (item instanceof TriggerSection child)
+					compile(child);
+			}
+			if (item == section.last)
+				break;
+			item = item.getActualNext();
+		}
+		compileItems(items);
+	}
+
+	/**
+	 * Compiles consecutive items into blocks.
+	 */
+	private static void compileItems(List<TriggerItem> items) {
+		for (int from = 0; from + MIN_BLOCK_SIZE <= items.size(); from += MAX_BLOCK_SIZE) {
+			List<TriggerItem> blockItems = items.subList(from, Math.min(items.size(), from + MAX_BLOCK_SIZE));
+			CompiledBlock block = defineBlock(walkHandle(blockItems));
+			if (block == null)
+				return;
+			blockItems.get(0).setCompiledBlock(block);
+		}
+	}
+
+	/**
+	 * Creates a handle which behaves like calling {@link TriggerItem#walk(Event)} for the given items,
+	 * until one of them returns false.
+	 */
+	private static MethodHandle walkHandle(List<TriggerItem> items) {
+		TriggerItem lastItem = items.get(items.size() - 1);
+		// the next item of the last item is only known at runtime, e.g. it's the loop itself for the last item of a loop
+		MethodHandle walk = MethodHandles.dropArguments(GET_NEXT.bindTo(lastItem), 0, Event.class);
+		TriggerSection parent = lastItem.getParent();
+		MethodHandle stop = parent == null ? STOP : MethodHandles.dropArguments(GET_NEXT.bindTo(parent), 0, Event.class);
+		for (int i = items.size() - 1; i >= 0; i--)
+			walk = MethodHandles.guardWithTest(RUN.bindTo(items.get(i)), walk, stop);
+		return walk;
+	}
+
+	private static @Nullable CompiledBlock defineBlock(MethodHandle walk) {
+		try {
+			Lookup lookup = LOOKUP.defineHiddenClassWithClassData(template(), walk, true);
+			return (CompiledBlock) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		} catch (Throwable throwable) {
+			disabled = true;
+			Skript.warning("Triggers can't be compiled and will only be interpreted: " + throwable);
+			if (Skript.debug())
+				throwable.printStackTrace();
+			return null;
+		}
+	}
+
+	private static synchronized byte[] template() throws IOException {
+		if (template == null) {
+			try (InputStream stream = TriggerCompiler.class.getResourceAsStream("CompiledBlockTemplate.class")) {
+				if (stream == null)
+					throw new IOException("The template of compiled blocks is missing");
+				template = stream.readAllBytes();
+			}
+		}
+		return template;
+	}
+
+}
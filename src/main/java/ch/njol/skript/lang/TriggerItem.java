@@ -28,6 +28,7 @@ public abstract class TriggerItem implements Debuggable {
 	private @Nullable Boolean delay = false;
 	private @Nullable SyntaxElement syntaxElement;
 	private @Nullable KeyedValue<?>[] keyedValue = null;
+	private @Nullable CompiledBlock compiledBlock = null;
 
 	protected TriggerItem() {}
 
@@ -109,7 +110,12 @@ public abstract class TriggerItem implements Debuggable {
 					resumePoint.runTaskLater(Skript.getInstance(), 80);
 					break;
 				} else {
-					triggerItem = triggerItem.walk(event);
+					CompiledBlock compiledBlock = triggerItem.compiledBlock;
+					if (compiledBlock == null || Skript.debug()) {
+						triggerItem = triggerItem.walk(event);
+					} else {
+						triggerItem = compiledBlock.walk(event);
+					}
 					if (triggerItem == null) {
 						break;
 					}
@@ -178,6 +184,13 @@ public abstract class TriggerItem implements Debuggable {
 		delay = b;
 	}
 
+	/**
+	 * Attaches a block compiled by the {@link TriggerCompiler} to this item, which is its first item.
+	 */
+	void setCompiledBlock(@Nullable CompiledBlock compiledBlock) {
+		this.compiledBlock = compiledBlock;
+	}
+
 	/**
 	 * how much to indent each level
 	 */
@@ -90,7 +90,7 @@ public class UnparsedLiteral implements Literal<Object> {
 			}
 			return null;
 		} finally {
-			log.stop();
+			log.close();
 		}
 	}
 
@@ -9,11 +9,11 @@ import ch.njol.skript.classes.Changer.ChangerUtils;
 import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.parser.ParserInstance;
-import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.structures.StructVariables.DefaultVariables;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
+import ch.njol.skript.variables.ListVariableNode;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Pair;
@@ -24,6 +24,7 @@ import ch.njol.util.coll.iterator.SingleItemIterator;
 import com.google.common.collect.Iterators;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
@@ -40,6 +41,7 @@ import org.skriptlang.skript.lang.script.ScriptWarning;
 import java.lang.reflect.Array;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -434,7 +436,7 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 		Object value = Variables.getVariable(name + "*", event, local);
 		if (value == null)
 			return new EmptyIterator<>();
-		assert value instanceof TreeMap;
+		assert value instanceof Map;
 		// temporary list to prevent CMEs
 		//noinspection unchecked
 		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) value).keySet()).iterator();
@@ -452,7 +454,7 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 
 						//noinspection unchecked
 						next = (T) convertIfOldPlayer(name + key, local, event, next);
-						if (next != null && !(next instanceof TreeMap))
+						if (next != null && !(next instanceof Map))
 							return true;
 					}
 				}
@@ -624,7 +626,18 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 						if (map == null)
 							return;
 						Set<String> toRemove = new HashSet<>(); // prevents CMEs
+						ListVariableNode node = indexedNode(map);
 						for (Object value : delta) {
+							Set<String> indices = node != null ? indicesOf(node, value) : null;
+							if (indices != null) {
+								for (String key : indices) {
+									if (!toRemove.contains(key) && Relation.EQUAL.isImpliedBy(Comparators.compare(map.get(key), value))) {
+										toRemove.add(key);
+										break;
+									}
+								}
+								continue;
+							}
 							for (Entry<String, Object> entry : map.entrySet()) {
 								String key = entry.getKey();
 								if (key == null)
@@ -646,10 +659,25 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 						if (map == null)
 							return;
 						Set<String> toRemove = new HashSet<>(); // prevents CMEs
-						for (Entry<String, Object> i : map.entrySet()) {
-							for (Object value : delta) {
-								if (Relation.EQUAL.isImpliedBy(Comparators.compare(i.getValue(), value)))
-									toRemove.add(i.getKey());
+						ListVariableNode node = indexedNode(map);
+						List<Object> unindexed = new ArrayList<>(delta.length);
+						for (Object value : delta) {
+							Set<String> indices = node != null ? indicesOf(node, value) : null;
+							if (indices == null) {
+								unindexed.add(value);
+								continue;
+							}
+							for (String key : indices) {
+								if (Relation.EQUAL.isImpliedBy(Comparators.compare(map.get(key), value)))
+									toRemove.add(key);
+							}
+						}
+						if (!unindexed.isEmpty()) {
+							for (Entry<String, Object> i : map.entrySet()) {
+								for (Object value : unindexed) {
+									if (Relation.EQUAL.isImpliedBy(Comparators.compare(i.getValue(), value)))
+										toRemove.add(i.getKey());
+								}
 							}
 						}
 						for (String index : toRemove) {
@@ -660,9 +688,12 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 						assert mode == ChangeMode.ADD;
 						int i = 1;
 						for (Object value : delta) {
-							if (map != null)
+							if (map != null) {
+								if (map instanceof ListVariableNode node)
+									i = node.nextFreeIndex(i);
 								while (map.containsKey("" + i))
 									i++;
+							}
 							setIndex(event, "" + i, value);
 							i++;
 						}
@@ -712,6 +743,52 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 		}
 	}
 
+	/**
+	 * @return The given list as a {@link ListVariableNode} if values should be looked up through its reverse index.
+	 */
+	private static @Nullable ListVariableNode indexedNode(Map<String, Object> map) {
+		if (map instanceof ListVariableNode node && SkriptConfig.indexListVariableValues.value())
+			return node;
+		return null;
+	}
+
+	/**
+	 * Looks up the indices of the given list holding the given value through the list's reverse index.
+	 * The index only finds values that are {@link Object#equals(Object) equal} to the given one,
+	 * so if the list may also hold values that a comparator considers equal to it (e.g. {@code 1.0} when looking up {@code 1}),
+	 * the whole list has to be searched instead.
+	 *
+	 * @return The indices that may hold the value in the order of the list, or null if the whole list has to be searched.
+	 */
+	private static @Nullable Set<String> indicesOf(ListVariableNode node, Object value) {
+		// values are stored as the class they're serialized as, e.g. players as offline players
+		Class<?> serializeAs = Classes.getSuperClassInfo(value.getClass()).getSerializeAs();
+		if (serializeAs != null && !serializeAs.isInstance(value)) {
+			value = Converters.convert(value, serializeAs);
+			if (value == null)
+				return null;
+		}
+		Set<String> indices = node.indicesOf(value);
+		Class<?> type = value.getClass();
+		for (Class<?> valueClass : node.getValueClasses()) {
+			if (valueClass == type ? !equalsMatchesComparator(type) : Comparators.getComparator(valueClass, type) != null)
+				return null;
+		}
+		return indices;
+	}
+
+	/**
+	 * @return Whether two values of the given class are equal exactly if the comparator of the class says they are.
+	 */
+	private static boolean equalsMatchesComparator(Class<?> type) {
+		if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class || type == UUID.class)
+			return true;
+		if (type == String.class)
+			return SkriptConfig.caseSensitive.value();
+		// offline players are compared by their UUID, which is also what their equals method does
+		return OfflinePlayer.class.isAssignableFrom(type) || Comparators.getComparator(type, type) == null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @param getAll This has no effect for a Variable, as {@link #getArray(Event)} is the same as {@link #getAll(Event)}.
@@ -795,14 +872,69 @@ public class Variable<T> implements Expression<T>, KeyReceiverExpression<T>, Key
 			|| input.equalsIgnoreCase("value");
 	}
 
+	@Override
+	public void forEachValue(Event event, Consumer<? super T> consumer) {
+		if (!list) {
+			T value = getConverted(event);
+			if (value != null)
+				consumer.accept(value);
+			return;
+		}
+		forEachListValue(event, value -> {
+			consumer.accept(value);
+			return true;
+		});
+	}
+
+	/**
+	 * Passes the converted values of this list variable to the given action, without copying them or their keys.
+	 * @param action Returns whether to continue with the next value.
+	 * @return Whether the action was called for all values.
+	 */
+	private boolean forEachListValue(Event event, Predicate<? super T> action) {
+		assert list;
+		if (!(getRaw(event) instanceof Map<?, ?> map))
+			return true;
+		String name = null;
+		for (Entry<?, ?> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			if (entry.getKey() == null || value == null)
+				continue;
+			if (value instanceof Map<?, ?> node) {
+				value = node.get(null);
+				if (value == null)
+					continue;
+			}
+			if (value instanceof Player) {
+				if (name == null)
+					name = StringUtils.substring(this.name.toString(event), 0, -1);
+				value = convertIfOldPlayer(name + entry.getKey(), local, event, value);
+			}
+			T converted = Converters.convert(value, types);
+			if (converted != null && !action.test(converted))
+				return false;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean check(Event event, Predicate<? super T> checker, boolean negated) {
-		return SimpleExpression.check(getAll(event), checker, negated, getAnd());
+		if (!list) {
+			T value = getConverted(event);
+			return value == null ? negated : negated ^ checker.test(value);
+		}
+		// list variables are 'and' lists: the checker has to accept every value
+		boolean[] hasValue = new boolean[1];
+		boolean accepted = forEachListValue(event, value -> {
+			hasValue[0] = true;
+			return checker.test(value);
+		});
+		return hasValue[0] ? negated ^ accepted : negated;
 	}
 
 	@Override
 	public boolean check(Event event, Predicate<? super T> checker) {
-		return SimpleExpression.check(getAll(event), checker, false, getAnd());
+		return check(event, checker, false);
 	}
 
 	public VariableString getName() {
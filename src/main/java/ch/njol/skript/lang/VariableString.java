@@ -1,6 +1,7 @@
 package ch.njol.skript.lang;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.classes.Changer.ChangeMode;
 import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.expressions.ExprColoured;
@@ -60,6 +61,47 @@ public class VariableString implements Expression<String> {
 	 */
 	private final MessageComponent[] components;
 
+	/**
+	 * The expressions of this string, in order. Empty for simple strings.
+	 */
+	private final Expression<?>[] expressions;
+
+	/**
+	 * The combined length of all constant parts, used to size builders.
+	 */
+	private final int constantLength;
+
+	/**
+	 * The fully parsed components of a simple string, parsed when first needed.
+	 * These are never handed out directly, as message components are mutable.
+	 */
+	private MessageComponent @Nullable [] simpleComponents;
+
+	private @Nullable String simpleJson;
+
+	/**
+	 * Recently rendered message components, keyed by the texts of the expressions they were rendered with.
+	 * Only used if {@link #renderCacheSize} is positive.
+	 */
+	private RenderedText @Nullable [] renderCache;
+	private int nextRenderCacheSlot;
+
+	/**
+	 * The number of renders that are cached per string, see {@link SkriptConfig#textRenderCacheSize}.
+	 */
+	private static int renderCacheSize = 0;
+
+	/**
+	 * Builders used to join the parts of strings. All expressions are evaluated before a builder is used,
+	 * so nested strings evaluated by these expressions can't use the same builder at the same time.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(StringBuilder::new);
+
+	/**
+	 * Builders that have grown larger than this are shrunk after use, so that they don't retain a lot of memory.
+	 */
+	private static final int MAX_RETAINED_BUILDER_CAPACITY = 8192;
+
 	/**
 	 * Creates a new VariableString which does not contain variables.
 	 *
@@ -78,6 +120,8 @@ public class VariableString implements Expression<String> {
 		this.script = parser.isActive() ? parser.getCurrentScript() : null;
 
 		this.components = new MessageComponent[] {ChatMessages.plainText(simpleUnformatted)};
+		this.expressions = new Expression[0];
+		this.constantLength = simple.length();
 	}
 
 	/**
@@ -97,20 +141,26 @@ public class VariableString implements Expression<String> {
 
 		// Construct unformatted string and components
 		List<MessageComponent> components = new ArrayList<>(strings.length);
+		List<Expression<?>> expressions = new ArrayList<>(strings.length);
+		int constantLength = 0;
 		for (int i = 0; i < strings.length; i++) {
 			Object object = strings[i];
 			if (object instanceof String) {
 				this.strings[i] = Utils.replaceChatStyles((String) object);
 				components.addAll(ChatMessages.parse((String) object));
+				constantLength += ((String) object).length();
 			} else {
 				this.strings[i] = object;
 				components.add(null); // Not known parse-time
+				expressions.add((Expression<?>) object);
 			}
 
 			// For unformatted string, don't format stuff
 			this.stringsUnformatted[i] = object;
 		}
 		this.components = components.toArray(new MessageComponent[0]);
+		this.expressions = expressions.toArray(new Expression[0]);
+		this.constantLength = constantLength;
 
 		this.mode = mode;
 
@@ -368,15 +418,48 @@ public class VariableString implements Expression<String> {
 		}
 		Object[] strings = this.stringsUnformatted;
 		assert strings != null;
-		StringBuilder builder = new StringBuilder();
-		for (Object string : strings) {
-			if (string instanceof Expression<?>) {
-				builder.append(Classes.toString(((Expression<?>) string).getArray(event), true, mode));
+		return join(strings, evaluateExpressions(event, null));
+	}
+
+	/**
+	 * Evaluates all expressions of this string, in order.
+	 *
+	 * @param event The event to evaluate the expressions with.
+	 * @param types A list to add the type of the first value of every expression to, if not null.
+	 * @return The text of every expression of this string.
+	 */
+	private String[] evaluateExpressions(Event event, @Nullable List<Class<?>> types) {
+		String[] texts = new String[expressions.length];
+		for (int i = 0; i < expressions.length; i++) {
+			Object[] values = expressions[i].getArray(event);
+			if (types != null && values != null && values.length > 0)
+				types.add(values[0].getClass());
+			texts[i] = Classes.toString(values, true, mode);
+		}
+		return texts;
+	}
+
+	/**
+	 * Joins the given parts of this string, replacing expressions with their evaluated texts.
+	 */
+	private String join(Object[] parts, String[] texts) {
+		StringBuilder builder = BUILDERS.get();
+		builder.setLength(0);
+		builder.ensureCapacity(constantLength + 16 * texts.length);
+		int textIndex = 0;
+		for (Object part : parts) {
+			if (part instanceof Expression<?>) {
+				builder.append(texts[textIndex++]);
 			} else {
-				builder.append(string);
+				builder.append((String) part);
 			}
 		}
-		return builder.toString();
+		String joined = builder.toString();
+		if (builder.capacity() > MAX_RETAINED_BUILDER_CAPACITY) {
+			builder.setLength(0);
+			builder.trimToSize();
+		}
+		return joined;
 	}
 
 	/**
@@ -399,41 +482,42 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponents(Event event, @Nullable StringBuilder unformattedBuilder) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
+		if (isSimple) // Trusted, constant string in a script
+			return copyComponents(getSimpleComponents());
+
+		String[] texts = evaluateExpressions(event, null);
+		if (unformattedBuilder != null) {
+			for (String text : texts)
+				unformattedBuilder.append(text);
 		}
 
-		// Parse formatting
-		Object[] strings = this.stringsUnformatted;
-		assert strings != null;
+		RenderedText cached = getCachedRender(texts);
+		if (cached != null)
+			return copyComponents(cached.components);
+
+		List<MessageComponent> message = render(texts);
+		cacheRender(texts, message);
+		return message;
+	}
+
+	/**
+	 * Builds the message components of this string from the texts of its expressions.
+	 * Formatting is only parsed in the constant parts, which have already been parsed when this string was created.
+	 */
+	private List<MessageComponent> render(String[] texts) {
 		List<MessageComponent> message = new ArrayList<>(components.length); // At least this much space
-		int stringPart = -1;
-		MessageComponent previous = null;
+		int textIndex = 0;
 		for (MessageComponent component : components) {
 			if (component == null) { // This component holds place for variable part
-				// Go over previous expression part (stringPart >= 0) or take first part (stringPart == 0)
-				stringPart++;
-				if (previous != null) { // Also jump over literal part
-					stringPart++;
-				}
-				Object string = strings[stringPart];
-				previous = null;
-
-				// Convert it to plain text
-				String text = null;
-				if (string instanceof Expression<?> expression) {
-					text = Classes.toString(expression.getArray(event), true, mode);
-					if (unformattedBuilder != null)
-						unformattedBuilder.append(text);
-					// Special case: user wants to process formatting
-					if (string instanceof ExprColoured exprColoured && exprColoured.isUnsafeFormat()) {
-						message.addAll(ChatMessages.parse(text));
-						continue;
-					}
+				Expression<?> expression = expressions[textIndex];
+				String text = texts[textIndex++];
+
+				// Special case: user wants to process formatting
+				if (expression instanceof ExprColoured exprColoured && exprColoured.isUnsafeFormat()) {
+					message.addAll(ChatMessages.parse(text));
+					continue;
 				}
 
-				assert text != null;
 				List<MessageComponent> components = ChatMessages.fromParsedString(text);
 				if (!message.isEmpty()) { // Copy styles from previous component
 					int startSize = message.size();
@@ -451,13 +535,79 @@ public class VariableString implements Expression<String> {
 					ChatMessages.copyStyles(message.get(message.size() - 1), componentCopy);
 				}
 				message.add(componentCopy);
-				previous = componentCopy;
 			}
 		}
-
 		return message;
 	}
 
+	private MessageComponent[] getSimpleComponents() {
+		MessageComponent[] simpleComponents = this.simpleComponents;
+		if (simpleComponents == null) {
+			assert simpleUnformatted != null;
+			simpleComponents = ChatMessages.parse(simpleUnformatted).toArray(new MessageComponent[0]);
+			this.simpleComponents = simpleComponents;
+		}
+		return simpleComponents;
+	}
+
+	private static List<MessageComponent> copyComponents(MessageComponent[] components) {
+		List<MessageComponent> copy = new ArrayList<>(components.length);
+		for (MessageComponent component : components)
+			copy.add(component.copy());
+		return copy;
+	}
+
+	private @Nullable RenderedText getCachedRender(String[] texts) {
+		RenderedText[] cache = renderCache;
+		if (cache == null)
+			return null;
+		for (RenderedText rendered : cache) {
+			if (rendered != null && Arrays.equals(rendered.texts, texts))
+				return rendered;
+		}
+		return null;
+	}
+
+	private @Nullable RenderedText cacheRender(String[] texts, List<MessageComponent> message) {
+		int size = renderCacheSize;
+		if (size <= 0)
+			return null;
+		RenderedText[] cache = renderCache;
+		if (cache == null || cache.length != size)
+			renderCache = cache = new RenderedText[size];
+		RenderedText rendered = new RenderedText(texts, copyComponents(message.toArray(new MessageComponent[0]))
+			.toArray(new MessageComponent[0]));
+		// races between threads only lose cache entries, as entries are immutable
+		int slot = nextRenderCacheSlot;
+		cache[slot % cache.length] = rendered;
+		nextRenderCacheSlot = (slot + 1) % cache.length;
+		return rendered;
+	}
+
+	/**
+	 * Sets the number of renders that are cached per string.
+	 * Strings whose expressions rarely change can then skip building their message components.
+	 */
+	public static void setRenderCacheSize(int size) {
+		renderCacheSize = Math.max(0, size);
+	}
+
+	/**
+	 * The message components of a string for specific texts of its expressions.
+	 */
+	private static final class RenderedText {
+
+		private final String[] texts;
+		private final MessageComponent[] components;
+		private @Nullable String json;
+
+		private RenderedText(String[] texts, MessageComponent[] components) {
+			this.texts = texts;
+			this.components = components;
+		}
+
+	}
+
 	/**
 	 * Gets message components from this string. Formatting is parsed
 	 * everywhere, which is a potential security risk.
@@ -465,10 +615,8 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponentsUnsafe(Event event) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		if (isSimple) // Trusted, constant string in a script
+			return copyComponents(getSimpleComponents());
 
 		return ChatMessages.parse(toUnformattedString(event));
 	}
@@ -480,7 +628,26 @@ public class VariableString implements Expression<String> {
 	 * @return The input string with all expressions replaced.
 	 */
 	public String toChatString(Event event) {
-		return ChatMessages.toJson(getMessageComponents(event));
+		if (isSimple) {
+			if (simpleJson == null)
+				simpleJson = ChatMessages.toJson(getMessageComponents(event));
+			return simpleJson;
+		}
+		if (renderCacheSize <= 0)
+			return ChatMessages.toJson(getMessageComponents(event));
+
+		String[] texts = evaluateExpressions(event, null);
+		RenderedText rendered = getCachedRender(texts);
+		if (rendered == null) {
+			List<MessageComponent> message = render(texts);
+			rendered = cacheRender(texts, message);
+			if (rendered == null) // the cache was disabled in the meantime
+				return ChatMessages.toJson(message);
+		}
+		String json = rendered.json;
+		if (json == null)
+			rendered.json = json = ChatMessages.toJson(Arrays.asList(rendered.components));
+		return json;
 	}
 
 	private static @Nullable ChatColor getLastColor(CharSequence sequence) {
@@ -516,24 +683,11 @@ public class VariableString implements Expression<String> {
 
 		Object[] string = this.strings;
 		assert string != null;
-		StringBuilder builder = new StringBuilder();
-		List<Class<?>> types = new ArrayList<>();
-		for (Object object : string) {
-			if (object instanceof Expression<?>) {
-				Object[] objects = ((Expression<?>) object).getArray(event);
-				if (objects != null && objects.length > 0)
-					types.add(objects[0].getClass());
-				builder.append(Classes.toString(objects, true, mode));
-			} else {
-				builder.append(object);
-			}
-		}
-		String complete = builder.toString();
-		if (script != null && mode == StringMode.VARIABLE_NAME && !types.isEmpty()) {
-			DefaultVariables data = script.getData(DefaultVariables.class);
-			if (data != null)
-				data.add(complete, types.toArray(new Class<?>[0]));
-		}
+		DefaultVariables data = script != null && mode == StringMode.VARIABLE_NAME ? script.getData(DefaultVariables.class) : null;
+		List<Class<?>> types = data != null ? new ArrayList<>(expressions.length) : null;
+		String complete = join(string, evaluateExpressions(event, types));
+		if (data != null && !types.isEmpty())
+			data.add(complete, types.toArray(new Class<?>[0]));
 		return complete;
 	}
 
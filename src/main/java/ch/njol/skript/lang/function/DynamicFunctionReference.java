@@ -18,9 +18,10 @@ import java.io.File;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A partial reference to a Skript function.
@@ -36,7 +37,7 @@ public class DynamicFunctionReference<Result>
 	private final Reference<Function<? extends Result>> function;
 	private final @UnknownNullability Signature<? extends Result> signature;
 	private final Validated validator = Validated.validator();
-	private final Map<Input, Expression<?>> checkedInputs = new HashMap<>();
+	private final Map<Input, Optional<Expression<?>>> checkedInputs = new ConcurrentHashMap<>();
 	private final boolean resolved;
 
 	public DynamicFunctionReference(Function<? extends Result> function) {
@@ -157,9 +158,16 @@ public class DynamicFunctionReference<Result>
 	}
 
 	public @Nullable Expression<?> validate(Input input) {
-		if (checkedInputs.containsKey(input))
-			return checkedInputs.get(input);
-		this.checkedInputs.put(input, null); // failure case
+		Optional<Expression<?>> checked = checkedInputs.get(input);
+		//noinspection OptionalAssignedToNull
+		if (checked != null)
+			return checked.orElse(null);
+		Expression<?> validated = check(input);
+		this.checkedInputs.put(input, Optional.ofNullable(validated));
+		return validated;
+	}
+
+	private @Nullable Expression<?> check(Input input) {
 		if (signature == null)
 			return null;
 		boolean varArgs = signature.getMaxParameters() == 1 && !signature.getParameter(0).single;
@@ -185,10 +193,7 @@ public class DynamicFunctionReference<Result>
 			checked[i] = expression;
 		}
 
-		// if successful, replace with our known result
-		ExpressionList<?> result = new ExpressionList<>(checked, Object.class, true);
-		this.checkedInputs.put(input, result);
-		return result;
+		return new ExpressionList<>(checked, Object.class, true);
 	}
 
 	/**
@@ -226,6 +231,45 @@ public class DynamicFunctionReference<Result>
 		return reference;
 	}
 
+	/**
+	 * Caches the functions resolved by a single piece of syntax (a call site), such as {@code function named "x"}.
+	 * Resolved references are reused for as long as the {@link FunctionRegistry#generation() function registry}
+	 * does not change and the reference remains valid, which also allows their validated inputs to be reused.
+	 */
+	public static final class CallSite {
+
+		/**
+		 * The maximum number of function names to remember per call site.
+		 */
+		private static final int MAX_RESOLUTIONS = 64;
+
+		private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+
+		/**
+		 * Resolves a function from its name, reusing a previous resolution if possible.
+		 * @param name The function name
+		 * @param script Potentially, the script it is from, if one is known
+		 * @return A function reference, if one is available.
+		 * @see #resolveFunction(String, Script)
+		 */
+		public @Nullable DynamicFunctionReference<?> resolve(String name, @Nullable Script script) {
+			long generation = FunctionRegistry.getRegistry().generation();
+			Resolution resolution = resolutions.get(name);
+			if (resolution != null && resolution.generation == generation && resolution.script == script
+					&& (resolution.reference == null || resolution.reference.valid()))
+				return resolution.reference;
+
+			DynamicFunctionReference<?> reference = resolveFunction(name, script);
+			if (resolutions.size() >= MAX_RESOLUTIONS)
+				resolutions.clear();
+			resolutions.put(name, new Resolution(generation, script, reference));
+			return reference;
+		}
+
+		private record Resolution(long generation, @Nullable Script script, @Nullable DynamicFunctionReference<?> reference) { }
+
+	}
+
 	private static @Nullable Script getScript(@Nullable String source) {
 		if (source == null || source.isEmpty())
 			return null;
@@ -14,6 +14,7 @@ import org.skriptlang.skript.util.Registry;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -52,17 +53,33 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 	 */
 	private final Map<NamespaceIdentifier, Namespace> namespaces = new ConcurrentHashMap<>();
 
+	/**
+	 * Incremented whenever a function or signature is registered or removed.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
 	@Override
 	public @Unmodifiable @NotNull Collection<Function<?>> elements() {
 		Set<Function<?>> functions = new HashSet<>();
 
 		for (Namespace namespace : namespaces.values()) {
-			functions.addAll(namespace.functions.values());
+			functions.addAll(namespace.snapshot().functions.values());
 		}
 
 		return Collections.unmodifiableSet(functions);
 	}
 
+	/**
+	 * Returns the generation of this registry, which changes whenever a function or signature
+	 * is registered or removed. Anything that was resolved through this registry
+	 * may be cached for as long as the generation stays the same.
+	 *
+	 * @return The current generation of this registry.
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
 	/**
 	 * Registers a signature.
 	 * <p>
@@ -111,11 +128,12 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 			if (!exists) {
 				alreadyRegisteredError(signature.getName(), identifier, namespaceId);
 			}
-		}
 
-		Signature<?> existing = ns.signatures.putIfAbsent(identifier, signature);
-		if (existing != null) {
-			alreadyRegisteredError(signature.getName(), identifier, namespaceId);
+			Signature<?> existing = ns.signatures.putIfAbsent(identifier, signature);
+			if (existing != null) {
+				alreadyRegisteredError(signature.getName(), identifier, namespaceId);
+			}
+			changed(ns);
 		}
 	}
 
@@ -161,18 +179,31 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		}
 
 		FunctionIdentifier identifier = FunctionIdentifier.of(function.getSignature());
-		if (!signatureExists(namespaceId, identifier)) {
-			register(namespace, function.getSignature());
-		}
-
 		Namespace ns = namespaces.computeIfAbsent(namespaceId, n -> new Namespace());
 
-		Function<?> existing = ns.functions.putIfAbsent(identifier, function);
-		if (existing != null) {
-			alreadyRegisteredError(name, identifier, namespaceId);
+		synchronized (ns) {
+			if (!signatureExists(namespaceId, identifier)) {
+				register(namespace, function.getSignature());
+			}
+
+			Function<?> existing = ns.functions.putIfAbsent(identifier, function);
+			if (existing != null) {
+				alreadyRegisteredError(name, identifier, namespaceId);
+			}
+			changed(ns);
 		}
 	}
 
+	/**
+	 * Marks a namespace as changed, discarding its snapshot. Must be called while holding the namespace's lock.
+	 *
+	 * @param namespace The namespace that was changed.
+	 */
+	private void changed(Namespace namespace) {
+		namespace.snapshot = null;
+		generation.incrementAndGet();
+	}
+
 	private static void alreadyRegisteredError(String name, FunctionIdentifier identifier, NamespaceIdentifier namespace) {
 		throw new SkriptAPIException("Function '%s' with parameters %s is already registered in %s"
 			.formatted(name, Arrays.toString(Arrays.stream(identifier.args).map(Class::getSimpleName).toArray()),
@@ -305,28 +336,60 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		Preconditions.checkNotNull(namespace, "namespace cannot be null");
 		Preconditions.checkNotNull(provided, "provided cannot be null");
 
-		Namespace ns = namespaces.getOrDefault(namespace, new Namespace());
-		Set<FunctionIdentifier> existing = ns.identifiers.get(provided.name);
-		if (existing == null) {
+		Namespace ns = namespaces.get(namespace);
+		if (ns == null) {
 			Skript.debug("No functions named '%s' exist in the '%s' namespace", provided.name, namespace.name);
 			return new Retrieval<>(RetrievalResult.NOT_REGISTERED, null, null);
 		}
 
-		Set<FunctionIdentifier> candidates = candidates(provided, existing, false);
+		NamespaceSnapshot snapshot = ns.snapshot();
+		Retrieval<Function<?>> retrieval = snapshot.functionRetrievals.get(provided);
+		if (retrieval == null) {
+			retrieval = retrieve("function", namespace, provided, snapshot.overloads(provided), snapshot.functions, false);
+			snapshot.cache(snapshot.functionRetrievals, provided, retrieval);
+		}
+		return retrieval;
+	}
+
+	/**
+	 * Resolves the provided identifier against the registered identifiers with the same name.
+	 *
+	 * @param kind      What is being retrieved, used for debug messages.
+	 * @param namespace The namespace the identifiers are from.
+	 * @param provided  The provided identifier of the function.
+	 * @param existing  The registered identifiers that may match, or null if there are none.
+	 * @param values    The values of the registered identifiers.
+	 * @param exact     When false, will convert arguments to different types to attempt to find a match.
+	 *                  When true, will not convert arguments.
+	 * @return Information related to the attempt to get the specified value, stored in a {@link Retrieval} object.
+	 */
+	private static <T> @NotNull Retrieval<T> retrieve(
+		String kind,
+		NamespaceIdentifier namespace,
+		FunctionIdentifier provided,
+		@Nullable Set<FunctionIdentifier> existing,
+		Map<FunctionIdentifier, T> values,
+		boolean exact
+	) {
+		if (existing == null) {
+			Skript.debug("No %ss named '%s' exist in the '%s' namespace", kind, provided.name, namespace.name);
+			return new Retrieval<>(RetrievalResult.NOT_REGISTERED, null, null);
+		}
+
+		Set<FunctionIdentifier> candidates = candidates(provided, existing, exact);
 		if (candidates.isEmpty()) {
-			Skript.debug("Failed to find a function for '%s'", provided.name);
+			Skript.debug("Failed to find a %s for '%s'", kind, provided.name);
 			return new Retrieval<>(RetrievalResult.NOT_REGISTERED, null, null);
 		} else if (candidates.size() == 1) {
+			T retrieved = values.get(candidates.iterator().next());
 			if (Skript.debug()) {
-				Skript.debug("Matched function for '%s': %s", provided.name, candidates.stream().findAny().orElse(null));
+				Skript.debug("Matched %s for '%s': %s", kind, provided.name, retrieved);
 			}
-			return new Retrieval<>(RetrievalResult.EXACT,
-				ns.functions.get(candidates.stream().findAny().orElse(null)),
-				null);
+			return new Retrieval<>(RetrievalResult.EXACT, retrieved, null);
 		} else {
 			if (Skript.debug()) {
 				String options = candidates.stream().map(Record::toString).collect(Collectors.joining(", "));
-				Skript.debug("Failed to match an exact function for '%s'", provided.name);
+				Skript.debug("Failed to match an exact %s for '%s'", kind, provided.name);
 				Skript.debug("Identifier: %s", provided);
 				Skript.debug("Options: %s", options);
 			}
@@ -411,10 +474,13 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 
 		// obtain all global functions of "name"
 		Namespace globalNamespace = namespaces.get(GLOBAL_NAMESPACE);
-		Set<FunctionIdentifier> globalIdentifiers = globalNamespace.identifiers.get(name);
-		if (globalIdentifiers != null) {
-			for (FunctionIdentifier identifier : globalIdentifiers) {
-				setBuilder.add(globalNamespace.signatures.get(identifier));
+		if (globalNamespace != null) {
+			NamespaceSnapshot snapshot = globalNamespace.snapshot();
+			Overloads globalOverloads = snapshot.overloads.get(name);
+			if (globalOverloads != null) {
+				for (FunctionIdentifier identifier : globalOverloads.all) {
+					setBuilder.add(snapshot.signatures.get(identifier));
+				}
 			}
 		}
 
@@ -422,10 +488,11 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		if (namespace != null) {
 			Namespace localNamespace = namespaces.get(new NamespaceIdentifier(namespace));
 			if (localNamespace != null) {
-				Set<FunctionIdentifier> localIdentifiers = localNamespace.identifiers.get(name);
-				if (localIdentifiers != null) {
-					for (FunctionIdentifier identifier : localIdentifiers) {
-						setBuilder.add(localNamespace.signatures.get(identifier));
+				NamespaceSnapshot snapshot = localNamespace.snapshot();
+				Overloads localOverloads = snapshot.overloads.get(name);
+				if (localOverloads != null) {
+					for (FunctionIdentifier identifier : localOverloads.all) {
+						setBuilder.add(snapshot.signatures.get(identifier));
 					}
 				}
 			}
@@ -448,37 +515,26 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		Preconditions.checkNotNull(namespace, "namespace cannot be null");
 		Preconditions.checkNotNull(provided, "provided cannot be null");
 
-		Namespace ns = namespaces.getOrDefault(namespace, new Namespace());
-		if (!ns.identifiers.containsKey(provided.name)) {
+		Namespace ns = namespaces.get(namespace);
+		if (ns == null) {
 			Skript.debug("No signatures named '%s' exist in the '%s' namespace", provided.name, namespace.name);
 			return new Retrieval<>(RetrievalResult.NOT_REGISTERED, null, null);
 		}
 
-		Set<FunctionIdentifier> candidates = candidates(provided, ns.identifiers.get(provided.name), exact);
-		if (candidates.isEmpty()) {
-			Skript.debug("Failed to find a signature for '%s'", provided.name);
-			return new Retrieval<>(RetrievalResult.NOT_REGISTERED, null, null);
-		} else if (candidates.size() == 1) {
-			if (Skript.debug()) {
-				Skript.debug("Matched signature for '%s': %s",
-					provided.name, ns.signatures.get(candidates.stream().findAny().orElse(null)));
-			}
-			return new Retrieval<>(RetrievalResult.EXACT,
-				ns.signatures.get(candidates.stream().findAny().orElse(null)),
-				null);
-		} else {
-			if (Skript.debug()) {
-				String options = candidates.stream().map(Record::toString).collect(Collectors.joining(", "));
-				Skript.debug("Failed to match an exact signature for '%s'", provided.name);
-				Skript.debug("Identifier: %s", provided);
-				Skript.debug("Options: %s", options);
+		if (exact) {
+			// exact lookups are only done while registering, so avoid building a snapshot for every registration
+			synchronized (ns) {
+				return retrieve("signature", namespace, provided, ns.identifiers.get(provided.name), ns.signatures, true);
 			}
-			return new Retrieval<>(RetrievalResult.AMBIGUOUS,
-				null,
-				candidates.stream()
-					.map(FunctionIdentifier::args)
-					.toArray(Class<?>[][]::new));
 		}
+
+		NamespaceSnapshot snapshot = ns.snapshot();
+		Retrieval<Signature<?>> retrieval = snapshot.signatureRetrievals.get(provided);
+		if (retrieval == null) {
+			retrieval = retrieve("signature", namespace, provided, snapshot.overloads(provided), snapshot.signatures, false);
+			snapshot.cache(snapshot.signatureRetrievals, provided, retrieval);
+		}
+		return retrieval;
 	}
 
 	/**
@@ -606,13 +662,16 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 			return;
 		}
 
-		for (FunctionIdentifier other : namespace.identifiers.getOrDefault(name, Set.of())) {
-			if (!identifier.equals(other)) {
-				continue;
-			}
+		synchronized (namespace) {
+			for (FunctionIdentifier other : namespace.identifiers.getOrDefault(name, Set.of())) {
+				if (!identifier.equals(other)) {
+					continue;
+				}
 
-			removeUpdateMaps(namespace, other, name);
-			return;
+				removeUpdateMaps(namespace, other, name);
+				changed(namespace);
+				return;
+			}
 		}
 	}
 
@@ -655,7 +714,8 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 	}
 
 	/**
-	 * The data a namespace contains.
+	 * The data a namespace contains. All maps may only be accessed while holding the lock of the namespace,
+	 * lookups should go through its {@link #snapshot()} instead.
 	 */
 	private static final class Namespace {
 
@@ -674,6 +734,125 @@ public final class FunctionRegistry implements Registry<Function<?>> {
 		 */
 		private final Map<FunctionIdentifier, Signature<?>> signatures = new HashMap<>();
 
+		/**
+		 * The snapshot of the current contents of this namespace, or null if it has changed since the last snapshot.
+		 */
+		private volatile @Nullable NamespaceSnapshot snapshot;
+
+		/**
+		 * Gets an immutable snapshot of this namespace, creating one if it has changed since the last snapshot.
+		 * Snapshots are only created when functions are looked up, so registering a batch of functions
+		 * (such as those of a script being loaded) only creates a single new snapshot.
+		 *
+		 * @return The snapshot of this namespace.
+		 */
+		private NamespaceSnapshot snapshot() {
+			NamespaceSnapshot snapshot = this.snapshot;
+			if (snapshot == null) {
+				synchronized (this) {
+					snapshot = this.snapshot;
+					if (snapshot == null) {
+						snapshot = new NamespaceSnapshot(this);
+						this.snapshot = snapshot;
+					}
+				}
+			}
+			return snapshot;
+		}
+
+	}
+
+	/**
+	 * An immutable copy of the contents of a {@link Namespace}, which can be read without locking.
+	 * Function calls are resolved against this, and the results are cached until the namespace changes.
+	 */
+	private static final class NamespaceSnapshot {
+
+		/**
+		 * The maximum number of resolved calls to cache per snapshot.
+		 */
+		private static final int MAX_CACHED_RETRIEVALS = 512;
+
+		private final Map<String, Overloads> overloads;
+		private final Map<FunctionIdentifier, Function<?>> functions;
+		private final Map<FunctionIdentifier, Signature<?>> signatures;
+
+		private final Map<FunctionIdentifier, Retrieval<Function<?>>> functionRetrievals = new ConcurrentHashMap<>();
+		private final Map<FunctionIdentifier, Retrieval<Signature<?>>> signatureRetrievals = new ConcurrentHashMap<>();
+
+		private NamespaceSnapshot(Namespace namespace) {
+			Map<String, Overloads> overloads = new HashMap<>();
+			for (var entry : namespace.identifiers.entrySet())
+				overloads.put(entry.getKey(), new Overloads(entry.getValue()));
+			this.overloads = overloads;
+			this.functions = new HashMap<>(namespace.functions);
+			this.signatures = new HashMap<>(namespace.signatures);
+		}
+
+		/**
+		 * @param provided The provided identifier of a function.
+		 * @return The registered identifiers that may accept the arguments of the provided identifier,
+		 * 			or null if there are no functions with its name.
+		 */
+		private @Nullable Set<FunctionIdentifier> overloads(FunctionIdentifier provided) {
+			Overloads overloads = this.overloads.get(provided.name);
+			if (overloads == null)
+				return null;
+			return overloads.withArgumentCount(provided.args.length);
+		}
+
+		private <T> void cache(Map<FunctionIdentifier, Retrieval<T>> cache, FunctionIdentifier provided, Retrieval<T> retrieval) {
+			if (cache.size() < MAX_CACHED_RETRIEVALS)
+				cache.put(provided, retrieval);
+		}
+
+	}
+
+	/**
+	 * All identifiers registered with the same name, indexed by the number of arguments they accept.
+	 */
+	private static final class Overloads {
+
+		private final Set<FunctionIdentifier> all;
+
+		/**
+		 * The identifiers accepting a specific number of arguments, indexed by that number.
+		 */
+		private final List<Set<FunctionIdentifier>> byArgumentCount;
+
+		/**
+		 * The identifiers with a single list parameter, which accept any number of arguments.
+		 */
+		private final Set<FunctionIdentifier> variadic;
+
+		private Overloads(Set<FunctionIdentifier> identifiers) {
+			this.all = Set.copyOf(identifiers);
+
+			Set<FunctionIdentifier> variadic = new HashSet<>();
+			int maxArguments = 0;
+			for (FunctionIdentifier identifier : identifiers) {
+				if (identifier.args.length == 1 && identifier.args[0].isArray())
+					variadic.add(identifier);
+				maxArguments = Math.max(maxArguments, identifier.args.length);
+			}
+			this.variadic = Collections.unmodifiableSet(variadic);
+
+			List<Set<FunctionIdentifier>> byArgumentCount = new ArrayList<>(maxArguments + 1);
+			for (int count = 0; count <= maxArguments; count++) {
+				Set<FunctionIdentifier> accepting = new HashSet<>(variadic);
+				for (FunctionIdentifier identifier : identifiers) {
+					if (count >= identifier.minArgCount && count <= identifier.args.length)
+						accepting.add(identifier);
+				}
+				byArgumentCount.add(Collections.unmodifiableSet(accepting));
+			}
+			this.byArgumentCount = byArgumentCount;
+		}
+
+		private Set<FunctionIdentifier> withArgumentCount(int count) {
+			return count < byArgumentCount.size() ? byArgumentCount.get(count) : variadic;
+		}
+
 	}
 
 	/**
@@ -0,0 +1,43 @@
+package ch.njol.skript.lang.optimization;
+
+import ch.njol.skript.lang.Expression;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+
+/**
+ * Holds the values of {@link Expression#isPure() pure} expressions for the event they were last evaluated with.
+ * A slot is shared by all structurally identical expressions of a trigger, so only the first of them is evaluated for an event.
+ * <p>
+ * Only the values of the last event are kept, and the event is only referenced weakly.
+ * Slots may be used by multiple threads at once, which may replace each other's values.
+ * This only means that the values are evaluated again.
+ *
+ * @see TriggerOptimizer
+ */
+public final class EvaluationSlot {
+
+	private record Values(WeakReference<Event> event, Object @Nullable [] values) { }
+
+	private volatile @Nullable Values values;
+
+	/**
+	 * Gets the values for the given event, evaluating them if they aren't known yet.
+	 *
+	 * @param event The event.
+	 * @param evaluator Evaluates the values for an event.
+	 * @return The values for the given event, which must not be modified.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T @Nullable [] get(Event event, Function<Event, T @Nullable []> evaluator) {
+		Values values = this.values;
+		if (values != null && values.event().get() == event)
+			return (T[]) values.values();
+		T[] evaluated = evaluator.apply(event);
+		this.values = new Values(new WeakReference<>(event), evaluated);
+		return evaluated;
+	}
+
+}
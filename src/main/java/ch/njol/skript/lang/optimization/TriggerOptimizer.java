@@ -0,0 +1,99 @@
+package ch.njol.skript.lang.optimization;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.LoopSection;
+import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.SimpleExpression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares the evaluation of {@link Expression#isPure() pure} expressions within a trigger,
+ * if enabled by the 'optimize triggers' option of the config.
+ * <p>
+ * The pure expressions parsed while the items of a trigger are {@link ScriptLoader#loadItems loaded} are collected.
+ * Once all items of the trigger are loaded, structurally identical expressions, i.e. those with the same class,
+ * return type, {@link Expression#getTime() time} and debug string, are given the same {@link EvaluationSlot}, so only the first of them is evaluated for an event.
+ * Pure expressions in loops are given a slot even if they only occur once, so they are only evaluated
+ * in the first iteration of the loop instead of in every iteration.
+ * <p>
+ * As no effect can change the values of pure expressions, their values don't need to be invalidated while a trigger is executed.
+ */
+public final class TriggerOptimizer extends ParserInstance.Data {
+
+	static {
+		ParserInstance.registerData(TriggerOptimizer.class, TriggerOptimizer::new);
+	}
+
+	/**
+	 * @return The optimizer of the given parser.
+	 */
+	public static TriggerOptimizer get(ParserInstance parser) {
+		return parser.getData(TriggerOptimizer.class);
+	}
+
+	private record Occurrence(SimpleExpression<?> expression, boolean inLoop) { }
+
+	private final List<Occurrence> occurrences = new ArrayList<>();
+	private int depth;
+
+	public TriggerOptimizer(ParserInstance parserInstance) {
+		super(parserInstance);
+	}
+
+	/**
+	 * Called before the items of a section are loaded.
+	 */
+	public void enterItems() {
+		// items outside of any section start a new trigger, also discarding anything left by a trigger that failed to load
+		if (getParser().getCurrentSections().isEmpty()) {
+			occurrences.clear();
+			depth = 0;
+		}
+		depth++;
+	}
+
+	/**
+	 * Called after the items of a section are loaded.
+	 * Once all items of a trigger are loaded, its pure expressions are optimized.
+	 */
+	public void exitItems() {
+		if (depth > 0 && --depth == 0)
+			optimize();
+	}
+
+	/**
+	 * Collects an expression that was parsed successfully, if it is pure and part of a trigger that is being loaded.
+	 */
+	public void register(SimpleExpression<?> expression) {
+		if (depth == 0 || !SkriptConfig.optimizeTriggers.value() || !expression.isPure())
+			return;
+		occurrences.add(new Occurrence(expression, getParser().isCurrentSection(LoopSection.class)));
+	}
+
+	private void optimize() {
+		Map<String, List<Occurrence>> groups = new HashMap<>();
+		for (Occurrence occurrence : occurrences) {
+			SimpleExpression<?> expression = occurrence.expression();
+			// the time isn't part of the debug string of e.g. event values, but 'past event-world' isn't 'event-world'
+			String key = expression.getClass().getName() + ':' + expression.getReturnType().getName()
+				+ ':' + expression.getTime() + ':' + expression.toString(null, true);
+			groups.computeIfAbsent(key, k -> new ArrayList<>(2)).add(occurrence);
+		}
+		occurrences.clear();
+
+		for (List<Occurrence> group : groups.values()) {
+			if (group.size() == 1 && !group.get(0).inLoop())
+				continue;
+			EvaluationSlot slot = new EvaluationSlot();
+			for (Occurrence occurrence : group)
+				occurrence.expression().setEvaluationSlot(slot);
+		}
+	}
+
+}
@@ -17,6 +17,7 @@ import org.skriptlang.skript.lang.converter.ConverterInfo;
 import org.skriptlang.skript.lang.converter.Converters;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -218,6 +219,15 @@ public class ConvertedExpression<F, T> implements Expression<T> {
 		return Converters.convert(source.getAll(event), to, converter);
 	}
 
+	@Override
+	public void forEachValue(Event event, Consumer<? super T> consumer) {
+		source.forEachValue(event, value -> {
+			T converted = converter.convert(value);
+			if (converted != null)
+				consumer.accept(converted);
+		});
+	}
+
 	@Override
 	public boolean check(Event event, Predicate<? super T> checker, boolean negated) {
 		return negated ^ check(event, checker);
@@ -0,0 +1,167 @@
+package ch.njol.skript.lang.util;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.Condition;
+import ch.njol.skript.lang.InputSource;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Checks the conditions of a filter, like {@link ch.njol.skript.sections.SecFilter} or {@link ch.njol.skript.expressions.ExprFilter},
+ * and keeps track of the value and index that are currently being checked, which the filter provides as its {@link InputSource}.
+ * <p>
+ * Lists are checked in plain loops over their values. If a list has at least as many values as
+ * {@link SkriptConfig#parallelFilterThreshold configured}, all conditions are {@link Condition#isThreadSafe() thread-safe}
+ * and all values are {@link #isPlainData(Class) plain data}, it is split into chunks which are checked in parallel on the common fork-join pool.
+ * While that happens, the current value and index are kept per thread.
+ */
+public final class InputFilter {
+
+	/**
+	 * The number of values a thread checks at once when checking a list in parallel.
+	 */
+	private static final int CHUNK_SIZE = 4096;
+
+	private static final class Input {
+
+		private @Nullable Object value;
+		private @Nullable String index;
+
+	}
+
+	private final Condition[] conditions;
+	private final boolean any;
+	private final boolean threadSafe;
+
+	private @Nullable Object currentValue;
+	private @Nullable String currentIndex;
+
+	/**
+	 * Whether a list is currently being checked in parallel, in which case the current values are in {@link #parallelInput}.
+	 */
+	private volatile boolean parallel;
+	private final ThreadLocal<Input> parallelInput = new ThreadLocal<>();
+
+	/**
+	 * @param conditions The conditions of the filter.
+	 * @param any Whether values only need to match any of the conditions instead of all of them.
+	 */
+	public InputFilter(List<Condition> conditions, boolean any) {
+		this.conditions = conditions.toArray(new Condition[0]);
+		this.any = any;
+		boolean threadSafe = true;
+		for (Condition condition : this.conditions)
+			threadSafe &= condition.isThreadSafe();
+		this.threadSafe = threadSafe;
+	}
+
+	/**
+	 * @return The value that is currently being checked.
+	 */
+	public @Nullable Object getCurrentValue() {
+		if (parallel) {
+			Input input = parallelInput.get();
+			if (input != null)
+				return input.value;
+		}
+		return currentValue;
+	}
+
+	/**
+	 * @return The index of the value that is currently being checked.
+	 */
+	public @Nullable String getCurrentIndex() {
+		if (parallel) {
+			Input input = parallelInput.get();
+			if (input != null)
+				return input.index;
+		}
+		return currentIndex;
+	}
+
+	/**
+	 * Checks whether a single value matches the conditions.
+	 *
+	 * @param value The value.
+	 * @param index The index of the value, or null if it doesn't have one.
+	 * @return Whether the value matches.
+	 */
+	public boolean test(Event event, @Nullable Object value, @Nullable String index) {
+		currentValue = value;
+		currentIndex = index;
+		return matches(event);
+	}
+
+	/**
+	 * Checks which of the given values match the conditions.
+	 *
+	 * @param values The values.
+	 * @param indices The indices of the values, or null if they don't have any.
+	 * @return Whether each of the values matches, in the order of the given values.
+	 */
+	public boolean[] test(Event event, Object[] values, String @Nullable [] indices) {
+		boolean[] matches = new boolean[values.length];
+		int threshold = SkriptConfig.parallelFilterThreshold.value();
+		if (threadSafe && threshold > 0 && values.length >= threshold && !parallel && isPlainData(values)) {
+			testParallel(event, values, indices, matches);
+			return matches;
+		}
+		for (int i = 0; i < values.length; i++) {
+			currentValue = values[i];
+			currentIndex = indices == null ? null : indices[i];
+			matches[i] = matches(event);
+		}
+		return matches;
+	}
+
+	private void testParallel(Event event, Object[] values, String @Nullable [] indices, boolean[] matches) {
+		int chunks = (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		parallel = true;
+		try {
+			IntStream.range(0, chunks).parallel().forEach(chunk -> {
+				Input input = new Input();
+				parallelInput.set(input);
+				try {
+					int end = Math.min(values.length, (chunk + 1) * CHUNK_SIZE);
+					for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+						input.value = values[i];
+						input.index = indices == null ? null : indices[i];
+						matches[i] = matches(event);
+					}
+				} finally {
+					parallelInput.remove();
+				}
+			});
+		} finally {
+			parallel = false;
+		}
+	}
+
+	/**
+	 * @return Whether values of the given type are plain data, i.e. numbers, strings or booleans,
+	 * which can be compared by multiple threads at once without touching any server state.
+	 */
+	public static boolean isPlainData(Class<?> type) {
+		return Number.class.isAssignableFrom(type) || type == String.class || type == Boolean.class;
+	}
+
+	private static boolean isPlainData(Object[] values) {
+		for (Object value : values) {
+			if (value == null || !isPlainData(value.getClass()))
+				return false;
+		}
+		return true;
+	}
+
+	private boolean matches(Event event) {
+		for (Condition condition : conditions) {
+			if (condition.check(event) == any)
+				return any;
+		}
+		return !any;
+	}
+
+}
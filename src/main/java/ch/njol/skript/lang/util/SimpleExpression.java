@@ -9,6 +9,8 @@ import ch.njol.skript.config.Node;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Loopable;
+import ch.njol.skript.lang.optimization.EvaluationSlot;
+import ch.njol.skript.lang.optimization.TriggerOptimizer;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.Kleenean;
@@ -16,6 +18,7 @@ import ch.njol.util.coll.CollectionUtils;
 import ch.njol.util.coll.iterator.ArrayIterator;
 import com.google.common.collect.PeekingIterator;
 import org.bukkit.event.Event;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.converter.Converter;
@@ -24,6 +27,8 @@ import org.skriptlang.skript.log.runtime.SyntaxRuntimeErrorProducer;
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -36,6 +41,18 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 	private int time = 0;
 	private Node node;
 
+	/**
+	 * An empty array of the return type, which is shared as empty arrays can't be modified.
+	 */
+	private transient T @Nullable [] emptyArray;
+
+	/**
+	 * The slot sharing the values of this expression with identical expressions, if this expression is
+	 * {@link #isPure() pure} and was optimized by the {@link TriggerOptimizer}.
+	 */
+	private @Nullable EvaluationSlot evaluationSlot;
+	private @Nullable Function<Event, T @Nullable []> evaluator;
+
 	protected SimpleExpression() {}
 
 	@Override
@@ -44,25 +61,37 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 		return Expression.super.preInit();
 	}
 
+	/**
+	 * Gets the single value of this expression without copying the values returned by {@link #get(Event)}.
+	 * <p>
+	 * Single expressions that can determine their value without creating an array, e.g. by converting a single value,
+	 * may override this method to do so. The returned value must be the same as the only value of {@link #getArray(Event)}.
+	 */
 	@Override
-	public final @Nullable T getSingle(Event event) {
-		T[] values = getArray(event);
-		if (values.length == 0)
+	public @Nullable T getSingle(Event event) {
+		T[] values = values(event);
+		if (values == null)
 			return null;
-		if (values.length > 1)
+		T single = null;
+		int numNonNull = 0;
+		for (T value : values) {
+			if (value != null) {
+				single = value;
+				numNonNull++;
+			}
+		}
+		if (numNonNull <= 1)
+			return single;
+		if (getAnd())
 			throw new SkriptAPIException("Call to getSingle() on a non-single expression");
-		return values[0];
+		return randomValue(values, numNonNull);
 	}
 
 	@Override
 	public T[] getAll(Event event) {
-		T[] values = get(event);
-		if (values == null) {
-			//noinspection unchecked
-			T[] emptyArray = (T[]) Array.newInstance(getReturnType(), 0);
-			assert emptyArray != null;
-			return emptyArray;
-		}
+		T[] values = values(event);
+		if (values == null)
+			return emptyArray();
 		if (values.length == 0)
 			return values;
 		int numNonNull = 0;
@@ -83,11 +112,9 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 
 	@Override
 	public final T[] getArray(Event event) {
-		T[] values = get(event);
-		if (values == null) {
-			//noinspection unchecked
-			return (T[]) Array.newInstance(getReturnType(), 0);
-		}
+		T[] values = values(event);
+		if (values == null)
+			return emptyArray();
 		if (values.length == 0)
 			return values;
 
@@ -99,19 +126,12 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 		if (!getAnd()) {
 			if (values.length == 1 && values[0] != null)
 				return Arrays.copyOf(values, 1);
-			int rand = Utils.random(0, numNonNull);
+			if (numNonNull == 0)
+				return emptyArray();
 			//noinspection unchecked
 			T[] valueArray = (T[]) Array.newInstance(getReturnType(), 1);
-			for (T value : values) {
-				if (value != null) {
-					if (rand == 0) {
-						valueArray[0] = value;
-						return valueArray;
-					}
-					rand--;
-				}
-			}
-			assert false;
+			valueArray[0] = randomValue(values, numNonNull);
+			return valueArray;
 		}
 
 		if (numNonNull == values.length)
@@ -125,6 +145,69 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 		return valueArray;
 	}
 
+	/**
+	 * Passes the values returned by {@link #get(Event)} to the consumer without copying them.
+	 * Single and 'or' expressions pass their {@link #getSingle(Event) single value}.
+	 */
+	@Override
+	public void forEachValue(Event event, Consumer<? super T> consumer) {
+		if (isSingle() || !getAnd()) {
+			T value = getSingle(event);
+			if (value != null)
+				consumer.accept(value);
+			return;
+		}
+		T[] values = values(event);
+		if (values == null)
+			return;
+		for (T value : values) {
+			if (value != null)
+				consumer.accept(value);
+		}
+	}
+
+	private T randomValue(T[] values, int numNonNull) {
+		int rand = Utils.random(0, numNonNull);
+		for (T value : values) {
+			if (value != null) {
+				if (rand == 0)
+					return value;
+				rand--;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private T[] emptyArray() {
+		T[] emptyArray = this.emptyArray;
+		Class<? extends T> returnType = getReturnType();
+		// the return type of some expressions is only known after init, or changes when they are converted
+		if (emptyArray == null || emptyArray.getClass().getComponentType() != returnType) {
+			//noinspection unchecked
+			this.emptyArray = emptyArray = (T[]) Array.newInstance(returnType, 0);
+		}
+		return emptyArray;
+	}
+
+	/**
+	 * @return The values of {@link #get(Event)}, which are shared with identical expressions if this expression was optimized.
+	 */
+	private T @Nullable [] values(Event event) {
+		EvaluationSlot evaluationSlot = this.evaluationSlot;
+		if (evaluationSlot == null || evaluator == null)
+			return get(event);
+		return evaluationSlot.get(event, evaluator);
+	}
+
+	/**
+	 * Sets the slot that the values of this {@link #isPure() pure} expression are shared with.
+	 */
+	@ApiStatus.Internal
+	public void setEvaluationSlot(@Nullable EvaluationSlot evaluationSlot) {
+		this.evaluator = evaluationSlot == null ? null : this::get;
+		this.evaluationSlot = evaluationSlot;
+	}
+
 	/**
 	 * This is the internal method to get an expression's values.<br>
 	 * To get the expression's value from the outside use {@link #getSingle(Event)} or {@link #getArray(Event)}.
@@ -141,7 +224,7 @@ public abstract class SimpleExpression<T> implements Expression<T>, SyntaxRuntim
 
 	@Override
 	public final boolean check(Event event, Predicate<? super T> checker, boolean negated) {
-		return check(get(event), checker, negated, getAnd());
+		return check(values(event), checker, negated, getAnd());
 	}
 
 	// TODO return a kleenean (UNKNOWN if 'values' is null or empty)
@@ -0,0 +1,53 @@
+package ch.njol.skript.log;
+
+import ch.njol.skript.config.Node;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+
+/**
+ * A log entry made of a format string and its arguments.
+ * The message is only formatted once the entry is actually printed or inspected,
+ * which most entries logged during parsing never are, as they are cleared when the next parse attempt starts.
+ */
+final class DeferredLogEntry implements PendingLogEntry {
+
+	private final Level level;
+	private final int quality;
+	private final String format;
+	private final Object[] args;
+	private final @Nullable Node node;
+
+	private @Nullable LogEntry entry;
+
+	DeferredLogEntry(Level level, int quality, String format, Object[] args, @Nullable Node node) {
+		this.level = level;
+		this.quality = quality;
+		this.format = format;
+		this.args = args;
+		this.node = node;
+	}
+
+	@Override
+	public Level getLevel() {
+		return level;
+	}
+
+	@Override
+	public int getQuality() {
+		return quality;
+	}
+
+	@Override
+	public LogEntry toLogEntry() {
+		if (entry == null)
+			entry = new LogEntry(level, quality, args.length == 0 ? format : format.formatted(args), node);
+		return entry;
+	}
+
+	@Override
+	public String toString() {
+		return toLogEntry().toString();
+	}
+
+}
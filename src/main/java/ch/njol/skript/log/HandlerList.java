@@ -1,34 +1,111 @@
 package ch.njol.skript.log;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 import org.jetbrains.annotations.Nullable;
 
 /**
+ * A stack of log handlers, with the most recently added handler first.
+ * Also keeps a small pool of stopped {@link ParseLogHandler}s, as these are started for almost every parse attempt.
+ *
  * @author Peter Güttinger
  */
 public class HandlerList implements Iterable<LogHandler> {
-	
-	private final LinkedList<LogHandler> list = new LinkedList<>();
+
+	/**
+	 * The maximum number of unused parse log handlers that are kept for reuse.
+	 */
+	private static final int POOL_SIZE = 32;
+
+	private LogHandler[] handlers = new LogHandler[16];
+	private int size;
+
+	private final ParseLogHandler[] pool = new ParseLogHandler[POOL_SIZE];
+	private int pooled;
 	
 	public void add(LogHandler h) {
-		list.addFirst(h);
+		if (size == handlers.length)
+			handlers = Arrays.copyOf(handlers, size * 2);
+		handlers[size++] = h;
 	}
 	
 	@Nullable
 	public LogHandler remove() {
-		return list.pop();
+		if (size == 0)
+			throw new NoSuchElementException();
+		LogHandler h = handlers[--size];
+		handlers[size] = null;
+		return h;
+	}
+
+	/**
+	 * @return The number of active log handlers.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param index The index of the handler, where 0 is the most recently added handler.
+	 * @return The log handler at the given index.
+	 */
+	public LogHandler get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+		return handlers[size - 1 - index];
 	}
 	
-	@SuppressWarnings("null")
 	@Override
 	public Iterator<LogHandler> iterator() {
-		return list.iterator();
+		return new Iterator<>() {
+			private int index = size - 1;
+
+			@Override
+			public boolean hasNext() {
+				return index >= 0;
+			}
+
+			@Override
+			public LogHandler next() {
+				if (index < 0)
+					throw new NoSuchElementException();
+				return handlers[index--];
+			}
+		};
 	}
 	
 	public boolean contains(LogHandler h) {
-		return list.contains(h);
+		// search from the top, as handlers are almost always stopped in the reverse order they were started
+		for (int i = size - 1; i >= 0; i--) {
+			if (h.equals(handlers[i]))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return A parse log handler from the pool, or a new one if the pool is empty. The handler has not been started yet.
+	 */
+	ParseLogHandler obtainParseLogHandler() {
+		if (pooled == 0)
+			return new ParseLogHandler(true);
+		ParseLogHandler handler = pool[--pooled];
+		pool[pooled] = null;
+		handler.inPool = false;
+		return handler;
+	}
+
+	/**
+	 * Returns a closed, pooled parse log handler to the pool.
+	 */
+	void recycle(ParseLogHandler handler) {
+		if (handler.inPool || pooled == POOL_SIZE)
+			return;
+		handler.reset();
+		handler.inPool = true;
+		pool[pooled++] = handler;
 	}
 	
 }
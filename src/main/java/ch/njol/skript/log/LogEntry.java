@@ -10,7 +10,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.logging.Level;
 
-public class LogEntry {
+public class LogEntry implements PendingLogEntry {
 
 	public final Level level;
 	public final int quality;
@@ -81,14 +81,21 @@ public class LogEntry {
 		return " (from an unknown source)";
 	}
 
+	@Override
 	public Level getLevel() {
 		return level;
 	}
 
+	@Override
 	public int getQuality() {
 		return quality;
 	}
 
+	@Override
+	public LogEntry toLogEntry() {
+		return this;
+	}
+
 	public String getMessage() {
 		return message;
 	}
@@ -1,5 +1,6 @@
 package ch.njol.skript.log;
 
+import ch.njol.skript.lang.parser.ParserInstance;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
@@ -9,11 +10,30 @@ import java.util.List;
 import java.util.logging.Level;
 
 public class ParseLogHandler extends LogHandler {
-	
+
 	@Nullable
-	private LogEntry error = null;
-	
-	private final List<LogEntry> log = new ArrayList<>();
+	private PendingLogEntry error = null;
+
+	private final List<PendingLogEntry> log = new ArrayList<>();
+
+	/**
+	 * Whether this handler was obtained from the pool of its thread's {@link HandlerList},
+	 * and may thus be returned to it when it is {@link #close() closed}.
+	 */
+	private final boolean poolable;
+
+	/**
+	 * Whether this handler is currently unused and waiting in the pool.
+	 */
+	boolean inPool;
+
+	public ParseLogHandler() {
+		this(false);
+	}
+
+	ParseLogHandler(boolean poolable) {
+		this.poolable = poolable;
+	}
 
 	/**
 	 * Internal method for creating a backup of this log.
@@ -37,16 +57,23 @@ public class ParseLogHandler extends LogHandler {
 		this.log.clear();
 		this.log.addAll(parseLogHandler.log);
 	}
-	
+
 	@Override
 	public LogResult log(LogEntry entry) {
+		logPending(entry);
+		return LogResult.CACHED;
+	}
+
+	/**
+	 * Caches an entry whose message may not have been built yet.
+	 */
+	void logPending(PendingLogEntry entry) {
 		if (entry.getLevel().intValue() >= Level.SEVERE.intValue()
 				&& (error == null || entry.getQuality() > error.getQuality())) {
 			error = entry;
 		}
 
 		log.add(entry);
-		return LogResult.CACHED;
 	}
 
 	boolean printedErrorOrLog = false;
@@ -56,23 +83,57 @@ public class ParseLogHandler extends LogHandler {
 		SkriptLogger.startLogHandler(this);
 		return this;
 	}
-	
+
+	/**
+	 * Stops this handler and, if it was obtained through {@link SkriptLogger#startParseLogHandler()},
+	 * makes it available for reuse. The handler must not be used anymore after closing it.
+	 */
+	@Override
+	public void close() {
+		super.close();
+		if (poolable)
+			ParserInstance.get().getHandlers().recycle(this);
+	}
+
+	/**
+	 * Resets this handler to the state of a newly created one.
+	 */
+	void reset() {
+		error = null;
+		log.clear();
+		printedErrorOrLog = false;
+	}
+
 	public void error(String error, ErrorQuality quality) {
 		log(new LogEntry(SkriptLogger.SEVERE, quality, error));
 	}
-	
+
+	/**
+	 * Logs an error whose message is only formatted using {@link String#formatted(Object...)}
+	 * if the error is actually printed or inspected.
+	 *
+	 * @param quality The quality of the error.
+	 * @param format The format of the error message.
+	 * @param args The arguments for the format.
+	 */
+	public void error(ErrorQuality quality, String format, Object... args) {
+		logPending(SkriptLogger.deferred(SkriptLogger.SEVERE, quality.quality(), format, args));
+	}
+
 	/**
 	 * Clears all log messages except for the error
 	 */
 	public void clear() {
-		for (LogEntry e : log)
-			e.discarded("cleared");
+		for (PendingLogEntry e : log) {
+			if (e instanceof LogEntry entry)
+				entry.discarded("cleared");
+		}
 		log.clear();
 	}
 
 	public void clearError() {
-		if (error != null)
-			error.discarded("cleared");
+		if (error instanceof LogEntry entry)
+			entry.discarded("cleared");
 		error = null;
 	}
 
@@ -86,57 +147,76 @@ public class ParseLogHandler extends LogHandler {
 	public void printLog(boolean includeErrors) {
 		printedErrorOrLog = true;
 		stop();
-		for (LogEntry logEntry : log)
+		for (PendingLogEntry logEntry : log)
 			if (includeErrors || logEntry.getLevel().intValue() < Level.SEVERE.intValue())
-				SkriptLogger.log(logEntry);
-		if (error != null)
-			error.discarded("not printed");
+				SkriptLogger.logPending(logEntry);
+		if (error instanceof LogEntry entry)
+			entry.discarded("not printed");
 	}
 
 	public void printError() {
 		printError(null);
 	}
-	
+
 	/**
 	 * Prints the best error or the given error if no error has been logged.
-	 * 
+	 *
 	 * @param def Error to log if no error has been logged so far, can be null
 	 */
 	public void printError(@Nullable String def) {
 		printedErrorOrLog = true;
 		stop();
-		LogEntry error = this.error;
+		PendingLogEntry error = this.error;
 		if (error != null)
-			SkriptLogger.log(error);
+			SkriptLogger.logPending(error);
 		else if (def != null)
 			SkriptLogger.log(new LogEntry(SkriptLogger.SEVERE, ErrorQuality.SEMANTIC_ERROR, def));
-		for (LogEntry e : log)
-			e.discarded("not printed");
+		discardLog();
 	}
-	
+
 	public void printError(String def, ErrorQuality quality) {
+		printError(quality, def);
+	}
+
+	/**
+	 * Prints the best error if it is at least of the given quality,
+	 * or the given error otherwise. The given error is only formatted
+	 * using {@link String#formatted(Object...)} once it is actually printed or inspected.
+	 *
+	 * @param quality The quality of the given error.
+	 * @param format The format of the error message.
+	 * @param args The arguments for the format.
+	 */
+	public void printError(ErrorQuality quality, String format, Object... args) {
 		printedErrorOrLog = true;
 		stop();
-		LogEntry error = this.error;
-		if (error != null && error.quality >= quality.quality())
-			SkriptLogger.log(error);
-		else
-			SkriptLogger.log(new LogEntry(SkriptLogger.SEVERE, quality, def));
-		for (LogEntry e : log)
-			e.discarded("not printed");
-	}
-	
+		PendingLogEntry error = this.error;
+		if (error != null && error.getQuality() >= quality.quality()) {
+			SkriptLogger.logPending(error);
+		} else {
+			SkriptLogger.logPending(SkriptLogger.deferred(SkriptLogger.SEVERE, quality.quality(), format, args));
+		}
+		discardLog();
+	}
+
+	private void discardLog() {
+		for (PendingLogEntry e : log) {
+			if (e instanceof LogEntry entry)
+				entry.discarded("not printed");
+		}
+	}
+
 	public int getNumErrors() {
 		return error == null ? 0 : 1;
 	}
-	
+
 	public boolean hasError() {
 		return error != null;
 	}
-	
+
 	@Nullable
 	public LogEntry getError() {
-		return error;
+		return error == null ? null : error.toLogEntry();
 	}
-	
+
 }
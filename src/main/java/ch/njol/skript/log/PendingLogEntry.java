@@ -0,0 +1,20 @@
+package ch.njol.skript.log;
+
+import java.util.logging.Level;
+
+/**
+ * An entry that can be cached by a {@link ParseLogHandler}, either a {@link LogEntry}
+ * or a {@link DeferredLogEntry} that has not built its message yet.
+ */
+interface PendingLogEntry {
+
+	Level getLevel();
+
+	int getQuality();
+
+	/**
+	 * @return The log entry, creating it if this entry was deferred.
+	 */
+	LogEntry toLogEntry();
+
+}
@@ -46,12 +46,14 @@ public abstract class SkriptLogger {
 	}
 	
 	/**
-	 * Shorthand for <tt>{@link #startLogHandler(LogHandler) startLogHandler}(new {@link ParseLogHandler}());</tt>
+	 * Similar to <tt>{@link #startLogHandler(LogHandler) startLogHandler}(new {@link ParseLogHandler}());</tt>,
+	 * but reuses handlers that were previously {@link ParseLogHandler#close() closed} on the same thread.
+	 * The returned handler must not be used after closing it, so it should be used in a try-with-resources block.
 	 * 
-	 * @return A newly created ParseLogHandler
+	 * @return A started ParseLogHandler
 	 */
 	public static ParseLogHandler startParseLogHandler() {
-		return new ParseLogHandler().start();
+		return getHandlers().obtainParseLogHandler().start();
 	}
 	
 	/**
@@ -152,7 +154,9 @@ public abstract class SkriptLogger {
 			return;
 		if (Skript.testing() && getNode() != null && getNode().debug())
 			System.out.print("---> " + entry.level + "/" + ErrorQuality.get(entry.quality) + ": " + entry + " ::" + LogEntry.findCaller());
-		for (LogHandler h : getHandlers()) {
+		HandlerList handlers = getHandlers();
+		for (int i = 0; i < handlers.size(); i++) {
+			LogHandler h = handlers.get(i);
 			LogResult r = h.log(entry);
 			switch (r) {
 				case CACHED:
@@ -168,6 +172,45 @@ public abstract class SkriptLogger {
 		sendFormatted(Bukkit.getConsoleSender(), "[Skript] " + entry.toFormattedString());
 	}
 	
+	/**
+	 * Logs an entry that may not have built its message yet.
+	 * If the most recent handler is a {@link ParseLogHandler}, the entry is cached as-is,
+	 * otherwise its message is built and it is logged like any other entry.
+	 */
+	static void logPending(PendingLogEntry entry) {
+		if (entry instanceof LogEntry logEntry) {
+			log(logEntry);
+			return;
+		}
+		HandlerList handlers = getHandlers();
+		if (handlers.size() > 0 && handlers.get(0) instanceof ParseLogHandler parseLogHandler) {
+			parseLogHandler.logPending(entry);
+			return;
+		}
+		log(entry.toLogEntry());
+	}
+
+	/**
+	 * Logs a message that is only formatted using {@link String#formatted(Object...)} once it is actually printed.
+	 * This should be preferred over building the message beforehand for messages logged while parsing,
+	 * as most of these are discarded without ever being printed.
+	 *
+	 * @param level The level of the message.
+	 * @param quality The quality of the message, only relevant for errors.
+	 * @param format The format of the message.
+	 * @param args The arguments for the format.
+	 */
+	public static void log(Level level, ErrorQuality quality, String format, Object... args) {
+		logPending(deferred(level, quality.quality(), format, args));
+	}
+
+	static PendingLogEntry deferred(Level level, int quality, String format, Object[] args) {
+		// the caller is captured on creation in debug mode, so the entry cannot be deferred there
+		if (Skript.debug())
+			return new LogEntry(level, quality, args.length == 0 ? format : format.formatted(args), getNode());
+		return new DeferredLogEntry(level, quality, format, args, getNode());
+	}
+
 	public static void logAll(Collection<LogEntry> entries) {
 		entries.forEach(SkriptLogger::log);
 	}
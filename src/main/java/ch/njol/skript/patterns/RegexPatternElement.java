@@ -51,7 +51,7 @@ public class RegexPatternElement extends PatternElement {
 			log.printError(null);
 			return null;
 		} finally {
-			log.stop();
+			log.close();
 		}
 	}
 
@@ -40,6 +40,7 @@ import java.io.*;
 import java.lang.reflect.Array;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -53,7 +54,8 @@ public abstract class Classes {
 	private static ClassInfo<?>[] classInfos = null;
 	private final static List<ClassInfo<?>> tempClassInfos = new ArrayList<>();
 	private final static HashMap<Class<?>, ClassInfo<?>> exactClassInfos = new HashMap<>();
-	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<>();
+	// concurrent as variables may be serialised on the variable save thread
+	private final static Map<Class<?>, ClassInfo<?>> superClassInfos = new ConcurrentHashMap<>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<>();
 	private final static Map<String, List<ClassInfo<?>>> registeredLiteralPatterns = new HashMap<>();
 
@@ -503,7 +505,7 @@ public abstract class Classes {
 			}
 			log.printError();
 		} finally {
-			log.stop();
+			log.close();
 		}
 		return null;
 	}
@@ -546,7 +548,7 @@ public abstract class Classes {
 			}
 			log.printError();
 		} finally {
-			log.stop();
+			log.close();
 		}
 		return null;
 	}
@@ -743,14 +745,33 @@ public abstract class Classes {
 	}
 
 	/**
-	 * Must be called on the appropriate thread for the given value (i.e. the main thread currently)
+	 * Takes a snapshot of the given value that may be {@link #serialize(Object) serialised} on any thread,
+	 * i.e. a copy of the value that is not affected by any later changes to the value.
+	 * <p>
+	 * Must be called from Bukkit's main thread.
+	 * 
+	 * @param object The value to take a snapshot of
+	 * @return A snapshot of the value, or null if the value must be serialised on Bukkit's main thread.
+	 * @see Serializer#mustSyncSerialization()
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static @Nullable Object snapshotForSerialization(Object object) {
+		ClassInfo<?> classInfo = getSuperClassInfo(object.getClass());
+		if (classInfo.getSerializeAs() != null) // converters may not be thread-safe
+			return null;
+		Serializer serializer = classInfo.getSerializer();
+		if (serializer == null || serializer.mustSyncSerialization())
+			return null;
+		return serializer.snapshot(object);
+	}
+
+	/**
+	 * Must be called on the appropriate thread for the given value,
+	 * i.e. the main thread unless the value's {@link Serializer#mustSyncSerialization() serializer allows otherwise}.
 	 */
 	public static SerializedVariable.@Nullable Value serialize(@Nullable Object object) {
 		if (object == null)
 			return null;
-
-		// temporary
-		assert Bukkit.isPrimaryThread();
 		
 		ClassInfo<?> classInfo = getSuperClassInfo(object.getClass());
 		if (classInfo.getSerializeAs() != null) {
@@ -770,7 +791,7 @@ public abstract class Classes {
 		if (serializer == null) // value cannot be saved
 			return null;
 		
-		assert !serializer.mustSyncDeserialization() || Bukkit.isPrimaryThread();
+		assert !serializer.mustSyncSerialization() || Bukkit.isPrimaryThread();
 		
 		try {
 			ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
@@ -788,7 +809,7 @@ public abstract class Classes {
 			System.arraycopy(byteArray, start.length, byteArrayCopy, 0, byteArrayCopy.length);
 
 			Object deserialized;
-			assert equals(object,
+			assert serializer.mustSyncDeserialization() && !Bukkit.isPrimaryThread() || equals(object,
 				deserialized = deserialize(classInfo, new ByteArrayInputStream(byteArrayCopy)))
 				: object + " (" + object.getClass() + ") != " + deserialized + " ("
 				+ (deserialized == null ? null : deserialized.getClass()) + "): " + Arrays.toString(byteArray);
@@ -0,0 +1,116 @@
+package ch.njol.skript.sections;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Example;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.effects.Delay;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.Section;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.util.BlockBatch;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+@Name("Batch Block Changes")
+@Description({
+	"Collects all blocks that are set or deleted within the section and applies them together once the section is done, " +
+		"grouped by chunk and without physics updates by default.",
+	"If more blocks were changed than may be applied per tick, as set by the 'block batches' options of the config, " +
+		"the rest are applied on the following ticks. With 'and wait', the code after the section only runs " +
+		"once all blocks have been changed.",
+	"Until the changes have been applied, the blocks still have their old types when they are checked, " +
+		"including within the section itself. Blocks that are set after the section while its changes are still pending " +
+		"are only changed after them, so that the batch doesn't overwrite them.",
+	"Delays can't be used within the section."
+})
+@Example("""
+	batch block changes and wait:
+		loop blocks within {arena::corner1} and {arena::corner2}:
+			set loop-block to air
+	broadcast "The arena has been reset!"
+	""")
+@Since("2.14")
+public class SecBatchBlocks extends Section {
+
+	static {
+		Skript.registerSection(SecBatchBlocks.class, "batch [the] block[s] [change[s]] [wait:and wait]");
+	}
+
+	private boolean wait;
+
+	@Override
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult, SectionNode sectionNode, List<TriggerItem> triggerItems) {
+		if (sectionNode.isEmpty()) {
+			Skript.error("A batch block changes section must contain code.");
+			return false;
+		}
+		wait = parseResult.hasTag("wait");
+		ParserInstance parser = getParser();
+		Kleenean previousDelay = parser.getHasDelayBefore();
+		parser.setHasDelayBefore(Kleenean.FALSE);
+		loadCode(sectionNode);
+		if (parser.getHasDelayBefore().isTrue()) {
+			Skript.error("Delays can't be used within a batch block changes section.");
+			return false;
+		}
+		parser.setHasDelayBefore(wait && !previousDelay.isTrue() ? Kleenean.UNKNOWN : previousDelay);
+		return true;
+	}
+
+	@Override
+	protected @Nullable TriggerItem walk(Event event) {
+		BlockBatch batch = BlockBatch.open();
+		last.setNext(null);
+		try {
+			TriggerItem.walk(first, event);
+		} finally {
+			if (batch != null)
+				batch.submit();
+		}
+		if (!wait || batch == null || batch.isComplete())
+			return walk(event, false);
+
+		debug(event, false);
+		TriggerItem next = getNext();
+		if (next == null)
+			return null;
+
+		// Back up local variables
+		Object localVars = Variables.removeLocals(event);
+		batch.whenComplete(() -> {
+			Delay.addDelayedEvent(event);
+			if (localVars != null)
+				Variables.setLocalVariables(event, localVars);
+
+			Object timing = null;
+			if (SkriptTimings.enabled()) {
+				Trigger trigger = getTrigger();
+				if (trigger != null)
+					timing = SkriptTimings.start(trigger.getDebugLabel());
+			}
+
+			TriggerItem.walk(next, event);
+			Variables.removeLocals(event); // Clean up local vars, we may be exiting now
+
+			SkriptTimings.stop(timing);
+		});
+		return null;
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "batch block changes" + (wait ? " and wait" : "");
+	}
+
+}
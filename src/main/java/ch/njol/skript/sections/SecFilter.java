@@ -18,6 +18,7 @@ import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.InputFilter;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Pair;
@@ -28,12 +29,10 @@ import org.jetbrains.annotations.UnknownNullability;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.StreamSupport;
 
 @Name("Filter")
 @Description({
@@ -66,8 +65,7 @@ public class SecFilter extends Section implements InputSource {
 	private final List<Condition> conditions = new ArrayList<>();
 	private boolean isAny;
 
-	private @Nullable Object currentValue;
-	private @UnknownNullability String currentIndex;
+	private @UnknownNullability InputFilter filter;
 	private final Set<ExprInput<?>> dependentInputs = new HashSet<>();
 
 	@Override
@@ -110,6 +108,7 @@ public class SecFilter extends Section implements InputSource {
 			inputData.setSource(originalSource);
 		}
 
+		filter = new InputFilter(conditions, isAny);
 		return true;
 	}
 
@@ -127,43 +126,35 @@ public class SecFilter extends Section implements InputSource {
 			return getNext();
 		int initialSize = rawVariable.size();
 
-		// we save both because we don't yet know which will be cheaper to use.
-		List<Pair<String, Object>> toKeep = new ArrayList<>();
-		List<String> toRemove = new ArrayList<>();
-
-		var variableIterator = Variables.getVariableIterator(varName, local, event);
-		var stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(variableIterator, Spliterator.ORDERED), false);
-		if (isAny) {
-			stream.forEach(pair -> {
-				currentValue = pair.getValue();
-				currentIndex = pair.getKey();
-				if (conditions.stream().anyMatch(c -> c.check(event))) {
-					toKeep.add(pair);
-				} else {
-					toRemove.add(pair.getKey());
-				}
-			});
-		} else {
-			stream.forEach(pair -> {
-				currentValue = pair.getValue();
-				currentIndex = pair.getKey();
-				if (conditions.stream().allMatch(c -> c.check(event))) {
-					toKeep.add(pair);
-				} else {
-					toRemove.add(pair.getKey());
-				}
-			});
+		// the values are collected first so that the conditions can be checked for all of them at once
+		List<String> indices = new ArrayList<>(initialSize);
+		List<Object> values = new ArrayList<>(initialSize);
+		Iterator<Pair<String, Object>> variableIterator = Variables.getVariableIterator(varName, local, event);
+		while (variableIterator.hasNext()) {
+			Pair<String, Object> pair = variableIterator.next();
+			indices.add(pair.getKey());
+			values.add(pair.getValue());
+		}
+		boolean[] matches = filter.test(event, values.toArray(), indices.toArray(new String[0]));
+		int kept = 0;
+		for (boolean match : matches) {
+			if (match)
+				kept++;
 		}
 
 		// optimize by either removing or clearing + adding depending on which is fewer operations
 		// for instances where only a handful of values are removed from a large list, this can be a 400% speedup
-		if (toKeep.size() < initialSize / 2) {
+		if (kept < initialSize / 2) {
 			Variables.deleteVariable(varName, event, local);
-			for (Pair<String, Object> pair : toKeep)
-				Variables.setVariable(varSubName + pair.getKey(), pair.getValue(), event, local);
+			for (int i = 0; i < matches.length; i++) {
+				if (matches[i])
+					Variables.setVariable(varSubName + indices.get(i), values.get(i), event, local);
+			}
 		} else {
-			for (String index : toRemove)
-				Variables.setVariable(varSubName + index, null, event, local);
+			for (int i = 0; i < matches.length; i++) {
+				if (!matches[i])
+					Variables.setVariable(varSubName + indices.get(i), null, event, local);
+			}
 		}
 		return getNext();
 	}
@@ -175,12 +166,12 @@ public class SecFilter extends Section implements InputSource {
 
 	@Override
 	public @Nullable Object getCurrentValue() {
-		return currentValue;
+		return filter.getCurrentValue();
 	}
 
 	@Override
 	public @UnknownNullability String getCurrentIndex() {
-		return currentIndex;
+		return filter.getCurrentIndex();
 	}
 
 	@Override
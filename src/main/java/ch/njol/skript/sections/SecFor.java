@@ -56,9 +56,9 @@ public class SecFor extends SecLoop implements SimpleExperimentalSyntax {
 
 	static {
 		Skript.registerSection(SecFor.class,
-			"(for [each]|loop) [value] %~object% in %objects%",
-			"(for [each]|loop) (key|index) %~object% in %objects%",
-			"(for [each]|loop) [key|index] %~object%(,| and) [value] %~object% in %objects%"
+			"[:yielding] (for [each]|loop) [value] %~object% in %objects%",
+			"[:yielding] (for [each]|loop) (key|index) %~object% in %objects%",
+			"[:yielding] (for [each]|loop) [key|index] %~object%(,| and) [value] %~object% in %objects%"
 		);
 	}
 
@@ -137,6 +137,7 @@ public class SecFor extends SecLoop implements SimpleExperimentalSyntax {
 		}
 		//</editor-fold>
 
+		this.initBudget(parseResult.hasTag("yielding"));
 		this.loadOptionalCode(sectionNode);
 		this.setInternalNext(this);
 		return true;
@@ -167,6 +168,10 @@ public class SecFor extends SecLoop implements SimpleExperimentalSyntax {
 
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
+		return (isYielding() ? "yielding " : "") + describe(event, debug);
+	}
+
+	private String describe(@Nullable Event event, boolean debug) {
 		if (keyStore != null && valueStore != null) {
 			return "for each key " + keyStore.toString(event, debug)
 				+ " and value " + valueStore.toString(event, debug) + " in "
@@ -66,11 +66,11 @@ import java.util.*;
 		"\tthen:",
 			"\t\t kill all players"
 })
-@Since("1.0")
+@Since("1.0, 2.14 (yielding)")
 public class SecLoop extends LoopSection {
 
 	static {
-		Skript.registerSection(SecLoop.class, "loop %objects%");
+		Skript.registerSection(SecLoop.class, "[:yielding] loop %objects%");
 	}
 
 	protected @UnknownNullability Expression<?> expression;
@@ -96,7 +96,7 @@ public class SecLoop extends LoopSection {
 						List<TriggerItem> triggerItems) {
 		this.expression = LiteralUtils.defendExpression(exprs[0]);
 		if (!LiteralUtils.canInitSafely(expression)) {
-			Skript.error("Can't understand this loop: '" + parseResult.expr.substring(5) + "'");
+			Skript.error("Can't understand this loop: '" + parseResult.expr.substring(parseResult.expr.indexOf("loop ") + 5) + "'");
 			return false;
 		}
 
@@ -120,6 +120,7 @@ public class SecLoop extends LoopSection {
 
 		guaranteedToLoop = guaranteedToLoop(expression);
 		keyed = KeyProviderExpression.canReturnKeys(expression);
+		initBudget(parseResult.hasTag("yielding"));
 		loadOptionalCode(sectionNode);
 		this.setInternalNext(this);
 
@@ -128,6 +129,8 @@ public class SecLoop extends LoopSection {
 
 	@Override
 	protected @Nullable TriggerItem walk(Event event) {
+		if (!withinBudget(event))
+			return null;
 		Iterator<?> iter = iteratorMap.get(event);
 		if (iter == null) {
 			if (iterableSingle) {
@@ -180,7 +183,7 @@ public class SecLoop extends LoopSection {
 
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
-		return "loop " + expression.toString(event, debug);
+		return (isYielding() ? "yielding " : "") + "loop " + expression.toString(event, debug);
 	}
 
 	public @Nullable Object getCurrent(Event event) {
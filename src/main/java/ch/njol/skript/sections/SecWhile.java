@@ -34,12 +34,16 @@ import java.util.WeakHashMap;
 	"while player is online:",
 	"\tgive player 1 dirt",
 	"\twait 1 second # without using a delay effect the server will crash",
+	"",
+	"# Yielding loops are continued on the next tick once they exceed the loop budget.",
+	"yielding while {_counter} < 1000000:",
+	"\tadd 1 to {_counter}",
 })
-@Since("2.0, 2.6 (do while)")
+@Since("2.0, 2.6 (do while), 2.14 (yielding)")
 public class SecWhile extends LoopSection {
 
 	static {
-		Skript.registerSection(SecWhile.class, "[:do] while <.+>");
+		Skript.registerSection(SecWhile.class, "[:yielding] [:do] while <.+>");
 	}
 
 	@SuppressWarnings("NotNullFieldNotInitialized")
@@ -65,6 +69,7 @@ public class SecWhile extends LoopSection {
 			return false;
 
 		doWhile = parseResult.hasTag("do");
+		initBudget(parseResult.hasTag("yielding"));
 		loadOptionalCode(sectionNode);
 		super.setNext(this);
 		return true;
@@ -73,6 +78,8 @@ public class SecWhile extends LoopSection {
 	@Nullable
 	@Override
 	protected TriggerItem walk(Event event) {
+		if (!withinBudget(event))
+			return null;
 		if ((doWhile && ranDoWhile.add(event)) || condition.check(event)) {
 			currentLoopCounter.put(event, (currentLoopCounter.getOrDefault(event, 0L)) + 1);
 			return walk(event, true);
@@ -101,7 +108,7 @@ public class SecWhile extends LoopSection {
 
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
-		return (doWhile ? "do " : "") + "while " + condition.toString(event, debug);
+		return (isYielding() ? "yielding " : "") + (doWhile ? "do " : "") + "while " + condition.toString(event, debug);
 	}
 
 	@Override
@@ -58,6 +58,11 @@ public class StructAliases extends Structure {
 		return PRIORITY;
 	}
 
+	@Override
+	public boolean affectsWholeScript() {
+		return true;
+	}
+
 	@Override
 	public String toString(@Nullable Event e, boolean debug) {
 		return "aliases";
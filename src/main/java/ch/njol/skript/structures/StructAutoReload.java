@@ -1,7 +1,9 @@
 package ch.njol.skript.structures;
 
 import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.ScriptLoader.ScriptInfo;
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.doc.Description;
 import ch.njol.skript.doc.Example;
 import ch.njol.skript.doc.Name;
@@ -14,7 +16,7 @@ import ch.njol.skript.localization.PluralizingArgsMessage;
 import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.RedirectingLogHandler;
 import ch.njol.skript.log.TimingLogHandler;
-import ch.njol.skript.util.Task;
+import ch.njol.skript.util.ScriptFileWatcher;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
@@ -34,8 +36,11 @@ import org.skriptlang.skript.lang.structure.Structure;
 import org.skriptlang.skript.registration.DefaultSyntaxInfos.Structure.NodeType;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 @Name("Auto Reload")
 @Description("""
@@ -67,8 +72,18 @@ public class StructAutoReload extends Structure {
 		Skript.registerStructure(StructAutoReload.class, VALIDATOR, NodeType.BOTH, "auto[matically] reload [(this|the) script]");
 	}
 
+	/**
+	 * The loaded auto reload structures by the files of their scripts.
+	 */
+	private static final Map<Path, StructAutoReload> WATCHED = new HashMap<>();
+
+	/**
+	 * Watches the files of all scripts with auto reload. Only exists while there are any.
+	 */
+	private static @Nullable ScriptFileWatcher watcher;
+
 	private Script script;
-	private Task task;
+	private Path path;
 
 	@Override
 	public boolean init(Literal<?> @NotNull [] arguments, int pattern, ParseResult result, EntryContainer container) {
@@ -116,37 +131,29 @@ public class StructAutoReload extends Structure {
 
 	@Override
 	public boolean postLoad() {
-		task = new Task(Skript.getInstance(), 0, 20 * 2, true) {
-			@Override
-			public void run() {
-				AutoReload data = script.getData(AutoReload.class);
-				File file = script.getConfig().getFile();
-				if (data == null || file == null || !file.exists())
-					return;
-				long lastModified = file.lastModified();
-				if (lastModified <= data.getLastReloadTime())
-					return;
-
-				data.setLastReloadTime(lastModified);
-				try (
-					RedirectingLogHandler logHandler = new RedirectingLogHandler(data.getRecipients(), "").start();
-					TimingLogHandler timingLogHandler = new TimingLogHandler().start()
-				) {
-					reloading(logHandler);
-					OpenCloseable openCloseable = OpenCloseable.combine(logHandler, timingLogHandler);
-					ScriptLoader.reloadScript(script, openCloseable).thenRun(() -> reloaded(logHandler, timingLogHandler));
-				} catch (Exception e) {
-					//noinspection ThrowableNotThrown
-					Skript.exception(e, "Exception occurred while automatically reloading a script", script.getConfig().getFileName());
-				}
-			}
-		};
+		File file = script.getConfig().getFile();
+		assert file != null;
+		path = file.toPath().toAbsolutePath().normalize();
+		synchronized (WATCHED) {
+			WATCHED.put(path, this);
+			if (watcher == null)
+				watcher = new ScriptFileWatcher(StructAutoReload::changed, SkriptConfig.pollAutoReloadedScripts.value());
+			watcher.watch(path);
+		}
 		return true;
 	}
 
 	@Override
 	public void unload() {
-		task.cancel();
+		synchronized (WATCHED) {
+			if (WATCHED.remove(path, this) && watcher != null) {
+				watcher.unwatch(path);
+				if (watcher.isEmpty()) {
+					watcher.close();
+					watcher = null;
+				}
+			}
+		}
 	}
 
 	@Override
@@ -159,18 +166,94 @@ public class StructAutoReload extends Structure {
 		return "auto reload";
 	}
 
-	private void reloading(RedirectingLogHandler logHandler) {
+	/**
+	 * Called by the watcher once files have been changed.
+	 * All changed scripts are reloaded together on the main thread, which hands their parsing to the script loader threads.
+	 */
+	private static void changed(Set<Path> files) {
+		Skript skript = Skript.getInstance();
+		if (!skript.isEnabled())
+			return;
+		Bukkit.getScheduler().runTask(skript, () -> {
+			Set<Script> scripts = new LinkedHashSet<>();
+			Set<CommandSender> recipients = new LinkedHashSet<>();
+			for (Path path : files) {
+				StructAutoReload structure;
+				synchronized (WATCHED) {
+					structure = WATCHED.get(path);
+				}
+				if (structure == null)
+					continue;
+				Script script = structure.script;
+				AutoReload data = script.getData(AutoReload.class);
+				File file = script.getConfig().getFile();
+				if (data == null || file == null || !file.exists())
+					continue;
+				long lastModified = file.lastModified();
+				if (lastModified <= data.getLastReloadTime())
+					continue;
+
+				data.setLastReloadTime(lastModified);
+				scripts.add(script);
+				recipients.addAll(data.getRecipients());
+			}
+			if (!scripts.isEmpty())
+				reload(scripts, recipients);
+		});
+	}
+
+	private static void reload(Set<Script> scripts, Set<CommandSender> recipients) {
+		String what = scripts.stream()
+			.map(script -> PluralizingArgsMessage.format(Language.format("log.auto reload.script", script.getConfig().getFileName())))
+			.collect(Collectors.joining(", "));
+		try (
+			RedirectingLogHandler logHandler = new RedirectingLogHandler(recipients, "").start();
+			TimingLogHandler timingLogHandler = new TimingLogHandler().start()
+		) {
+			reloading(logHandler, what);
+			OpenCloseable openCloseable = OpenCloseable.combine(logHandler, timingLogHandler);
+			CompletableFuture<ScriptInfo> future;
+			if (SkriptConfig.incrementalReloading.value()) {
+				ScriptInfo total = new ScriptInfo();
+				future = CompletableFuture.allOf(scripts.stream()
+						.map(script -> ScriptLoader.reloadScriptIncrementally(script, openCloseable)
+							.thenAccept(info -> {
+								synchronized (total) {
+									total.add(info);
+								}
+							}))
+						.toArray(CompletableFuture[]::new))
+					.thenApply(unused -> total);
+			} else {
+				future = ScriptLoader.reloadScripts(scripts, openCloseable);
+			}
+			future.thenAccept(info -> {
+				if (info.reused > 0)
+					reusedStructures(logHandler, info);
+				reloaded(logHandler, timingLogHandler, what);
+			});
+		} catch (Exception e) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(e, "Exception occurred while automatically reloading scripts", what);
+		}
+	}
+
+	private static void reloading(RedirectingLogHandler logHandler, String what) {
 		String prefix = Language.get("skript.prefix");
-		String what = PluralizingArgsMessage.format(Language.format("log.auto reload.script", script.getConfig().getFileName()));
 		String message = StringUtils.fixCapitalization(PluralizingArgsMessage.format(Language.format("log.auto reload.reloading", what)));
 		logHandler.log(new LogEntry(Level.INFO, Utils.replaceEnglishChatStyles(prefix + message)));
 	}
 
-	private void reloaded(RedirectingLogHandler logHandler, TimingLogHandler timingLogHandler) {
+	private static void reusedStructures(RedirectingLogHandler logHandler, ScriptInfo info) {
+		String prefix = Language.get("skript.prefix");
+		String message = PluralizingArgsMessage.format(Language.format("skript command.reload.incremental", info.structures, info.reused));
+		logHandler.log(new LogEntry(Level.INFO, Utils.replaceEnglishChatStyles(prefix + message)));
+	}
+
+	private static void reloaded(RedirectingLogHandler logHandler, TimingLogHandler timingLogHandler, String what) {
 		String prefix = Language.get("skript.prefix");
 		ArgsMessage m_reload_error = new ArgsMessage("log.auto reload.error");
 		ArgsMessage m_reloaded = new ArgsMessage("log.auto reload.reloaded");
-		String what = PluralizingArgsMessage.format(Language.format("log.auto reload.script", script.getConfig().getFileName()));
 		String timeTaken = String.valueOf(timingLogHandler.getTimeTaken());
 
 		String message;
@@ -0,0 +1,85 @@
+package ch.njol.skript.structures;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Example;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Literal;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.util.Timespan;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.entry.EntryContainer;
+import org.skriptlang.skript.lang.script.ScriptData;
+import org.skriptlang.skript.lang.structure.Structure;
+
+@Name("Loop Budget")
+@Description({
+	"Place at the top of a script file to set how long the loops of a trigger may run in one tick, " +
+		"instead of the 'loop budget' set in the config. A budget of 0 seconds means that loops may run for any amount of time.",
+	"Loops that exceed the budget are stopped with an error, unless they are marked as yielding, " +
+		"in which case they are continued on the next tick, like after a 'wait 1 tick'."
+})
+@Example("""
+	loop budget of 10 milliseconds
+
+	on load:
+		yielding loop 1000000 times:
+			add loop-value to {sum}
+	""")
+@Since("2.14")
+public class StructLoopBudget extends Structure {
+
+	public static final Priority PRIORITY = new Priority(20);
+
+	static {
+		Skript.registerSimpleStructure(StructLoopBudget.class, "loop budget [of] <.+>");
+	}
+
+	private Timespan budget;
+
+	@Override
+	public boolean init(Literal<?>[] arguments, int pattern, ParseResult result, @Nullable EntryContainer container) {
+		String input = result.regexes.get(0).group();
+		Timespan budget = Timespan.parse(input);
+		if (budget == null) {
+			Skript.error("'" + input + "' is not a valid loop budget");
+			return false;
+		}
+		this.budget = budget;
+		getParser().getCurrentScript().addData(new LoopBudgetData(budget));
+		return true;
+	}
+
+	@Override
+	public boolean load() {
+		return true;
+	}
+
+	@Override
+	public void unload() {
+		getParser().getCurrentScript().removeData(LoopBudgetData.class);
+	}
+
+	@Override
+	public Priority getPriority() {
+		return PRIORITY;
+	}
+
+	@Override
+	public boolean affectsWholeScript() {
+		return true;
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "loop budget of " + budget;
+	}
+
+	/**
+	 * The loop budget of a script, which is used by its loops instead of the one of the config.
+	 */
+	public record LoopBudgetData(Timespan budget) implements ScriptData { }
+
+}
@@ -90,6 +90,11 @@ public class StructOptions extends Structure {
 		return PRIORITY;
 	}
 
+	@Override
+	public boolean affectsWholeScript() {
+		return true;
+	}
+
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
 		return "options";
@@ -66,6 +66,11 @@ public class StructUsing extends Structure {
 		return PRIORITY;
 	}
 
+	@Override
+	public boolean affectsWholeScript() {
+		return true;
+	}
+
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
 		return "using " + experiment.codeName();
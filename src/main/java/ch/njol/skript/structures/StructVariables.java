@@ -269,6 +269,11 @@ public class StructVariables extends Structure {
 		return PRIORITY;
 	}
 
+	@Override
+	public boolean affectsWholeScript() {
+		return true;
+	}
+
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
 		return "variables";
@@ -209,6 +209,7 @@ public class Environment {
 		Path env = runnerRoot.resolve(name);
 		Path resultsPath = env.resolve("test_results.json");
 		Files.deleteIfExists(resultsPath);
+		Files.deleteIfExists(env.resolve("benchmark_results.json"));
 		List<String> args = new ArrayList<>();
 		args.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
 		args.add("-ea");
@@ -0,0 +1,77 @@
+package ch.njol.skript.test.runner;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.NoDoc;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.variables.SerializedVariable;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Base64;
+
+/**
+ * Serializes a value like it is saved in a variable, or deserializes such a value again,
+ * which allows benchmarking the serialization of values separately from saving variables.
+ * Serialized values are represented as their type and base64 encoded bytes, separated by a colon.
+ */
+@NoDoc
+public class ExprSerializedValue extends SimpleExpression<Object> {
+
+	static {
+		if (TestMode.ENABLED)
+			Skript.registerExpression(ExprSerializedValue.class, Object.class, ExpressionType.COMBINED,
+				"[the] serialized form of %object%",
+				"[the] deserialized value of %string%");
+	}
+
+	private Expression<?> value;
+	private boolean serialize;
+
+	@Override
+	public boolean init(Expression<?>[] expressions, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		value = expressions[0];
+		serialize = matchedPattern == 0;
+		return true;
+	}
+
+	@Override
+	protected Object @Nullable [] get(Event event) {
+		Object value = this.value.getSingle(event);
+		if (value == null)
+			return null;
+		if (serialize) {
+			SerializedVariable.Value serialized = Classes.serialize(value);
+			if (serialized == null)
+				return null;
+			return new String[] {serialized.type + ":" + Base64.getEncoder().encodeToString(serialized.data)};
+		}
+		String serialized = (String) value;
+		int separator = serialized.indexOf(':');
+		if (separator == -1)
+			return null;
+		Object deserialized = Classes.deserialize(serialized.substring(0, separator),
+			Base64.getDecoder().decode(serialized.substring(separator + 1)));
+		return deserialized == null ? null : new Object[] {deserialized};
+	}
+
+	@Override
+	public boolean isSingle() {
+		return true;
+	}
+
+	@Override
+	public Class<?> getReturnType() {
+		return serialize ? String.class : Object.class;
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return (serialize ? "the serialized form of " : "the deserialized value of ") + value.toString(event, debug);
+	}
+
+}
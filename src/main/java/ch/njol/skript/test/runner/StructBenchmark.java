@@ -0,0 +1,186 @@
+package ch.njol.skript.test.runner;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.Skript;
+import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.doc.NoDoc;
+import ch.njol.skript.lang.Literal;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.test.utils.BenchmarkResults;
+import ch.njol.skript.test.utils.BenchmarkResults.Benchmark;
+import ch.njol.skript.util.Timespan;
+import ch.njol.skript.util.Timespan.TimePeriod;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.entry.EntryContainer;
+import org.skriptlang.skript.lang.entry.EntryValidator;
+import org.skriptlang.skript.lang.entry.util.LiteralEntryData;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.structure.Structure;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long its code takes to run. Benchmarks are run after all test cases,
+ * and their results are written to {@link TestMode#BENCHMARK_RESULTS_FILE}.
+ * <p>
+ * The code is first run a few times without being measured, so that the JIT can compile the involved code paths.
+ * Then it is run until either the number of iterations or the time limit is reached.
+ * Every iteration is timed on its own, which allows reporting percentiles in addition to the average time.
+ */
+@NoDoc
+public class StructBenchmark extends Structure {
+
+	static {
+		if (TestMode.ENABLED && !TestMode.GEN_DOCS)
+			Skript.registerStructure(StructBenchmark.class,
+				EntryValidator.builder()
+					.addEntryData(new LiteralEntryData<>("warmup", 200L, true, Long.class))
+					.addEntryData(new LiteralEntryData<>("iterations", 5000L, true, Long.class))
+					.addEntryData(new LiteralEntryData<>("time limit", new Timespan(TimePeriod.SECOND, 2), true, Timespan.class))
+					.addSection("run", false)
+					.build(),
+				"benchmark %string%");
+	}
+
+	private static final List<StructBenchmark> benchmarks = new ArrayList<>();
+
+	private Literal<String> name;
+	private EntryContainer entryContainer;
+	private int warmup;
+	private int iterations;
+	private long timeLimitNanos;
+	private @Nullable Trigger trigger;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Literal<?>[] args, int matchedPattern, ParseResult parseResult, @Nullable EntryContainer entryContainer) {
+		assert entryContainer != null;
+		name = (Literal<String>) args[0];
+		this.entryContainer = entryContainer;
+
+		Long warmup = entryContainer.get("warmup", Long.class, true);
+		Long iterations = entryContainer.get("iterations", Long.class, true);
+		Timespan timeLimit = entryContainer.get("time limit", Timespan.class, true);
+		if (warmup < 0 || iterations <= 0 || timeLimit.getAs(TimePeriod.MILLISECOND) <= 0) {
+			Skript.error("A benchmark must have a positive number of iterations and time limit, and can't have a negative warmup");
+			return false;
+		}
+		this.warmup = (int) Math.min(warmup, Integer.MAX_VALUE);
+		this.iterations = (int) Math.min(iterations, Integer.MAX_VALUE);
+		this.timeLimitNanos = timeLimit.getAs(TimePeriod.MILLISECOND) * 1_000_000L;
+		return true;
+	}
+
+	@Override
+	public boolean load() {
+		SectionNode section = entryContainer.get("run", SectionNode.class, false);
+		getParser().setCurrentEvent("benchmark", SkriptTestEvent.class);
+		List<TriggerItem> items = ScriptLoader.loadItems(section);
+		getParser().deleteCurrentEvent();
+
+		Script script = getParser().getCurrentScript();
+		trigger = new Trigger(script, "benchmark " + name.getSingle(), null, items);
+		trigger.setLineNumber(section.getLine());
+		benchmarks.add(this);
+		return true;
+	}
+
+	@Override
+	public void unload() {
+		benchmarks.remove(this);
+	}
+
+	private Benchmark run() {
+		assert trigger != null;
+		String name = this.name.getSingle();
+		Script script = trigger.getScript();
+		String file = script == null ? "" : script.getConfig().getFileName();
+		file = file.substring(file.lastIndexOf(File.separator) + 1);
+
+		Event event = new SkriptTestEvent();
+		for (int i = 0; i < warmup; i++) {
+			if (!trigger.execute(event))
+				return new Benchmark(name, file, 0, 0, 0, 0, 0, 0, 0, -1, true);
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean bean
+			&& bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+
+		long[] times = new long[Math.min(iterations, 1024)];
+		int count = 0;
+		boolean failed = false;
+		long allocatedBefore = allocations == null ? 0 : allocations.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long end = start;
+		while (count < iterations && end - start < timeLimitNanos) {
+			long iterationStart = end;
+			if (!trigger.execute(event))
+				failed = true;
+			end = System.nanoTime();
+			if (count == times.length)
+				times = Arrays.copyOf(times, (int) Math.min((long) times.length * 2, iterations));
+			times[count++] = end - iterationStart;
+			if (failed)
+				break;
+		}
+		long allocated = allocations == null ? -1 : allocations.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		Arrays.sort(times, 0, count);
+		return new Benchmark(name, file, count, (double) (end - start) / count,
+			times[0], percentile(times, count, 50), percentile(times, count, 90), percentile(times, count, 99), times[count - 1],
+			allocated < 0 ? -1 : (double) allocated / count, failed);
+	}
+
+	/**
+	 * @param sorted The times, sorted in ascending order.
+	 * @param count The number of times in the array.
+	 * @return The time at the given percentile, using the nearest rank.
+	 */
+	private static long percentile(long[] sorted, int count, int percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * count);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	/**
+	 * Runs all loaded benchmarks, one after another.
+	 * @return The results of the benchmarks.
+	 */
+	public static BenchmarkResults runBenchmarks() {
+		List<Benchmark> results = new ArrayList<>(benchmarks.size());
+		for (StructBenchmark benchmark : benchmarks) {
+			Skript.info("Running benchmark " + benchmark.name.getSingle());
+			Benchmark result = benchmark.run();
+			if (result.hasFailed()) {
+				TestTracker.testStarted("benchmark " + result.getName());
+				TestTracker.testFailed("exception was thrown during execution");
+			}
+			Skript.info(result.toString());
+			results.add(result);
+		}
+		return new BenchmarkResults(Skript.getVersion().toString(), Bukkit.getVersion(),
+			System.getProperty("java.version"), results);
+	}
+
+	/**
+	 * @return Whether any benchmarks are loaded.
+	 */
+	public static boolean hasBenchmarks() {
+		return !benchmarks.isEmpty();
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "benchmark " + name.toString(event, debug);
+	}
+
+}
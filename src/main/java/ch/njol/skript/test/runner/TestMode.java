@@ -51,6 +51,11 @@ public class TestMode {
 	 */
 	public static final Path RESULTS_FILE = ENABLED ? Paths.get(System.getProperty(ROOT + "results")) : null;
 
+	/**
+	 * Path to file where to save the results of benchmarks in JSON format, next to {@link #RESULTS_FILE}.
+	 */
+	public static final Path BENCHMARK_RESULTS_FILE = ENABLED ? RESULTS_FILE.resolveSibling("benchmark_results.json") : null;
+
 	/**
 	 * If this test is for JUnits on the server.
 	 */
@@ -0,0 +1,151 @@
+package ch.njol.skript.test.utils;
+
+import java.util.List;
+
+/**
+ * Contains the results of the benchmarks of a test run. Will be serialized with Gson,
+ * so that the results of different runs, e.g. of different Skript versions, can be compared.
+ */
+public class BenchmarkResults {
+
+	/**
+	 * The version of Skript the benchmarks were run with.
+	 */
+	private final String skriptVersion;
+
+	/**
+	 * The version of the server the benchmarks were run on.
+	 */
+	private final String serverVersion;
+
+	/**
+	 * The version of Java the benchmarks were run with.
+	 */
+	private final String javaVersion;
+
+	private final List<Benchmark> benchmarks;
+
+	public BenchmarkResults(String skriptVersion, String serverVersion, String javaVersion, List<Benchmark> benchmarks) {
+		this.skriptVersion = skriptVersion;
+		this.serverVersion = serverVersion;
+		this.javaVersion = javaVersion;
+		this.benchmarks = benchmarks;
+	}
+
+	public String getSkriptVersion() {
+		return skriptVersion;
+	}
+
+	public String getServerVersion() {
+		return serverVersion;
+	}
+
+	public String getJavaVersion() {
+		return javaVersion;
+	}
+
+	public List<Benchmark> getBenchmarks() {
+		return benchmarks;
+	}
+
+	/**
+	 * The result of a single benchmark. All times are in nanoseconds.
+	 */
+	public static class Benchmark {
+
+		private final String name;
+		private final String script;
+
+		/**
+		 * The number of measured iterations, excluding the warmup.
+		 */
+		private final int iterations;
+
+		private final double nanosPerOperation;
+		private final long minNanos;
+		private final long p50Nanos;
+		private final long p90Nanos;
+		private final long p99Nanos;
+		private final long maxNanos;
+
+		/**
+		 * The average number of bytes allocated on the heap per iteration, or -1 if the JVM can't measure it.
+		 */
+		private final double bytesPerOperation;
+
+		/**
+		 * Whether an exception was thrown while running the benchmark, in which case the times are meaningless.
+		 */
+		private final boolean failed;
+
+		public Benchmark(String name, String script, int iterations, double nanosPerOperation,
+						 long minNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos,
+						 double bytesPerOperation, boolean failed) {
+			this.name = name;
+			this.script = script;
+			this.iterations = iterations;
+			this.nanosPerOperation = nanosPerOperation;
+			this.minNanos = minNanos;
+			this.p50Nanos = p50Nanos;
+			this.p90Nanos = p90Nanos;
+			this.p99Nanos = p99Nanos;
+			this.maxNanos = maxNanos;
+			this.bytesPerOperation = bytesPerOperation;
+			this.failed = failed;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getScript() {
+			return script;
+		}
+
+		public int getIterations() {
+			return iterations;
+		}
+
+		public double getNanosPerOperation() {
+			return nanosPerOperation;
+		}
+
+		public long getMinNanos() {
+			return minNanos;
+		}
+
+		public long getP50Nanos() {
+			return p50Nanos;
+		}
+
+		public long getP90Nanos() {
+			return p90Nanos;
+		}
+
+		public long getP99Nanos() {
+			return p99Nanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		public double getBytesPerOperation() {
+			return bytesPerOperation;
+		}
+
+		public boolean hasFailed() {
+			return failed;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %.1f ns/op (p50 %d, p90 %d, p99 %d) %s over %d iterations",
+				name, nanosPerOperation, p50Nanos, p90Nanos, p99Nanos,
+				bytesPerOperation < 0 ? "unknown allocations" : String.format("%.0f B/op", bytesPerOperation),
+				iterations);
+		}
+
+	}
+
+}
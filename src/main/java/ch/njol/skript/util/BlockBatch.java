@@ -0,0 +1,256 @@
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.aliases.ItemType;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects changes of many blocks so that they can be applied together, like those made in a
+ * {@link ch.njol.skript.sections.SecBatchBlocks batch blocks} section or by setting more blocks at once than the
+ * {@link SkriptConfig#blockBatchThreshold automatic threshold}.
+ * <p>
+ * Changes are grouped by chunk, and later changes of a block replace earlier ones.
+ * Submitted batches are applied in order, with {@link SkriptConfig#blockBatchPhysics physics} disabled by default,
+ * and at most {@link SkriptConfig#blockBatchBlocksPerTick as many blocks per tick as configured}.
+ * Whatever doesn't fit into the current tick is applied at the start of the following ticks, as counted by the {@link TickCounter}.
+ * <p>
+ * Automatic batches are applied completely right away, so that the blocks can be read and changed again right after setting them.
+ * While earlier batches are still pending, all blocks set through {@link #set(Block[], Object)} are queued behind them instead,
+ * so that the pending changes can't overwrite them later on.
+ * <p>
+ * Batches are only used on the main thread, so nothing here is synchronized.
+ */
+public final class BlockBatch {
+
+	private static final BlockData AIR = Material.AIR.createBlockData();
+
+	private record ChunkKey(World world, int x, int z) { }
+
+	private record Change(Block block, Object value) { }
+
+	private static final Deque<BlockBatch> pending = new ArrayDeque<>();
+
+	private static @Nullable BlockBatch current;
+
+	private static int appliedInTick;
+
+	private static long appliedBlocks;
+	private static long appliedBatches;
+	private static long applyNanos;
+	private static long pendingBlocks;
+
+	private final Map<ChunkKey, Map<Block, Object>> chunks = new LinkedHashMap<>();
+	private final List<Runnable> completionCallbacks = new ArrayList<>(1);
+	private Change @Nullable [] changes;
+	private int next;
+	private boolean complete;
+
+	/**
+	 * Whether this batch is applied completely, regardless of the block budget of the current tick.
+	 */
+	private boolean unlimited;
+
+	static {
+		TickCounter.onTickStart(BlockBatch::startTick);
+	}
+
+	private BlockBatch() {}
+
+	/**
+	 * Starts collecting the block changes made on the main thread in a new batch, until it is {@link #submit() submitted}.
+	 *
+	 * @return The new batch, or null if this isn't the main thread or a batch is already collecting changes,
+	 * 	in which case changes are added to that batch.
+	 */
+	public static @Nullable BlockBatch open() {
+		if (!Bukkit.isPrimaryThread() || current != null)
+			return null;
+		return current = new BlockBatch();
+	}
+
+	/**
+	 * Sets the given blocks to the given value, if their changes can be batched.
+	 * They are added to the batch that is currently collecting changes. If there is none, they are added to a new batch
+	 * if batches are still pending, so that they are changed after them, or if at least as many blocks as the
+	 * {@link SkriptConfig#blockBatchThreshold automatic threshold} are changed, in which case they are changed right away.
+	 *
+	 * @param blocks The blocks to change.
+	 * @param value The {@link ItemType} or {@link BlockData} to set the blocks to, or null to set them to air.
+	 * @return Whether the changes were batched. If not, the blocks must be changed by the caller.
+	 */
+	public static boolean set(Block[] blocks, @Nullable Object value) {
+		if (!Bukkit.isPrimaryThread())
+			return false;
+		BlockBatch batch = current;
+		boolean automatic = batch == null;
+		if (automatic) {
+			if (pending.isEmpty()) {
+				int threshold = SkriptConfig.blockBatchThreshold.value();
+				if (threshold <= 0 || blocks.length < threshold)
+					return false;
+				batch = new BlockBatch();
+				batch.unlimited = true;
+			} else {
+				batch = new BlockBatch();
+			}
+		}
+		Object change = value != null ? value : AIR;
+		for (Block block : blocks) {
+			// these apply their changes to the event, so they must be changed right away
+			if (block instanceof DelayedChangeBlock || block instanceof BlockStateBlock) {
+				apply(block, change, true);
+			} else {
+				batch.add(block, change);
+			}
+		}
+		if (automatic)
+			batch.submit();
+		return true;
+	}
+
+	private void add(Block block, Object value) {
+		ChunkKey key = new ChunkKey(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+		chunks.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(block, value);
+	}
+
+	/**
+	 * Stops collecting changes in this batch and applies them, as far as the block budget of the current tick allows.
+	 */
+	public void submit() {
+		if (current == this)
+			current = null;
+		if (changes != null)
+			return;
+		List<Change> changes = new ArrayList<>();
+		for (Map<Block, Object> chunk : chunks.values()) {
+			for (Map.Entry<Block, Object> entry : chunk.entrySet())
+				changes.add(new Change(entry.getKey(), entry.getValue()));
+		}
+		chunks.clear();
+		this.changes = changes.toArray(new Change[0]);
+		pendingBlocks += this.changes.length;
+		pending.add(this);
+		applyPending();
+	}
+
+	/**
+	 * Runs the given callback on the main thread once all changes of this batch have been applied,
+	 * or right away if they already have been.
+	 */
+	public void whenComplete(Runnable callback) {
+		if (complete) {
+			callback.run();
+		} else {
+			completionCallbacks.add(callback);
+		}
+	}
+
+	/**
+	 * @return Whether all changes of this batch have been applied.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Resets the block budget and continues applying the pending batches at the start of every tick.
+	 */
+	private static void startTick() {
+		appliedInTick = 0;
+		if (!pending.isEmpty())
+			applyPending();
+	}
+
+	private static void applyPending() {
+		int budget = SkriptConfig.blockBatchBlocksPerTick.value();
+		boolean physics = SkriptConfig.blockBatchPhysics.value();
+		long start = System.nanoTime();
+		int applied = 0;
+		List<BlockBatch> completed = new ArrayList<>(0);
+		while (!pending.isEmpty() && (budget <= 0 || pending.peek().unlimited || appliedInTick + applied < budget)) {
+			BlockBatch batch = pending.peek();
+			assert batch.changes != null;
+			int limit = budget <= 0 || batch.unlimited
+				? batch.changes.length
+				: Math.min(batch.changes.length, batch.next + budget - appliedInTick - applied);
+			for (; batch.next < limit; batch.next++) {
+				Change change = batch.changes[batch.next];
+				try {
+					apply(change.block(), change.value(), physics);
+				} catch (Exception e) {
+					//noinspection ThrowableNotThrown
+					Skript.exception(e, "An error occurred while applying a batched block change");
+				}
+				applied++;
+			}
+			if (batch.next == batch.changes.length) {
+				pending.poll();
+				batch.changes = new Change[0];
+				batch.complete = true;
+				completed.add(batch);
+			}
+		}
+		applyNanos += System.nanoTime() - start;
+		appliedInTick += applied;
+		appliedBlocks += applied;
+		appliedBatches += completed.size();
+		pendingBlocks -= applied;
+
+		// callbacks may submit new batches, so they are only run once the state above is up to date
+		for (BlockBatch batch : completed) {
+			for (Runnable callback : batch.completionCallbacks)
+				callback.run();
+			batch.completionCallbacks.clear();
+		}
+	}
+
+	private static void apply(Block block, Object value, boolean physics) {
+		if (value instanceof ItemType itemType) {
+			itemType.getBlock().setBlock(block, physics);
+		} else {
+			block.setBlockData((BlockData) value, physics);
+		}
+	}
+
+	/**
+	 * @return The number of block changes of submitted batches that haven't been applied yet.
+	 */
+	public static long getPendingBlocks() {
+		return pendingBlocks;
+	}
+
+	/**
+	 * @return The total number of block changes that were applied from batches.
+	 */
+	public static long getAppliedBlocks() {
+		return appliedBlocks;
+	}
+
+	/**
+	 * @return The total number of batches whose changes were all applied.
+	 */
+	public static long getAppliedBatches() {
+		return appliedBatches;
+	}
+
+	/**
+	 * @return The average number of block changes applied per millisecond spent applying them.
+	 */
+	public static double getBlocksPerMillisecond() {
+		return applyNanos == 0 ? 0 : appliedBlocks * 1_000_000d / applyNanos;
+	}
+
+}
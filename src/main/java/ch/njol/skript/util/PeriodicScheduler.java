@@ -0,0 +1,255 @@
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A single driver task that runs all periodic Skript tasks, such as the ones of {@code every 2 seconds} events.
+ * <p>
+ * Instead of every trigger registering its own repeating Bukkit task (which makes all triggers with the same
+ * period fire on the same tick), tasks are grouped by period and spread across the ticks of that period.
+ * Tasks can opt out of this by being {@code aligned}, in which case they run exactly after their initial delay.
+ * <p>
+ * The driver measures how long it spends running tasks every tick. If
+ * {@link SkriptConfig#periodicalTickBudget a tick budget} is configured and
+ * {@link SkriptConfig#deferPeriodicalEvents deferring} is enabled, deferrable tasks that are due
+ * once the budget has been used up are postponed to the next tick.
+ */
+public final class PeriodicScheduler {
+
+	private PeriodicScheduler() {}
+
+	/**
+	 * Tasks with a period longer than this will only be spread across this many ticks.
+	 */
+	private static final int MAX_PHASES = 20;
+
+	/**
+	 * The weight of the most recent tick in {@link #getAverageTickNanos()}.
+	 */
+	private static final double AVERAGE_WEIGHT = 0.05;
+
+	private static final Object LOCK = new Object();
+
+	private static final PriorityQueue<ScheduledTask> queue = new PriorityQueue<>();
+
+	/**
+	 * The number of tasks assigned to each phase, per period.
+	 */
+	private static final Map<Long, int[]> phaseLoads = new HashMap<>();
+
+	private static int taskID = -1;
+	private static int taskCount;
+	private static long currentTick;
+	private static long sequence;
+
+	private static volatile long lastTickNanos;
+	private static volatile double averageTickNanos;
+	private static volatile long overBudgetTicks;
+	private static volatile long deferredRuns;
+
+	/**
+	 * Schedules a task to run every {@code period} ticks.
+	 *
+	 * @param runnable The task to run. It will always be run on the main thread.
+	 * @param period The period of the task, in ticks.
+	 * @param delay The number of ticks until the first run.
+	 * @param aligned Whether the task must run exactly after {@code delay} ticks.
+	 *                If false, the first run may be shifted by a few ticks to spread out tasks with the same period.
+	 * @param deferrable Whether the task may be postponed to the next tick when the tick budget has been used up.
+	 * @return The scheduled task, which must be {@link ScheduledTask#cancel() cancelled} when it is not needed anymore.
+	 */
+	public static ScheduledTask schedule(Runnable runnable, long period, long delay, boolean aligned, boolean deferrable) {
+		if (period < 1)
+			throw new IllegalArgumentException("The period of a periodic task must be at least one tick");
+		synchronized (LOCK) {
+			long firstRun = currentTick + Math.max(delay, 1);
+			int phase = -1;
+			if (!aligned && period > 1) {
+				int[] loads = phaseLoads.computeIfAbsent(period, p -> new int[(int) Math.min(p, MAX_PHASES)]);
+				int best = 0;
+				int bestPhase = phaseOf(firstRun, period, loads.length);
+				for (int offset = 1; offset < loads.length; offset++) {
+					int candidate = phaseOf(firstRun + offset, period, loads.length);
+					if (loads[candidate] < loads[bestPhase]) {
+						best = offset;
+						bestPhase = candidate;
+					}
+				}
+				loads[bestPhase]++;
+				firstRun += best;
+				phase = bestPhase;
+			}
+
+			ScheduledTask task = new ScheduledTask(runnable, period, firstRun, phase, deferrable);
+			queue.add(task);
+			taskCount++;
+			if (taskID == -1)
+				taskID = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), PeriodicScheduler::tick, 1, 1);
+			return task;
+		}
+	}
+
+	private static int phaseOf(long tick, long period, int phases) {
+		return (int) (tick % period % phases);
+	}
+
+	private static void tick() {
+		long start = System.nanoTime();
+		long budget = SkriptConfig.deferPeriodicalEvents.value()
+			? SkriptConfig.periodicalTickBudget.value().getAs(Timespan.TimePeriod.MILLISECOND) * 1_000_000L
+			: 0;
+		boolean overBudget = false;
+		long tick;
+		synchronized (LOCK) {
+			tick = ++currentTick;
+		}
+
+		while (true) {
+			ScheduledTask task;
+			synchronized (LOCK) {
+				task = queue.peek();
+				if (task == null || task.nextRun > tick)
+					break;
+				queue.poll();
+
+				if (budget > 0 && task.deferrable && System.nanoTime() - start > budget) {
+					overBudget = true;
+					deferredRuns++;
+					task.nextRun = tick + 1;
+					queue.add(task);
+					continue;
+				}
+
+				// skip runs that were missed entirely, e.g. due to being deferred for a whole period
+				do {
+					task.scheduledRun += task.period;
+				} while (task.scheduledRun <= tick);
+				task.nextRun = task.scheduledRun;
+				queue.add(task);
+			}
+
+			try {
+				task.runnable.run();
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred while running a periodic task");
+			}
+		}
+
+		long elapsed = System.nanoTime() - start;
+		lastTickNanos = elapsed;
+		averageTickNanos = averageTickNanos * (1 - AVERAGE_WEIGHT) + elapsed * AVERAGE_WEIGHT;
+		if (overBudget)
+			overBudgetTicks++;
+	}
+
+	/**
+	 * @return The number of currently scheduled periodic tasks.
+	 */
+	public static int getTaskCount() {
+		synchronized (LOCK) {
+			return taskCount;
+		}
+	}
+
+	/**
+	 * @return The time spent running periodic tasks during the last tick, in nanoseconds.
+	 */
+	public static long getLastTickNanos() {
+		return lastTickNanos;
+	}
+
+	/**
+	 * @return A moving average of the time spent running periodic tasks per tick, in nanoseconds.
+	 */
+	public static double getAverageTickNanos() {
+		return averageTickNanos;
+	}
+
+	/**
+	 * @return The number of ticks in which the tick budget was exceeded and tasks had to be deferred.
+	 */
+	public static long getOverBudgetTicks() {
+		return overBudgetTicks;
+	}
+
+	/**
+	 * @return The total number of task runs that were deferred to a later tick.
+	 */
+	public static long getDeferredRuns() {
+		return deferredRuns;
+	}
+
+	/**
+	 * A task scheduled through {@link #schedule(Runnable, long, long, boolean, boolean)}.
+	 */
+	public static final class ScheduledTask implements Comparable<ScheduledTask> {
+
+		private final Runnable runnable;
+		private final long period;
+		private final int phase;
+		private final boolean deferrable;
+		private final long order;
+
+		private long scheduledRun;
+		private long nextRun;
+		private boolean cancelled;
+
+		private ScheduledTask(Runnable runnable, long period, long firstRun, int phase, boolean deferrable) {
+			this.runnable = runnable;
+			this.period = period;
+			this.phase = phase;
+			this.deferrable = deferrable;
+			this.order = sequence++;
+			this.scheduledRun = firstRun;
+			this.nextRun = firstRun;
+		}
+
+		/**
+		 * @return The period of this task, in ticks.
+		 */
+		public long getPeriod() {
+			return period;
+		}
+
+		/**
+		 * Stops this task from running again. Cancelling a task multiple times has no effect.
+		 */
+		public void cancel() {
+			synchronized (LOCK) {
+				if (cancelled)
+					return;
+				cancelled = true;
+				queue.remove(this);
+				if (phase != -1) {
+					int[] loads = phaseLoads.get(period);
+					if (loads != null)
+						loads[phase]--;
+				}
+				if (--taskCount == 0) {
+					phaseLoads.clear();
+					if (taskID != -1) {
+						Bukkit.getScheduler().cancelTask(taskID);
+						taskID = -1;
+					}
+				}
+			}
+		}
+
+		@Override
+		@ApiStatus.Internal
+		public int compareTo(ScheduledTask other) {
+			int compare = Long.compare(nextRun, other.nextRun);
+			return compare != 0 ? compare : Long.compare(order, other.order);
+		}
+
+	}
+
+}
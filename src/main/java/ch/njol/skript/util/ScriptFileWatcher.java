@@ -0,0 +1,260 @@
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches script files for changes on a single background thread.
+ * <p>
+ * By default, the directories of the watched files are registered to a {@link WatchService},
+ * so that changes are noticed without checking the files over and over again.
+ * Changes are debounced: the listener is only called once no more changes have happened for a short time,
+ * so that editors writing a file in several steps or saving multiple files at once cause a single call
+ * containing all changed files. Events for files that are not watched, such as temporary files of editors, are ignored.
+ * <p>
+ * If the file system does not support watching, or if polling is requested explicitly
+ * (e.g. for network file systems, which often don't report changes), the last modification times
+ * of the watched files are compared periodically instead.
+ */
+public final class ScriptFileWatcher implements Closeable {
+
+	/**
+	 * How long no changes must have happened before the listener is called.
+	 */
+	static final long DEBOUNCE_MILLIS = 300;
+
+	/**
+	 * The longest time changes are held back while more changes keep happening.
+	 */
+	static final long MAX_DELAY_MILLIS = 5000;
+
+	/**
+	 * How often the watched files are checked when polling.
+	 */
+	private static final long POLL_INTERVAL_MILLIS = 2000;
+
+	private final long debounceMillis;
+	private final long maxDelayMillis;
+	private final long pollIntervalMillis;
+
+	private final Consumer<Set<Path>> listener;
+	private final @Nullable WatchService watchService;
+	private final Thread thread;
+	private volatile boolean closed;
+
+	/**
+	 * The watched files and their last modification times, which are only used when polling.
+	 */
+	private final Map<Path, Long> files = new ConcurrentHashMap<>();
+
+	/**
+	 * The registered directories, and how many watched files each of them contains.
+	 */
+	private final Map<Path, Integer> directories = new HashMap<>();
+	private final Map<Path, WatchKey> directoryKeys = new HashMap<>();
+
+	/**
+	 * Creates and starts a new watcher.
+	 * @param listener Called on the thread of this watcher with the changed files, which may not exist anymore.
+	 * @param polling Whether to poll the files instead of using a {@link WatchService}.
+	 */
+	public ScriptFileWatcher(Consumer<Set<Path>> listener, boolean polling) {
+		this(listener, polling, DEBOUNCE_MILLIS, MAX_DELAY_MILLIS, POLL_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * Creates and starts a new watcher with custom timings, which allows testing it quickly.
+	 */
+	ScriptFileWatcher(Consumer<Set<Path>> listener, boolean polling, long debounceMillis, long maxDelayMillis, long pollIntervalMillis) {
+		this.listener = listener;
+		this.debounceMillis = debounceMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.pollIntervalMillis = pollIntervalMillis;
+		WatchService watchService = null;
+		if (!polling) {
+			try {
+				watchService = FileSystems.getDefault().newWatchService();
+			} catch (IOException | UnsupportedOperationException e) {
+				Skript.debug("Could not watch script files, falling back to polling: " + e);
+			}
+		}
+		this.watchService = watchService;
+		this.thread = new Thread(watchService != null ? this::watch : this::poll, "Skript script watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @return Whether this watcher checks the files periodically instead of being notified of changes.
+	 */
+	public boolean isPolling() {
+		return watchService == null;
+	}
+
+	/**
+	 * Starts watching the given file. Watching a file multiple times has no effect.
+	 * @param file The file to watch.
+	 */
+	public void watch(Path file) {
+		file = file.toAbsolutePath().normalize();
+		if (files.putIfAbsent(file, lastModified(file)) != null || watchService == null)
+			return;
+		Path directory = file.getParent();
+		synchronized (directories) {
+			if (directories.merge(directory, 1, Integer::sum) > 1)
+				return;
+			try {
+				directoryKeys.put(directory, directory.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+			} catch (IOException e) {
+				Skript.exception(e, "Could not watch the directory " + directory);
+			}
+		}
+	}
+
+	/**
+	 * Stops watching the given file.
+	 * @param file The file to stop watching.
+	 */
+	public void unwatch(Path file) {
+		file = file.toAbsolutePath().normalize();
+		if (files.remove(file) == null || watchService == null)
+			return;
+		Path directory = file.getParent();
+		synchronized (directories) {
+			if (directories.merge(directory, -1, Integer::sum) > 0)
+				return;
+			directories.remove(directory);
+			WatchKey key = directoryKeys.remove(directory);
+			if (key != null)
+				key.cancel();
+		}
+	}
+
+	/**
+	 * @return Whether no files are watched.
+	 */
+	public boolean isEmpty() {
+		return files.isEmpty();
+	}
+
+	private void watch() {
+		assert watchService != null;
+		Set<Path> changed = new LinkedHashSet<>();
+		long firstChange = 0;
+		long lastChange = 0;
+		try {
+			while (!closed) {
+				WatchKey key;
+				if (changed.isEmpty()) {
+					key = watchService.take();
+				} else {
+					// only changes of watched files postpone the listener, other events just wake this thread up
+					long now = System.currentTimeMillis();
+					long deadline = Math.min(lastChange + debounceMillis, firstChange + maxDelayMillis);
+					key = deadline > now ? watchService.poll(deadline - now, TimeUnit.MILLISECONDS) : null;
+				}
+
+				if (key != null) {
+					Path directory = (Path) key.watchable();
+					boolean watchedChange = false;
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							changed.addAll(files.keySet());
+							watchedChange = true;
+						} else {
+							Path file = directory.resolve((Path) event.context());
+							if (files.containsKey(file)) {
+								changed.add(file);
+								watchedChange = true;
+							}
+						}
+					}
+					key.reset();
+					if (watchedChange) {
+						lastChange = System.currentTimeMillis();
+						if (firstChange == 0)
+							firstChange = lastChange;
+					}
+					continue;
+				}
+
+				// nothing happened for a while, or changes have been held back for too long
+				notifyListener(changed);
+				changed = new LinkedHashSet<>();
+				firstChange = 0;
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			// closed
+		}
+	}
+
+	private void poll() {
+		try {
+			while (!closed) {
+				Thread.sleep(pollIntervalMillis);
+				Set<Path> changed = new LinkedHashSet<>();
+				for (Map.Entry<Path, Long> entry : files.entrySet()) {
+					long lastModified = lastModified(entry.getKey());
+					if (lastModified != entry.getValue() && files.replace(entry.getKey(), entry.getValue(), lastModified))
+						changed.add(entry.getKey());
+				}
+				notifyListener(changed);
+			}
+		} catch (InterruptedException ignored) {
+			// closed
+		}
+	}
+
+	private void notifyListener(Set<Path> changed) {
+		if (changed.isEmpty() || closed)
+			return;
+		try {
+			listener.accept(changed);
+		} catch (Exception e) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(e, "An error occurred while handling changed script files");
+		}
+	}
+
+	private static long lastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Stops this watcher. The listener will not be called anymore.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		thread.interrupt();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException ignored) {}
+		}
+	}
+
+}
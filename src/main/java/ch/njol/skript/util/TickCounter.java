@@ -0,0 +1,67 @@
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Counts the ticks of the server with a repeating task, as Bukkit only exposes the current tick on Paper.
+ * <p>
+ * The counter is increased once per tick when Bukkit runs scheduled tasks, which happens before the worlds are ticked.
+ * Code that keeps state for a single tick, like a cache or a budget, can compare the ticks it sees,
+ * or be notified when a new tick starts by registering a {@link #onTickStart(Runnable) listener}.
+ */
+public final class TickCounter {
+
+	private TickCounter() {}
+
+	private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+	private static int taskID = -1;
+	private static volatile long currentTick;
+
+	/**
+	 * Starts counting ticks. Called by Skript when it is enabled.
+	 */
+	@ApiStatus.Internal
+	public static void start() {
+		if (taskID == -1)
+			taskID = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), TickCounter::tick, 1, 1);
+	}
+
+	/**
+	 * Counts a new tick and notifies the listeners.
+	 */
+	static void tick() {
+		currentTick++;
+		for (Runnable listener : listeners) {
+			try {
+				listener.run();
+			} catch (Exception e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "An error occurred at the start of a tick");
+			}
+		}
+	}
+
+	/**
+	 * @return The number of ticks that were counted since Skript was enabled.
+	 * 	This only identifies a tick: it is not the same as Paper's current tick.
+	 */
+	public static long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * Registers a listener that is run on the main thread whenever a new tick is counted.
+	 *
+	 * @param listener The listener.
+	 */
+	public static void onTickStart(Runnable listener) {
+		listeners.add(listener);
+	}
+
+}
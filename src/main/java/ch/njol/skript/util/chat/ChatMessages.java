@@ -397,6 +397,11 @@ public class ChatMessages {
 	 * Parses a string that may only contain colour codes using the '§' character to a list of components.
 	 */
 	public static List<MessageComponent> fromParsedString(String msg) {
+		if (msg.indexOf('§') == -1) { // Most values contain no colour codes at all
+			List<MessageComponent> components = new ArrayList<>(1);
+			components.add(plainText(msg));
+			return components;
+		}
 		char[] chars = msg.toCharArray();
 
 		List<MessageComponent> components = new ArrayList<>();
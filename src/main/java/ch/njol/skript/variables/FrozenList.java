@@ -0,0 +1,234 @@
+package ch.njol.skript.variables;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * An immutable copy of a list variable, created by {@link ListVariableNode#freeze()} for {@link VariablesSnapshot}s.
+ * <p>
+ * The entries are stored in chunks of a limited size, sorted by {@link VariablesMap#VARIABLE_NAME_COMPARATOR}.
+ * {@link #with(SortedMap)} creates a changed copy that shares all chunks which didn't change with this one,
+ * so changing a few indices of a huge list only copies the affected chunks and the array referencing the chunks,
+ * instead of the whole list.
+ */
+final class FrozenList extends AbstractMap<String, Object> {
+
+	/**
+	 * The value that marks a removed index in the changes passed to {@link #with(SortedMap)}.
+	 */
+	static final Object REMOVED = new Object();
+
+	/**
+	 * The number of entries of the chunks of a new copy, which leaves space for later additions.
+	 */
+	private static final int CHUNK_SIZE = 128;
+
+	/**
+	 * The most entries a chunk may hold before it is split.
+	 */
+	private static final int MAX_CHUNK_SIZE = 2 * CHUNK_SIZE;
+
+	private static final Comparator<String> ORDER = VariablesMap.VARIABLE_NAME_COMPARATOR;
+
+	private record Chunk(@Nullable String[] keys, Object[] values) {
+
+		int size() {
+			return keys.length;
+		}
+
+		int indexOf(@Nullable String key) {
+			return Arrays.binarySearch(keys, key, ORDER);
+		}
+
+	}
+
+	private final Chunk[] chunks;
+	private final int size;
+
+	private @Nullable Set<Entry<String, Object>> entrySet;
+
+	private FrozenList(Chunk[] chunks, int size) {
+		this.chunks = chunks;
+		this.size = size;
+	}
+
+	/**
+	 * Copies the given entries, which must be sorted by {@link VariablesMap#VARIABLE_NAME_COMPARATOR}.
+	 */
+	static FrozenList of(List<? extends Entry<String, Object>> entries) {
+		List<Chunk> chunks = new ArrayList<>(entries.size() / CHUNK_SIZE + 1);
+		addChunks(chunks, entries);
+		return new FrozenList(chunks.toArray(new Chunk[0]), entries.size());
+	}
+
+	private static void addChunks(List<Chunk> chunks, List<? extends Entry<String, Object>> entries) {
+		int count = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		for (int i = 0; i < count; i++) {
+			// spread the entries evenly, so that no chunk is tiny
+			int from = (int) ((long) entries.size() * i / count);
+			int to = (int) ((long) entries.size() * (i + 1) / count);
+			chunks.add(toChunk(entries, from, to));
+		}
+	}
+
+	private static Chunk toChunk(List<? extends Entry<String, Object>> entries, int from, int to) {
+		String[] keys = new String[to - from];
+		Object[] values = new Object[to - from];
+		for (int i = from; i < to; i++) {
+			keys[i - from] = entries.get(i).getKey();
+			values[i - from] = entries.get(i).getValue();
+		}
+		return new Chunk(keys, values);
+	}
+
+	/**
+	 * Creates a copy of this list with the given changes applied. Only the chunks containing changed indices are copied.
+	 *
+	 * @param changes The new values of the changed indices, or {@link #REMOVED} for removed indices,
+	 * 			sorted by {@link VariablesMap#VARIABLE_NAME_COMPARATOR}.
+	 * @return The changed copy.
+	 */
+	FrozenList with(SortedMap<String, Object> changes) {
+		if (changes.isEmpty())
+			return this;
+		List<Chunk> chunks = new ArrayList<>(this.chunks.length + 1);
+		List<Chunk> unchanged = Arrays.asList(this.chunks);
+		int size = this.size;
+		Iterator<Entry<String, Object>> iterator = changes.entrySet().iterator();
+		Entry<String, Object> change = iterator.next();
+		int next = 0; // the first chunk that wasn't added yet
+		while (change != null) {
+			int target = Math.max(next, chunkIndexOf(change.getKey()));
+			chunks.addAll(unchanged.subList(next, Math.min(target, this.chunks.length)));
+			Chunk chunk = target < this.chunks.length ? this.chunks[target] : new Chunk(new String[0], new Object[0]);
+			// the changes before the first key of the next chunk belong to this one
+			@Nullable String end = target + 1 < this.chunks.length ? this.chunks[target + 1].keys()[0] : null;
+			boolean last = target + 1 >= this.chunks.length;
+
+			List<Entry<String, Object>> merged = new ArrayList<>(chunk.size() + 8);
+			int index = 0;
+			while (change != null && (last || ORDER.compare(change.getKey(), end) < 0)) {
+				int position = chunk.indexOf(change.getKey());
+				int insertAt = position >= 0 ? position : -position - 1;
+				for (; index < insertAt; index++)
+					merged.add(new SimpleImmutableEntry<>(chunk.keys()[index], chunk.values()[index]));
+				if (position >= 0) {
+					index++;
+					size--;
+				}
+				if (change.getValue() != REMOVED) {
+					merged.add(new SimpleImmutableEntry<>(change.getKey(), change.getValue()));
+					size++;
+				}
+				change = iterator.hasNext() ? iterator.next() : null;
+			}
+			for (; index < chunk.size(); index++)
+				merged.add(new SimpleImmutableEntry<>(chunk.keys()[index], chunk.values()[index]));
+
+			if (merged.size() > MAX_CHUNK_SIZE) {
+				addChunks(chunks, merged);
+			} else if (!merged.isEmpty()) {
+				chunks.add(toChunk(merged, 0, merged.size()));
+			}
+			next = target + 1;
+		}
+		if (next < this.chunks.length)
+			chunks.addAll(unchanged.subList(next, this.chunks.length));
+		return new FrozenList(chunks.toArray(new Chunk[0]), size);
+	}
+
+	/**
+	 * @return The index of the last chunk whose first key is not greater than the given key,
+	 * 			or 0 if there is none, i.e. the index of the chunk the key belongs to.
+	 */
+	private int chunkIndexOf(@Nullable String key) {
+		int low = 0;
+		int high = chunks.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (ORDER.compare(chunks[middle].keys()[0], key) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return Math.max(high, 0);
+	}
+
+	@Override
+	public @Nullable Object get(Object key) {
+		if (key != null && !(key instanceof String))
+			return null;
+		if (chunks.length == 0)
+			return null;
+		Chunk chunk = chunks[chunkIndexOf((String) key)];
+		int index = chunk.indexOf((String) key);
+		return index < 0 ? null : chunk.values()[index];
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		Set<Entry<String, Object>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			this.entrySet = entrySet = new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+		private int chunk;
+		private int index;
+
+		@Override
+		public boolean hasNext() {
+			while (chunk < chunks.length && index >= chunks[chunk].size()) {
+				chunk++;
+				index = 0;
+			}
+			return chunk < chunks.length;
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			Chunk current = chunks[chunk];
+			Entry<String, Object> entry = new SimpleImmutableEntry<>(current.keys()[index], current.values()[index]);
+			index++;
+			return entry;
+		}
+
+	}
+
+}
@@ -0,0 +1,362 @@
+package ch.njol.skript.variables;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The node of a list variable in a {@link VariablesMap}, e.g. the map holding the indices of {@code {list::*}}.
+ * <p>
+ * Besides the indices and their values, a node keeps track of which numeric indices are in use,
+ * so that the next free index of a list can be found without probing the map index by index.
+ * It may also keep a reverse index from values to the indices holding them,
+ * which is only created once {@link #indicesOf(Object)} is first used,
+ * and a {@link SortedListIndex}, which is only created once {@link #getSortedIndex(Comparator)} is first used.
+ * Global lists also keep their last {@link #freeze() frozen copy} for {@link VariablesSnapshot}s until they change.
+ * <p>
+ * Like any map returned by {@link Variables#getVariable(String, org.bukkit.event.Event, boolean)},
+ * nodes must not be modified outside of {@link VariablesMap}.
+ */
+public final class ListVariableNode extends TreeMap<String, Object> {
+
+	/**
+	 * The numeric indices of this list, i.e. {@code 1}, {@code 2}, ... (but not {@code 01}) that are in use.
+	 */
+	private final BitSet usedIndices = new BitSet();
+
+	/**
+	 * Maps values to the indices that hold them, or null if no reverse index has been requested yet.
+	 */
+	private volatile @Nullable Map<Object, TreeSet<String>> valueIndex;
+
+	/**
+	 * Counts the values in the reverse index by their class, or null if there is no reverse index.
+	 */
+	private @Nullable Map<Class<?>, Integer> valueClasses;
+
+	/**
+	 * The indices of this list sorted by their values, or null if no sorted index has been requested yet
+	 * or if the values of this list can't be sorted.
+	 */
+	private volatile @Nullable SortedListIndex sortedIndex;
+
+	/**
+	 * The last copy of this list returned by {@link #freeze()}, or null if this list hasn't been frozen yet
+	 * or changed too much since.
+	 */
+	private @Nullable FrozenList frozen;
+
+	/**
+	 * The indices that changed since this list was last frozen, including those of changed sublists,
+	 * or null if there is no {@link #frozen} copy.
+	 */
+	private @Nullable Set<String> changedKeys;
+
+	ListVariableNode() {
+		super(VariablesMap.VARIABLE_NAME_COMPARATOR);
+	}
+
+	/**
+	 * Finds the first numeric index that is not in use, starting at the given index.
+	 * This is the same as checking {@code containsKey("" + index)} for every index starting at {@code from},
+	 * except that it does not have to look at every used index.
+	 *
+	 * @param from The first index to consider, at least 1.
+	 * @return The first free numeric index that is at least {@code from}.
+	 */
+	public int nextFreeIndex(int from) {
+		return usedIndices.nextClearBit(Math.max(from, 1));
+	}
+
+	/**
+	 * Gets the indices of this list holding a value that is {@link Object#equals(Object) equal} to the given value,
+	 * in the order of the list. The first call creates a reverse index of this list,
+	 * which is then kept up to date whenever the list changes.
+	 * <p>
+	 * Note that values are matched by equality, so values that Skript considers equal
+	 * (e.g. a number stored as an integer and one stored as a decimal) might not be found.
+	 * {@link #getValueClasses()} can be used to tell whether such values may be in the list.
+	 *
+	 * @param value The value to look up.
+	 * @return The indices holding the value, which may be empty.
+	 */
+	public Set<String> indicesOf(Object value) {
+		Map<Object, TreeSet<String>> valueIndex = this.valueIndex;
+		if (valueIndex == null) {
+			synchronized (this) {
+				valueIndex = this.valueIndex;
+				if (valueIndex == null) {
+					// other threads only use the index while synchronized, so it can be published before it is filled
+					this.valueIndex = valueIndex = new HashMap<>();
+					valueClasses = new HashMap<>();
+					for (Map.Entry<String, Object> entry : entrySet())
+						addToIndex(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		synchronized (this) {
+			TreeSet<String> indices = valueIndex.get(value);
+			if (indices == null)
+				return Collections.emptySet();
+			return new TreeSet<>(indices);
+		}
+	}
+
+	/**
+	 * Gets the classes of the values of this list, not including sublists,
+	 * which can be used to tell whether {@link #indicesOf(Object)} can miss values that Skript considers equal.
+	 *
+	 * @return The classes of the values of this list, or an empty set if {@link #indicesOf(Object)} hasn't been used yet.
+	 */
+	public Set<Class<?>> getValueClasses() {
+		synchronized (this) {
+			Map<Class<?>, Integer> valueClasses = this.valueClasses;
+			if (valueClasses == null)
+				return Collections.emptySet();
+			return Set.copyOf(valueClasses.keySet());
+		}
+	}
+
+	/**
+	 * Gets the indices of this list sorted by their values. The first call creates the sorted index,
+	 * which is then kept up to date whenever the list changes, so this should only be used for lists
+	 * that are sorted often, like leaderboards.
+	 * <p>
+	 * Lists containing sublists or values that can't be compared with each other can't be sorted.
+	 * If such a value is added to a list, its sorted index is discarded, and the next call will try to create it again.
+	 *
+	 * @param valueOrder The order of the values, which is only used when the sorted index is created.
+	 * @return The sorted index of this list, or null if the values of this list can't be sorted.
+	 */
+	public @Nullable SortedListIndex getSortedIndex(Comparator<Object> valueOrder) {
+		SortedListIndex sortedIndex = this.sortedIndex;
+		if (sortedIndex != null)
+			return sortedIndex;
+		synchronized (this) {
+			sortedIndex = this.sortedIndex;
+			if (sortedIndex == null) {
+				sortedIndex = new SortedListIndex(valueOrder);
+				for (Map.Entry<String, Object> entry : entrySet()) {
+					if (!addToSortedIndex(sortedIndex, entry.getKey(), entry.getValue()))
+						return null;
+				}
+				this.sortedIndex = sortedIndex;
+			}
+			return sortedIndex;
+		}
+	}
+
+	/**
+	 * Discards the sorted index of this list, if it has one.
+	 */
+	void dropSortedIndex() {
+		synchronized (this) {
+			sortedIndex = null;
+		}
+	}
+
+	/**
+	 * Creates a copy of this list that is never modified, in which sublists are replaced by their frozen copies.
+	 * The copy is kept until this list or one of its sublists changes, so unchanged lists are shared by all copies of
+	 * the lists containing them. Once a list changed, its next copy is based on the previous one and only copies
+	 * the parts of it holding the changed indices, see {@link FrozenList}.
+	 * As sublists are changed in place, {@link VariablesMap} must call {@link #thaw(String)}
+	 * on all lists containing a changed sublist.
+	 * <p>
+	 * This must not be called while the list is being changed.
+	 *
+	 * @return The frozen copy of this list.
+	 */
+	Map<String, Object> freeze() {
+		FrozenList frozen = this.frozen;
+		if (frozen == null) {
+			List<Map.Entry<String, Object>> entries = new ArrayList<>(size());
+			for (Map.Entry<String, Object> entry : entrySet())
+				entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), frozenValue(entry.getValue())));
+			frozen = FrozenList.of(entries);
+		} else if (changedKeys != null && !changedKeys.isEmpty()) {
+			TreeMap<String, Object> changes = new TreeMap<>(VariablesMap.VARIABLE_NAME_COMPARATOR);
+			for (String key : changedKeys) {
+				Object value = get(key);
+				changes.put(key, value == null ? FrozenList.REMOVED : frozenValue(value));
+			}
+			frozen = frozen.with(changes);
+		}
+		if (changedKeys == null) {
+			changedKeys = new HashSet<>();
+		} else {
+			changedKeys.clear();
+		}
+		this.frozen = frozen;
+		return frozen;
+	}
+
+	private static Object frozenValue(Object value) {
+		return value instanceof ListVariableNode node ? node.freeze() : value;
+	}
+
+	/**
+	 * Marks the given index of this list as changed, e.g. because the sublist at that index changed.
+	 *
+	 * @param key The changed index.
+	 */
+	void thaw(@Nullable String key) {
+		Set<String> changedKeys = this.changedKeys;
+		if (changedKeys == null)
+			return;
+		changedKeys.add(key);
+		// once much of the list changed, copying it again is cheaper than applying every change
+		if (changedKeys.size() > Math.max(64, size() / 4)) {
+			frozen = null;
+			this.changedKeys = null;
+		}
+	}
+
+	/**
+	 * Copies the given tree of variables, replacing lists by their frozen copies.
+	 */
+	static TreeMap<String, Object> freeze(TreeMap<String, Object> tree) {
+		// copying a sorted map takes linear time, and replacing the values of its entries doesn't change its structure
+		TreeMap<String, Object> copy = new TreeMap<>(tree);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			if (entry.getValue() instanceof ListVariableNode node)
+				entry.setValue(node.freeze());
+		}
+		return copy;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		thaw(key);
+		Object old = super.put(key, value);
+		int index = numericIndex(key);
+		if (index > 0)
+			usedIndices.set(index);
+		if (valueIndex != null) {
+			synchronized (this) {
+				if (old != null)
+					removeFromIndex(key, old);
+				addToIndex(key, value);
+			}
+		}
+		SortedListIndex sortedIndex = this.sortedIndex;
+		if (sortedIndex != null && !addToSortedIndex(sortedIndex, key, value))
+			dropSortedIndex();
+		return old;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ?> map) {
+		// TreeMap may bypass put when copying into an empty map
+		for (Map.Entry<? extends String, ?> entry : map.entrySet())
+			put(entry.getKey(), entry.getValue());
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if (key == null || key instanceof String)
+			thaw((String) key);
+		Object old = super.remove(key);
+		if (old != null && key instanceof String string) {
+			int index = numericIndex(string);
+			if (index > 0)
+				usedIndices.clear(index);
+			if (valueIndex != null) {
+				synchronized (this) {
+					removeFromIndex(string, old);
+				}
+			}
+			SortedListIndex sortedIndex = this.sortedIndex;
+			if (sortedIndex != null)
+				sortedIndex.remove(string);
+		}
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		frozen = null;
+		changedKeys = null;
+		super.clear();
+		usedIndices.clear();
+		synchronized (this) {
+			valueIndex = null;
+			valueClasses = null;
+			sortedIndex = null;
+		}
+	}
+
+	/**
+	 * Must be called while synchronized on this list, with the reverse index present.
+	 */
+	@SuppressWarnings("DataFlowIssue")
+	private void addToIndex(@Nullable String key, Object value) {
+		if (key == null || value instanceof Map) // the value of the list itself, or a sublist
+			return;
+		valueIndex.computeIfAbsent(value, v -> new TreeSet<>(VariablesMap.VARIABLE_NAME_COMPARATOR)).add(key);
+		valueClasses.merge(value.getClass(), 1, Integer::sum);
+	}
+
+	/**
+	 * Must be called while synchronized on this list, with the reverse index present.
+	 */
+	@SuppressWarnings("DataFlowIssue")
+	private void removeFromIndex(@Nullable String key, Object value) {
+		if (key == null || value instanceof Map)
+			return;
+		TreeSet<String> indices = valueIndex.get(value);
+		if (indices == null || !indices.remove(key))
+			return;
+		if (indices.isEmpty())
+			valueIndex.remove(value);
+		valueClasses.computeIfPresent(value.getClass(), (type, count) -> count == 1 ? null : count - 1);
+	}
+
+	/**
+	 * @return Whether the value could be added, which is not the case for sublists and values that can't be compared.
+	 */
+	private static boolean addToSortedIndex(SortedListIndex sortedIndex, @Nullable String key, Object value) {
+		if (key == null) // the value of the list itself
+			return true;
+		if (value instanceof Map)
+			return false;
+		try {
+			sortedIndex.put(key, value);
+			return true;
+		} catch (IllegalArgumentException | ClassCastException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param key The key of an index.
+	 * @return The number of the index if it is written as a plain positive number (e.g. {@code 12}), otherwise -1.
+	 */
+	static int numericIndex(@Nullable String key) {
+		if (key == null)
+			return -1;
+		int length = key.length();
+		if (length == 0 || length > 9 || key.charAt(0) == '0')
+			return -1;
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = key.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+
+}
@@ -0,0 +1,284 @@
+package ch.njol.skript.variables;
+
+import ch.njol.skript.lang.KeyedValue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the indices of a {@link ListVariableNode} sorted by their values, for leaderboard-like lists
+ * that are often asked for their first few values or for the rank of an index,
+ * e.g. {@code the first 10 elements of sorted {kills::*}}.
+ * <p>
+ * The indices are stored in a balanced search tree (a treap), ordered by their values and then by the order of the list,
+ * which is the order a stable sort of the list produces. Every node of the tree knows the size of its subtree,
+ * so indices can be added and removed, and the index at a position or the position of an index can be found,
+ * in logarithmic time.
+ * <p>
+ * The methods of this class are thread-safe.
+ */
+public final class SortedListIndex {
+
+	private static final class Node {
+
+		private final String key;
+		private final Object value;
+		private final int priority;
+		private int size = 1;
+		private @Nullable Node left, right;
+
+		private Node(String key, Object value) {
+			this.key = key;
+			this.value = value;
+			this.priority = ThreadLocalRandom.current().nextInt();
+		}
+
+	}
+
+	private final Comparator<Object> valueOrder;
+	private final Map<String, Node> nodes = new HashMap<>();
+	private @Nullable Node root;
+
+	/**
+	 * @param valueOrder The order of the values, which may throw an {@link IllegalArgumentException}
+	 *                   or a {@link ClassCastException} for values that can't be compared.
+	 */
+	SortedListIndex(Comparator<Object> valueOrder) {
+		this.valueOrder = valueOrder;
+	}
+
+	/**
+	 * Adds an index, or updates the value of an index that has already been added.
+	 * If the value can't be compared with the other values, this index must not be used anymore.
+	 *
+	 * @throws IllegalArgumentException If the value can't be compared with the other values.
+	 * @throws ClassCastException If the value can't be compared with the other values.
+	 */
+	synchronized void put(String key, Object value) {
+		remove(key);
+		Node node = new Node(key, value);
+		root = insert(root, node);
+		nodes.put(key, node);
+	}
+
+	synchronized void remove(String key) {
+		Node node = nodes.remove(key);
+		if (node != null)
+			root = remove(root, node);
+	}
+
+	/**
+	 * @return The number of indices in this index.
+	 */
+	public synchronized int size() {
+		return size(root);
+	}
+
+	/**
+	 * Gets the indices and values at the given positions of the sorted list.
+	 * In descending order, indices with equal values stay in the order of the list,
+	 * like when sorting the list in descending order with a stable sort.
+	 *
+	 * @param from The first position, starting at 0.
+	 * @param to The position after the last position.
+	 * @param descending Whether the positions are in the list sorted in descending instead of ascending order.
+	 * @return The indices and values at the given positions, in the order of the sorted list.
+	 */
+	public synchronized List<KeyedValue<Object>> getRange(int from, int to, boolean descending) {
+		int size = size(root);
+		from = Math.max(from, 0);
+		to = Math.min(to, size);
+		List<Node> range = new ArrayList<>(Math.max(to - from, 0));
+		if (!descending) {
+			collect(root, from, to, range);
+		} else {
+			int position = from;
+			while (position < to) {
+				// equal values take the descending positions [size - groupEnd, size - groupStart) in the order of the list
+				Object value = select(size - 1 - position).value;
+				int groupStart = countBelow(value, false);
+				int groupEnd = countBelow(value, true);
+				int start = groupStart + position - (size - groupEnd);
+				int end = Math.min(groupEnd, groupStart + to - (size - groupEnd));
+				collect(root, start, end, range);
+				position += end - start;
+			}
+		}
+		List<KeyedValue<Object>> entries = new ArrayList<>(range.size());
+		for (Node node : range)
+			entries.add(new KeyedValue<>(node.key, node.value));
+		return entries;
+	}
+
+	/**
+	 * Gets the position of an index in the sorted list, e.g. to get the rank of a player on a leaderboard.
+	 *
+	 * @param key The index.
+	 * @param descending Whether to get the position in the list sorted in descending instead of ascending order.
+	 * @return The position of the index starting at 0, or -1 if the list doesn't contain the index.
+	 */
+	public synchronized int getPosition(String key, boolean descending) {
+		Node node = nodes.get(key);
+		if (node == null)
+			return -1;
+		int position = 0;
+		Node tree = root;
+		while (tree != node) {
+			assert tree != null;
+			if (compare(node, tree) < 0) {
+				tree = tree.left;
+			} else {
+				position += size(tree.left) + 1;
+				tree = tree.right;
+			}
+		}
+		position += size(node.left);
+		if (!descending)
+			return position;
+		int groupStart = countBelow(node.value, false);
+		int groupEnd = countBelow(node.value, true);
+		return size(root) - groupEnd + position - groupStart;
+	}
+
+	private int compare(Node first, Node second) {
+		int relation = valueOrder.compare(first.value, second.value);
+		return relation != 0 ? relation : VariablesMap.VARIABLE_NAME_COMPARATOR.compare(first.key, second.key);
+	}
+
+	/*
+	 * The tree is only modified after all comparisons have been made,
+	 * so values that can't be compared don't leave it in an inconsistent state.
+	 */
+
+	private Node insert(@Nullable Node tree, Node node) {
+		if (tree == null)
+			return node;
+		if (node.priority > tree.priority) {
+			Node[] split = new Node[2];
+			split(tree, node, split);
+			node.left = split[0];
+			node.right = split[1];
+			update(node);
+			return node;
+		}
+		if (compare(node, tree) < 0) {
+			tree.left = insert(tree.left, node);
+		} else {
+			tree.right = insert(tree.right, node);
+		}
+		update(tree);
+		return tree;
+	}
+
+	/**
+	 * Splits a tree into the nodes before the given node and the nodes after it.
+	 */
+	private void split(@Nullable Node tree, Node node, Node[] split) {
+		if (tree == null) {
+			split[0] = split[1] = null;
+			return;
+		}
+		if (compare(tree, node) < 0) {
+			split(tree.right, node, split);
+			tree.right = split[0];
+			split[0] = tree;
+		} else {
+			split(tree.left, node, split);
+			tree.left = split[1];
+			split[1] = tree;
+		}
+		update(tree);
+	}
+
+	private @Nullable Node remove(@Nullable Node tree, Node node) {
+		if (tree == null)
+			return null;
+		if (tree == node)
+			return merge(tree.left, tree.right);
+		if (compare(node, tree) < 0) {
+			tree.left = remove(tree.left, node);
+		} else {
+			tree.right = remove(tree.right, node);
+		}
+		update(tree);
+		return tree;
+	}
+
+	private @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		}
+		right.left = merge(left, right.left);
+		update(right);
+		return right;
+	}
+
+	private Node select(int position) {
+		Node tree = root;
+		while (true) {
+			assert tree != null;
+			int leftSize = size(tree.left);
+			if (position < leftSize) {
+				tree = tree.left;
+			} else if (position == leftSize) {
+				return tree;
+			} else {
+				position -= leftSize + 1;
+				tree = tree.right;
+			}
+		}
+	}
+
+	/**
+	 * Adds the nodes at the given positions of a tree to a list, in ascending order.
+	 */
+	private static void collect(@Nullable Node tree, int from, int to, List<Node> range) {
+		if (tree == null || from >= to)
+			return;
+		int leftSize = size(tree.left);
+		if (from < leftSize)
+			collect(tree.left, from, Math.min(to, leftSize), range);
+		if (from <= leftSize && leftSize < to)
+			range.add(tree);
+		if (to > leftSize + 1)
+			collect(tree.right, Math.max(from - leftSize - 1, 0), to - leftSize - 1, range);
+	}
+
+	/**
+	 * @return The number of values that are less than, or if inclusive also equal to, the given value.
+	 */
+	private int countBelow(Object value, boolean inclusive) {
+		int count = 0;
+		Node tree = root;
+		while (tree != null) {
+			int relation = valueOrder.compare(tree.value, value);
+			if (relation < 0 || inclusive && relation == 0) {
+				count += size(tree.left) + 1;
+				tree = tree.right;
+			} else {
+				tree = tree.left;
+			}
+		}
+		return count;
+	}
+
+	private static int size(@Nullable Node tree) {
+		return tree == null ? 0 : tree.size;
+	}
+
+	private static void update(Node tree) {
+		tree.size = size(tree.left) + 1 + size(tree.right);
+	}
+
+}
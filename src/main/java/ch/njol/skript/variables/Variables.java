@@ -5,9 +5,11 @@ import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.classes.ConfigurationSerializer;
+import ch.njol.skript.classes.Serializer;
 import ch.njol.skript.config.Config;
 import ch.njol.skript.config.Node;
 import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.expressions.ExprSortedList;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.registrations.Classes;
@@ -35,6 +37,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -43,6 +46,7 @@ import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,6 +55,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -76,6 +81,12 @@ public class Variables {
 	 */
 	public static boolean caseInsensitiveVariables = true;
 
+	/**
+	 * The lowercase names of the global list variables that keep their indices sorted by their values,
+	 * see {@link SkriptConfig#sortedListVariables}.
+	 */
+	private static volatile Set<String> sortedListVariables = Set.of();
+
 	/**
 	 * The {@link ch.njol.yggdrasil.ClassResolver#getID(Class) ID} prefix
 	 * for {@link ConfigurationSerializable} classes.
@@ -457,6 +468,17 @@ public class Variables {
 
 			return map.getVariable(n);
 		} else {
+			SnapshotScope scope = SNAPSHOT_SCOPE.get();
+			if (scope != null) {
+				if (scope.snapshot == null) {
+					VariablesSnapshot snapshot = snapshot();
+					// changes of this thread might still be queued, in which case the variables have to be read directly
+					if (changeQueue.isEmpty())
+						scope.snapshot = snapshot;
+				}
+				if (scope.snapshot != null)
+					return scope.snapshot.getVariable(n);
+			}
 			try {
 				variablesLock.readLock().lock();
 				// Prevent race conditions from returning variables with incorrect values
@@ -481,6 +503,116 @@ public class Variables {
 		}
 	}
 
+	/**
+	 * The snapshot used by the current thread to read global variables, see {@link #withSnapshot(Supplier)}.
+	 */
+	private static final ThreadLocal<SnapshotScope> SNAPSHOT_SCOPE = new ThreadLocal<>();
+
+	private static final class SnapshotScope {
+
+		/**
+		 * The snapshot to read from, or null if global variables were changed by this thread since it was taken.
+		 */
+		private @Nullable VariablesSnapshot snapshot;
+
+	}
+
+	private static volatile @Nullable VariablesSnapshot lastSnapshot;
+
+	/**
+	 * Gets an immutable view of the current values of all global variables, which can be read without any locks.
+	 * The snapshot is shared with all other callers until a global variable is changed.
+	 *
+	 * @return A snapshot of all global variables.
+	 * @see VariablesSnapshot
+	 */
+	public static VariablesSnapshot snapshot() {
+		VariablesSnapshot snapshot = lastSnapshot;
+		if (snapshot != null && snapshot.isCurrent())
+			return snapshot;
+
+		if (!changeQueue.isEmpty() && variablesLock.writeLock().tryLock()) {
+			try {
+				processChangeQueue();
+			} finally {
+				variablesLock.writeLock().unlock();
+			}
+		}
+		variablesLock.readLock().lock();
+		try {
+			snapshot = variables.snapshot();
+		} finally {
+			variablesLock.readLock().unlock();
+		}
+		lastSnapshot = snapshot;
+		return snapshot;
+	}
+
+	/**
+	 * Runs the given action while reading global variables on the current thread from a {@link #snapshot()}
+	 * instead of locking the variables for every read. Changes made to global variables by the action are still applied
+	 * directly, after which the next read takes a new snapshot, so the action always sees its own changes.
+	 *
+	 * @param action The action to run.
+	 * @return The result of the action.
+	 */
+	public static <T> T withSnapshot(Supplier<T> action) {
+		if (SNAPSHOT_SCOPE.get() != null)
+			return action.get();
+		SNAPSHOT_SCOPE.set(new SnapshotScope());
+		try {
+			return action.get();
+		} finally {
+			SNAPSHOT_SCOPE.remove();
+		}
+	}
+
+	/**
+	 * Sets the global list variables that keep their indices sorted by their values.
+	 * Lists that are not in the given list anymore discard their sorted indices.
+	 *
+	 * @param names The names of the list variables separated by commas, e.g. {@code kills::*, coins::*}.
+	 */
+	public static void setSortedListVariables(String names) {
+		Set<String> sortedListVariables = new HashSet<>();
+		for (String name : names.split(",")) {
+			name = name.trim().toLowerCase(Locale.ENGLISH);
+			if (name.startsWith("{") && name.endsWith("}"))
+				name = name.substring(1, name.length() - 1);
+			if (name.isEmpty())
+				continue;
+			if (!name.endsWith(Variable.SEPARATOR + "*") || name.startsWith(Variable.LOCAL_VARIABLE_TOKEN)) {
+				Skript.warning("'" + name + "' is not the name of a global list variable and can't be sorted");
+				continue;
+			}
+			sortedListVariables.add(name);
+		}
+		for (String name : Variables.sortedListVariables) {
+			if (!sortedListVariables.contains(name) && getVariable(name, null, false) instanceof ListVariableNode node)
+				node.dropSortedIndex();
+		}
+		Variables.sortedListVariables = Collections.unmodifiableSet(sortedListVariables);
+	}
+
+	/**
+	 * Gets the indices of a list variable sorted by their values, if it is one of the
+	 * {@link SkriptConfig#sortedListVariables sorted list variables}.
+	 * The values are sorted like {@link ExprSortedList} sorts them.
+	 *
+	 * @param name The name of the list variable, ending in {@code ::*}.
+	 * @param event The event of the list variable if it is local.
+	 * @param local Whether the list variable is local, in which case it is never sorted.
+	 * @return The sorted indices of the list variable, or null if it doesn't keep its indices sorted,
+	 * 			doesn't exist or contains values that can't be sorted.
+	 */
+	public static @Nullable SortedListIndex getSortedIndex(String name, @Nullable Event event, boolean local) {
+		if (local || !sortedListVariables.contains(name.toLowerCase(Locale.ENGLISH)))
+			return null;
+		if (getVariable(name, event, false) instanceof ListVariableNode node)
+			return node.getSortedIndex(ExprSortedList::compare);
+		return null;
+	}
+
 	/**
 	 * Returns an iterator over the values of this list variable.
 	 *
@@ -498,7 +630,7 @@ public class Variables {
 
 		if (val == null)
 			return new EmptyIterator<>();
-		assert val instanceof TreeMap;
+		assert val instanceof Map;
 		// temporary list to prevent CMEs
 		@SuppressWarnings("unchecked")
 		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) val).keySet()).iterator();
@@ -516,7 +648,7 @@ public class Variables {
 					key = keys.next();
 					if (key != null) {
 						next = Variable.convertIfOldPlayer(subName + key, local, event, Variables.getVariable(subName + key, event, local));
-						if (next != null && !(next instanceof TreeMap))
+						if (next != null && !(next instanceof Map))
 							return true;
 					}
 				}
@@ -602,6 +734,9 @@ public class Variables {
 	 * @param value the value, or {@code null} to delete the variable.
 	 */
 	static void setVariable(String name, @Nullable Object value) {
+		SnapshotScope scope = SNAPSHOT_SCOPE.get();
+		if (scope != null)
+			scope.snapshot = null;
 		if (variablesLock.writeLock().tryLock()) {
 			try {
 				if (!changeQueue.isEmpty()) { // Process older, queued changes if available
@@ -881,6 +1016,9 @@ public class Variables {
 
 	/**
 	 * Serializes and adds the variable change to the {@link #saveQueue}.
+	 * <p>
+	 * Values whose serializer does not {@link Serializer#mustSyncSerialization() require the main thread}
+	 * are only snapshotted here, and serialized by the {@link #saveThread} instead.
 	 *
 	 * @param name the variable name.
 	 * @param value the value of the variable.
@@ -888,14 +1026,49 @@ public class Variables {
 	private static void saveVariableChange(String name, @Nullable Object value) {
 		if (name.startsWith(Variable.EPHEMERAL_VARIABLE_TOKEN))
 			return;
-		saveQueue.add(serialize(name, value));
+		if (value != null) {
+			Object snapshot = Classes.snapshotForSerialization(value);
+			if (snapshot != null) {
+				saveQueue.add(new PendingSave(name, snapshot, null));
+				return;
+			}
+		}
+		saveQueue.add(new PendingSave(name, null, serialize(name, value)));
+	}
+
+	/**
+	 * A variable change that has not yet been written to the storage.
+	 *
+	 * @param name the variable name.
+	 * @param snapshot a snapshot of the value that still has to be serialized, or {@code null} if it already is.
+	 * @param serialized the serialized variable if it was serialized on the main thread.
+	 */
+	private record PendingSave(String name, @Nullable Object snapshot, @Nullable SerializedVariable serialized) {
+
+		/**
+		 * Serializes this change if it has not been serialized yet. Called from the {@link #saveThread}.
+		 *
+		 * @return the serialized variable, or {@code null} if serialization failed.
+		 */
+		@Nullable
+		SerializedVariable serialize() {
+			if (serialized != null)
+				return serialized;
+			try {
+				return new SerializedVariable(name, Classes.serialize(snapshot));
+			} catch (Exception e) {
+				Skript.exception(e, "Error saving variable named " + name);
+				return null;
+			}
+		}
+
 	}
 
 	/**
-	 * The queue of serialized variables that have not yet been written
+	 * The queue of variable changes that have not yet been written
 	 * to the storage.
 	 */
-	static final BlockingQueue<SerializedVariable> saveQueue = new LinkedBlockingQueue<>();
+	static final BlockingQueue<PendingSave> saveQueue = new LinkedBlockingQueue<>();
 
 	/**
 	 * Whether the {@link #saveThread} should be stopped.
@@ -909,7 +1082,9 @@ public class Variables {
 		while (!closed) {
 			try {
 				// Save one variable change
-				SerializedVariable variable = saveQueue.take();
+				SerializedVariable variable = saveQueue.take().serialize();
+				if (variable == null)
+					continue;
 
 				for (VariablesStorage variablesStorage : STORAGES) {
 					if (variablesStorage.accept(variable.name)) {
@@ -6,8 +6,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 
 /**
@@ -129,6 +131,27 @@ final class VariablesMap {
 	 */
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 
+	/**
+	 * The number of changes made to this map, used to tell whether a {@link VariablesSnapshot} is still up to date.
+	 */
+	private volatile long epoch;
+
+	/**
+	 * The number of changed top-level variables after which a {@link #snapshot()} copies the whole {@link #treeMap} again,
+	 * instead of only the changed variables.
+	 */
+	private static final int MAX_CHANGED_NAMES = 256;
+
+	/**
+	 * The frozen copy of the {@link #treeMap} that snapshots are based on, or null if no snapshot was taken yet.
+	 */
+	private @Nullable TreeMap<String, Object> frozenTree;
+
+	/**
+	 * The names of the top-level variables and lists that changed since the {@link #frozenTree} was created.
+	 */
+	private final Set<String> changedNames = new HashSet<>();
+
 	/**
 	 * Returns the internal value of the requested variable.
 	 * <p>
@@ -139,7 +162,6 @@ final class VariablesMap {
 	 * {@code Map<String, Object>} for a list variable,
 	 * or {@code null} if the variable is not set.
 	 */
-	@SuppressWarnings("unchecked")
 	@Nullable
 	Object getVariable(String name) {
 		if (!name.endsWith("*")) {
@@ -147,35 +169,37 @@ final class VariablesMap {
 			return hashMap.get(name);
 		} else {
 			// List variable, search the tree branches
-			String[] split = Variables.splitVariableName(name);
-			Map<String, Object> parent = treeMap;
-
-			// Iterate over the parts of the variable name
-			for (int i = 0; i < split.length; i++) {
-				String n = split[i];
-				if (n.equals("*")) {
-					// End of variable name, return map
-					assert i == split.length - 1;
-					return parent;
-				}
-
-				// Check if the current (sub-)tree has the expected child node
-				Object childNode = parent.get(n);
-				if (childNode == null)
-					return null;
+			return getVariable(treeMap, Variables.splitVariableName(name), 0);
+		}
+	}
 
-				// Continue the iteration if the child node is a tree itself
-				if (childNode instanceof Map) {
-					// Continue iterating with the subtree
-					parent = (Map<String, Object>) childNode;
-					assert i != split.length - 1;
-				} else {
-					// ..., otherwise the list variable doesn't exist here
-					return null;
-				}
+	/**
+	 * Looks up a variable in a tree of variables, like {@link #getVariable(String)}, but without the {@link #hashMap}.
+	 *
+	 * @param node The node holding the part of the variable name at {@code from}, i.e. the whole tree if {@code from} is 0,
+	 * 				or the value of the previous part otherwise.
+	 * @param split The {@link Variables#splitVariableName(String) split} name of the variable.
+	 * @param from The index of the part of the name to continue at.
+	 * @return The value of the variable, a {@code Map<String, Object>} for a list variable,
+	 * 			or {@code null} if the variable is not set.
+	 */
+	@SuppressWarnings("unchecked")
+	static @Nullable Object getVariable(@Nullable Object node, String[] split, int from) {
+		// Iterate over the parts of the variable name
+		for (int i = from; i < split.length; i++) {
+			// The list variable doesn't exist here if the node isn't a tree itself
+			if (!(node instanceof Map))
+				return null;
+			Map<String, Object> parent = (Map<String, Object>) node;
+			if (split[i].equals("*")) {
+				// End of variable name, return map
+				assert i == split.length - 1;
+				return parent;
 			}
-			return null;
+			node = parent.get(split[i]);
 		}
+		// A variable that is also a list, e.g. {a} when {a::b} is set, is stored in the list
+		return node instanceof Map<?, ?> list ? list.get(null) : node;
 	}
 
 	/**
@@ -189,6 +213,8 @@ final class VariablesMap {
 	 */
 	@SuppressWarnings("unchecked")
 	void setVariable(String name, @Nullable Object value) {
+		epoch++;
+
 		// First update the hash map easily
 		if (!name.endsWith("*")) {
 			if (value == null)
@@ -200,9 +226,15 @@ final class VariablesMap {
 		// Then update the tree map by going down the branches
 		String[] split = Variables.splitVariableName(name);
 		TreeMap<String, Object> parent = treeMap;
+		if (frozenTree != null)
+			changedNames.add(split[0]);
 
 		// Iterate over the parts of the variable name
 		for (int i = 0; i < split.length; i++) {
+			// The lists containing the changed variable have to be frozen again
+			if (parent instanceof ListVariableNode node)
+				node.thaw(split[i]);
+
 			String childNodeName = split[i];
 			Object childNode = parent.get(childNodeName);
 
@@ -216,7 +248,7 @@ final class VariablesMap {
 					break;
 				} else if (value != null) {
 					// Create child node, add it to parent and continue iteration
-					childNode = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+					childNode = new ListVariableNode();
 
 					parent.put(childNodeName, childNode);
 					parent = (TreeMap<String, Object>) childNode;
@@ -269,7 +301,7 @@ final class VariablesMap {
 					break;
 				} else if (value != null) {
 					// Need to continue iteration, create new child node and put old value in it
-					TreeMap<String, Object> newChildNodeMap = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+					TreeMap<String, Object> newChildNodeMap = new ListVariableNode();
 					newChildNodeMap.put(null, childNode);
 
 					// Add new child node to parent
@@ -282,6 +314,40 @@ final class VariablesMap {
 		}
 	}
 
+	/**
+	 * @return The number of changes made to this map so far.
+	 */
+	long getEpoch() {
+		return epoch;
+	}
+
+	/**
+	 * Creates a snapshot of the variables in this map, sharing all lists that didn't change with the previous snapshots,
+	 * see {@link ListVariableNode#freeze()}.
+	 * <p>
+	 * The whole tree of variables is only copied for the first snapshot. Later snapshots share that copy and only copy
+	 * the top-level variables that changed since, until more than {@value #MAX_CHANGED_NAMES} of them changed,
+	 * at which point the whole tree is copied again. Changed lists aren't copied as a whole either,
+	 * their new copies share all parts that didn't change with their previous ones.
+	 * <p>
+	 * For global variables, this must be called while holding the read lock of {@link Variables#variablesLock}.
+	 *
+	 * @return A snapshot of the variables in this map.
+	 */
+	synchronized VariablesSnapshot snapshot() {
+		TreeMap<String, Object> frozenTree = this.frozenTree;
+		if (frozenTree == null || changedNames.size() > MAX_CHANGED_NAMES) {
+			this.frozenTree = frozenTree = ListVariableNode.freeze(treeMap);
+			changedNames.clear();
+		}
+		Map<String, Object> changes = new HashMap<>();
+		for (String name : changedNames) {
+			Object value = treeMap.get(name);
+			changes.put(name, value instanceof ListVariableNode node ? node.freeze() : value);
+		}
+		return new VariablesSnapshot(frozenTree, changes, epoch);
+	}
+
 	/**
 	 * Deletes all indices of a list variable from the {@link #hashMap}.
 	 *
@@ -334,7 +400,7 @@ final class VariablesMap {
 	 */
 	@SuppressWarnings("unchecked")
 	private static TreeMap<String, Object> copyTreeMap(TreeMap<String, Object> original) {
-		TreeMap<String, Object> copy = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+		TreeMap<String, Object> copy = new ListVariableNode();
 
 		for (Entry<String, Object> child : original.entrySet()) {
 			String key = child.getKey();
@@ -0,0 +1,92 @@
+package ch.njol.skript.variables;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable view of all global variables at one point in time, created by {@link Variables#snapshot()}.
+ * <p>
+ * Reading from a snapshot doesn't need any locks, and its values never change,
+ * so lists returned by it can be iterated without copying them first.
+ * Snapshots share all lists that didn't change between them. A new snapshot is based on a copy of all variables
+ * that is shared with the previous snapshots, and only copies the top-level variables and lists that changed since that copy,
+ * see {@link VariablesMap#snapshot()}.
+ * <p>
+ * Changes that were queued because the variables were locked when they were made are not included.
+ */
+public final class VariablesSnapshot {
+
+	/**
+	 * The copy of all variables this snapshot is based on, which may be shared with other snapshots.
+	 */
+	private final TreeMap<String, Object> tree;
+
+	/**
+	 * The top-level variables that changed since the {@link #tree} was copied, with null values for deleted variables.
+	 */
+	private final Map<String, Object> changes;
+
+	private final long epoch;
+
+	/**
+	 * The tree of all variables with the {@link #changes} applied, which is only created when it is requested.
+	 */
+	private volatile @Nullable TreeMap<String, Object> root;
+
+	VariablesSnapshot(TreeMap<String, Object> tree, Map<String, Object> changes, long epoch) {
+		this.tree = tree;
+		this.changes = changes;
+		this.epoch = epoch;
+	}
+
+	/**
+	 * Returns the value of a global variable at the time this snapshot was taken,
+	 * like {@link Variables#getVariable(String, org.bukkit.event.Event, boolean)}.
+	 * <p>
+	 * <b>Do not modify the returned value!</b>
+	 *
+	 * @param name The name of the variable, possibly a list variable.
+	 * @return An {@link Object} for a normal variable or a {@code Map<String, Object>} for a list variable,
+	 * or {@code null} if the variable was not set.
+	 */
+	public @Nullable Object getVariable(String name) {
+		if (Variables.caseInsensitiveVariables)
+			name = name.toLowerCase(Locale.ENGLISH);
+		String[] split = Variables.splitVariableName(name);
+		if (split[0].equals("*"))
+			return VariablesMap.getVariable(getRoot(), split, 0);
+		Object node = changes.containsKey(split[0]) ? changes.get(split[0]) : tree.get(split[0]);
+		return VariablesMap.getVariable(node, split, 1);
+	}
+
+	private TreeMap<String, Object> getRoot() {
+		TreeMap<String, Object> root = this.root;
+		if (root == null) {
+			root = new TreeMap<>(tree);
+			for (Map.Entry<String, Object> change : changes.entrySet()) {
+				if (change.getValue() == null) {
+					root.remove(change.getKey());
+				} else {
+					root.put(change.getKey(), change.getValue());
+				}
+			}
+			this.root = root;
+		}
+		return root;
+	}
+
+	/**
+	 * @return Whether this snapshot still contains the current values of all global variables.
+	 */
+	public boolean isCurrent() {
+		return epoch == Variables.variables.getEpoch();
+	}
+
+	long getEpoch() {
+		return epoch;
+	}
+
+}
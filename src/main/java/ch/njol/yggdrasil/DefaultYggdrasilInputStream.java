@@ -6,6 +6,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +22,13 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	private final InputStream in;
 	private final short version;
 	
+	/**
+	 * Holds data that has been read from {@link #in} ahead of time.
+	 * Reading ahead is fine as the stream must be read completely anyway (see {@link #close()}).
+	 */
+	private final ByteBuffer buffer = StreamBuffers.acquire().flip();
+	private boolean closed = false;
+	
 	public DefaultYggdrasilInputStream(Yggdrasil yggdrasil, InputStream in) throws IOException {
 		super(yggdrasil);
 		this.in = in;
@@ -31,27 +39,49 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 			throw new StreamCorruptedException("Input was saved using a later version of Yggdrasil");
 	}
 	
+	/**
+	 * Makes sure that the buffer holds at least the given amount of bytes.
+	 * 
+	 * @throws EOFException If the end of the stream is reached before
+	 */
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes)
+			return;
+		buffer.compact();
+		try {
+			while (buffer.position() < bytes) {
+				int n = in.read(buffer.array(), buffer.position(), buffer.remaining());
+				if (n < 0)
+					throw new EOFException();
+				buffer.position(buffer.position() + n);
+			}
+		} finally {
+			buffer.flip();
+		}
+	}
+	
 	/**
 	 * @throws EOFException If the end of the stream is reached
 	 */
 	private int read() throws IOException {
-		int b = in.read();
-		if (b < 0)
-			throw new EOFException();
-		return b;
+		ensure(1);
+		return buffer.get() & 0xFF;
 	}
 	
 	private void readFully(byte[] buf) throws IOException {
-		readFully(buf, buf.length);
-	}
-	
-	private void readFully(byte[] buf, int startLength) throws IOException {
-		int offset = 0;
-		int length = startLength;
+		if (buf.length <= buffer.capacity()) {
+			ensure(buf.length);
+			buffer.get(buf);
+			return;
+		}
+		int buffered = Math.min(buffer.remaining(), buf.length);
+		buffer.get(buf, 0, buffered);
+		int offset = buffered;
+		int length = buf.length - buffered;
 		while (length > 0) {
 			int n = in.read(buf, offset, length);
 			if (n < 0)
-				throw new EOFException("Expected " + startLength + " bytes, but could only read " + (startLength - length));
+				throw new EOFException("Expected " + buf.length + " bytes, but could only read " + (buf.length - length));
 			offset += n;
 			length -= n;
 		}
@@ -89,7 +119,8 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private short readShort() throws IOException {
-		return (short) (read() << 8 | read());
+		ensure(Short.BYTES);
+		return buffer.getShort();
 	}
 	
 	private short readUnsignedShort() throws IOException {
@@ -100,24 +131,21 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private int readInt() throws IOException {
-		return read() << 24
-				| read() << 16
-				| read() << 8
-				| read();
+		ensure(Integer.BYTES);
+		return buffer.getInt();
 	}
 	
 	private int readUnsignedInt() throws IOException {
 		int b = read();
 		if ((b & 0x80) != 0)
 			return (b & ~0x80) << 8 | read();
-		return b << 24 | read() << 16 | read() << 8 | read();
+		ensure(3);
+		return b << 24 | (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
 	}
 	
 	private long readLong() throws IOException {
-		return (long) in.read() << 56 | (long) in.read() << 48
-				| (long) in.read() << 40 | (long) in.read() << 32
-				| (long) in.read() << 24 | (long) in.read() << 16
-				| (long) in.read() << 8 | read();
+		ensure(Long.BYTES);
+		return buffer.getLong();
 	}
 	
 	private float readFloat() throws IOException {
@@ -266,10 +294,14 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	@Override
 	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
 		try {
 			read();
-			throw new StreamCorruptedException("Stream still has data, at least " + (1 + in.available()) + " bytes remain");
+			throw new StreamCorruptedException("Stream still has data, at least " + (1 + buffer.remaining() + in.available()) + " bytes remain");
 		} catch (EOFException ignored) {} finally {
+			StreamBuffers.release(buffer);
 			in.close();
 		}
 	}
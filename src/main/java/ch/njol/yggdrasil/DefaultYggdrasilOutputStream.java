@@ -2,6 +2,7 @@ package ch.njol.yggdrasil;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,6 +17,12 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	private final OutputStream out;
 	private final short version;
 	
+	/**
+	 * Collects small writes before passing them to {@link #out} at once.
+	 */
+	private final ByteBuffer buffer = StreamBuffers.acquire();
+	private boolean closed = false;
+	
 	public DefaultYggdrasilOutputStream(Yggdrasil yggdrasil, OutputStream out) throws IOException {
 		super(yggdrasil);
 		this.out = out;
@@ -24,13 +31,39 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 		writeShort(version);
 	}
 	
+	/**
+	 * Makes sure that the buffer has room for the given amount of bytes, writing its contents to the stream if necessary.
+	 */
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes)
+			drain();
+	}
+	
+	private void drain() throws IOException {
+		if (buffer.position() > 0) {
+			out.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+	}
+	
 	private void write(int b) throws IOException {
-		out.write(b);
+		ensure(1);
+		buffer.put((byte) b);
+	}
+	
+	private void write(byte[] bytes) throws IOException {
+		if (bytes.length > buffer.capacity() / 2) {
+			drain();
+			out.write(bytes);
+			return;
+		}
+		ensure(bytes.length);
+		buffer.put(bytes);
 	}
 	
 	@Override
 	protected void writeTag(Tag tag) throws IOException {
-		out.write(tag.tag);
+		write(tag.tag);
 	}
 	
 	private final Map<String, Integer> writtenShortStrings = new HashMap<>();
@@ -53,7 +86,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 			if (d.length >= (T_REFERENCE.tag & 0xFF))
 				throw new YggdrasilException("Field name or Class ID too long: " + string);
 			write(d.length);
-			out.write(d);
+			write(d);
 			if (d.length > 4)
 				writtenShortStrings.put(string, nextShortStringID++);
 		}
@@ -64,8 +97,8 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeShort(short s) throws IOException {
-		write((s >>> 8) & 0xFF);
-		write(s & 0xFF);
+		ensure(Short.BYTES);
+		buffer.putShort(s);
 	}
 	
 	private void writeUnsignedShort(short s) throws IOException {
@@ -77,10 +110,8 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeInt(int i) throws IOException {
-		write((i >>> 24) & 0xFF);
-		write((i >>> 16) & 0xFF);
-		write((i >>> 8) & 0xFF);
-		write(i & 0xFF);
+		ensure(Integer.BYTES);
+		buffer.putInt(i);
 	}
 	
 	private void writeUnsignedInt(int i) throws IOException {
@@ -92,14 +123,8 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	}
 	
 	private void writeLong(long l) throws IOException {
-		write((int) ((l >>> 56) & 0xFF));
-		write((int) ((l >>> 48) & 0xFF));
-		write((int) ((l >>> 40) & 0xFF));
-		write((int) ((l >>> 32) & 0xFF));
-		write((int) ((l >>> 24) & 0xFF));
-		write((int) ((l >>> 16) & 0xFF));
-		write((int) ((l >>> 8) & 0xFF));
-		write((int) (l & 0xFF));
+		ensure(Long.BYTES);
+		buffer.putLong(l);
 	}
 	
 	private void writeFloat(float f) throws IOException {
@@ -160,7 +185,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	protected void writeStringValue(String string) throws IOException {
 		byte[] d = string.getBytes(StandardCharsets.UTF_8);
 		writeUnsignedInt(d.length);
-		out.write(d);
+		write(d);
 	}
 	
 	@Override
@@ -256,12 +281,21 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	@Override
 	public void flush() throws IOException {
+		drain();
 		out.flush();
 	}
 	
 	@Override
 	public void close() throws IOException {
-		out.close();
+		if (closed)
+			return;
+		closed = true;
+		try {
+			drain();
+		} finally {
+			StreamBuffers.release(buffer);
+			out.close();
+		}
 	}
 	
 }
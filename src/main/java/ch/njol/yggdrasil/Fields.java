@@ -7,6 +7,9 @@ import org.jetbrains.annotations.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.NotSerializableException;
 import java.io.StreamCorruptedException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -15,6 +18,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,6 +48,12 @@ public final class Fields implements Iterable<FieldContext> {
 			value = field.get(object);
 			isPrimitiveValue = field.getType().isPrimitive();
 		}
+
+		FieldContext(FieldAccessor accessor, Object object) throws IllegalAccessException {
+			id = accessor.id;
+			value = accessor.get(object);
+			isPrimitiveValue = accessor.primitive;
+		}
 		
 		public String getID() {
 			return id;
@@ -112,6 +122,11 @@ public final class Fields implements Iterable<FieldContext> {
 		}
 		
 		public void setField(Object object, Field field, Yggdrasil yggdrasil) throws StreamCorruptedException {
+			setField(object, new FieldAccessor(field, false), yggdrasil);
+		}
+
+		private void setField(Object object, FieldAccessor accessor, Yggdrasil yggdrasil) throws StreamCorruptedException {
+			Field field = accessor.field;
 			if (Modifier.isStatic(field.getModifiers()))
 				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is static");
 			if (Modifier.isTransient(field.getModifiers()))
@@ -119,8 +134,7 @@ public final class Fields implements Iterable<FieldContext> {
 			if (field.getType().isPrimitive() != isPrimitiveValue)
 				throw new StreamCorruptedException("The field " + id + " of " + field.getDeclaringClass() + " is " + (field.getType().isPrimitive() ? "" : "not ") + "primitive");
 			try {
-				field.setAccessible(true);
-				field.set(object, value);
+				accessor.set(object, value);
 			} catch (IllegalArgumentException e) {
 				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).incompatibleField(field, this))
 					yggdrasil.incompatibleField(object, field, this);
@@ -174,10 +188,8 @@ public final class Fields implements Iterable<FieldContext> {
 	 */
 	public Fields(Class<?> type, Yggdrasil yggdrasil) throws NotSerializableException {
 		this.yggdrasil = yggdrasil;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			fields.put(id, new FieldContext(id));
+		for (FieldAccessor accessor : getPlan(type)) {
+			fields.put(accessor.id, new FieldContext(accessor.id));
 		}
 	}
 	
@@ -205,17 +217,135 @@ public final class Fields implements Iterable<FieldContext> {
 		this.yggdrasil = yggdrasil;
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
+		FieldAccessor[] plan = getPlan(type);
+		for (FieldAccessor accessor : plan) {
 			try {
-				fields.put(Yggdrasil.getID(field), new FieldContext(field, object));
+				fields.put(accessor.id, new FieldContext(accessor, object));
 			} catch (IllegalArgumentException | IllegalAccessException e) {
 				assert false;
 			}
 		}
 	}
-	
-	private static final Map<Class<?>, Collection<Field>> cache = new HashMap<>();
+
+	/**
+	 * The serialisation plan of every class, i.e. accessors for all of its serializable fields.
+	 * Plans are created once per class, as finding the fields and their IDs is rather slow.
+	 */
+	private static final ClassValue<Plan> plans = new ClassValue<>() {
+		@Override
+		protected Plan computeValue(Class<?> type) {
+			return Plan.of(type);
+		}
+	};
+
+	/**
+	 * The serializable fields of a class, or the reason why the class cannot be serialized using its fields.
+	 */
+	private record Plan(FieldAccessor[] accessors, Collection<Field> fields, @Nullable String error) {
+
+		private static Plan of(Class<?> type) {
+			List<FieldAccessor> accessors = new ArrayList<>();
+			List<Field> fields = new ArrayList<>();
+			Set<String> ids = new HashSet<>();
+			for (Class<?> superClass = type; superClass != null; superClass = superClass.getSuperclass()) {
+				Field[] declaredFields = superClass.getDeclaredFields();
+				for (Field field : declaredFields) {
+					int modifiers = field.getModifiers();
+					if (field.isSynthetic() || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+						continue;
+					String id = Yggdrasil.getID(field);
+					if (ids.contains(id))
+						return new Plan(new FieldAccessor[0], List.of(), type + "/" + superClass + ": duplicate field id '" + id + "'");
+					field.setAccessible(true);
+					accessors.add(new FieldAccessor(field, true));
+					fields.add(field);
+					ids.add(id);
+				}
+			}
+			return new Plan(accessors.toArray(new FieldAccessor[0]), Collections.unmodifiableCollection(fields), null);
+		}
+
+	}
+
+	private static FieldAccessor[] getPlan(Class<?> type) throws NotSerializableException {
+		Plan plan = plans.get(type);
+		if (plan.error != null)
+			throw new NotSerializableException(plan.error);
+		return plan.accessors;
+	}
+
+	/**
+	 * Reads and writes a single field through method handles, which can be optimised much better than reflection.
+	 * Falls back to reflection if no method handles can be created for the field, e.g. if it is final
+	 * or its class is not open to Yggdrasil.
+	 */
+	private static final class FieldAccessor {
+
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+		private final Field field;
+		private final String id;
+		private final boolean primitive;
+		private final @Nullable MethodHandle getter;
+		private final @Nullable MethodHandle setter;
+
+		private FieldAccessor(Field field, boolean useHandles) {
+			this.field = field;
+			this.id = Yggdrasil.getID(field);
+			this.primitive = field.getType().isPrimitive();
+			MethodHandle getter = null;
+			MethodHandle setter = null;
+			if (useHandles && !Modifier.isStatic(field.getModifiers())) {
+				try {
+					field.setAccessible(true);
+					MethodHandles.Lookup lookup = MethodHandles.lookup();
+					getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+					if (!Modifier.isFinal(field.getModifiers()))
+						setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+				} catch (IllegalAccessException | RuntimeException ignored) {
+					// use reflection instead
+				}
+			}
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		private Object get(Object object) throws IllegalAccessException {
+			MethodHandle getter = this.getter;
+			if (getter == null)
+				return field.get(object);
+			try {
+				return (Object) getter.invokeExact(object);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new YggdrasilException(e);
+			}
+		}
+
+		/**
+		 * @throws IllegalArgumentException If the value cannot be assigned to the field
+		 */
+		private void set(Object object, @Nullable Object value) throws IllegalAccessException {
+			MethodHandle setter = this.setter;
+			if (setter != null) {
+				try {
+					setter.invokeExact(object, value);
+					return;
+				} catch (ClassCastException | NullPointerException e) {
+					// let reflection decide whether the value is compatible, e.g. as it allows widening primitives
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new YggdrasilException(e);
+				}
+			}
+			field.setAccessible(true);
+			field.set(object, value);
+		}
+
+	}
 	
 	/**
 	 * Gets all serializable fields of the provided class, including superclasses.
@@ -226,28 +356,10 @@ public final class Fields implements Iterable<FieldContext> {
 	 *                                  field with the same name as a field in one of its superclasses)
 	 */
 	public static Collection<Field> getFields(Class<?> type) throws NotSerializableException {
-		Collection<Field> fields = cache.get(type);
-		if (fields != null)
-			return fields;
-		fields = new ArrayList<>();
-		Set<String> ids = new HashSet<>();
-		for (Class<?> superClass = type; superClass != null; superClass = superClass.getSuperclass()) {
-			Field[] declaredFields = superClass.getDeclaredFields();
-			for (Field field : declaredFields) {
-				int modifiers = field.getModifiers();
-				if (field.isSynthetic() || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
-					continue;
-				String id = Yggdrasil.getID(field);
-				if (ids.contains(id))
-					throw new NotSerializableException(type + "/" + superClass + ": duplicate field id '" + id + "'");
-				field.setAccessible(true);
-				fields.add(field);
-				ids.add(id);
-			}
-		}
-		fields = Collections.unmodifiableCollection(fields);
-		cache.put(type, fields);
-		return fields;
+		Plan plan = plans.get(type);
+		if (plan.error != null)
+			throw new NotSerializableException(plan.error);
+		return plan.fields;
 	}
 	
 	/**
@@ -263,15 +375,13 @@ public final class Fields implements Iterable<FieldContext> {
 		Set<FieldContext> excessive = new HashSet<>(fields.values());
 		Class<?> type = object.getClass();
 		assert type != null;
-		for (Field field : getFields(type)) {
-			assert field != null;
-			String id = Yggdrasil.getID(field);
-			FieldContext context = fields.get(id);
+		for (FieldAccessor accessor : getPlan(type)) {
+			FieldContext context = fields.get(accessor.id);
 			if (context == null) {
-				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).missingField(field))
-					yggdrasil.missingField(object, field);
+				if (!(object instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) object).missingField(accessor.field))
+					yggdrasil.missingField(object, accessor.field);
 			} else {
-				context.setField(object, field, yggdrasil);
+				context.setField(object, accessor, yggdrasil);
 			}
 			excessive.remove(context);
 		}
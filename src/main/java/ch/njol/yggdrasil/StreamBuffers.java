@@ -0,0 +1,48 @@
+package ch.njol.yggdrasil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides the buffers used by {@link DefaultYggdrasilInputStream} and {@link DefaultYggdrasilOutputStream}.
+ * <p>
+ * Every thread keeps one buffer that is reused by all streams it opens,
+ * as variables are usually (de)serialised one after another in large numbers.
+ * If the buffer of the thread is already in use, e.g. by a stream that is nested into another one,
+ * a new buffer is created instead.
+ */
+final class StreamBuffers {
+
+	/**
+	 * The size of the buffers. This is large enough to hold most variables entirely.
+	 */
+	static final int BUFFER_SIZE = 8192;
+
+	private static final ThreadLocal<StreamBuffers> BUFFERS = ThreadLocal.withInitial(StreamBuffers::new);
+
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private boolean inUse;
+
+	private StreamBuffers() {}
+
+	/**
+	 * Gets an empty buffer that must be {@link #release(ByteBuffer) released} once the stream is closed.
+	 * The buffer uses big-endian byte order, just like Yggdrasil itself.
+	 */
+	static ByteBuffer acquire() {
+		StreamBuffers buffers = BUFFERS.get();
+		if (buffers.inUse)
+			return ByteBuffer.allocate(BUFFER_SIZE);
+		buffers.inUse = true;
+		return buffers.buffer.clear();
+	}
+
+	/**
+	 * Makes the given buffer available to the next stream of this thread. Must be called at most once per buffer.
+	 */
+	static void release(ByteBuffer buffer) {
+		StreamBuffers buffers = BUFFERS.get();
+		if (buffers.buffer == buffer)
+			buffers.inUse = false;
+	}
+
+}
@@ -9,6 +9,7 @@ import ch.njol.skript.classes.Parser;
 import ch.njol.skript.classes.Serializer;
 import ch.njol.skript.expressions.base.EventValueExpression;
 import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.util.BlockBatch;
 import ch.njol.skript.util.BlockUtils;
 import ch.njol.util.coll.CollectionUtils;
 import ch.njol.yggdrasil.Fields;
@@ -171,6 +172,10 @@ public class BlockClassInfo extends ClassInfo<Block> {
 
 		@Override
 		public void change(Block[] blocks, Object @Nullable [] delta, ChangeMode mode) {
+			if (mode == ChangeMode.SET || mode == ChangeMode.DELETE) {
+				if (BlockBatch.set(blocks, mode == ChangeMode.SET && delta != null ? delta[0] : null))
+					return;
+			}
 			for (Block block : blocks) {
 				assert block != null;
 				switch (mode) {
@@ -1,6 +1,7 @@
 package org.skriptlang.skript.bukkit.base.types;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.InventorySnapshot;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.bukkitutil.InventoryUtils;
 import ch.njol.skript.classes.Changer;
@@ -190,20 +191,30 @@ public class InventoryClassInfo extends ClassInfo<Inventory> {
 						}
 
 						// Slow path
+						// item types are removed from a shared snapshot, so that the inventory is only written once
+						InventorySnapshot snapshot = null;
 						for (Object d : delta) {
 							if (d instanceof Inventory itemStacks) {
 								assert mode == ChangeMode.REMOVE;
+								if (snapshot != null) {
+									snapshot.apply();
+									snapshot = null;
+								}
 								for (ItemStack itemStack : itemStacks) {
 									if (itemStack != null)
 										inventory.removeItem(itemStack);
 								}
 							} else {
+								if (snapshot == null)
+									snapshot = InventorySnapshot.of(inventory);
 								if (mode == ChangeMode.REMOVE)
-									((ItemType) d).removeFrom(inventory);
+									snapshot.remove((ItemType) d);
 								else
-									((ItemType) d).removeAll(inventory);
+									snapshot.removeAll((ItemType) d);
 							}
 						}
+						if (snapshot != null)
+							snapshot.apply();
 						break;
 					case RESET:
 						assert false;
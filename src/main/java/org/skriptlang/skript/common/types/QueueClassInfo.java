@@ -14,6 +14,7 @@ import org.jetbrains.annotations.Nullable;
 import org.skriptlang.skript.lang.properties.Property;
 import org.skriptlang.skript.lang.properties.PropertyHandler.ConditionPropertyHandler;
 import org.skriptlang.skript.lang.properties.PropertyHandler.ExpressionPropertyHandler;
+import org.skriptlang.skript.lang.util.ConcurrentSkriptQueue;
 import org.skriptlang.skript.lang.util.SkriptQueue;
 
 import java.io.StreamCorruptedException;
@@ -106,9 +107,19 @@ public class QueueClassInfo extends ClassInfo<SkriptQueue> {
 		public Fields serialize(SkriptQueue queue) {
 			Fields fields = new Fields();
 			fields.putObject("contents", queue.toArray());
+			fields.putPrimitive("concurrent", queue instanceof ConcurrentSkriptQueue);
 			return fields;
 		}
 
+		@Override
+		protected SkriptQueue deserialize(Fields fields) throws StreamCorruptedException {
+			// queues saved before concurrent queues existed don't have this field
+			boolean concurrent = fields.hasField("concurrent") && fields.getPrimitive("concurrent", Boolean.class);
+			SkriptQueue queue = concurrent ? new ConcurrentSkriptQueue() : new SkriptQueue();
+			deserialize(queue, fields);
+			return queue;
+		}
+
 		@Override
 		public void deserialize(SkriptQueue queue, Fields fields) throws StreamCorruptedException {
 			Object[] contents = fields.getObject("contents", Object[].class);
@@ -124,7 +135,7 @@ public class QueueClassInfo extends ClassInfo<SkriptQueue> {
 
 		@Override
 		protected boolean canBeInstantiated() {
-			return true;
+			return false;
 		}
 		//</editor-fold>
 	}
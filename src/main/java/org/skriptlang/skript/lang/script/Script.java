@@ -22,7 +22,7 @@ import java.util.function.Supplier;
  */
 public final class Script implements Validated, AnyNamed {
 
-	private final Config config;
+	private Config config;
 
 	private final List<Structure> structures;
 
@@ -53,6 +53,19 @@ public final class Script implements Validated, AnyNamed {
 		return Collections.unmodifiableList(structures);
 	}
 
+	/**
+	 * Replaces the contents of this Script after only some of its Structures have been reloaded.
+	 * The Structures that were kept loaded must be contained in the new list.
+	 * @param config The Config containing the new contents of this Script.
+	 * @param structures The list of Structures now contained in this Script.
+	 */
+	@ApiStatus.Internal
+	public void update(Config config, List<Structure> structures) {
+		this.config = config;
+		this.structures.clear();
+		this.structures.addAll(structures);
+	}
+
 	// Warning Suppressions
 
 	private final Set<ScriptWarning> suppressedWarnings = new HashSet<>(ScriptWarning.values().length);
@@ -177,6 +177,16 @@ public abstract class Structure implements SyntaxElement, Debuggable {
 		return DEFAULT_PRIORITY;
 	}
 
+	/**
+	 * Whether this Structure changes how the other Structures of its script are parsed, e.g. by defining options.
+	 * When such a Structure is changed, added or removed, its script is always reloaded entirely,
+	 *  even if only the changed Structures of a script would be reloaded otherwise.
+	 * @return Whether this Structure affects the parsing of its whole script. By default, this is false.
+	 */
+	public boolean affectsWholeScript() {
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return toString(null, false);
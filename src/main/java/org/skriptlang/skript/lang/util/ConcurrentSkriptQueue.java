@@ -0,0 +1,323 @@
+package org.skriptlang.skript.lang.util;
+
+import com.google.common.collect.Lists;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A {@link SkriptQueue} that may be used by multiple threads at once, e.g. a queue that async triggers add jobs to,
+ * which are then polled by a sync trigger.
+ * <p>
+ * Every operation locks the whole queue. As adding and polling elements only takes constant time,
+ * the lock is only held very briefly, even if many threads use the queue.
+ * Iterators and sublists are snapshots of the queue at the time they were created, which can't be used to modify the queue.
+ */
+public class ConcurrentSkriptQueue extends SkriptQueue {
+
+	@Override
+	public synchronized int size() {
+		return super.size();
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return super.isEmpty();
+	}
+
+	@Override
+	public synchronized Object get(int index) {
+		return super.get(index);
+	}
+
+	@Override
+	public synchronized Object set(int index, Object element) {
+		return super.set(index, element);
+	}
+
+	@Override
+	public synchronized boolean add(Object element) {
+		return super.add(element);
+	}
+
+	@Override
+	public synchronized void add(int index, Object element) {
+		super.add(index, element);
+	}
+
+	@Override
+	public synchronized void addFirst(Object element) {
+		super.addFirst(element);
+	}
+
+	@Override
+	public synchronized void addLast(Object element) {
+		super.addLast(element);
+	}
+
+	@Override
+	public synchronized boolean offerFirst(Object element) {
+		return super.offerFirst(element);
+	}
+
+	@Override
+	public synchronized boolean offerLast(Object element) {
+		return super.offerLast(element);
+	}
+
+	@Override
+	public synchronized boolean offer(Object element) {
+		return super.offer(element);
+	}
+
+	@Override
+	public synchronized void push(Object element) {
+		super.push(element);
+	}
+
+	@Override
+	public synchronized boolean addAll(Collection<?> collection) {
+		return super.addAll(collection);
+	}
+
+	@Override
+	public synchronized boolean addAll(int index, Collection<?> collection) {
+		return super.addAll(index, collection);
+	}
+
+	@Override
+	public synchronized Object remove(int index) {
+		return super.remove(index);
+	}
+
+	@Override
+	protected synchronized void removeRange(int fromIndex, int toIndex) {
+		super.removeRange(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized @Nullable Object pollFirst() {
+		return super.pollFirst();
+	}
+
+	@Override
+	public synchronized @Nullable Object pollLast() {
+		return super.pollLast();
+	}
+
+	@Override
+	public synchronized @Nullable Object poll() {
+		return super.poll();
+	}
+
+	@Override
+	public synchronized Object removeFirst() {
+		return super.removeFirst();
+	}
+
+	@Override
+	public synchronized Object removeLast() {
+		return super.removeLast();
+	}
+
+	@Override
+	public synchronized Object remove() {
+		return super.remove();
+	}
+
+	@Override
+	public synchronized Object pop() {
+		return super.pop();
+	}
+
+	@Override
+	public synchronized @Nullable Object peekFirst() {
+		return super.peekFirst();
+	}
+
+	@Override
+	public synchronized @Nullable Object peekLast() {
+		return super.peekLast();
+	}
+
+	@Override
+	public synchronized @Nullable Object peek() {
+		return super.peek();
+	}
+
+	@Override
+	public synchronized Object getFirst() {
+		return super.getFirst();
+	}
+
+	@Override
+	public synchronized Object getLast() {
+		return super.getLast();
+	}
+
+	@Override
+	public synchronized Object element() {
+		return super.element();
+	}
+
+	@Override
+	public synchronized boolean contains(Object o) {
+		return super.contains(o);
+	}
+
+	@Override
+	public synchronized boolean containsAll(Collection<?> collection) {
+		return super.containsAll(collection);
+	}
+
+	@Override
+	public synchronized int indexOf(Object o) {
+		return super.indexOf(o);
+	}
+
+	@Override
+	public synchronized int lastIndexOf(Object o) {
+		return super.lastIndexOf(o);
+	}
+
+	@Override
+	public synchronized boolean remove(Object o) {
+		return super.remove(o);
+	}
+
+	@Override
+	public synchronized boolean removeFirstOccurrence(Object o) {
+		return super.removeFirstOccurrence(o);
+	}
+
+	@Override
+	public synchronized boolean removeLastOccurrence(Object o) {
+		return super.removeLastOccurrence(o);
+	}
+
+	@Override
+	public synchronized boolean removeAll(Collection<?> collection) {
+		return super.removeAll(collection);
+	}
+
+	@Override
+	public synchronized boolean retainAll(Collection<?> collection) {
+		return super.retainAll(collection);
+	}
+
+	@Override
+	public synchronized boolean removeIf(Predicate<? super Object> filter) {
+		return super.removeIf(filter);
+	}
+
+	@Override
+	public synchronized void clear() {
+		super.clear();
+	}
+
+	@Override
+	public synchronized @NotNull Object @NotNull [] toArray() {
+		return super.toArray();
+	}
+
+	@Override
+	public synchronized <T> T[] toArray(T[] array) {
+		return super.toArray(array);
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		return snapshot().iterator();
+	}
+
+	@Override
+	public ListIterator<Object> listIterator() {
+		return snapshot().listIterator();
+	}
+
+	@Override
+	public ListIterator<Object> listIterator(int index) {
+		return snapshot().listIterator(index);
+	}
+
+	@Override
+	public Iterator<Object> descendingIterator() {
+		return Lists.reverse(snapshot()).iterator();
+	}
+
+	@Override
+	public List<Object> subList(int fromIndex, int toIndex) {
+		return snapshot().subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized SkriptQueue reversed() {
+		return super.reversed();
+	}
+
+	@Override
+	public synchronized Object removeSafely(int i) {
+		return super.removeSafely(i);
+	}
+
+	@Override
+	public synchronized Object[] removeRangeSafely(int fromIndex, int toIndex) {
+		return super.removeRangeSafely(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized Object[] pollFirst(int count) {
+		return super.pollFirst(count);
+	}
+
+	@Override
+	public synchronized int drainTo(Collection<Object> target) {
+		return super.drainTo(target);
+	}
+
+	@Override
+	public synchronized boolean equals(Object o) {
+		return super.equals(o);
+	}
+
+	@Override
+	public synchronized int hashCode() {
+		return super.hashCode();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return super.toString();
+	}
+
+	@Override
+	public Iterator<Object> containerIterator() {
+		// other threads may empty the queue between checking and polling it
+		return new Iterator<>() {
+			private @Nullable Object next;
+
+			@Override
+			public boolean hasNext() {
+				if (next == null)
+					next = pollFirst();
+				return next != null;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				Object next = this.next;
+				this.next = null;
+				return next;
+			}
+		};
+	}
+
+	private List<Object> snapshot() {
+		return Collections.unmodifiableList(Arrays.asList(toArray()));
+	}
+
+}
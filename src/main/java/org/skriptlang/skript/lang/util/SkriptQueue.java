@@ -3,66 +3,457 @@ package org.skriptlang.skript.lang.util;
 import ch.njol.skript.lang.util.common.AnyAmount;
 import ch.njol.skript.util.Container;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * A queue of elements.
  * Elements will only be added to the queue if they are not null, with nothing happening if the elements are null.
+ * <p>
+ * The elements are stored in a growable ring buffer, so adding and removing elements at either end of the queue,
+ * as well as accessing elements by their index, takes constant time. Removing elements from the middle of the queue
+ * only moves the elements on the shorter side of the removed elements.
+ * <p>
+ * This class is not thread-safe. Use a {@link ConcurrentSkriptQueue} for queues that are used by multiple threads.
  */
 @Container.ContainerType(Object.class)
-public class SkriptQueue extends LinkedList<@NotNull Object>
-	implements Deque<Object>, Queue<Object>, AnyAmount, Container<Object> {
+public class SkriptQueue extends AbstractList<@NotNull Object>
+	implements Deque<Object>, Queue<Object>, RandomAccess, AnyAmount, Container<Object> {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The ring buffer, whose length is always a power of two.
+	 */
+	private Object[] elements = new Object[INITIAL_CAPACITY];
+
+	/**
+	 * The position of the first element in {@link #elements}.
+	 */
+	private int head;
+
+	private int size;
+
+	/**
+	 * @return The position of the element at the given index in {@link #elements}.
+	 */
+	private int position(int index) {
+		return (head + index) & (elements.length - 1);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= elements.length)
+			return;
+		if (capacity > 1 << 30)
+			throw new IllegalStateException("Queue is too large");
+		int length = Integer.highestOneBit(capacity - 1) << 1;
+		elements = copyElements(new Object[length]);
+		head = 0;
+	}
+
+	/**
+	 * Copies all elements in order to the start of the given array.
+	 */
+	private Object[] copyElements(Object[] array) {
+		int firstPart = Math.min(size, elements.length - head);
+		System.arraycopy(elements, head, array, 0, firstPart);
+		System.arraycopy(elements, 0, array, firstPart, size - firstPart);
+		return array;
+	}
+
+	/**
+	 * Moves the elements from {@code from} (inclusive) to {@code to} (exclusive) by the given distance,
+	 * which may be negative. The elements are moved one by one in the right order, so the ranges may overlap.
+	 */
+	private void move(int from, int to, int distance) {
+		if (distance > 0) {
+			for (int i = to - 1; i >= from; i--)
+				elements[position(i + distance)] = elements[position(i)];
+		} else {
+			for (int i = from; i < to; i++)
+				elements[position(i + distance)] = elements[position(i)];
+		}
+	}
+
+	/**
+	 * Opens a gap of {@code count} free indices at the given index, by moving the shorter side of the queue.
+	 */
+	private void openGap(int index, int count) {
+		ensureCapacity(size + count);
+		if (index < size - index) {
+			head = (head - count) & (elements.length - 1);
+			move(count, count + index, -count);
+		} else {
+			move(index, size, count);
+		}
+		size += count;
+		modCount++;
+	}
+
+	/**
+	 * Removes the elements from {@code from} (inclusive) to {@code to} (exclusive), by moving the shorter side of the queue.
+	 */
+	private void closeGap(int from, int to) {
+		int count = to - from;
+		if (count <= 0)
+			return;
+		if (from < size - to) {
+			move(0, from, count);
+			for (int i = 0; i < count; i++)
+				elements[position(i)] = null;
+			head = position(count);
+		} else {
+			move(to, size, -count);
+			for (int i = size - count; i < size; i++)
+				elements[position(i)] = null;
+		}
+		size -= count;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public Object get(int index) {
+		Objects.checkIndex(index, size);
+		return elements[position(index)];
+	}
+
+	@Override
+	public Object set(int index, Object element) {
+		if (element == null)
+			return null;
+		Objects.checkIndex(index, size);
+		int position = position(index);
+		Object old = elements[position];
+		elements[position] = element;
+		return old;
+	}
 
 	@Override
 	public boolean add(Object element) {
 		if (element == null)
 			return false;
-		return super.add(element);
+		addLast(element);
+		return true;
 	}
 
 	@Override
 	public void add(int index, Object element) {
-		if (element != null)
-			super.add(index, element);
+		if (element == null)
+			return;
+		Objects.checkIndex(index, size + 1);
+		openGap(index, 1);
+		elements[position(index)] = element;
 	}
 
 	@Override
 	public void addFirst(Object element) {
-		if (element != null)
-			super.addFirst(element);
+		if (element == null)
+			return;
+		ensureCapacity(size + 1);
+		head = (head - 1) & (elements.length - 1);
+		elements[head] = element;
+		size++;
+		modCount++;
 	}
 
 	@Override
 	public void addLast(Object element) {
-		if (element != null)
-			super.addLast(element);
+		if (element == null)
+			return;
+		ensureCapacity(size + 1);
+		elements[position(size)] = element;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public boolean offerFirst(Object element) {
+		addFirst(element);
+		return element != null;
+	}
+
+	@Override
+	public boolean offerLast(Object element) {
+		addLast(element);
+		return element != null;
+	}
+
+	@Override
+	public boolean offer(Object element) {
+		return offerLast(element);
+	}
+
+	@Override
+	public void push(Object element) {
+		addFirst(element);
+	}
+
+	@Override
+	public boolean addAll(Collection<?> collection) {
+		return addAll(size, collection);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<?> collection) {
+		Objects.checkIndex(index, size + 1);
+		Object[] added = collection.stream()
+			.filter(Objects::nonNull)
+			.toArray();
+		if (added.length == 0)
+			return false;
+		openGap(index, added.length);
+		for (int i = 0; i < added.length; i++)
+			elements[position(index + i)] = added[i];
+		return true;
+	}
+
+	@Override
+	public Object remove(int index) {
+		Objects.checkIndex(index, size);
+		Object element = elements[position(index)];
+		closeGap(index, index + 1);
+		return element;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		closeGap(fromIndex, toIndex);
+	}
+
+	@Override
+	public @Nullable Object pollFirst() {
+		if (size == 0)
+			return null;
+		Object element = elements[head];
+		elements[head] = null;
+		head = position(1);
+		size--;
+		modCount++;
+		return element;
+	}
+
+	@Override
+	public @Nullable Object pollLast() {
+		if (size == 0)
+			return null;
+		int position = position(size - 1);
+		Object element = elements[position];
+		elements[position] = null;
+		size--;
+		modCount++;
+		return element;
+	}
+
+	@Override
+	public @Nullable Object poll() {
+		return pollFirst();
+	}
+
+	@Override
+	public Object removeFirst() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return pollFirst();
+	}
+
+	@Override
+	public Object removeLast() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return pollLast();
+	}
+
+	@Override
+	public Object remove() {
+		return removeFirst();
+	}
+
+	@Override
+	public Object pop() {
+		return removeFirst();
+	}
+
+	@Override
+	public @Nullable Object peekFirst() {
+		return size == 0 ? null : elements[head];
+	}
+
+	@Override
+	public @Nullable Object peekLast() {
+		return size == 0 ? null : elements[position(size - 1)];
+	}
+
+	@Override
+	public @Nullable Object peek() {
+		return peekFirst();
+	}
+
+	@Override
+	public Object getFirst() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return elements[head];
+	}
+
+	@Override
+	public Object getLast() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return elements[position(size - 1)];
+	}
+
+	@Override
+	public Object element() {
+		return getFirst();
 	}
 
 	@Override
 	public boolean contains(Object o) {
 		if (o == null)
 			return false;
-		return super.contains(o);
+		return indexOf(o) != -1;
 	}
 
 	@Override
-	public Object set(int index, Object element) {
-		if (element == null)
-			return null;
-		return super.set(index, element);
+	public int indexOf(Object o) {
+		if (o == null)
+			return -1;
+		for (int i = 0; i < size; i++) {
+			if (o.equals(elements[position(i)]))
+				return i;
+		}
+		return -1;
 	}
 
 	@Override
-	public boolean addAll(int index, Collection<?> list) {
-		List<?> copy = new ArrayList<>(list);
-		copy.removeIf(Objects::isNull);
-		return super.addAll(index, copy);
+	public int lastIndexOf(Object o) {
+		if (o == null)
+			return -1;
+		for (int i = size - 1; i >= 0; i--) {
+			if (o.equals(elements[position(i)]))
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return removeFirstOccurrence(o);
+	}
+
+	@Override
+	public boolean removeFirstOccurrence(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean removeLastOccurrence(Object o) {
+		int index = lastIndexOf(o);
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> collection) {
+		return removeIf(collection::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> collection) {
+		return removeIf(element -> !collection.contains(element));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Object> filter) {
+		// keeps the remaining elements in place, so removing many elements only moves every element once
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			Object element = elements[position(i)];
+			if (!filter.test(element))
+				elements[position(kept++)] = element;
+		}
+		if (kept == size)
+			return false;
+		for (int i = kept; i < size; i++)
+			elements[position(i)] = null;
+		size = kept;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		if (size == 0)
+			return;
+		for (int i = 0; i < size; i++)
+			elements[position(i)] = null;
+		head = 0;
+		size = 0;
+		modCount++;
 	}
 
 	@Override
 	public @NotNull Object @NotNull [] toArray() {
-		return super.toArray();
+		return copyElements(new Object[size]);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] array) {
+		if (array.length < size)
+			array = (T[]) java.lang.reflect.Array.newInstance(array.getClass().getComponentType(), size);
+		copyElements(array);
+		if (array.length > size)
+			array[size] = null;
+		return array;
+	}
+
+	@Override
+	public Iterator<Object> descendingIterator() {
+		ListIterator<Object> iterator = listIterator(size);
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasPrevious();
+			}
+
+			@Override
+			public Object next() {
+				return iterator.previous();
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	@Override
+	public SkriptQueue reversed() {
+		SkriptQueue reversed = new SkriptQueue();
+		reversed.ensureCapacity(size);
+		for (int i = size - 1; i >= 0; i--)
+			reversed.addLast(elements[position(i)]);
+		return reversed;
 	}
 
 	public Object removeSafely(int i) {
@@ -81,16 +472,36 @@ public class SkriptQueue extends LinkedList<@NotNull Object>
 	 * @return The removed entries
 	 */
 	public Object[] removeRangeSafely(int fromIndex, int toIndex) {
-		int from, to;
-		from = Math.min(this.size(), Math.min(fromIndex, toIndex));
-		to = Math.max(0, Math.max(fromIndex, toIndex));
-		ListIterator<Object> it = this.listIterator(from);
-		Object[] elements = new Object[to - from];
-		for (int i = 0, n = to - from; i < n; i++) {
-			elements[i] = it.next();
-			it.remove();
-		}
-		return elements;
+		int from = Math.max(0, Math.min(size, Math.min(fromIndex, toIndex)));
+		int to = Math.max(from, Math.min(size, Math.max(fromIndex, toIndex)));
+		Object[] removed = new Object[to - from];
+		for (int i = 0; i < removed.length; i++)
+			removed[i] = elements[position(from + i)];
+		closeGap(from, to);
+		return removed;
+	}
+
+	/**
+	 * Removes up to the given number of elements from the start of the queue.
+	 *
+	 * @param count The maximum number of elements to remove.
+	 * @return The removed elements, in the order of the queue.
+	 */
+	public Object[] pollFirst(int count) {
+		return removeRangeSafely(0, Math.max(count, 0));
+	}
+
+	/**
+	 * Removes all elements of the queue and adds them to the given collection.
+	 *
+	 * @param target The collection to add the elements to.
+	 * @return The number of elements that were removed.
+	 */
+	public int drainTo(Collection<Object> target) {
+		Object[] drained = toArray();
+		clear();
+		target.addAll(Arrays.asList(drained));
+		return drained.length;
 	}
 
 	@Override
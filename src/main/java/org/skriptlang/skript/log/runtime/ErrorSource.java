@@ -41,6 +41,19 @@ public record ErrorSource(
 		return new ErrorSource(element.getSyntaxTypeName(), elementName, node.getLine(), code, node.getConfig().getFileName());
 	}
 
+	/**
+	 * Gets the code location of a node, without creating a whole error source.
+	 * @param node The node to use for line number and script name.
+	 * @return The location matching the one of {@link #fromNodeAndElement(Node, SyntaxElement)}.
+	 */
+	public static @NotNull Location locationOf(@Nullable Node node) {
+		if (node == null)
+			return UNKNOWN_LOCATION;
+		return new Location(node.getConfig().getFileName(), node.getLine());
+	}
+
+	private static final Location UNKNOWN_LOCATION = new Location("-unknown-", 0);
+
 	/**
 	 * @return The code location (line number and script name) of the source of the error.
 	 *         Used for hash maps.
@@ -7,6 +7,8 @@ import org.skriptlang.skript.log.runtime.ErrorSource.Location;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Stores the accumulated runtime errors over a span of time, then prints them.
@@ -38,9 +40,11 @@ public final class Frame {
 
 	private final FrameLimit limits;
 
-	private int printed;
-	private final Map<Location, Integer> lineTotals;
-	private final Map<Location, Integer> lineSkipped;
+	/**
+	 * The counters of the current frame. Replaced as a whole when advancing to the next frame,
+	 * so that errors added concurrently never observe a partially cleared frame.
+	 */
+	private volatile Counters counters = new Counters();
 	private final Map<Location, Integer> timeouts;
 
 	/**
@@ -49,8 +53,6 @@ public final class Frame {
 	 */
 	public Frame(FrameLimit limits) {
 		this.limits = limits;
-		lineTotals = new ConcurrentHashMap<>();
-		lineSkipped = new ConcurrentHashMap<>();
 		timeouts = new ConcurrentHashMap<>();
 	}
 
@@ -60,24 +62,34 @@ public final class Frame {
 	 * @return Whether the error should be printed immediately.
 	 */
 	public boolean add(@NotNull RuntimeError error) {
-		Location location = error.source().location();
-		// increment counter
-		int lineTotal = lineTotals.compute(location, (key, count) -> (count == null ? 1 : count + 1));
+		return add(error.source().location());
+	}
+
+	/**
+	 * Adds an error from the given location to this frame.
+	 * This does not require the error itself, so that errors which will not be printed never have to be created.
+	 * @param location The location of the error to add.
+	 * @return Whether the error should be printed immediately.
+	 */
+	public boolean add(@NotNull Location location) {
+		Counters counters = this.counters;
+		LongAdder total = counters.lineTotals.computeIfAbsent(location, key -> new LongAdder());
+		total.increment();
 
 		// don't print if in timeout
 		if (timeouts.containsKey(location)) {
-			lineSkipped.compute(location, (key, count) -> (count == null ? 1 : count + 1));
+			counters.skip(location);
 			return false;
 		}
 
 		// decide whether to print
-		if (printed < limits.totalLimit && lineTotal <= limits.lineLimit) {
-			printed++;
+		long lineTotal = total.sum();
+		if (lineTotal <= limits.lineLimit && counters.tryPrint(limits.totalLimit)) {
 			return true;
 		} else {
-			lineSkipped.compute(location, (key, count) -> (count == null ? 1 : count + 1));
-			if (lineTotal == limits.lineTimeoutLimit) {
-				timeouts.put(location, limits.timeoutDuration);
+			counters.skip(location);
+			if (lineTotal >= limits.lineTimeoutLimit) {
+				timeouts.putIfAbsent(location, limits.timeoutDuration);
 			}
 			return false;
 		}
@@ -87,9 +99,7 @@ public final class Frame {
 	 * Advances the frame to the next frame, clearing all stored totals and decrementing timeout counters.
 	 */
 	public void nextFrame() {
-		printed = 0;
-		lineTotals.clear();
-		lineSkipped.clear();
+		counters = new Counters();
 		for (Iterator<Map.Entry<Location, Integer>> it = timeouts.entrySet().iterator(); it.hasNext(); ) {
 			Map.Entry<Location, Integer> entry = it.next();
 			if (entry.getValue() > 0) {
@@ -102,7 +112,7 @@ public final class Frame {
 
 	/**
 	 * Gets the output data for a frame.
-	 * Returned data contains unmodifiable views of frame data, which is not guaranteed to stay valid.
+	 * Returned data contains unmodifiable copies of the frame data at the time of calling this method.
 	 * @return The current output data of this frame.
 	 */
 	@Contract(" -> new")
@@ -114,11 +124,44 @@ public final class Frame {
 			}
 		}
 
+		Counters counters = this.counters;
 		return new FrameOutput(
-				Collections.unmodifiableMap(lineTotals),
-				Collections.unmodifiableMap(lineSkipped),
+				Collections.unmodifiableMap(snapshot(counters.lineTotals)),
+				Collections.unmodifiableMap(snapshot(counters.lineSkipped)),
 				Collections.unmodifiableSet(newTimeouts),
 				limits);
 	}
 
+	private static Map<Location, Integer> snapshot(Map<Location, LongAdder> counts) {
+		Map<Location, Integer> snapshot = new HashMap<>();
+		counts.forEach((location, count) -> snapshot.put(location, (int) Math.min(count.sum(), Integer.MAX_VALUE)));
+		return snapshot;
+	}
+
+	/**
+	 * The counters of a single frame. Counts use striped {@link LongAdder}s, as a single line
+	 * can produce errors from many threads at a very high rate.
+	 */
+	private static final class Counters {
+
+		private final AtomicInteger printed = new AtomicInteger();
+		private final Map<Location, LongAdder> lineTotals = new ConcurrentHashMap<>();
+		private final Map<Location, LongAdder> lineSkipped = new ConcurrentHashMap<>();
+
+		private boolean tryPrint(int totalLimit) {
+			int current;
+			do {
+				current = printed.get();
+				if (current >= totalLimit)
+					return false;
+			} while (!printed.compareAndSet(current, current + 1));
+			return true;
+		}
+
+		private void skip(Location location) {
+			lineSkipped.computeIfAbsent(location, key -> new LongAdder()).increment();
+		}
+
+	}
+
 }
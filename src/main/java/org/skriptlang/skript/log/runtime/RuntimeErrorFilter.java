@@ -1,6 +1,7 @@
 package org.skriptlang.skript.log.runtime;
 
 import org.jetbrains.annotations.NotNull;
+import org.skriptlang.skript.log.runtime.ErrorSource.Location;
 
 import java.util.logging.Level;
 
@@ -21,12 +22,12 @@ public class RuntimeErrorFilter {
 			new Frame.FrameLimit(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE)
 		) {
 			@Override
-			public boolean test(@NotNull RuntimeError error) {
+			public boolean test(@NotNull Level level, @NotNull Location location) {
 				return true;
 			}
 		};
 
-	private Frame errorFrame, warningFrame;
+	private volatile Frame errorFrame, warningFrame;
 
 	public RuntimeErrorFilter(Frame.FrameLimit errorFrameLimits, Frame.FrameLimit warningFrameLimits) {
 		this.errorFrame = new Frame(errorFrameLimits);
@@ -38,9 +39,20 @@ public class RuntimeErrorFilter {
 	 * @param error True if it should be printed, false if not.
 	 */
 	public boolean test(@NotNull RuntimeError error) {
+		return test(error.level(), error.source().location());
+	}
+
+	/**
+	 * Tests whether a runtime error of the given level from the given location should be printed or not.
+	 * This is what the {@link RuntimeErrorManager} uses, so that errors which are filtered out are never created.
+	 * @param level The level of the error.
+	 * @param location The location of the error.
+	 * @return True if it should be printed, false if not.
+	 */
+	public boolean test(@NotNull Level level, @NotNull Location location) {
 		// print if < limit
-		return (error.level() == Level.SEVERE && errorFrame.add(error))
-			|| (error.level() == Level.WARNING && warningFrame.add(error));
+		return (level == Level.SEVERE && errorFrame.add(location))
+			|| (level == Level.WARNING && warningFrame.add(location));
 	}
 
 	public void setErrorFrameLimits(Frame.FrameLimit limits) {
@@ -6,11 +6,14 @@ import ch.njol.skript.util.Task;
 import ch.njol.skript.util.Timespan;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.log.runtime.ErrorSource.Location;
 import org.skriptlang.skript.log.runtime.Frame.FrameLimit;
+import org.skriptlang.skript.log.runtime.Frame.FrameOutput;
 
 import java.io.Closeable;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
@@ -49,9 +52,12 @@ public class RuntimeErrorManager implements Closeable {
 		if (instance == null) {
 			instance = new RuntimeErrorManager(frameLength);
 		} else {
-			var oldMap = instance.filterMap;
+			RuntimeErrorManager old = instance;
+			old.close();
 			instance = new RuntimeErrorManager(frameLength);
-			instance.filterMap.putAll(oldMap);
+			synchronized (old.consumerLock) {
+				instance.groups = old.groups;
+			}
 		}
 
 		int errorLimit = SkriptConfig.runtimeErrorLimitTotal.value();
@@ -76,7 +82,13 @@ public class RuntimeErrorManager implements Closeable {
 
 	private final Task task;
 
-	private final Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> filterMap = new ConcurrentHashMap<>();
+	/**
+	 * The consumers grouped by their filter. This array is never modified, but replaced as a whole
+	 * whenever consumers are added or removed, so that emitting errors never has to lock.
+	 */
+	private volatile ConsumerGroup[] groups = new ConsumerGroup[0];
+
+	private final Object consumerLock = new Object();
 
 	/**
 	 * Creates a new error manager, which also creates its own frames.
@@ -89,19 +101,22 @@ public class RuntimeErrorManager implements Closeable {
 		task = new Task(Skript.getInstance(), frameLength, frameLength, true) {
 			@Override
 			public void run() {
-				for (var entry : filterMap.entrySet()) {
-					RuntimeErrorFilter filter = entry.getKey();
+				for (ConsumerGroup group : groups) {
+					RuntimeErrorFilter filter = group.filter();
 					if (filter == null)
 						continue;
-					Set<RuntimeErrorConsumer> consumers = entry.getValue();
 
 					Frame errorFrame = filter.getErrorFrame();
-					consumers.forEach(consumer -> consumer.printFrameOutput(errorFrame.getFrameOutput(), Level.SEVERE));
+					FrameOutput errorOutput = errorFrame.getFrameOutput();
 					errorFrame.nextFrame();
+					for (RuntimeErrorConsumer consumer : group.consumers())
+						consumer.printFrameOutput(errorOutput, Level.SEVERE);
 
-					Frame warningFrame = filter.getErrorFrame();
-					consumers.forEach(consumer -> consumer.printFrameOutput(warningFrame.getFrameOutput(), Level.WARNING));
+					Frame warningFrame = filter.getWarningFrame();
+					FrameOutput warningOutput = warningFrame.getFrameOutput();
 					warningFrame.nextFrame();
+					for (RuntimeErrorConsumer consumer : group.consumers())
+						consumer.printFrameOutput(warningOutput, Level.WARNING);
 				}
 			}
 		};
@@ -112,12 +127,26 @@ public class RuntimeErrorManager implements Closeable {
 	 * @param error The error to emit.
 	 */
 	public void error(@NotNull RuntimeError error) {
-		for (var entry : filterMap.entrySet()) {
-			RuntimeErrorFilter filter = entry.getKey();
-			Set<RuntimeErrorConsumer> consumers = entry.getValue();
-			if (filter == null || filter.test(error)){
-				consumers.forEach((consumer -> consumer.printError(error)));
-			}
+		error(error.level(), error.source().location(), () -> error);
+	}
+
+	/**
+	 * Emits a warning or error depending on severity. The error is only created if at least one filter
+	 * lets it through, so that lines producing errors at a high rate are cheap to silence.
+	 * @param level The severity of the error.
+	 * @param location The location the error originates from.
+	 * @param errorSupplier Creates the error to pass to the consumers. Called at most once.
+	 */
+	public void error(@NotNull Level level, @NotNull Location location, @NotNull Supplier<RuntimeError> errorSupplier) {
+		RuntimeError error = null;
+		for (ConsumerGroup group : groups) {
+			RuntimeErrorFilter filter = group.filter();
+			if (filter != null && !filter.test(level, location))
+				continue;
+			if (error == null)
+				error = errorSupplier.get();
+			for (RuntimeErrorConsumer consumer : group.consumers())
+				consumer.printError(error);
 		}
 	}
 
@@ -145,9 +174,7 @@ public class RuntimeErrorManager implements Closeable {
 	 * @param consumer The consumer to add.
 	 */
 	public void addConsumer(RuntimeErrorConsumer consumer) {
-		synchronized (filterMap) {
-			filterMap.computeIfAbsent(consumer.getFilter(), key -> new HashSet<>()).add(consumer);
-		}
+		addConsumers(consumer);
 	}
 
 	/**
@@ -156,10 +183,11 @@ public class RuntimeErrorManager implements Closeable {
 	 * @param newConsumers The {@link RuntimeErrorConsumer}s to add.
 	 */
 	public void addConsumers(RuntimeErrorConsumer... newConsumers) {
-		synchronized (filterMap) {
-			for (var consumer : newConsumers) {
-				filterMap.computeIfAbsent(consumer.getFilter(), key -> new HashSet<>()).add(consumer);
-			}
+		synchronized (consumerLock) {
+			Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> consumers = getConsumerMap();
+			for (var consumer : newConsumers)
+				consumers.computeIfAbsent(consumer.getFilter(), key -> new LinkedHashSet<>()).add(consumer);
+			publish(consumers);
 		}
 	}
 
@@ -169,14 +197,15 @@ public class RuntimeErrorManager implements Closeable {
 	 * @return {@code true} If the {@code consumer} was removed.
 	 */
 	public boolean removeConsumer(RuntimeErrorConsumer consumer) {
-		synchronized (filterMap) {
-			var set = filterMap.get(consumer.getFilter());
-			if (set == null)
-				 return false;
-			boolean removed = set.remove(consumer);
+		synchronized (consumerLock) {
+			Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> consumers = getConsumerMap();
+			var set = consumers.get(consumer.getFilter());
+			if (set == null || !set.remove(consumer))
+				return false;
 			if (set.isEmpty())
-				filterMap.remove(consumer.getFilter());
-			return removed;
+				consumers.remove(consumer.getFilter());
+			publish(consumers);
+			return true;
 		}
 	}
 
@@ -185,14 +214,43 @@ public class RuntimeErrorManager implements Closeable {
 	 * @return All {@link RuntimeErrorConsumer}s removed.
 	 */
 	public List<RuntimeErrorConsumer> removeAllConsumers() {
-		synchronized (filterMap) {
+		synchronized (consumerLock) {
 			List<RuntimeErrorConsumer> currentConsumers = new ArrayList<>();
-			for (var set : filterMap.values())
-				currentConsumers.addAll(set);
+			for (ConsumerGroup group : groups)
+				currentConsumers.addAll(Arrays.asList(group.consumers()));
+			groups = new ConsumerGroup[0];
 			return currentConsumers;
 		}
 	}
 
+	/**
+	 * @return A mutable copy of the current consumers, grouped by filter. Must be called while holding {@link #consumerLock}.
+	 */
+	private Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> getConsumerMap() {
+		Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> consumers = new LinkedHashMap<>();
+		for (ConsumerGroup group : groups)
+			consumers.put(group.filter(), new LinkedHashSet<>(Arrays.asList(group.consumers())));
+		return consumers;
+	}
+
+	/**
+	 * Replaces the current consumers with the given ones. Must be called while holding {@link #consumerLock}.
+	 */
+	private void publish(Map<RuntimeErrorFilter, Set<RuntimeErrorConsumer>> consumers) {
+		ConsumerGroup[] groups = new ConsumerGroup[consumers.size()];
+		int i = 0;
+		for (var entry : consumers.entrySet())
+			groups[i++] = new ConsumerGroup(entry.getKey(), entry.getValue().toArray(new RuntimeErrorConsumer[0]));
+		this.groups = groups;
+	}
+
+	/**
+	 * The consumers that share a filter.
+	 * @param filter The filter of the consumers, or null if errors should not be filtered.
+	 * @param consumers The consumers, which must not be modified.
+	 */
+	private record ConsumerGroup(@Nullable RuntimeErrorFilter filter, RuntimeErrorConsumer[] consumers) { }
+
 	@Override
 	public void close() {
 		task.close();
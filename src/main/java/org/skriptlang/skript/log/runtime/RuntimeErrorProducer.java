@@ -3,6 +3,8 @@ package org.skriptlang.skript.log.runtime;
 import ch.njol.skript.Skript;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.log.runtime.ErrorSource.Location;
 
 import java.util.logging.Level;
 
@@ -30,9 +32,7 @@ public interface RuntimeErrorProducer {
 	 * @param message The text to display as the error message.
 	 */
 	default void error(String message) {
-		getRuntimeErrorManager().error(
-			new RuntimeError(Level.SEVERE, getErrorSource(), message, null)
-		);
+		emit(Level.SEVERE, message, null);
 	}
 
 	/**
@@ -46,9 +46,7 @@ public interface RuntimeErrorProducer {
 	 * @param highlight The text to highlight in the parsed syntax.
 	 */
 	default void error(String message, String highlight) {
-		getRuntimeErrorManager().error(
-			new RuntimeError(Level.SEVERE, getErrorSource(), message, highlight)
-		);
+		emit(Level.SEVERE, message, highlight);
 	}
 
 	/**
@@ -61,9 +59,7 @@ public interface RuntimeErrorProducer {
 	 * @param message The text to display as the error message.
 	 */
 	default void warning(String message) {
-		getRuntimeErrorManager().error(
-			new RuntimeError(Level.WARNING, getErrorSource(), message, null)
-		);
+		emit(Level.WARNING, message, null);
 	}
 
 	/**
@@ -77,9 +73,17 @@ public interface RuntimeErrorProducer {
 	 * @param highlight The text to highlight in the parsed syntax.
 	 */
 	default void warning(String message, String highlight) {
-		getRuntimeErrorManager().error(
-			new RuntimeError(Level.WARNING, getErrorSource(), message, highlight)
-		);
+		emit(Level.WARNING, message, highlight);
+	}
+
+	/**
+	 * Gets the location of the errors produced by the implementing class.
+	 * This is used to decide whether an error should be printed before its full {@link #getErrorSource() source}
+	 * is created, so implementations should override this if they can provide the location more cheaply.
+	 * @return The location of the error.
+	 */
+	default @NotNull Location getErrorLocation() {
+		return getErrorSource().location();
 	}
 
 	/**
@@ -89,4 +93,9 @@ public interface RuntimeErrorProducer {
 		return Skript.getRuntimeErrorManager();
 	}
 
+	private void emit(Level level, String message, @Nullable String highlight) {
+		getRuntimeErrorManager().error(level, getErrorLocation(),
+			() -> new RuntimeError(level, getErrorSource(), message, highlight));
+	}
+
 }
@@ -7,6 +7,7 @@ import ch.njol.skript.lang.SyntaxElement;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.util.Kleenean;
 import org.jetbrains.annotations.NotNull;
+import org.skriptlang.skript.log.runtime.ErrorSource.Location;
 
 /**
  * A runtime error producer intended for use with {@link SyntaxElement}s. Uses {@link Node}s to determine source.
@@ -31,4 +32,9 @@ public interface SyntaxRuntimeErrorProducer extends RuntimeErrorProducer {
 		return ErrorSource.fromNodeAndElement(getNode(), (SyntaxElement) this);
 	}
 
+	@Override
+	default @NotNull Location getErrorLocation() {
+		return ErrorSource.locationOf(getNode());
+	}
+
 }
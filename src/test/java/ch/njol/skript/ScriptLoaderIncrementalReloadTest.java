@@ -0,0 +1,98 @@
+package ch.njol.skript;
+
+import ch.njol.skript.ScriptLoader.ScriptInfo;
+import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.test.runner.SkriptJUnitTest;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.OpenCloseable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.structure.Structure;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.skriptlang.skript.test.utils.ConfigHelper.setOption;
+
+public class ScriptLoaderIncrementalReloadTest extends SkriptJUnitTest {
+
+	private static final String KEPT = """
+		function incremental_reload_kept() :: number:
+			return 1
+
+		command /incrementalreloadtest:
+			trigger:
+				stop
+		""";
+
+	private boolean enabledBefore;
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		enabledBefore = SkriptConfig.incrementalReloading.value();
+		setOption(SkriptConfig.incrementalReloading, true);
+		file = new File(Skript.getInstance().getScriptsFolder(), "incremental reload test.sk");
+	}
+
+	@After
+	public void reset() throws IOException {
+		Script script = ScriptLoader.getScript(file);
+		if (script != null)
+			ScriptLoader.unloadScript(script);
+		Files.deleteIfExists(file.toPath());
+		Variables.setVariable("incremental reload", null, null, false);
+		setOption(SkriptConfig.incrementalReloading, enabledBefore);
+	}
+
+	@Test
+	public void testIncrementalReload() throws IOException {
+		if (ScriptLoader.isAsync())
+			return; // the futures would have to be waited for on the main thread
+
+		write(KEPT + "\non load:\n\tset {incremental reload} to 1\n");
+		assertTrue(ScriptLoader.loadScripts(file, OpenCloseable.EMPTY).isDone());
+		Script script = ScriptLoader.getScript(file);
+		assertNotNull(script);
+		assertEquals(1L, Variables.getVariable("incremental reload", null, false));
+		List<Structure> before = script.getStructures();
+		assertEquals(3, before.size());
+
+		// only the edited trigger is replaced
+		write(KEPT + "\non load:\n\tset {incremental reload} to 2\n");
+		CompletableFuture<ScriptInfo> future = ScriptLoader.reloadScriptIncrementally(script, OpenCloseable.EMPTY);
+		assertTrue(future.isDone());
+		ScriptInfo info = future.join();
+		assertEquals(2, info.reused);
+		assertEquals(1, info.structures);
+		assertSame(script, ScriptLoader.getScript(file));
+
+		List<Structure> after = script.getStructures();
+		assertEquals(3, after.size());
+		assertSame(before.get(0), after.get(0));
+		assertSame(before.get(1), after.get(1));
+		assertNotSame(before.get(2), after.get(2));
+		assertEquals(2L, Variables.getVariable("incremental reload", null, false));
+
+		// the kept structures still work
+		Function<?> function = Functions.getGlobalFunction("incremental_reload_kept");
+		assertNotNull(function);
+		Object[] result = function.execute(new Object[0][]);
+		assertNotNull(result);
+		assertEquals(1L, ((Number) result[0]).longValue());
+		assertNotNull(Commands.getScriptCommand("incrementalreloadtest"));
+	}
+
+	private void write(String content) throws IOException {
+		Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+	}
+
+}
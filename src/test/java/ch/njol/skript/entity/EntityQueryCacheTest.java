@@ -0,0 +1,85 @@
+package ch.njol.skript.entity;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.test.runner.SkriptJUnitTest;
+import org.bukkit.World;
+import org.bukkit.entity.Zombie;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.skriptlang.skript.test.utils.ConfigHelper.setOption;
+
+public class EntityQueryCacheTest extends SkriptJUnitTest {
+
+	private boolean enabledBefore;
+	private World world;
+	private Zombie zombie;
+
+	@Before
+	public void setup() throws IOException {
+		enabledBefore = SkriptConfig.cacheEntityQueries.value();
+		setOption(SkriptConfig.cacheEntityQueries, true);
+		EntityQueryCache.clear();
+		world = EasyMock.createMock(World.class);
+		zombie = EasyMock.niceMock(Zombie.class);
+		EasyMock.expect(zombie.getWorld()).andStubReturn(world);
+		EasyMock.replay(zombie);
+	}
+
+	@After
+	public void reset() throws IOException {
+		EntityQueryCache.clear();
+		setOption(SkriptConfig.cacheEntityQueries, enabledBefore);
+	}
+
+	@Test
+	public void testCache() {
+		if (!EntityQueryCache.isSupported())
+			return;
+
+		// the world is only asked once per tick
+		EasyMock.expect(world.getEntitiesByClass(Zombie.class)).andReturn(List.of(zombie)).once();
+		EasyMock.replay(world);
+		Collection<Zombie> zombies = EntityQueryCache.getEntitiesByClass(world, Zombie.class);
+		assertEquals(List.of(zombie), List.copyOf(zombies));
+		assertSame(zombies, EntityQueryCache.getEntitiesByClass(world, Zombie.class));
+		EasyMock.verify(world);
+
+		// the cache is cleared when a new tick starts
+		EasyMock.reset(world);
+		EasyMock.expect(world.getEntitiesByClass(Zombie.class)).andReturn(List.of()).once();
+		EasyMock.replay(world);
+		EntityQueryCache.clear();
+		assertTrue(EntityQueryCache.getEntitiesByClass(world, Zombie.class).isEmpty());
+		assertTrue(EntityQueryCache.getEntitiesByClass(world, Zombie.class).isEmpty());
+		EasyMock.verify(world);
+
+		// adding or removing an entity drops the classes it belongs to
+		EasyMock.reset(world);
+		EasyMock.expect(world.getEntitiesByClass(Zombie.class)).andReturn(List.of(zombie)).once();
+		EasyMock.replay(world);
+		long invalidations = EntityQueryCache.getInvalidations();
+		EntityQueryCache.invalidate(zombie);
+		assertEquals(invalidations + 1, EntityQueryCache.getInvalidations());
+		assertEquals(List.of(zombie), List.copyOf(EntityQueryCache.getEntitiesByClass(world, Zombie.class)));
+		EasyMock.verify(world);
+	}
+
+	@Test
+	public void testDisabled() throws IOException {
+		setOption(SkriptConfig.cacheEntityQueries, false);
+		EasyMock.expect(world.getEntitiesByClass(Zombie.class)).andReturn(List.of(zombie)).times(2);
+		EasyMock.replay(world);
+		EntityQueryCache.getEntitiesByClass(world, Zombie.class);
+		EntityQueryCache.getEntitiesByClass(world, Zombie.class);
+		EasyMock.verify(world);
+	}
+
+}
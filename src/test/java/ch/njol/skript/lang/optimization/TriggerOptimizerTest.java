@@ -0,0 +1,79 @@
+package ch.njol.skript.lang.optimization;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.test.runner.SkriptJUnitTest;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.OpenCloseable;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skriptlang.skript.lang.script.Script;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+import static org.skriptlang.skript.test.utils.ConfigHelper.setOption;
+
+public class TriggerOptimizerTest extends SkriptJUnitTest {
+
+	private static final String SCRIPT = """
+		on player world change:
+			set {trigger optimizer::past} to name of past event-world
+			set {trigger optimizer::present} to name of event-world
+			set {trigger optimizer::past again} to name of past event-world
+			set {trigger optimizer::present again} to name of event-world
+		""";
+
+	private boolean optimizeBefore;
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		optimizeBefore = SkriptConfig.optimizeTriggers.value();
+		setOption(SkriptConfig.optimizeTriggers, true);
+		file = new File(Skript.getInstance().getScriptsFolder(), "trigger optimizer test.sk");
+		Files.writeString(file.toPath(), SCRIPT, StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void reset() throws IOException {
+		Script script = ScriptLoader.getScript(file);
+		if (script != null)
+			ScriptLoader.unloadScript(script);
+		Files.deleteIfExists(file.toPath());
+		Variables.setVariable("trigger optimizer::*", null, null, false);
+		setOption(SkriptConfig.optimizeTriggers, optimizeBefore);
+	}
+
+	@Test
+	public void testPastAndPresentValues() {
+		if (ScriptLoader.isAsync())
+			return; // the script would have to be waited for on the main thread
+		ScriptLoader.loadScripts(file, OpenCloseable.EMPTY);
+		assertNotNull(ScriptLoader.getScript(file));
+
+		World from = EasyMock.niceMock(World.class);
+		EasyMock.expect(from.getName()).andReturn("trigger optimizer world").anyTimes();
+		Player player = EasyMock.niceMock(Player.class);
+		EasyMock.expect(player.getWorld()).andReturn(getTestWorld()).anyTimes();
+		EasyMock.replay(from, player);
+		Bukkit.getPluginManager().callEvent(new PlayerChangedWorldEvent(player, from));
+
+		// the past and present worlds must not share one evaluation, but each of them is still shared
+		assertEquals("trigger optimizer world", Variables.getVariable("trigger optimizer::past", null, false));
+		assertEquals("trigger optimizer world", Variables.getVariable("trigger optimizer::past again", null, false));
+		assertEquals(getTestWorld().getName(), Variables.getVariable("trigger optimizer::present", null, false));
+		assertEquals(getTestWorld().getName(), Variables.getVariable("trigger optimizer::present again", null, false));
+	}
+
+}
@@ -0,0 +1,60 @@
+package ch.njol.skript.log;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class HandlerListTest {
+
+	@Test
+	public void testStackOrder() {
+		HandlerList handlers = new HandlerList();
+		LogHandler first = new RetainingLogHandler();
+		LogHandler second = new RetainingLogHandler();
+		LogHandler third = new RetainingLogHandler();
+		handlers.add(first);
+		handlers.add(second);
+		handlers.add(third);
+
+		assertEquals(3, handlers.size());
+		assertSame(third, handlers.get(0));
+		assertSame(first, handlers.get(2));
+
+		Iterator<LogHandler> iterator = handlers.iterator();
+		assertSame(third, iterator.next());
+		assertSame(second, iterator.next());
+		assertSame(first, iterator.next());
+		assertFalse(iterator.hasNext());
+
+		assertTrue(handlers.contains(second));
+		assertSame(third, handlers.remove());
+		assertFalse(handlers.contains(third));
+		assertEquals(2, handlers.size());
+	}
+
+	@Test
+	public void testGrowth() {
+		HandlerList handlers = new HandlerList();
+		LogHandler[] added = new LogHandler[100];
+		for (int i = 0; i < added.length; i++)
+			handlers.add(added[i] = new RetainingLogHandler());
+		for (int i = added.length - 1; i >= 0; i--)
+			assertSame(added[i], handlers.remove());
+		assertEquals(0, handlers.size());
+	}
+
+	@Test
+	public void testPool() {
+		HandlerList handlers = new HandlerList();
+		ParseLogHandler handler = handlers.obtainParseLogHandler();
+		handlers.recycle(handler);
+		// recycling twice must not make the handler available twice
+		handlers.recycle(handler);
+
+		assertSame(handler, handlers.obtainParseLogHandler());
+		assertNotSame(handler, handlers.obtainParseLogHandler());
+	}
+
+}
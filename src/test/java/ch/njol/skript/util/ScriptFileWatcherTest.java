@@ -0,0 +1,116 @@
+package ch.njol.skript.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ScriptFileWatcherTest {
+
+	private final BlockingQueue<Set<Path>> changes = new LinkedBlockingQueue<>();
+	private final BlockingQueue<Long> changeTimes = new LinkedBlockingQueue<>();
+
+	private Path directory;
+	private Path first;
+	private Path second;
+	private ScriptFileWatcher watcher;
+
+	@Before
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("skript-watcher").toRealPath();
+		first = Files.writeString(directory.resolve("first.sk"), "");
+		second = Files.writeString(directory.resolve("second.sk"), "");
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		if (watcher != null)
+			watcher.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+				Files.deleteIfExists(file);
+		}
+	}
+
+	private ScriptFileWatcher start(boolean polling, long maxDelayMillis, long pollIntervalMillis) {
+		watcher = new ScriptFileWatcher(changed -> {
+			changeTimes.add(System.currentTimeMillis());
+			changes.add(changed);
+		}, polling, ScriptFileWatcher.DEBOUNCE_MILLIS, maxDelayMillis, pollIntervalMillis);
+		watcher.watch(first);
+		watcher.watch(second);
+		return watcher;
+	}
+
+	@Test
+	public void testDebounce() throws Exception {
+		start(false, ScriptFileWatcher.MAX_DELAY_MILLIS, 0);
+		if (watcher.isPolling())
+			return; // the file system can't be watched
+
+		Files.writeString(first, "on load:");
+		Thread.sleep(100);
+		Files.writeString(second, "on load:");
+		long lastWrite = System.currentTimeMillis();
+
+		// unrelated files must not hold back the listener
+		Path unrelated = directory.resolve("second.sk~");
+		for (int i = 0; i < 20; i++) {
+			Files.writeString(unrelated, "" + i);
+			Thread.sleep(50);
+		}
+
+		Set<Path> changed = changes.poll(0, TimeUnit.MILLISECONDS);
+		assertEquals(Set.of(first, second), changed);
+		long delay = changeTimes.take() - lastWrite;
+		assertTrue("listener called after " + delay + "ms", delay >= ScriptFileWatcher.DEBOUNCE_MILLIS - 50);
+		assertTrue("listener called after " + delay + "ms", delay < 900);
+		assertNull(changes.poll(ScriptFileWatcher.DEBOUNCE_MILLIS * 2, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testMaxDelay() throws Exception {
+		start(false, 1000, 0);
+		if (watcher.isPolling())
+			return; // the file system can't be watched
+
+		// keep changing the file more often than the debounce time
+		long start = System.currentTimeMillis();
+		Set<Path> changed = null;
+		for (int i = 0; changed == null && i < 40; i++) {
+			Files.writeString(first, "" + i);
+			changed = changes.poll(100, TimeUnit.MILLISECONDS);
+		}
+		assertEquals(Set.of(first), changed);
+		long delay = changeTimes.take() - start;
+		assertTrue("listener called after " + delay + "ms", delay >= 1000 - 50);
+		assertTrue("listener called after " + delay + "ms", delay < 2500);
+	}
+
+	@Test
+	public void testPolling() throws Exception {
+		start(true, ScriptFileWatcher.MAX_DELAY_MILLIS, 100);
+		assertTrue(watcher.isPolling());
+
+		Files.setLastModifiedTime(first, FileTime.fromMillis(Files.getLastModifiedTime(first).toMillis() + 10_000));
+		assertEquals(Set.of(first), changes.poll(2, TimeUnit.SECONDS));
+
+		watcher.unwatch(second);
+		Files.setLastModifiedTime(second, FileTime.fromMillis(Files.getLastModifiedTime(second).toMillis() + 10_000));
+		Files.writeString(directory.resolve("third.sk"), "");
+		assertNull(changes.poll(500, TimeUnit.MILLISECONDS));
+	}
+
+}
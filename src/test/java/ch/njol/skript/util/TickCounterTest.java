@@ -0,0 +1,22 @@
+package ch.njol.skript.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class TickCounterTest {
+
+	@Test
+	public void testTick() {
+		AtomicLong seen = new AtomicLong(-1);
+		TickCounter.onTickStart(() -> seen.set(TickCounter.getCurrentTick()));
+		long tick = TickCounter.getCurrentTick();
+		TickCounter.tick();
+		assertEquals(tick + 1, TickCounter.getCurrentTick());
+		// listeners already see the new tick
+		assertEquals(tick + 1, seen.get());
+	}
+
+}
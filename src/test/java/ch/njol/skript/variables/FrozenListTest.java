@@ -0,0 +1,91 @@
+package ch.njol.skript.variables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class FrozenListTest {
+
+	@Test
+	public void testChanges() {
+		Random random = new Random(42);
+		ListVariableNode node = new ListVariableNode();
+		node.put(null, "value of the list itself");
+		for (int i = 1; i <= 5000; i++)
+			node.put(String.valueOf(i), i);
+
+		List<Map<String, Object>> frozen = new ArrayList<>();
+		List<TreeMap<String, Object>> expected = new ArrayList<>();
+		for (int round = 0; round < 50; round++) {
+			// a few changes at a time, so that every copy is based on the previous one
+			for (int i = 0; i < 20; i++) {
+				String key = String.valueOf(random.nextInt(6000) + 1);
+				if (random.nextInt(3) == 0) {
+					node.remove(key);
+				} else {
+					node.put(key, "changed " + round);
+				}
+			}
+			if (round == 25)
+				node.remove(null);
+			frozen.add(node.freeze());
+			expected.add(new TreeMap<>(node));
+		}
+
+		// earlier copies never change
+		for (int i = 0; i < frozen.size(); i++) {
+			Map<String, Object> copy = frozen.get(i);
+			TreeMap<String, Object> map = expected.get(i);
+			assertEquals(map.size(), copy.size());
+			assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(copy.keySet()));
+			assertEquals(new ArrayList<>(map.values()), new ArrayList<>(copy.values()));
+			for (int key = 0; key <= 6001; key++)
+				assertEquals(map.get(String.valueOf(key)), copy.get(String.valueOf(key)));
+			assertEquals(map.get(null), copy.get(null));
+			assertEquals(map, copy);
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		ListVariableNode node = new ListVariableNode();
+		Map<String, Object> empty = node.freeze();
+		assertTrue(empty.isEmpty());
+		assertNull(empty.get("1"));
+
+		node.put("1", 1);
+		Map<String, Object> single = node.freeze();
+		assertEquals(Map.of("1", 1), single);
+		assertTrue(empty.isEmpty());
+
+		node.remove("1");
+		assertTrue(node.freeze().isEmpty());
+		assertEquals(1, single.get("1"));
+	}
+
+	@Test
+	public void testSublists() {
+		ListVariableNode node = new ListVariableNode();
+		for (int i = 1; i <= 1000; i++) {
+			ListVariableNode sublist = new ListVariableNode();
+			sublist.put("1", i);
+			node.put(String.valueOf(i), sublist);
+		}
+		Map<String, Object> frozen = node.freeze();
+
+		// a changed sublist is frozen again, the others are shared
+		((ListVariableNode) node.get("500")).put("2", "new");
+		node.thaw("500");
+		Map<String, Object> refrozen = node.freeze();
+		assertSame(frozen.get("499"), refrozen.get("499"));
+		assertEquals(Map.of("1", 500), frozen.get("500"));
+		assertEquals(Map.of("1", 500, "2", "new"), refrozen.get("500"));
+	}
+
+}
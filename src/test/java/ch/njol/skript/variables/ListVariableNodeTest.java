@@ -0,0 +1,173 @@
+package ch.njol.skript.variables;
+
+import ch.njol.skript.lang.KeyedValue;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ListVariableNodeTest {
+
+	@Test
+	public void testNextFreeIndex() {
+		ListVariableNode node = new ListVariableNode();
+		assertEquals(1, node.nextFreeIndex(1));
+
+		for (int i = 1; i <= 1000; i++)
+			node.put(String.valueOf(i), i);
+		node.put("01", "not a plain index");
+		node.put("name", "not an index");
+		node.put(null, "value of the list itself");
+		assertEquals(1001, node.nextFreeIndex(1));
+
+		node.remove("500");
+		assertEquals(500, node.nextFreeIndex(1));
+		assertEquals(1001, node.nextFreeIndex(501));
+
+		node.put("500", 500);
+		assertEquals(1001, node.nextFreeIndex(1));
+
+		node.clear();
+		assertEquals(1, node.nextFreeIndex(1));
+	}
+
+	@Test
+	public void testNumericIndex() {
+		assertEquals(1, ListVariableNode.numericIndex("1"));
+		assertEquals(123, ListVariableNode.numericIndex("123"));
+		assertEquals(-1, ListVariableNode.numericIndex("0"));
+		assertEquals(-1, ListVariableNode.numericIndex("01"));
+		assertEquals(-1, ListVariableNode.numericIndex("-1"));
+		assertEquals(-1, ListVariableNode.numericIndex("1.5"));
+		assertEquals(-1, ListVariableNode.numericIndex("a"));
+		assertEquals(-1, ListVariableNode.numericIndex(""));
+		assertEquals(-1, ListVariableNode.numericIndex(null));
+	}
+
+	@Test
+	public void testIndicesOf() {
+		ListVariableNode node = new ListVariableNode();
+		for (int i = 1; i <= 10; i++)
+			node.put(String.valueOf(i), i % 2 == 0 ? "even" : "odd");
+		node.put("sub", new ListVariableNode());
+
+		assertEquals(List.of("2", "4", "6", "8", "10"), List.copyOf(node.indicesOf("even")));
+
+		// the index is kept up to date once it exists
+		node.remove("4");
+		node.put("3", "even");
+		node.put("11", "odd");
+		assertEquals(List.of("2", "3", "6", "8", "10"), List.copyOf(node.indicesOf("even")));
+		assertEquals(List.of("1", "5", "7", "9", "11"), List.copyOf(node.indicesOf("odd")));
+		assertEquals(Set.of(), node.indicesOf("missing"));
+
+		node.clear();
+		assertTrue(node.indicesOf("even").isEmpty());
+	}
+
+	@Test
+	public void testValueClasses() {
+		ListVariableNode node = new ListVariableNode();
+		node.put("1", 1L);
+		node.put("2", "text");
+		node.put("sub", new ListVariableNode());
+		assertEquals(Set.of(), node.getValueClasses());
+
+		// the classes are tracked along with the reverse index
+		node.indicesOf(1L);
+		assertEquals(Set.of(Long.class, String.class), node.getValueClasses());
+
+		node.put("3", 1.0);
+		assertEquals(Set.of(Long.class, String.class, Double.class), node.getValueClasses());
+		node.put("2", 2L);
+		assertEquals(Set.of(Long.class, Double.class), node.getValueClasses());
+		node.remove("1");
+		assertEquals(Set.of(Long.class, Double.class), node.getValueClasses());
+		node.remove("2");
+		assertEquals(Set.of(Double.class), node.getValueClasses());
+
+		node.clear();
+		assertEquals(Set.of(), node.getValueClasses());
+	}
+
+	@Test
+	public void testSortedIndex() {
+		Comparator<Object> order = (a, b) -> ((Integer) a).compareTo((Integer) b);
+		ListVariableNode node = new ListVariableNode();
+		node.put("alice", 10);
+		node.put("bob", 30);
+		node.put("carol", 20);
+		node.put("dave", 20);
+		node.put(null, 100);
+
+		SortedListIndex index = node.getSortedIndex(order);
+		assertNotNull(index);
+		assertEquals(4, index.size());
+		assertEquals(List.of("alice", "carol", "dave", "bob"), keys(index.getRange(0, 10, false)));
+		// equal values stay in the order of the list
+		assertEquals(List.of("bob", "carol", "dave", "alice"), keys(index.getRange(0, 10, true)));
+		assertEquals(List.of("carol", "dave"), keys(index.getRange(1, 3, true)));
+		assertEquals(1, index.getPosition("carol", true));
+		assertEquals(2, index.getPosition("dave", false));
+		assertEquals(-1, index.getPosition("erin", false));
+
+		// the index is kept up to date once it exists
+		node.put("alice", 40);
+		node.remove("bob");
+		node.put("erin", 5);
+		assertSame(index, node.getSortedIndex(order));
+		assertEquals(List.of("alice", "carol", "dave", "erin"), keys(index.getRange(0, 10, true)));
+		assertEquals(0, index.getPosition("erin", false));
+
+		// lists with sublists or incomparable values can't be sorted
+		node.put("frank", "not a number");
+		assertNull(node.getSortedIndex(order));
+		node.remove("frank");
+		assertNotNull(node.getSortedIndex(order));
+		node.put("sub", new ListVariableNode());
+		assertNull(node.getSortedIndex(order));
+	}
+
+	@Test
+	public void testFreeze() {
+		ListVariableNode node = new ListVariableNode();
+		ListVariableNode unchanged = new ListVariableNode();
+		ListVariableNode changed = new ListVariableNode();
+		for (int i = 1; i <= 10; i++) {
+			node.put(String.valueOf(i), i);
+			unchanged.put(String.valueOf(i), i);
+			changed.put(String.valueOf(i), i);
+		}
+		node.put("unchanged", unchanged);
+		node.put("changed", changed);
+
+		Map<String, Object> frozen = node.freeze();
+		assertSame(frozen, node.freeze());
+		assertEquals(List.copyOf(node.keySet()), List.copyOf(frozen.keySet()));
+		assertNotSame(unchanged, frozen.get("unchanged"));
+		assertEquals(unchanged, frozen.get("unchanged"));
+
+		// changing a sublist in place requires the containing lists to be thawed, like VariablesMap does
+		changed.put("11", 11);
+		node.thaw("changed");
+		Map<String, Object> refrozen = node.freeze();
+		assertNotSame(frozen, refrozen);
+		assertSame(frozen.get("unchanged"), refrozen.get("unchanged"));
+		assertFalse(((Map<?, ?>) frozen.get("changed")).containsKey("11"));
+		assertTrue(((Map<?, ?>) refrozen.get("changed")).containsKey("11"));
+
+		// changing the list itself discards its frozen copy
+		node.remove("1");
+		assertTrue(frozen.containsKey("1"));
+		assertFalse(node.freeze().containsKey("1"));
+	}
+
+	private static List<String> keys(List<KeyedValue<Object>> entries) {
+		return entries.stream().map(KeyedValue::key).toList();
+	}
+
+}
@@ -0,0 +1,115 @@
+package ch.njol.skript.variables;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class VariablesSnapshotTest {
+
+	private static final String GLOBAL = "-variables snapshot test";
+
+	@After
+	public void cleanup() {
+		Variables.setVariable(GLOBAL + "::*", null, null, false);
+	}
+
+	@Test
+	public void testGetVariable() {
+		VariablesMap map = new VariablesMap();
+		map.setVariable("a", 1);
+		map.setVariable("list", "value of the list itself");
+		map.setVariable("list::1", "first");
+		map.setVariable("list::2", "second");
+		map.setVariable("list::sub::1", "nested");
+		VariablesSnapshot snapshot = map.snapshot();
+
+		// the snapshot must find the same values as the map itself
+		for (String name : List.of("a", "list", "list::1", "list::*", "list::sub::*", "list::sub::1",
+				"a::*", "a::1", "missing", "missing::*", "missing::1", "*"))
+			assertEquals(name, map.getVariable(name), snapshot.getVariable(name));
+		assertNotNull(snapshot.getVariable("*"));
+	}
+
+	@Test
+	public void testChanges() {
+		VariablesMap map = new VariablesMap();
+		map.setVariable("a", 1);
+		map.setVariable("list::1", "first");
+		map.setVariable("other::1", "unchanged");
+		VariablesSnapshot first = map.snapshot();
+
+		map.setVariable("a", null);
+		map.setVariable("b", 2);
+		map.setVariable("list::1", "changed");
+		VariablesSnapshot second = map.snapshot();
+
+		// earlier snapshots never change
+		assertEquals(1, first.getVariable("a"));
+		assertNull(first.getVariable("b"));
+		assertEquals("first", first.getVariable("list::1"));
+		assertTrue(((Map<?, ?>) first.getVariable("*")).containsKey("a"));
+
+		assertNull(second.getVariable("a"));
+		assertEquals(2, second.getVariable("b"));
+		assertEquals("changed", second.getVariable("list::1"));
+		Map<?, ?> root = (Map<?, ?>) second.getVariable("*");
+		assertFalse(root.containsKey("a"));
+		assertTrue(root.containsKey("b"));
+
+		// lists that didn't change are shared
+		assertSame(first.getVariable("other::*"), second.getVariable("other::*"));
+		assertNotSame(first.getVariable("list::*"), second.getVariable("list::*"));
+	}
+
+	@Test
+	public void testManyChanges() {
+		VariablesMap map = new VariablesMap();
+		VariablesSnapshot early = null;
+		for (int i = 0; i < 1000; i++) {
+			map.setVariable("var" + i, i);
+			// once many variables changed, the whole tree is copied again
+			if (i % 50 == 0) {
+				VariablesSnapshot snapshot = map.snapshot();
+				assertEquals(i, snapshot.getVariable("var" + i));
+				assertEquals(i / 2, snapshot.getVariable("var" + i / 2));
+				if (early == null)
+					early = snapshot;
+			}
+		}
+		assertNull(early.getVariable("var1"));
+		assertEquals(1000, ((Map<?, ?>) map.snapshot().getVariable("*")).size());
+	}
+
+	@Test
+	public void testSnapshot() {
+		Variables.setVariable(GLOBAL + "::1", "first", null, false);
+		VariablesSnapshot snapshot = Variables.snapshot();
+		assertTrue(snapshot.isCurrent());
+		assertSame(snapshot, Variables.snapshot());
+		assertEquals("first", snapshot.getVariable(GLOBAL + "::1"));
+
+		Variables.setVariable(GLOBAL + "::1", "second", null, false);
+		assertFalse(snapshot.isCurrent());
+		assertEquals("first", snapshot.getVariable(GLOBAL + "::1"));
+		assertEquals("second", Variables.snapshot().getVariable(GLOBAL + "::1"));
+	}
+
+	@Test
+	public void testWithSnapshot() {
+		Variables.setVariable(GLOBAL + "::1", "first", null, false);
+		String result = Variables.withSnapshot(() -> {
+			assertEquals("first", Variables.getVariable(GLOBAL + "::1", null, false));
+			// changes of the action are seen by its next read
+			Variables.setVariable(GLOBAL + "::1", "second", null, false);
+			assertEquals("second", Variables.getVariable(GLOBAL + "::1", null, false));
+			return (String) Variables.getVariable(GLOBAL + "::1", null, false);
+		});
+		assertEquals("second", result);
+		assertEquals("second", Variables.getVariable(GLOBAL + "::1", null, false));
+	}
+
+}
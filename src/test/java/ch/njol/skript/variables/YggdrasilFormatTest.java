@@ -0,0 +1,264 @@
+package ch.njol.skript.variables;
+
+import ch.njol.yggdrasil.Fields;
+import ch.njol.yggdrasil.Yggdrasil;
+import ch.njol.yggdrasil.YggdrasilInputStream;
+import ch.njol.yggdrasil.YggdrasilOutputStream;
+import ch.njol.yggdrasil.YggdrasilSerializable;
+import ch.njol.yggdrasil.YggdrasilSerializer;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link Yggdrasil} still writes exactly the bytes it wrote before its fields were accessed through
+ * method handles and its streams were buffered, so that variables saved by either version can be read by the other.
+ */
+public class YggdrasilFormatTest {
+
+	/**
+	 * The values written by the implementation before these changes, encoded in base64.
+	 */
+	private static final Map<String, String> FIXTURES = Map.of(
+		"string", "WWdnAAABIIAbSGVsbG8sIFlnZ2RyYXNpbCEgw6Tigqzwn4yz",
+		"long", "WWdnAAABFP///uCOBPs1",
+		"double", "WWdnAAABGUAJIftURC0Y",
+		"int array", "WWdnAAABMAOAAwAAAAH////+f////w==",
+		"uuid", "WWdnAAABgARVVUlEggxsZWFzdFNpZ0JpdHME/ty6mHZUMhALbW9zdFNpZ0JpdHMEASNFZ4mrze8=",
+		"point", "WWdnAAABgAVQb2ludIMBeAP////7AXkDAAAAKgVsYWJlbCCABXNwYXdu",
+		"sample", "WWdnAAABgAZTYW1wbGWPBXNtYWxsCD/AAAADYmlnBIAAAAAAAAAABGZsYWcPAQVjb2xvckAFQ29sb3IDUkVEB29iamVjdHMwgAZPYmplY3SABSCAAWETAAAAAQCA/wAAAACP/wAAAAEIAAAAAANiaWcEAAAAAAAAAAAEZmxhZw8A/wAAAAJA/wAAAAMFR1JFRU7/AAAABAAHaW50ZWdlcgMAAAAACGludGVnZXJzAAZudW1iZXICAAAEdGlueQEABmxldHRlcg4AAARzZWxmAAJpZCCABWNoaWxkBHRleHQggAZuZXN0ZWQHZGVjaW1hbAkAAAAAAAAAAAVjaGlsZACABVBvaW50gwF4AwAAAAEBeQMAAAACBWxhYmVsIIABYv8AAAAHAwAAACr/AAAACDADgAMAAAADAAAAAgAAAAH/AAAACQL+1AR0aW55AQf/AAAACg4A3wRzZWxm/4AAAmlkIIAGc2FtcGxlBHRleHQggAR0ZXh0/wAAAAsJv+AAAAAAAAD/AAAADP+ABQ==",
+		"nested list", "WWdnAAABgAlBcnJheUxpc3SBBnZhbHVlczCABk9iamVjdIADgAdIYXNoTWFwggRrZXlzMID/AAAAAoACEwAAAAcggANrZXn/AAAAATCA/wAAAAKAAoAGU2FtcGxljwVzbWFsbAgAAAAAA2JpZwQAAAAAAAAAAARmbGFnDwAFY29sb3JABUNvbG9yBUdSRUVOB29iamVjdHMAB2ludGVnZXIDAAAAAAhpbnRlZ2VycwAGbnVtYmVyAgAABHRpbnkBAAZsZXR0ZXIOAAAEc2VsZgACaWQggAVjaGlsZAR0ZXh0IIAGbmVzdGVkB2RlY2ltYWwJAAAAAAAAAAAFY2hpbGQAMID/AAAAAoACEwAAAAETAAAAAoD/AAAAAIH/AAAAATCA/wAAAAKAAiCAAXgggAF5/4AH"
+	);
+
+	/**
+	 * The SHA-256 hash of a list that is larger than the buffers of the streams, written by the implementation before these changes.
+	 */
+	private static final String LARGE_LIST_HASH = "4b4d766d9b063816f3a4f2c01bd2f390a417210728987e754b6a9b9a3738c0ad";
+
+	enum Color { RED, GREEN }
+
+	static class Sample implements YggdrasilSerializable {
+
+		private final String id;
+		int integer;
+		long big;
+		double decimal;
+		float small;
+		boolean flag;
+		char letter;
+		short number;
+		byte tiny;
+		@Nullable String text;
+		int @Nullable [] integers;
+		@Nullable Object @Nullable [] objects;
+		@Nullable Color color;
+		@Nullable Object child;
+		@Nullable Sample self;
+		transient int ignored;
+
+		Sample() {
+			id = "default";
+		}
+
+		Sample(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Sample other))
+				return false;
+			return id.equals(other.id) && integer == other.integer && big == other.big && decimal == other.decimal
+				&& small == other.small && flag == other.flag && letter == other.letter && number == other.number
+				&& tiny == other.tiny && Objects.equals(text, other.text) && Arrays.equals(integers, other.integers)
+				&& Arrays.deepEquals(objects, other.objects) && color == other.color && Objects.equals(child, other.child)
+				&& (self == null) == (other.self == null);
+		}
+
+		@Override
+		public int hashCode() {
+			return id.hashCode();
+		}
+
+	}
+
+	record Point(int x, int y, String label) { }
+
+	static class PointSerializer extends YggdrasilSerializer<Point> {
+
+		@Override
+		public @Nullable Class<? extends Point> getClass(String id) {
+			return id.equals("Point") ? Point.class : null;
+		}
+
+		@Override
+		public @Nullable String getID(Class<?> type) {
+			return type == Point.class ? "Point" : null;
+		}
+
+		@Override
+		public Fields serialize(Point point) {
+			Fields fields = new Fields();
+			fields.putPrimitive("x", point.x());
+			fields.putPrimitive("y", point.y());
+			fields.putObject("label", point.label());
+			return fields;
+		}
+
+		@Override
+		public boolean canBeInstantiated(Class<? extends Point> type) {
+			return false;
+		}
+
+		@Override
+		public <E extends Point> @Nullable E newInstance(Class<E> type) {
+			return null;
+		}
+
+		@Override
+		public void deserialize(Point point, Fields fields) throws StreamCorruptedException {
+			throw new StreamCorruptedException();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <E extends Point> E deserialize(Class<E> type, Fields fields) throws StreamCorruptedException {
+			return (E) new Point(fields.getPrimitive("x", int.class), fields.getPrimitive("y", int.class),
+				fields.getObject("label", String.class));
+		}
+
+	}
+
+	private static Yggdrasil yggdrasil() {
+		Yggdrasil yggdrasil = new Yggdrasil();
+		yggdrasil.registerSingleClass(Sample.class, "Sample");
+		yggdrasil.registerSingleClass(Color.class, "Color");
+		yggdrasil.registerClassResolver(new PointSerializer());
+		return yggdrasil;
+	}
+
+	static Map<String, Object> values() {
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("string", "Hello, Yggdrasil! ä€🌳");
+		values.put("long", -1234567890123L);
+		values.put("double", Math.PI);
+		values.put("int array", new int[] {1, -2, Integer.MAX_VALUE});
+		values.put("uuid", new UUID(0x0123456789ABCDEFL, 0xFEDCBA9876543210L));
+		values.put("point", new Point(-5, 42, "spawn"));
+
+		Sample child = new Sample("child");
+		child.text = "nested";
+		child.color = Color.GREEN;
+		Sample sample = new Sample("sample");
+		sample.integer = 42;
+		sample.big = Long.MIN_VALUE;
+		sample.decimal = -0.5;
+		sample.small = 1.5f;
+		sample.flag = true;
+		sample.letter = 'ß';
+		sample.number = -300;
+		sample.tiny = 7;
+		sample.text = "text";
+		sample.integers = new int[] {3, 2, 1};
+		sample.objects = new Object[] {"a", 1, null, child, new Point(1, 2, "b")};
+		sample.color = Color.RED;
+		sample.child = child;
+		sample.self = sample;
+		sample.ignored = 99;
+		values.put("sample", sample);
+
+		List<Object> list = new ArrayList<>();
+		Map<Object, Object> map = new HashMap<>();
+		map.put("key", List.of(1, 2).toArray());
+		map.put(7, child);
+		list.add(map);
+		list.add(new ArrayList<>(List.of("x", "y")));
+		list.add(child);
+		values.put("nested list", list);
+		return values;
+	}
+
+	static List<Object> largeList() {
+		List<Object> list = new ArrayList<>();
+		for (int i = 0; i < 3000; i++)
+			list.add(i % 3 == 0 ? "value " + i : i % 3 == 1 ? (Object) (long) i : new Point(i, -i, "p" + i));
+		return list;
+	}
+
+	static byte[] write(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (YggdrasilOutputStream out = yggdrasil().newOutputStream(bytes)) {
+			out.writeObject(value);
+			out.flush();
+		}
+		return bytes.toByteArray();
+	}
+
+	static Object read(byte[] bytes) throws IOException {
+		try (YggdrasilInputStream in = yggdrasil().newInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	static String hash(byte[] bytes) throws NoSuchAlgorithmException {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+	}
+
+	@Test
+	public void testWritesSameBytes() throws IOException {
+		for (Map.Entry<String, Object> value : values().entrySet())
+			assertEquals(value.getKey(), FIXTURES.get(value.getKey()), Base64.getEncoder().encodeToString(write(value.getValue())));
+	}
+
+	@Test
+	public void testReadsOldBytes() throws IOException {
+		for (Map.Entry<String, Object> value : values().entrySet()) {
+			Object read = read(Base64.getDecoder().decode(FIXTURES.get(value.getKey())));
+			if (value.getValue() instanceof int[] integers) {
+				assertArrayEquals(integers, (int[]) read);
+			} else if (value.getValue() instanceof List<?> list) {
+				// the arrays in the map are only equal by their contents
+				List<?> readList = (List<?>) read;
+				assertEquals(list.size(), readList.size());
+				Map<?, ?> map = (Map<?, ?>) readList.get(0);
+				assertArrayEquals((Object[]) ((Map<?, ?>) list.get(0)).get("key"), (Object[]) map.get("key"));
+				assertEquals(((Map<?, ?>) list.get(0)).get(7), map.get(7));
+				assertSame(map.get(7), readList.get(2));
+				assertEquals(list.subList(1, 3), readList.subList(1, 3));
+			} else {
+				assertEquals(value.getKey(), value.getValue(), read);
+			}
+		}
+		Sample sample = (Sample) read(Base64.getDecoder().decode(FIXTURES.get("sample")));
+		assertSame(sample, sample.self);
+		assertSame(sample.child, sample.objects[3]);
+		assertEquals(0, sample.ignored);
+	}
+
+	@Test
+	public void testLargeList() throws IOException, NoSuchAlgorithmException {
+		List<Object> list = largeList();
+		byte[] bytes = write(list);
+		assertEquals(LARGE_LIST_HASH, hash(bytes));
+		assertEquals(list, read(bytes));
+	}
+
+}
@@ -0,0 +1,112 @@
+package org.skriptlang.skript.lang.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SkriptQueueTest {
+
+	@Test
+	public void testEnds() {
+		SkriptQueue queue = new SkriptQueue();
+		assertNull(queue.pollFirst());
+		assertNull(queue.peekLast());
+
+		for (int i = 0; i < 100; i++) {
+			queue.addLast(i);
+			queue.addFirst(-i);
+		}
+		queue.add(null);
+		queue.addFirst(null);
+		assertEquals(200, queue.size());
+		assertEquals(-99, queue.getFirst());
+		assertEquals(99, queue.getLast());
+		assertEquals(-99, queue.pollFirst());
+		assertEquals(99, queue.pollLast());
+		assertEquals(-98, queue.get(0));
+		assertEquals(98, queue.get(197));
+	}
+
+	@Test
+	public void testIndexedAccess() {
+		// compares against an ArrayList, with the head of the queue wrapping around its buffer
+		Random random = new Random(42);
+		SkriptQueue queue = new SkriptQueue();
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+			switch (random.nextInt(7)) {
+				case 0 -> {
+					queue.addFirst(i);
+					expected.add(0, i);
+				}
+				case 1, 2 -> {
+					queue.addLast(i);
+					expected.add(i);
+				}
+				case 3 -> {
+					queue.add(index, i);
+					expected.add(index, i);
+				}
+				case 4 -> assertEquals(expected.isEmpty() ? null : expected.remove(0), queue.pollFirst());
+				case 5 -> assertEquals(index < expected.size() ? expected.remove(index) : null, queue.removeSafely(index));
+				case 6 -> {
+					int to = Math.min(expected.size(), index + random.nextInt(5));
+					List<Object> range = expected.subList(index, to);
+					assertArrayEquals(range.toArray(), queue.removeRangeSafely(index, to));
+					range.clear();
+				}
+			}
+			assertEquals(expected.size(), queue.size());
+		}
+		assertEquals(expected, queue);
+		assertArrayEquals(expected.toArray(), queue.toArray());
+	}
+
+	@Test
+	public void testBulkOperations() {
+		SkriptQueue queue = new SkriptQueue();
+		queue.addAll(Arrays.asList(1, 2, null, 3, 4, 5, 6));
+		queue.addAll(0, List.of(-1, 0));
+		assertEquals(List.of(-1, 0, 1, 2, 3, 4, 5, 6), queue);
+
+		assertArrayEquals(new Object[] {-1, 0, 1}, queue.pollFirst(3));
+		assertArrayEquals(new Object[] {5, 6}, queue.removeRangeSafely(3, 100));
+		assertArrayEquals(new Object[0], queue.removeRangeSafely(-5, 0));
+
+		queue.removeAll(List.of(2, 4));
+		assertEquals(List.of(3), queue);
+
+		List<Object> drained = new ArrayList<>();
+		assertEquals(1, queue.drainTo(drained));
+		assertEquals(List.of(3), drained);
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testConcurrentQueue() throws InterruptedException {
+		SkriptQueue queue = new ConcurrentSkriptQueue();
+		Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++)
+					queue.add(j);
+			});
+			producers[i].start();
+		}
+		int polled = 0;
+		while (polled < producers.length * 10_000) {
+			if (queue.pollFirst() != null)
+				polled++;
+		}
+		for (Thread producer : producers)
+			producer.join();
+		assertTrue(queue.isEmpty());
+	}
+
+}
@@ -0,0 +1,94 @@
+package org.skriptlang.skript.log.runtime;
+
+import org.junit.Test;
+import org.skriptlang.skript.log.runtime.ErrorSource.Location;
+import org.skriptlang.skript.log.runtime.Frame.FrameLimit;
+import org.skriptlang.skript.log.runtime.Frame.FrameOutput;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FrameTest {
+
+	private static final Location FIRST = new Location("test.sk", 1);
+	private static final Location SECOND = new Location("test.sk", 2);
+
+	@Test
+	public void testLimits() {
+		Frame frame = new Frame(new FrameLimit(3, 2, 5, 2));
+
+		assertTrue(frame.add(FIRST));
+		assertTrue(frame.add(FIRST));
+		assertFalse(frame.add(FIRST)); // line limit
+		assertTrue(frame.add(SECOND));
+		assertFalse(frame.add(SECOND)); // total limit
+
+		FrameOutput output = frame.getFrameOutput();
+		assertEquals(3, (int) output.totalErrors().get(FIRST));
+		assertEquals(1, (int) output.skippedErrors().get(FIRST));
+		assertEquals(2, (int) output.totalErrors().get(SECOND));
+		assertEquals(1, (int) output.skippedErrors().get(SECOND));
+		assertTrue(output.newTimeouts().isEmpty());
+
+		frame.nextFrame();
+		assertTrue(frame.getFrameOutput().totalErrors().isEmpty());
+		assertTrue(frame.add(FIRST));
+	}
+
+	@Test
+	public void testTimeout() {
+		Frame frame = new Frame(new FrameLimit(10, 1, 3, 1));
+
+		for (int i = 0; i < 5; i++)
+			frame.add(FIRST);
+		FrameOutput output = frame.getFrameOutput();
+		assertEquals(5, (int) output.totalErrors().get(FIRST));
+		assertEquals(4, (int) output.skippedErrors().get(FIRST));
+		assertTrue(output.newTimeouts().contains(FIRST));
+
+		// still in timeout for one more frame
+		frame.nextFrame();
+		assertFalse(frame.add(FIRST));
+		assertFalse(frame.getFrameOutput().newTimeouts().contains(FIRST));
+
+		frame.nextFrame();
+		frame.nextFrame();
+		assertTrue(frame.add(FIRST));
+	}
+
+	@Test
+	public void testConcurrentTotalLimit() throws InterruptedException {
+		int limit = 100;
+		Frame frame = new Frame(new FrameLimit(limit, Integer.MAX_VALUE, Integer.MAX_VALUE, 1));
+		AtomicInteger printed = new AtomicInteger();
+		int threadCount = 8;
+		int perThread = 1000;
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			Location location = new Location("test.sk", t);
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					if (frame.add(location))
+						printed.incrementAndGet();
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals(limit, printed.get());
+		int total = frame.getFrameOutput().totalErrors().values().stream().mapToInt(Integer::intValue).sum();
+		assertEquals(threadCount * perThread, total);
+	}
+
+}
@@ -0,0 +1,55 @@
+package org.skriptlang.skript.test.tests.syntaxes.sections;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.test.runner.SkriptJUnitTest;
+import ch.njol.skript.variables.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.skriptlang.skript.test.utils.ConfigHelper.setOption;
+
+public class SecFilterParallelTest extends SkriptJUnitTest {
+
+	private int thresholdBefore;
+
+	@Before
+	public void setup() throws IOException {
+		thresholdBefore = SkriptConfig.parallelFilterThreshold.value();
+		setOption(SkriptConfig.parallelFilterThreshold, 100);
+	}
+
+	@After
+	public void reset() throws IOException {
+		Variables.setVariable("-parallel filter::*", null, null, false);
+		setOption(SkriptConfig.parallelFilterThreshold, thresholdBefore);
+	}
+
+	@Test
+	public void testOrderAndIndices() {
+		Function<?> function = Functions.getGlobalFunction("parallel_filter");
+		assertNotNull(function);
+		function.execute(new Object[0][]);
+
+		Object expected = Variables.getVariable("-parallel filter::expected", null, false);
+		assertNotNull(expected);
+		assertEquals("a filter expression checked in parallel changed the order of the values",
+			expected, Variables.getVariable("-parallel filter::expression", null, false));
+
+		Map<?, ?> section = (Map<?, ?>) Variables.getVariable("-parallel filter::section::*", null, false);
+		assertNotNull(section);
+		assertEquals(10000, section.size());
+		for (Map.Entry<?, ?> entry : section.entrySet()) {
+			long value = ((Number) entry.getValue()).longValue();
+			assertTrue("a filter section checked in parallel kept " + value, value > 10000);
+			assertEquals("a filter section checked in parallel mixed up indices", "key-" + value, entry.getKey());
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package org.skriptlang.skript.test.tests.syntaxes.structures;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.test.runner.SkriptAsyncJUnitTest;
+import ch.njol.skript.variables.Variables;
+import org.bukkit.Bukkit;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StructLoopBudgetTest extends SkriptAsyncJUnitTest {
+
+	@Test
+	public void testYieldingLoopResumes() throws Exception {
+		Function<?> function = Functions.getGlobalFunction("loop_budget_yielding");
+		assertNotNull(function);
+		Bukkit.getScheduler().callSyncMethod(Skript.getInstance(), () -> function.execute(new Object[0][])).get();
+		// the loop runs for longer than its budget, so the function must have returned before the loop was done
+		assertNull("the yielding loop didn't yield", Variables.getVariable("-loop budget::iterations", null, false));
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		Object iterations;
+		while ((iterations = Variables.getVariable("-loop budget::iterations", null, false)) == null) {
+			assertTrue("the yielding loop wasn't resumed", System.currentTimeMillis() < deadline);
+			Thread.sleep(50);
+		}
+		assertTrue(((Number) iterations).longValue() > 0);
+		Bukkit.getScheduler().callSyncMethod(Skript.getInstance(),
+			() -> { Variables.setVariable("-loop budget::*", null, null, false); return null; }).get();
+	}
+
+}
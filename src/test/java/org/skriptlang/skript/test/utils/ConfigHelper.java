@@ -0,0 +1,22 @@
+package org.skriptlang.skript.test.utils;
+
+import ch.njol.skript.config.Config;
+import ch.njol.skript.config.Option;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ConfigHelper {
+
+	/**
+	 * Changes the value of a config option, as if it had been set to the given value in the config file.
+	 * Options are usually one of {@link ch.njol.skript.SkriptConfig}'s.
+	 */
+	public static void setOption(Option<?> option, Object value) throws IOException {
+		String entry = option.key + ": " + value;
+		Config config = new Config(new ByteArrayInputStream(entry.getBytes(StandardCharsets.UTF_8)), "test.sk", false, false, ":");
+		option.set(config, "");
+	}
+
+}